@@ -15,6 +15,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -25,7 +26,10 @@ import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedAnnotationTypes;
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.PackageElement;
@@ -34,6 +38,7 @@ import javax.lang.model.element.TypeParameterElement;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.AbstractElementVisitor8;
+import javax.tools.Diagnostic;
 import javax.tools.FileObject;
 import javax.tools.StandardLocation;
 
@@ -42,6 +47,9 @@ import javax.tools.StandardLocation;
 @SupportedAnnotationTypes("io.github.nucleuspowered.nucleus.annotationprocessor.Store")
 public class StoreProcessor extends AbstractProcessor {
 
+    private static final String PERMISSIONS = "permissions";
+    private static final String PERMISSION_METADATA = "io.github.nucleuspowered.nucleus.services.impl.permission.PermissionMetadata";
+
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
         Map<Element, String> classes = new HashMap<>();
@@ -59,11 +67,13 @@ public class StoreProcessor extends AbstractProcessor {
             }
         }
 
+        Set<Element> permissionClasses = new HashSet<>();
         elements = new HashSet<>(roundEnv.getElementsAnnotatedWith(RegisterPermissions.class));
         for (Element element : elements) {
             // Only storing classes.
             if (element.getKind().isClass()) {
                 classes.put(element, "permission");
+                permissionClasses.add(element);
             }
         }
 
@@ -111,13 +121,83 @@ public class StoreProcessor extends AbstractProcessor {
                     os.flush();
                 }
             } catch (IOException e) {
-                e.printStackTrace();
+                this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write classes.json: " + e.getMessage());
             }
+
+            // Always written alongside the classes, so that an empty index is not mistaken for a missing one.
+            writeRegistrationIndex(conv, permissionClasses);
         }
 
         return false;
     }
 
+    /*
+     * Writes what would otherwise be found by reflection when each module is
+     * enabled, keyed by module class. For now, this is the permission metadata
+     * on the fields of the permission classes.
+     */
+    private void writeRegistrationIndex(Map<String, String> packageToModule, Set<Element> permissionClasses) {
+        ClassElementVisitor cev = new ClassElementVisitor();
+        Map<String, Map<String, List<Map<String, Object>>>> index = new HashMap<>();
+        for (Element element : permissionClasses) {
+            StringTuple st = cev.visit(element, false);
+            if (st == null) {
+                continue;
+            }
+
+            packageToModule.entrySet().stream().filter(y -> st.cl.startsWith(y.getKey())).findFirst().ifPresent(y -> {
+                List<Map<String, Object>> permissions =
+                        index.computeIfAbsent(y.getValue(), z -> new HashMap<>()).computeIfAbsent(PERMISSIONS, z -> new ArrayList<>());
+                for (Element enclosed : element.getEnclosedElements()) {
+                    if (enclosed.getKind() == ElementKind.FIELD && enclosed.getModifiers().contains(Modifier.STATIC)) {
+                        Object permission = ((VariableElement) enclosed).getConstantValue();
+                        if (permission instanceof String) {
+                            getPermissionMetadata(enclosed).ifPresent(metadata -> {
+                                metadata.put("permission", permission);
+                                permissions.add(metadata);
+                            });
+                        }
+                    }
+                }
+            });
+        }
+
+        try {
+            FileObject fo = this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "assets.nucleus", "registration-index.json");
+            try (Writer os = fo.openWriter()) {
+                os.write(new GsonBuilder().setPrettyPrinting().create().toJson(index));
+                os.flush();
+            }
+        } catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write registration-index.json: " + e.getMessage());
+        }
+    }
+
+    private Optional<Map<String, Object>> getPermissionMetadata(Element field) {
+        for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+            if (mirror.getAnnotationType().toString().equals(PERMISSION_METADATA)) {
+                Map<String, Object> metadata = new HashMap<>();
+                for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry :
+                        this.processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+                    Object value = entry.getValue().getValue();
+                    if (value instanceof List) {
+                        // Arrays come through as lists of annotation values.
+                        value = ((List<?>) value).stream().map(x -> ((AnnotationValue) x).getValue().toString()).collect(Collectors.toList());
+                    } else if (value instanceof VariableElement) {
+                        // Enum constants
+                        value = ((VariableElement) value).getSimpleName().toString();
+                    }
+
+                    metadata.put(entry.getKey().getSimpleName().toString(), value);
+                }
+
+                return Optional.of(metadata);
+            }
+        }
+
+        return Optional.empty();
+    }
+
     static class ClassElementVisitor extends AbstractElementVisitor8<StringTuple, Boolean> {
 
         @Override public StringTuple visitPackage(PackageElement e, Boolean aBoolean) {
@@ -8,7 +8,9 @@ import com.flowpowered.math.vector.Vector3d;
 import io.github.nucleuspowered.nucleus.api.core.exception.NoSuchPlayerException;
 import io.github.nucleuspowered.nucleus.api.module.home.data.Home;
 import io.github.nucleuspowered.nucleus.api.module.home.exception.HomeException;
+import io.github.nucleuspowered.nucleus.api.teleport.data.TeleportResult;
 import org.spongepowered.api.Sponge;
+import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.plugin.PluginContainer;
@@ -20,6 +22,7 @@ import org.spongepowered.api.world.World;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Pattern;
 
 /**
@@ -105,6 +108,59 @@ public interface NucleusHomeService {
         return getHome(user.getUniqueId(), name);
     }
 
+    /**
+     * Gets the {@link Home}s for the specified user, without blocking the
+     * main thread if the user's data has to be loaded.
+     *
+     * @param user The {@link UUID}
+     * @return A {@link CompletableFuture} that will contain the homes.
+     */
+    CompletableFuture<List<Home>> getHomesAsync(UUID user);
+
+    /**
+     * Gets a specified home of the user, if it exists, without blocking the
+     * main thread if the user's data has to be loaded.
+     *
+     * @param user The {@link UUID} of the user to get the home for.
+     * @param name The name of the home.
+     * @return A {@link CompletableFuture} that will contain the {@link Home},
+     *      if it exists.
+     */
+    CompletableFuture<Optional<Home>> getHomeAsync(UUID user, String name);
+
+    /**
+     * Teleports a player to a home. The safe location search is performed off
+     * the main thread where possible.
+     *
+     * <p>This must be called on the main thread. The returned future is
+     * completed on the main thread once the player has been teleported, or
+     * completed exceptionally with a {@link HomeException} if the home cannot
+     * be used.</p>
+     *
+     * @param player The {@link Player} to teleport.
+     * @param home The {@link Home} to teleport to.
+     * @param safeTeleport Whether to search for a safe location.
+     * @return A {@link CompletableFuture} that will contain the {@link TeleportResult}.
+     */
+    CompletableFuture<TeleportResult> warpToHomeAsync(Player player, Home home, boolean safeTeleport);
+
+    /**
+     * Teleports a player to a home, looking up the home off the main thread
+     * and then teleporting the player as
+     * {@link #warpToHomeAsync(Player, Home, boolean)} does.
+     *
+     * <p>The returned future is completed on the main thread. If the home does
+     * not exist, it is completed exceptionally with a {@link HomeException}
+     * with the reason {@link HomeException.Reasons#DOES_NOT_EXIST}.</p>
+     *
+     * @param player The {@link Player} to teleport.
+     * @param user The {@link UUID} of the owner of the home.
+     * @param name The name of the home.
+     * @param safeTeleport Whether to search for a safe location.
+     * @return A {@link CompletableFuture} that will contain the {@link TeleportResult}.
+     */
+    CompletableFuture<TeleportResult> warpToHomeAsync(Player player, UUID user, String name, boolean safeTeleport);
+
     /**
      * Creates a home. This is subject to Nucleus' standard checks.
      *
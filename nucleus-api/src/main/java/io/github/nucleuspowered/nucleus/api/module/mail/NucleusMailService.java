@@ -13,6 +13,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -32,6 +33,31 @@ public interface NucleusMailService {
      */
     List<MailMessage> getMail(User player, MailFilter... filters);
 
+    /**
+     * Gets a page of mail for a specific player, oldest first, optionally
+     * including a list of filters. Only the mail up to the end of the page
+     * needs to be read.
+     *
+     * @param player The {@link User} of the player to get the mail of.
+     * @param offset The number of matching mails to skip.
+     * @param limit The maximum number of mails to return.
+     * @param filters The {@link MailFilter}s
+     * @return A list of mail.
+     */
+    default List<MailMessage> getMail(User player, int offset, int limit, MailFilter... filters) {
+        return getMail(player, filters).stream().skip(offset).limit(limit).collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the number of mails that a player has.
+     *
+     * @param player The {@link User} of the player to get the mail count of.
+     * @return The number of mails.
+     */
+    default int getMailCount(User player) {
+        return getMail(player).size();
+    }
+
     /**
      * Removes a specific mail for a specific player.
      *
@@ -58,6 +84,37 @@ public interface NucleusMailService {
      */
     void sendMailFromConsole(User playerTo, String message);
 
+    /**
+     * Sends the same mail to each of the given players.
+     *
+     * <p>Mail is delivered in batches off the main thread, and delivery
+     * carries on after a restart if the server stops before it is done. As
+     * there may be a great many recipients, no mail event is fired for each
+     * one.</p>
+     *
+     * @param playerFrom The {@link User} of the player to send the message from,
+     *                   or <code>null</code> to send it from the console.
+     * @param playersTo The {@link UUID}s of the players to send the message to.
+     * @param message The message.
+     * @return A {@link CompletableFuture} that completes with the number of
+     *         players the mail was delivered to.
+     */
+    CompletableFuture<Integer> sendBulkMail(@Nullable User playerFrom, Collection<UUID> playersTo, String message);
+
+    /**
+     * Sends the same mail to every player that Nucleus holds data for.
+     *
+     * <p>This works in the same way as
+     * {@link #sendBulkMail(User, Collection, String)}.</p>
+     *
+     * @param playerFrom The {@link User} of the player to send the message from,
+     *                   or <code>null</code> to send it from the console.
+     * @param message The message.
+     * @return A {@link CompletableFuture} that completes with the number of
+     *         players the mail was delivered to.
+     */
+    CompletableFuture<Integer> sendMailToAll(@Nullable User playerFrom, String message);
+
     /**
      * Clears the player's mail.
      *
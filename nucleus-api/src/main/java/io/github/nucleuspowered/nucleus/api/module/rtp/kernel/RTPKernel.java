@@ -44,4 +44,18 @@ public interface RTPKernel extends CatalogType {
             @Nullable Location<World> currentLocation,
             World target,
             NucleusRTPService.RTPOptions options);
+
+    /**
+     * Gets whether this kernel selects locations without needing the current
+     * location of the entity to teleport, which allows locations to be found
+     * before they are needed.
+     *
+     * <p>If this is {@code false}, locations are only searched for when an
+     * entity is teleported, and are given that entity's location.</p>
+     *
+     * @return true if the current location is not needed
+     */
+    default boolean isIndependentOfCurrentLocation() {
+        return false;
+    }
 }
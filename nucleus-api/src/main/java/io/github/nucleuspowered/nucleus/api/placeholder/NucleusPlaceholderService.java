@@ -55,7 +55,55 @@ public interface NucleusPlaceholderService {
      * @throws IllegalArgumentException if the token name contains whitespace, :, | or _
      * @throws IllegalStateException if the token name has already been registered
      */
-    void registerToken(PluginContainer pluginContainer, String tokenName, PlaceholderParser parser);
+    default void registerToken(PluginContainer pluginContainer, String tokenName, PlaceholderParser parser) {
+        registerToken(pluginContainer, tokenName, parser, PlaceholderCachePolicy.never());
+    }
+
+    /**
+     * Registers a token whose results may be reused according to the given
+     * {@link PlaceholderCachePolicy}.
+     *
+     * @param pluginContainer The {@link PluginContainer} that wants to register
+     *                        the token
+     * @param tokenName The name of the token to register. This will be converted
+     *                  to lowercase.
+     * @param parser The parser to register.
+     * @param cachePolicy The {@link PlaceholderCachePolicy}
+     * @throws IllegalArgumentException if the token name contains whitespace, :, | or _
+     * @throws IllegalStateException if the token name has already been registered
+     */
+    void registerToken(PluginContainer pluginContainer, String tokenName, PlaceholderParser parser, PlaceholderCachePolicy cachePolicy);
+
+    /**
+     * Discards all cached results for the given token, so that they are
+     * parsed again the next time they are used. This should be called by the
+     * plugin that registered the token when what it displays changes.
+     *
+     * @param token The token name
+     */
+    void invalidate(String token);
+
+    /**
+     * Discards the cached results for the given token that were parsed for
+     * the given {@link CommandSource}.
+     *
+     * @param token The token name
+     * @param source The {@link CommandSource}
+     */
+    default void invalidate(String token, CommandSource source) {
+        invalidate(token, source.getIdentifier());
+    }
+
+    /**
+     * Discards the cached results for the given token that were parsed for
+     * the source with the given identifier.
+     *
+     * @param token The token name
+     * @param identifier The identifier of the source, as returned by
+     *                   {@link CommandSource#getIdentifier()}. For players,
+     *                   this is their {@link java.util.UUID} as a string.
+     */
+    void invalidate(String token, String identifier);
 
     /**
      * Gets the parser associated with the provided token name, if any.
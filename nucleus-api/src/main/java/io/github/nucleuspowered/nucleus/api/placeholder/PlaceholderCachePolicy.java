@@ -0,0 +1,110 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.api.placeholder;
+
+import com.google.common.base.Preconditions;
+import org.spongepowered.api.command.CommandSource;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Describes how long the result of a {@link PlaceholderParser} may be reused
+ * for the same source and argument.
+ *
+ * <p>Results are never cached for placeholders that are given
+ * {@link PlaceholderVariables}, as these may change the result.</p>
+ */
+public final class PlaceholderCachePolicy {
+
+    private static final PlaceholderCachePolicy NEVER = new PlaceholderCachePolicy(Type.NEVER, null);
+    private static final PlaceholderCachePolicy PER_TICK = new PlaceholderCachePolicy(Type.PER_TICK, null);
+    private static final PlaceholderCachePolicy UNTIL_INVALIDATED = new PlaceholderCachePolicy(Type.UNTIL_INVALIDATED, null);
+
+    /**
+     * The result is never cached. This is the policy for tokens that are
+     * registered without one.
+     *
+     * @return The {@link PlaceholderCachePolicy}
+     */
+    public static PlaceholderCachePolicy never() {
+        return NEVER;
+    }
+
+    /**
+     * The result is reused until the end of the current server tick.
+     *
+     * @return The {@link PlaceholderCachePolicy}
+     */
+    public static PlaceholderCachePolicy perTick() {
+        return PER_TICK;
+    }
+
+    /**
+     * The result is reused for the given amount of time, or until it is
+     * invalidated.
+     *
+     * @param duration The time to keep the result for
+     * @return The {@link PlaceholderCachePolicy}
+     */
+    public static PlaceholderCachePolicy ttl(Duration duration) {
+        Preconditions.checkArgument(!duration.isNegative() && !duration.isZero(), "duration must be positive");
+        return new PlaceholderCachePolicy(Type.TTL, duration);
+    }
+
+    /**
+     * The result is reused until it is invalidated through
+     * {@link NucleusPlaceholderService#invalidate(String)} or
+     * {@link NucleusPlaceholderService#invalidate(String, CommandSource)}.
+     * Results may still be discarded early if many are held.
+     *
+     * @return The {@link PlaceholderCachePolicy}
+     */
+    public static PlaceholderCachePolicy untilInvalidated() {
+        return UNTIL_INVALIDATED;
+    }
+
+    private final Type type;
+    private final Duration duration;
+
+    private PlaceholderCachePolicy(Type type, Duration duration) {
+        this.type = type;
+        this.duration = duration;
+    }
+
+    /**
+     * Gets the {@link Type} of policy.
+     *
+     * @return The {@link Type}
+     */
+    public Type getType() {
+        return this.type;
+    }
+
+    /**
+     * Gets the time to keep results for, if this is a {@link Type#TTL}
+     * policy.
+     *
+     * @return The {@link Duration}, if any
+     */
+    public Optional<Duration> getDuration() {
+        return Optional.ofNullable(this.duration);
+    }
+
+    @Override
+    public String toString() {
+        return this.duration == null ? this.type.name() : this.type.name() + " " + this.duration;
+    }
+
+    /**
+     * The types of {@link PlaceholderCachePolicy}.
+     */
+    public enum Type {
+        NEVER,
+        PER_TICK,
+        TTL,
+        UNTIL_INVALIDATED
+    }
+}
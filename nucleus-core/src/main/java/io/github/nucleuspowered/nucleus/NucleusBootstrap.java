@@ -29,6 +29,8 @@ import io.github.nucleuspowered.nucleus.modules.core.teleport.filters.WallCheckF
 import io.github.nucleuspowered.nucleus.quickstart.ModuleRegistrationProxyService;
 import io.github.nucleuspowered.nucleus.quickstart.NucleusLoggerProxy;
 import io.github.nucleuspowered.nucleus.quickstart.QuickStartModuleConstructor;
+import io.github.nucleuspowered.nucleus.quickstart.RegistrationIndex;
+import io.github.nucleuspowered.nucleus.quickstart.StartupTimings;
 import io.github.nucleuspowered.nucleus.quickstart.event.BaseModuleEvent;
 import io.github.nucleuspowered.nucleus.quickstart.module.StandardModule;
 import io.github.nucleuspowered.nucleus.registry.TeleportScannerRegistryModule;
@@ -37,6 +39,7 @@ import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
 import io.github.nucleuspowered.nucleus.services.impl.NucleusServiceCollection;
 import io.github.nucleuspowered.nucleus.services.impl.commandmetadata.CommandMetadataService;
 import io.github.nucleuspowered.nucleus.services.impl.moduledata.ModuleDataProvider;
+import io.github.nucleuspowered.nucleus.services.impl.storage.registry.IStorageRepositoryFactoryRegistryModule;
 import io.github.nucleuspowered.nucleus.services.interfaces.IConfigurateHelper;
 import io.github.nucleuspowered.nucleus.services.interfaces.IMessageProviderService;
 import io.github.nucleuspowered.nucleus.services.interfaces.IModuleDataProvider;
@@ -94,6 +97,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -121,6 +126,8 @@ public class NucleusBootstrap {
     @Nullable private Path dataFileLocation = null;
     private boolean isServer = false;
     @Nullable private String versionFail;
+    private final StartupTimings startupTimings = new StartupTimings();
+    @Nullable private CompletableFuture<Void> classPreload;
 
     private static boolean versionCheck(IMessageProviderService provider) throws IllegalStateException {
         Pattern matching = Pattern.compile("^(?<major>\\d+)\\.(?<minor>\\d+)");
@@ -197,6 +204,15 @@ public class NucleusBootstrap {
 
     }
 
+    private void preloadClass(String className) {
+        try {
+            Class.forName(className, false, getClass().getClassLoader());
+        } catch (Throwable e) {
+            // The module will fail again when it loads the class itself, this is so the cause is not lost.
+            this.logger.warn("Could not preload the class " + className, e);
+        }
+    }
+
     private INucleusServiceCollection getServiceCollection() {
         return this.serviceCollection;
     }
@@ -227,6 +243,10 @@ public class NucleusBootstrap {
         TeleportScannerRegistryModule registryModule = new TeleportScannerRegistryModule();
         registryModule.registerDefaults();
 
+        // The storage manager creates the storage engine registry.
+        this.serviceCollection.storageManager();
+        IStorageRepositoryFactoryRegistryModule.getInstance().registerDefaults();
+
         // Compatibility
         Optional<Asset> compatJson = Sponge.getAssetManager().getAsset(this.pluginContainer, "compat.json");
         compatJson.ifPresent(x -> {
@@ -321,13 +341,35 @@ public class NucleusBootstrap {
                         new TypeToken<Map<String, Map<String, List<String>>>>() {}.getType()
                 );
 
+                // Start loading every class the modules will need while the rest of startup continues.
+                this.classPreload = CompletableFuture.runAsync(() -> m.values().stream()
+                        .flatMap(x -> x.values().stream())
+                        .flatMap(List::stream)
+                        .distinct()
+                        .parallel()
+                        .forEach(this::preloadClass));
+
+                Map<String, RegistrationIndex> registrationIndex = Sponge.getAssetManager()
+                        .getAsset(this.pluginContainer, "registration-index.json")
+                        .map(x -> {
+                            try {
+                                return new Gson().<Map<String, RegistrationIndex>>fromJson(
+                                        x.readString(),
+                                        new TypeToken<Map<String, RegistrationIndex>>() {}.getType());
+                            } catch (IOException e) {
+                                this.logger.warn("Could not read the registration index, modules will be scanned instead", e);
+                                return null;
+                            }
+                        })
+                        .orElseGet(Collections::emptyMap);
+
                 Set<Class<?>> sc = Sets.newHashSet();
                 for (String classString : m.keySet()) {
                     sc.add(Class.forName(classString));
                 }
 
                 db.setStrategy((string, classloader) -> sc)
-                        .setConstructor(new QuickStartModuleConstructor(m, this.serviceCollection));
+                        .setConstructor(new QuickStartModuleConstructor(m, registrationIndex, this.serviceCollection));
             } else {
                 db.setConstructor(new QuickStartModuleConstructor(null, this.serviceCollection))
                         .setStrategy(Strategy.DEFAULT);
@@ -335,25 +377,42 @@ public class NucleusBootstrap {
 
             PhasedModuleEnabler<StandardModule, StandardModule> enabler =
                     new ModuleEnablerBuilder<>(StandardModule.class, StandardModule.class)
-                            .createPreEnablePhase("preenable", holder -> Sponge.getEventManager().post(new BaseModuleEvent.AboutToEnable(this)))
-                            .createEnablePhase("config", (module, holder) -> module.configTasks())
-                            .createEnablePhase("permissions", (module, holder) -> module.registerPermissions())
-                            .createEnablePhase("reg", (module, holder) -> module.loadRegistries())
-                            .createEnablePhase("services", (module, holder) -> module.loadServices())
-                            .createEnablePhase("pre-tasks", (module, holder) -> module.performPreTasks(this.serviceCollection))
-                            .createPreEnablePhase("enable", holder -> Sponge.getEventManager().post(new BaseModuleEvent.PreEnable(this)))
-                            .createEnablePhase("command-discovery", (module, holder) -> module.loadCommands())
-                            .createEnablePhase("aliased-commands", (module, holder) -> module.prepareAliasedCommands())
-                            .createPreEnablePhase("command-registration",
-                                holder -> this.serviceCollection.commandMetadataService().completeRegistrationPhase(this.serviceCollection))
-                            .createEnablePhase("events", (module, holder) -> module.loadEvents())
-                            .createEnablePhase("runnables", (module, holder) -> module.loadRunnables())
-                            .createEnablePhase("infoproviders", (module, holder) -> module.loadInfoProviders())
-                            .createEnablePhase("enableTasks", (module, holder) -> module.performEnableTasks(this.serviceCollection))
-                            .createPreEnablePhase("postenable", holder -> Sponge.getEventManager().post(new BaseModuleEvent.Enabled(this)))
-                            .createEnablePhase("tokens", (module, holder) -> module.loadTokens())
-                            .createEnablePhase("interceptors", (module, holder) -> module.registerCommandInterceptors())
-                            .createEnablePhase("postTasks", (module, holder) -> module.performPostTasks(this.serviceCollection))
+                            .createPreEnablePhase("preenable", holder -> this.startupTimings.time("preenable",
+                                    () -> Sponge.getEventManager().post(new BaseModuleEvent.AboutToEnable(this))))
+                            .createEnablePhase("config", (module, holder) ->
+                                    this.startupTimings.time("config", module.getModuleId(), module::configTasks))
+                            .createEnablePhase("permissions", (module, holder) ->
+                                    this.startupTimings.time("permissions", module.getModuleId(), module::registerPermissions))
+                            .createEnablePhase("reg", (module, holder) ->
+                                    this.startupTimings.time("reg", module.getModuleId(), module::loadRegistries))
+                            .createEnablePhase("services", (module, holder) ->
+                                    this.startupTimings.time("services", module.getModuleId(), module::loadServices))
+                            .createEnablePhase("pre-tasks", (module, holder) ->
+                                    this.startupTimings.time("pre-tasks", module.getModuleId(), () -> module.performPreTasks(this.serviceCollection)))
+                            .createPreEnablePhase("enable", holder -> this.startupTimings.time("enable",
+                                    () -> Sponge.getEventManager().post(new BaseModuleEvent.PreEnable(this))))
+                            .createEnablePhase("command-discovery", (module, holder) ->
+                                    this.startupTimings.time("command-discovery", module.getModuleId(), module::loadCommands))
+                            .createEnablePhase("aliased-commands", (module, holder) ->
+                                    this.startupTimings.time("aliased-commands", module.getModuleId(), module::prepareAliasedCommands))
+                            .createPreEnablePhase("command-registration", holder -> this.startupTimings.time("command-registration",
+                                    () -> this.serviceCollection.commandMetadataService().completeRegistrationPhase(this.serviceCollection)))
+                            .createEnablePhase("events", (module, holder) ->
+                                    this.startupTimings.time("events", module.getModuleId(), module::loadEvents))
+                            .createEnablePhase("runnables", (module, holder) ->
+                                    this.startupTimings.time("runnables", module.getModuleId(), module::loadRunnables))
+                            .createEnablePhase("infoproviders", (module, holder) ->
+                                    this.startupTimings.time("infoproviders", module.getModuleId(), module::loadInfoProviders))
+                            .createEnablePhase("enableTasks", (module, holder) ->
+                                    this.startupTimings.time("enableTasks", module.getModuleId(), () -> module.performEnableTasks(this.serviceCollection)))
+                            .createPreEnablePhase("postenable", holder -> this.startupTimings.time("postenable",
+                                    () -> Sponge.getEventManager().post(new BaseModuleEvent.Enabled(this))))
+                            .createEnablePhase("tokens", (module, holder) ->
+                                    this.startupTimings.time("tokens", module.getModuleId(), module::loadTokens))
+                            .createEnablePhase("interceptors", (module, holder) ->
+                                    this.startupTimings.time("interceptors", module.getModuleId(), module::registerCommandInterceptors))
+                            .createEnablePhase("postTasks", (module, holder) ->
+                                    this.startupTimings.time("postTasks", module.getModuleId(), () -> module.performPostTasks(this.serviceCollection)))
                             .build();
 
             IConfigurateHelper configurateHelper = this.serviceCollection.configurateHelper();
@@ -397,7 +456,7 @@ public class NucleusBootstrap {
                             m.getAnnotation(ModuleData.class).id().toLowerCase() + ".desc"))
                     .build();
 
-            this.moduleContainer.startDiscover();
+            this.startupTimings.time("discovery", this.moduleContainer::startDiscover);
             this.serviceCollection.reloadableService().registerEarlyReloadable(serviceCollection -> {
                 try {
                     this.moduleContainer.reloadSystemConfig();
@@ -435,6 +494,10 @@ public class NucleusBootstrap {
         try {
             Sponge.getEventManager().post(new BaseModuleEvent.AboutToConstructEvent(this));
             this.logger.info(messageProvider.getMessageString("startup.moduleloading", NucleusPluginInfo.NAME));
+            if (this.classPreload != null) {
+                this.startupTimings.time("class-preload", this.classPreload::join);
+            }
+
             this.moduleContainer.loadModules(true);
 
             CoreConfig coreConfig = this.moduleContainer.getConfigAdapterForModule(CoreModule.ID, CoreConfigAdapter.class).getNodeOrDefault();
@@ -452,6 +515,8 @@ public class NucleusBootstrap {
         }
 
         this.logger.info(messageProvider.getMessageString("startup.moduleloaded", NucleusPluginInfo.NAME));
+        this.logger.info(messageProvider.getMessageString("startup.timings", NucleusPluginInfo.NAME, this.startupTimings.getPhaseSummary()));
+        this.logger.debug(messageProvider.getMessageString("startup.timings.modules", NucleusPluginInfo.NAME, this.startupTimings.getModuleSummary()));
         this.serviceCollection.permissionService().registerDescriptions();
         Sponge.getEventManager().post(new BaseModuleEvent.Complete(this));
         this.logger.info(messageProvider.getMessageString("startup.completeinit", NucleusPluginInfo.NAME));
@@ -601,13 +666,19 @@ public class NucleusBootstrap {
 
     private void saveData() {
         IStorageManager ism = this.serviceCollection.storageManager();
-        ism.getUserService().ensureSaved();
-        ism.getWorldService().ensureSaved();
+        try {
+            // Wait for the queued saves to be written, the server is going away.
+            CompletableFuture.allOf(ism.getUserService().ensureSaved(), ism.getWorldService().ensureSaved())
+                    .get(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            this.logger.error("Could not write all queued user and world data before shutdown", e);
+        }
 
         if (Sponge.getGame().getState().ordinal() > GameState.SERVER_ABOUT_TO_START.ordinal()) {
             try {
                 ism.getGeneralService().ensureSaved();
                 this.serviceCollection.userCacheService().save();
+                this.serviceCollection.cooldownService().save();
             } catch (Exception e) {
                 e.printStackTrace();
             }
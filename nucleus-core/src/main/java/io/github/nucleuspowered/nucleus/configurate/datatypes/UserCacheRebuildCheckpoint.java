@@ -0,0 +1,61 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.configurate.datatypes;
+
+import com.google.common.collect.Maps;
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.annotation.Nullable;
+
+/**
+ * One batch of a user cache rebuild that has not yet completed. A rebuild
+ * writes one of these for each batch of users it reads.
+ */
+@ConfigSerializable
+public class UserCacheRebuildCheckpoint {
+
+    @Setting
+    private int version = new UserCacheVersionNode().getVersion();
+
+    @Setting
+    @Nullable
+    private UUID lastKey = null;
+
+    @Setting
+    private Map<UUID, UserCacheDataNode> node = Maps.newHashMap();
+
+    public UserCacheRebuildCheckpoint() {
+        // ignored - for Configurate
+    }
+
+    public UserCacheRebuildCheckpoint(UUID lastKey, Map<UUID, UserCacheDataNode> node) {
+        this.lastKey = lastKey;
+        this.node = Maps.newHashMap(node);
+    }
+
+    public int getVersion() {
+        return this.version;
+    }
+
+    /**
+     * The last key that was processed. All keys up to and including this one,
+     * in natural order, are in {@link #getNode()} of this checkpoint or of
+     * the checkpoints written before it.
+     *
+     * @return The key, if any have been processed
+     */
+    public Optional<UUID> getLastKey() {
+        return Optional.ofNullable(this.lastKey);
+    }
+
+    public Map<UUID, UserCacheDataNode> getNode() {
+        return this.node;
+    }
+}
@@ -5,7 +5,6 @@
 package io.github.nucleuspowered.nucleus.logging;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Lists;
 import io.github.nucleuspowered.nucleus.services.interfaces.IMessageProviderService;
 import io.github.nucleuspowered.nucleus.services.interfaces.IReloadableService;
 import org.slf4j.Logger;
@@ -18,9 +17,15 @@ import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 
 public abstract class AbstractLoggingHandler implements IReloadableService.Reloadable {
@@ -31,11 +36,13 @@ public abstract class AbstractLoggingHandler implements IReloadableService.Reloa
             .withZone(ZoneId.systemDefault());
     private final IMessageProviderService messageProviderService;
     private final Logger slogger;
-    protected DateRotatableFileLogger logger;
-    private final List<String> queueEntry = Lists.newArrayList();
+    protected volatile DateRotatableFileLogger logger;
+    private volatile LogFileConfig logFileConfig = new LogFileConfig();
+    private final Queue<String> queueEntry = new ConcurrentLinkedQueue<>();
     private final String directoryName;
     private final String filePrefix;
-    private final Object locking = new Object();
+    @Nullable private Thread writerThread;
+    private volatile boolean isWriting = false;
 
     @Inject
     public AbstractLoggingHandler(String directoryName,
@@ -50,9 +57,7 @@ public abstract class AbstractLoggingHandler implements IReloadableService.Reloa
 
     public void queueEntry(String s) {
         if (this.logger != null) {
-            synchronized (this.locking) {
-                this.queueEntry.add(s);
-            }
+            this.queueEntry.offer(s);
         }
     }
 
@@ -62,6 +67,7 @@ public abstract class AbstractLoggingHandler implements IReloadableService.Reloa
     }
 
     protected void onShutdown() throws IOException {
+        stopWriter();
         if (this.logger != null) {
             this.logger.close();
             this.logger = null;
@@ -70,15 +76,77 @@ public abstract class AbstractLoggingHandler implements IReloadableService.Reloa
 
     protected abstract boolean enabledLog();
 
-    public void onTick() {
+    /**
+     * Applies the log file settings, including to a log that is already open,
+     * and opens or closes the log to match whether it is enabled.
+     *
+     * @param enabled Whether the log is enabled
+     * @param logFileConfig The {@link LogFileConfig}
+     */
+    protected void applyConfig(boolean enabled, LogFileConfig logFileConfig) {
+        this.logFileConfig = logFileConfig;
+        DateRotatableFileLogger current = this.logger;
+        if (current != null) {
+            current.setConfig(logFileConfig);
+        }
+
+        try {
+            if (enabled && this.logger == null) {
+                createLogger();
+            } else if (!enabled && this.logger != null) {
+                onShutdown();
+            }
+        } catch (IOException e) {
+            this.slogger.error("Could not " + (enabled ? "open" : "close") + " the " + this.directoryName + " log", e);
+        }
+    }
+
+    private synchronized void startWriter() {
+        if (this.writerThread == null) {
+            this.isWriting = true;
+            this.writerThread = new Thread(this::runWriter, "Nucleus " + this.directoryName + " log writer");
+            this.writerThread.setDaemon(true);
+            this.writerThread.start();
+        }
+    }
+
+    private synchronized void stopWriter() {
+        if (this.writerThread != null) {
+            this.isWriting = false;
+            LockSupport.unpark(this.writerThread);
+            try {
+                this.writerThread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            this.writerThread = null;
+        }
+    }
+
+    /**
+     * Writes whatever has been queued once every commit interval, so that many
+     * lines share one write to the file.
+     */
+    private void runWriter() {
+        while (this.isWriting) {
+            LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(this.logFileConfig.getCommitIntervalMillis()));
+            writeQueuedEntries();
+        }
+
+        // Write anything that was queued before we were asked to stop.
+        writeQueuedEntries();
+    }
+
+    private void writeQueuedEntries() {
         if (this.queueEntry.isEmpty()) {
             return;
         }
 
-        List<String> l;
-        synchronized (this.locking) {
-            l = Lists.newArrayList(this.queueEntry);
-            this.queueEntry.clear();
+        List<String> l = new ArrayList<>();
+        String entry;
+        while ((entry = this.queueEntry.poll()) != null) {
+            l.add(entry);
         }
 
         if (this.logger == null) {
@@ -86,8 +154,7 @@ public abstract class AbstractLoggingHandler implements IReloadableService.Reloa
                 try {
                     createLogger();
                 } catch (IOException e) {
-                    this.slogger.warn(this.messageProviderService.getMessageString("commandlog.couldnotwrite"));
-                    e.printStackTrace();
+                    this.slogger.warn(this.messageProviderService.getMessageString("commandlog.couldnotwrite"), e);
                     return;
                 }
             } else {
@@ -98,15 +165,15 @@ public abstract class AbstractLoggingHandler implements IReloadableService.Reloa
         try {
             writeEntry(l);
         } catch (IOException e) {
-            this.slogger.warn(this.messageProviderService.getMessageString("commandlog.couldnotwrite"));
-            e.printStackTrace();
+            this.slogger.warn(this.messageProviderService.getMessageString("commandlog.couldnotwrite"), e);
         }
     }
 
     protected void createLogger() throws IOException {
         this.logger = new DateRotatableFileLogger(this.directoryName, this.filePrefix, s -> "[" +
             formatter.format(Instant.now().atZone(ZoneOffset.systemDefault())) +
-            "] " + s);
+            "] " + s, this.logFileConfig, this.slogger);
+        startWriter();
     }
 
     private void writeEntry(Iterable<String> entry) throws IOException {
@@ -6,7 +6,9 @@ package io.github.nucleuspowered.nucleus.logging;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.github.nucleuspowered.nucleus.Util;
+import org.slf4j.Logger;
 
 import java.io.Closeable;
 import java.io.IOException;
@@ -18,40 +20,84 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Function;
 
 public class DateRotatableFileLogger implements Closeable {
 
     private final static Path nucleusBase = Paths.get("logs/nucleus");
 
+    // Rotated files are compressed here so that writing never waits for gzip.
+    private final static ExecutorService compressionExecutor = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("Nucleus log compression").setDaemon(true).build());
+
     private final Path directory;
     private final String filenamePrefix;
     private Instant currentDate;
     private LogFile file;
     private final Function<String, String> formatter;
+    private final Logger logger;
+    private volatile LogFileConfig config;
     private boolean isClosed = false;
 
-    public DateRotatableFileLogger(String directory, String filenamePrefix, Function<String, String> formatter) throws IOException {
+    public DateRotatableFileLogger(String directory, String filenamePrefix, Function<String, String> formatter, Logger logger)
+            throws IOException {
+        this(directory, filenamePrefix, formatter, new LogFileConfig(), logger);
+    }
+
+    public DateRotatableFileLogger(String directory, String filenamePrefix, Function<String, String> formatter, LogFileConfig config,
+            Logger logger) throws IOException {
         Preconditions.checkNotNull(directory);
         Preconditions.checkNotNull(filenamePrefix);
+        Preconditions.checkNotNull(config);
+        Preconditions.checkNotNull(logger);
 
         this.directory = nucleusBase.resolve(directory);
         this.filenamePrefix = filenamePrefix;
         this.formatter = formatter == null ? s -> s : formatter;
+        this.config = config;
+        this.logger = logger;
         Files.createDirectories(this.directory);
     }
 
+    /**
+     * Sets the {@link LogFileConfig}, which takes effect from the next write.
+     *
+     * @param config The config
+     */
+    public void setConfig(LogFileConfig config) {
+        this.config = Preconditions.checkNotNull(config);
+    }
+
+    private void compress(Path file) {
+        if (this.config.isCompressRotatedFiles()) {
+            compressionExecutor.execute(() -> {
+                try {
+                    Util.compressAndDeleteFile(file);
+                } catch (IOException e) {
+                    this.logger.warn("Could not compress the log file " + file, e);
+                }
+            });
+        }
+    }
+
+    private void closeFile() throws IOException {
+        try {
+            this.file.close();
+        } finally {
+            compress(this.file.getLocation());
+            this.file = null;
+        }
+    }
+
     private void openFile() throws IOException {
         if (this.isClosed) {
             throw new IllegalStateException();
         }
 
         if (this.file != null && !this.file.isClosed()) {
-            try {
-                this.file.close();
-            } finally {
-                this.file = null;
-            }
+            closeFile();
         }
 
         int count = 0;
@@ -62,11 +108,8 @@ public class DateRotatableFileLogger implements Closeable {
             fileName = this.directory.toString() + "/" + this.filenamePrefix + "-" + DateTimeFormatter.ofPattern("yyyy-MM-dd").format(Instant.now().atZone(ZoneId.systemDefault())) + "-" + count + ".log";
             Path nextFile = Paths.get(fileName);
             if (Files.exists(nextFile)) {
-                try {
-                    Util.compressAndDeleteFile(nextFile);
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
+                // Left over from a previous run, move on to the next file.
+                compress(nextFile);
             } else if (!Files.exists(Paths.get(fileName + ".gz"))) {
                 this.file = new LogFile(nextFile, this.formatter);
                 go = true;
@@ -104,7 +147,7 @@ public class DateRotatableFileLogger implements Closeable {
                 iterator.remove();
             }
 
-            this.file.flush();
+            this.file.flush(this.config.isSyncOnCommit());
         } catch (IOException e) {
             if (retryOnError) {
                 logEntry(entry, false);
@@ -121,8 +164,7 @@ public class DateRotatableFileLogger implements Closeable {
         }
 
         if (this.file != null && !this.file.isClosed()) {
-            this.file.close();
-            this.file = null;
+            closeFile();
             this.isClosed = true;
         }
     }
@@ -5,20 +5,32 @@
 package io.github.nucleuspowered.nucleus.logging;
 
 import com.google.common.base.Preconditions;
-import io.github.nucleuspowered.nucleus.Util;
 
-import java.io.BufferedWriter;
 import java.io.Closeable;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.function.Function;
 
 class LogFile implements Closeable {
 
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
     private final Path location;
     private final Function<String, String> formatter;
-    private final BufferedWriter outputStream;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
     private boolean isClosed = false;
 
     LogFile(final Path location, Function<String, String> stringFormatter) throws IOException {
@@ -26,22 +38,51 @@ class LogFile implements Closeable {
         Preconditions.checkNotNull(stringFormatter);
 
         this.location = location;
-        this.outputStream = Files.newBufferedWriter(location);
+        this.channel = FileChannel.open(location,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
         this.formatter = stringFormatter;
     }
 
+    Path getLocation() {
+        return this.location;
+    }
+
     void writeLine(String line) throws IOException {
         try {
-            this.outputStream.write(this.formatter.apply(line));
-            this.outputStream.newLine();
+            CharBuffer chars = CharBuffer.wrap(this.formatter.apply(line) + LINE_SEPARATOR);
+            this.encoder.reset();
+            while (this.encoder.encode(chars, this.buffer, true) == CoderResult.OVERFLOW) {
+                drainBuffer();
+            }
+
+            while (this.encoder.flush(this.buffer) == CoderResult.OVERFLOW) {
+                drainBuffer();
+            }
         } catch (IOException e) {
             close();
             throw e;
         }
     }
 
-    void flush() throws IOException {
-        this.outputStream.flush();
+    /**
+     * Writes the buffered lines to the file.
+     *
+     * @param sync Whether to also force the written lines to the storage device.
+     */
+    void flush(boolean sync) throws IOException {
+        drainBuffer();
+        if (sync) {
+            this.channel.force(false);
+        }
+    }
+
+    private void drainBuffer() throws IOException {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+
+        this.buffer.clear();
     }
 
     boolean isClosed() {
@@ -55,11 +96,10 @@ class LogFile implements Closeable {
         }
 
         try {
-            this.outputStream.close();
+            drainBuffer();
         } finally {
             this.isClosed = true;
-
-            Util.compressAndDeleteFile(this.location);
+            this.channel.close();
         }
     }
 }
@@ -0,0 +1,33 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.logging;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class LogFileConfig {
+
+    @Setting(value = "commit-interval-millis", comment = "config.logging.file.commitinterval")
+    private long commitInterval = 1000;
+
+    @Setting(value = "sync-on-commit", comment = "config.logging.file.sync")
+    private boolean syncOnCommit = false;
+
+    @Setting(value = "compress-rotated-files", comment = "config.logging.file.compress")
+    private boolean compressRotatedFiles = true;
+
+    public long getCommitIntervalMillis() {
+        return Math.max(10, this.commitInterval);
+    }
+
+    public boolean isSyncOnCommit() {
+        return this.syncOnCommit;
+    }
+
+    public boolean isCompressRotatedFiles() {
+        return this.compressRotatedFiles;
+    }
+}
@@ -5,6 +5,7 @@
 package io.github.nucleuspowered.nucleus.modules.chat.listeners;
 
 import io.github.nucleuspowered.nucleus.Util;
+import io.github.nucleuspowered.nucleus.api.module.nickname.event.NucleusChangeNicknameEvent;
 import io.github.nucleuspowered.nucleus.api.placeholder.NucleusPlaceholderService;
 import io.github.nucleuspowered.nucleus.modules.chat.ChatPermissions;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfig;
@@ -19,8 +20,10 @@ import io.github.nucleuspowered.nucleus.services.interfaces.ITextStyleService;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.filter.Getter;
 import org.spongepowered.api.event.message.MessageChannelEvent;
 import org.spongepowered.api.event.message.MessageEvent;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.TextTemplate;
 import org.spongepowered.api.text.serializer.TextSerializers;
@@ -85,28 +88,35 @@ public class ChatListener implements IReloadableService.Reloadable, ListenerBase
             footerFormatter.clear();
         }
 
-        final ChatTemplateConfig ctc;
-        if (this.chatConfig.isUseGroupTemplates()) {
-            ctc = this.chatService.getTemplateNow(player);
-        } else {
-            ctc = this.chatConfig.getDefaultTemplate();
-        }
-
-        if (!ctc.getPrefix().isEmpty()) {
+        final ChatService.PlayerTemplate template = this.chatService.getTemplate(player);
+        final ChatTemplateConfig ctc = template.getConfig();
+        TextTemplate header = template.getHeader(player);
+        if (header != null) {
             SimpleTextTemplateApplier headerApplier = new SimpleTextTemplateApplier();
-            headerApplier.setTemplate(TextTemplate.of(ctc.getPrefix().getForCommandSource(player)));
+            headerApplier.setTemplate(header);
             event.getFormatter().getHeader().add(headerApplier);
         }
 
-        if (!ctc.getSuffix().isEmpty()) {
+        TextTemplate footer = template.getFooter(player);
+        if (footer != null) {
             SimpleTextTemplateApplier footerApplier = new SimpleTextTemplateApplier();
-            footerApplier.setTemplate(TextTemplate.of(ctc.getSuffix().getForCommandSource(player)));
+            footerApplier.setTemplate(footer);
             event.getFormatter().getFooter().add(footerApplier);
         }
 
         event.getFormatter().setBody(this.chatConfig.isModifyMainMessage() ? useMessage(player, rawMessage, ctc) : rawMessage);
     }
 
+    @Listener
+    public void onNicknameChange(NucleusChangeNicknameEvent.Post event) {
+        this.chatService.invalidate(event.getUser().getUniqueId());
+    }
+
+    @Listener(order = Order.POST)
+    public void onPlayerQuit(ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") Player player) {
+        this.chatService.invalidate(player.getUniqueId());
+    }
+
     @Override
     public boolean shouldEnable(INucleusServiceCollection serviceCollection) {
         return serviceCollection.moduleDataProvider().getModuleConfig(ChatConfig.class).isModifychat();
@@ -118,14 +128,13 @@ public class ChatListener implements IReloadableService.Reloadable, ListenerBase
             m = m.replaceAll("&9&n([A-Za-z0-9-.]+)(&r)?", "$1");
         }
 
-        m = this.textStyleService.stripPermissionless(ChatPermissions.CHAT_COLOR, ChatPermissions.CHAT_STYLE, player, m);
-
-        Text result;
-        if (this.permissionService.hasPermission(player, ChatPermissions.CHAT_URLS)) {
-            result = this.textStyleService.addUrls(m, !this.chatConfig.isRemoveBlueUnderline());
-        } else {
-            result = TextSerializers.FORMATTING_CODE.deserialize(m);
-        }
+        Text result = this.textStyleService.stripPermissionlessAndAddUrls(
+                ChatPermissions.CHAT_COLOR,
+                ChatPermissions.CHAT_STYLE,
+                player,
+                m,
+                this.permissionService.hasPermission(player, ChatPermissions.CHAT_URLS),
+                !this.chatConfig.isRemoveBlueUnderline());
 
         String chatcol = this.permissionService.getOptionFromSubject(player, "chatcolour", "chatcolor").orElseGet(chatTemplateConfig::getChatcolour);
         String chatstyle = this.permissionService.getOptionFromSubject(player, "chatstyle").orElseGet(chatTemplateConfig::getChatstyle);
@@ -4,30 +4,271 @@
  */
 package io.github.nucleuspowered.nucleus.modules.chat.services;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfig;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatTemplateConfig;
 import io.github.nucleuspowered.nucleus.scaffold.service.ServiceBase;
 import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
+import io.github.nucleuspowered.nucleus.services.impl.texttemplatefactory.NucleusTextTemplateImpl;
 import io.github.nucleuspowered.nucleus.services.interfaces.IReloadableService;
+import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.service.permission.Subject;
+import org.spongepowered.api.text.TextTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+import javax.inject.Inject;
 
 /**
  * Contains the logic for caching templates and the template selection logic.
+ *
+ * <p>Templates are compiled when the config is loaded. Any part of a template
+ * that has no tokens is rendered the first time it is used, and any part that only
+ * uses tokens that depend on the player alone is rendered once per player and
+ * cached. Only parts that use other tokens are rendered for each message.</p>
  */
 public class ChatService implements IReloadableService.Reloadable, ServiceBase {
 
+    private static final String GROUP_OPTION = "nucleus.chat.group";
+
+    // Tokens that only change when the player's name, nickname or options change.
+    private static final Set<String> PLAYER_TOKENS = ImmutableSet.of(
+            "name", "playername", "subject", "player", "playerdisplayname", "displayname", "prefix", "suffix");
+    private static final Pattern MODIFIERS = Pattern.compile(":[sp]+$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern UUID_PATTERN =
+            Pattern.compile("^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$", Pattern.CASE_INSENSITIVE);
+
+    // Names are discarded along with the cached placeholders, but options can change without an event we can
+    // listen to, so entries are only trusted for a short time.
+    private final Cache<UUID, PlayerTemplate> playerTemplates = Caffeine.newBuilder()
+            .expireAfterWrite(10, TimeUnit.SECONDS)
+            .build();
+
     private ChatConfig config = new ChatConfig();
+    private CompiledTemplate defaultTemplate = new CompiledTemplate(this.config.getDefaultTemplate(), Fragment.EMPTY, Fragment.EMPTY);
+    private Map<String, CompiledTemplate> groupTemplates = ImmutableMap.of();
+
+    @Inject
+    public ChatService(INucleusServiceCollection serviceCollection) {
+        serviceCollection.placeholderService().registerInvalidationListener(this::onPlaceholderInvalidated);
+    }
 
     public ChatTemplateConfig getTemplateNow(Subject subject) {
+        return getCompiledTemplate(subject).getConfig();
+    }
+
+    private CompiledTemplate getCompiledTemplate(Subject subject) {
         if (!this.config.isUseGroupTemplates()) {
-            return this.config.getDefaultTemplate();
+            return this.defaultTemplate;
+        }
+
+        return subject.getOption(GROUP_OPTION).map(x -> this.groupTemplates.get(x)).orElse(this.defaultTemplate);
+    }
+
+    /**
+     * Gets the template for the player, with the header and footer rendered
+     * as far as they can be without knowing about the message.
+     *
+     * @param player The {@link Player}
+     * @return The {@link PlayerTemplate}
+     */
+    public PlayerTemplate getTemplate(Player player) {
+        return this.playerTemplates.get(player.getUniqueId(), uuid -> {
+            CompiledTemplate template = getCompiledTemplate(player);
+            return new PlayerTemplate(
+                    template.config,
+                    template.prefix.forPlayer(player),
+                    template.suffix.forPlayer(player));
+        });
+    }
+
+    /**
+     * Discards anything that has been cached for the player, such as when
+     * their nickname changes.
+     *
+     * @param uuid The {@link UUID} of the player
+     */
+    public void invalidate(UUID uuid) {
+        this.playerTemplates.invalidate(uuid);
+    }
+
+    private void onPlaceholderInvalidated(String token, @Nullable String identifier) {
+        if (!PLAYER_TOKENS.contains(token)) {
+            return;
         }
 
-        return subject.getOption("nucleus.chat.group").map(x -> this.config.getGroupTemplates().get(x)).orElse(this.config.getDefaultTemplate());
+        if (identifier == null) {
+            this.playerTemplates.invalidateAll();
+        } else if (UUID_PATTERN.matcher(identifier).matches()) {
+            this.playerTemplates.invalidate(UUID.fromString(identifier));
+        }
     }
 
     @Override
     public void onReload(INucleusServiceCollection serviceCollection) {
         this.config = serviceCollection.moduleDataProvider().getModuleConfig(ChatConfig.class);
+        this.defaultTemplate = compile(this.config.getDefaultTemplate());
+        Map<String, CompiledTemplate> groups = new HashMap<>();
+        this.config.getGroupTemplates().forEach((group, template) -> groups.put(group, compile(template)));
+        this.groupTemplates = ImmutableMap.copyOf(groups);
+        this.playerTemplates.invalidateAll();
+    }
+
+    private static CompiledTemplate compile(ChatTemplateConfig config) {
+        return new CompiledTemplate(config, Fragment.compile(config.getPrefix()), Fragment.compile(config.getSuffix()));
+    }
+
+    private static boolean isPlayerToken(String key) {
+        String token = MODIFIERS.matcher(key.toLowerCase()).replaceAll("").split("\\|", 2)[0];
+
+        // Option tokens are player options, UUID tokens are the links to commands on the player.
+        return PLAYER_TOKENS.contains(token) || token.startsWith("o:") || UUID_PATTERN.matcher(token).matches();
+    }
+
+    private static final class CompiledTemplate {
+
+        private final ChatTemplateConfig config;
+        private final Fragment prefix;
+        private final Fragment suffix;
+
+        private CompiledTemplate(ChatTemplateConfig config, Fragment prefix, Fragment suffix) {
+            this.config = config;
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+
+        private ChatTemplateConfig getConfig() {
+            return this.config;
+        }
+    }
+
+    /**
+     * A prefix or suffix, along with how far it can be rendered ahead of time.
+     */
+    private static final class Fragment {
+
+        private static final Fragment EMPTY = new Fragment(null, false, false);
+
+        @Nullable private final NucleusTextTemplateImpl template;
+        private final boolean isStatic;
+        private final boolean playerOnly;
+
+        // Static fragments are rendered the first time they are used, as the server may not be up when compiling.
+        @Nullable private volatile TextTemplate rendered;
+
+        private Fragment(@Nullable NucleusTextTemplateImpl template, boolean isStatic, boolean playerOnly) {
+            this.template = template;
+            this.isStatic = isStatic;
+            this.playerOnly = playerOnly;
+        }
+
+        private static Fragment compile(@Nullable NucleusTextTemplateImpl template) {
+            if (template == null || template.isEmpty()) {
+                return EMPTY;
+            }
+
+            if (!template.containsTokens()) {
+                return new Fragment(template, true, false);
+            }
+
+            boolean playerOnly = template.getTextTemplate().getArguments().keySet().stream().allMatch(ChatService::isPlayerToken);
+            return new Fragment(template, false, playerOnly);
+        }
+
+        private RenderedFragment forPlayer(Player player) {
+            if (this.template == null) {
+                return RenderedFragment.EMPTY;
+            }
+
+            if (this.isStatic) {
+                TextTemplate result = this.rendered;
+                if (result == null) {
+                    // Without tokens, the source is not used.
+                    result = TextTemplate.of(this.template.getForCommandSource(player));
+                    this.rendered = result;
+                }
+
+                return new RenderedFragment(null, result);
+            }
+
+            if (this.playerOnly) {
+                return new RenderedFragment(null, TextTemplate.of(this.template.getForCommandSource(player)));
+            }
+
+            return new RenderedFragment(this.template, null);
+        }
+    }
+
+    private static final class RenderedFragment {
+
+        private static final RenderedFragment EMPTY = new RenderedFragment(null, null);
+
+        @Nullable private final NucleusTextTemplateImpl template;
+        @Nullable private final TextTemplate rendered;
+
+        private RenderedFragment(@Nullable NucleusTextTemplateImpl template, @Nullable TextTemplate rendered) {
+            this.template = template;
+            this.rendered = rendered;
+        }
+
+        @Nullable
+        private TextTemplate get(Player player) {
+            if (this.template != null) {
+                return TextTemplate.of(this.template.getForCommandSource(player));
+            }
+
+            return this.rendered;
+        }
+    }
+
+    /**
+     * The template that a player uses, with as much rendered as possible.
+     */
+    public static final class PlayerTemplate {
+
+        private final ChatTemplateConfig config;
+        private final RenderedFragment header;
+        private final RenderedFragment footer;
+
+        private PlayerTemplate(ChatTemplateConfig config, RenderedFragment header, RenderedFragment footer) {
+            this.config = config;
+            this.header = header;
+            this.footer = footer;
+        }
+
+        public ChatTemplateConfig getConfig() {
+            return this.config;
+        }
+
+        /**
+         * Gets the header for a message from the player.
+         *
+         * @param player The {@link Player}
+         * @return The header, or null if there isn't one
+         */
+        @Nullable
+        public TextTemplate getHeader(Player player) {
+            return this.header.get(player);
+        }
+
+        /**
+         * Gets the footer for a message from the player.
+         *
+         * @param player The {@link Player}
+         * @return The footer, or null if there isn't one
+         */
+        @Nullable
+        public TextTemplate getFooter(Player player) {
+            return this.footer.get(player);
+        }
     }
 }
@@ -4,6 +4,7 @@
  */
 package io.github.nucleuspowered.nucleus.modules.chatlogger.config;
 
+import io.github.nucleuspowered.nucleus.logging.LogFileConfig;
 import ninja.leaping.configurate.objectmapping.Setting;
 import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
 
@@ -22,6 +23,9 @@ public class ChatLoggingConfig {
     @Setting(value = "log-mail", comment = "config.chatlog.mail")
     private boolean logMail = false;
 
+    @Setting(value = "log-file", comment = "config.logging.file")
+    private LogFileConfig logFileConfig = new LogFileConfig();
+
     public boolean isEnableLog() {
         return this.enableLog;
     }
@@ -37,4 +41,8 @@ public class ChatLoggingConfig {
     public boolean isLogMail() {
         return this.logMail;
     }
+
+    public LogFileConfig getLogFileConfig() {
+        return this.logFileConfig;
+    }
 }
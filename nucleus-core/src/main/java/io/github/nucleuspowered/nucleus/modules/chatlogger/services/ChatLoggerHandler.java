@@ -9,8 +9,6 @@ import io.github.nucleuspowered.nucleus.modules.chatlogger.config.ChatLoggingCon
 import io.github.nucleuspowered.nucleus.scaffold.service.ServiceBase;
 import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
 
-import java.io.IOException;
-
 import javax.inject.Inject;
 
 public class ChatLoggerHandler extends AbstractLoggingHandler implements ServiceBase {
@@ -26,15 +24,7 @@ public class ChatLoggerHandler extends AbstractLoggingHandler implements Service
     public void onReload(INucleusServiceCollection serviceCollection) {
         ChatLoggingConfig clca = serviceCollection.moduleDataProvider().getModuleConfig(ChatLoggingConfig.class);
         this.enabled = clca.isEnableLog();
-        try {
-            if (this.enabled && this.logger == null) {
-                this.createLogger();
-            } else if (!this.enabled && this.logger != null) {
-                this.onShutdown();
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        applyConfig(this.enabled, clca.getLogFileConfig());
     }
 
     @Override
@@ -10,8 +10,6 @@ import io.github.nucleuspowered.nucleus.scaffold.service.ServiceBase;
 import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
 import io.github.nucleuspowered.nucleus.services.interfaces.IReloadableService;
 
-import java.io.IOException;
-
 import javax.inject.Inject;
 
 public class CommandLoggerHandler extends AbstractLoggingHandler implements IReloadableService.Reloadable, ServiceBase {
@@ -26,15 +24,7 @@ public class CommandLoggerHandler extends AbstractLoggingHandler implements IRel
     @Override
     public void onReload(INucleusServiceCollection serviceCollection) {
         this.config = serviceCollection.moduleDataProvider().getModuleConfig(CommandLoggerConfig.class);
-        try {
-            if (this.config.isLogToFile() && this.logger == null) {
-                this.createLogger();
-            } else if (!this.config.isLogToFile() && this.logger != null) {
-                this.onShutdown();
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        applyConfig(this.config.isLogToFile(), this.config.getLogFileConfig());
     }
 
     @Override
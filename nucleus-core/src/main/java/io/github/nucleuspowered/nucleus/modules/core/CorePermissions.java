@@ -39,18 +39,48 @@ public class CorePermissions {
     @PermissionMetadata(descriptionKey = "permission.base", replacements = { "debug refreshuniquevisitors" }, level = SuggestedLevel.ADMIN)
     public static final String BASE_DEBUG_REFRESHUNIQUEVISITORS = "nucleus.nucleus.debug.refreshuniquevisitors.base";
 
+    @PermissionMetadata(descriptionKey = "permission.base", replacements = { "debug loginprefetch" }, level = SuggestedLevel.ADMIN)
+    public static final String BASE_DEBUG_LOGINPREFETCH = "nucleus.nucleus.debug.loginprefetch.base";
+
+    @PermissionMetadata(descriptionKey = "permission.base", replacements = { "debug placeholdercache" }, level = SuggestedLevel.ADMIN)
+    public static final String BASE_DEBUG_PLACEHOLDERCACHE = "nucleus.nucleus.debug.placeholdercache.base";
+
+    @PermissionMetadata(descriptionKey = "permission.base", replacements = { "debug permissioncache" }, level = SuggestedLevel.ADMIN)
+    public static final String BASE_DEBUG_PERMISSIONCACHE = "nucleus.nucleus.debug.permissioncache.base";
+
     @PermissionMetadata(descriptionKey = "permission.base", replacements = { "nucleus getuser" }, level = SuggestedLevel.NONE)
     public static final String BASE_NUCLEUS_GETUSER = "nucleus.nucleus.getuser.base";
 
     @PermissionMetadata(descriptionKey = "permission.base", replacements = { "nucleus info" }, level = SuggestedLevel.OWNER)
     public static final String BASE_NUCLEUS_INFO = "nucleus.nucleus.info.base";
 
+    @PermissionMetadata(descriptionKey = "permission.base", replacements = { "nucleus migratedata" }, level = SuggestedLevel.OWNER)
+    public static final String BASE_NUCLEUS_MIGRATEDATA = "nucleus.nucleus.migratedata.base";
+
     @PermissionMetadata(descriptionKey = "permission.base", replacements = { "nucleus printperms" }, level = SuggestedLevel.ADMIN)
     public static final String BASE_NUCLEUS_PRINTPERMS = "nucleus.nucleus.printperms.base";
 
+    @PermissionMetadata(descriptionKey = "permission.base", replacements = { "nucleus profile" }, level = SuggestedLevel.OWNER)
+    public static final String BASE_NUCLEUS_PROFILE = "nucleus.nucleus.profile.base";
+
+    @PermissionMetadata(descriptionKey = "permission.base", replacements = { "nucleus profile start" }, level = SuggestedLevel.OWNER)
+    public static final String BASE_NUCLEUS_PROFILE_START = "nucleus.nucleus.profile.start.base";
+
+    @PermissionMetadata(descriptionKey = "permission.base", replacements = { "nucleus profile stop" }, level = SuggestedLevel.OWNER)
+    public static final String BASE_NUCLEUS_PROFILE_STOP = "nucleus.nucleus.profile.stop.base";
+
+    @PermissionMetadata(descriptionKey = "permission.base", replacements = { "nucleus profile dump" }, level = SuggestedLevel.OWNER)
+    public static final String BASE_NUCLEUS_PROFILE_DUMP = "nucleus.nucleus.profile.dump.base";
+
+    @PermissionMetadata(descriptionKey = "permission.base", replacements = { "nucleus profile reset" }, level = SuggestedLevel.OWNER)
+    public static final String BASE_NUCLEUS_PROFILE_RESET = "nucleus.nucleus.profile.reset.base";
+
     @PermissionMetadata(descriptionKey = "permission.base", replacements = { "nucleus rebuildusercache" }, level = SuggestedLevel.OWNER)
     public static final String BASE_NUCLEUS_REBUILDUSERCACHE = "nucleus.nucleus.rebuildusercache.base";
 
+    @PermissionMetadata(descriptionKey = "permission.base", replacements = { "nucleus rebuildusercache status" }, level = SuggestedLevel.ADMIN)
+    public static final String BASE_NUCLEUS_REBUILDUSERCACHE_STATUS = "nucleus.nucleus.rebuildusercache.status.base";
+
     @PermissionMetadata(descriptionKey = "permission.base", replacements = { "nucleus reload" }, level = SuggestedLevel.ADMIN)
     public static final String BASE_NUCLEUS_RELOAD = "nucleus.nucleus.reload.base";
 
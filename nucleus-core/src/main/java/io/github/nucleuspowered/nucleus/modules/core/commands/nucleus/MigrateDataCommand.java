@@ -0,0 +1,49 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.commands.nucleus;
+
+import io.github.nucleuspowered.nucleus.modules.core.CorePermissions;
+import io.github.nucleuspowered.nucleus.modules.core.commands.NucleusCommand;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandContext;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandExecutor;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandResult;
+import io.github.nucleuspowered.nucleus.scaffold.command.annotation.Command;
+import io.github.nucleuspowered.nucleus.services.interfaces.IStorageManager;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+
+@NonnullByDefault
+@Command(
+        aliases = "migratedata",
+        basePermission = CorePermissions.BASE_NUCLEUS_MIGRATEDATA,
+        commandDescriptionKey = "nucleus.migratedata",
+        parentCommand = NucleusCommand.class,
+        async = true,
+        longRunning = true
+)
+public class MigrateDataCommand implements ICommandExecutor<CommandSource> {
+
+    @Override
+    public ICommandResult execute(ICommandContext<? extends CommandSource> context) {
+        IStorageManager storageManager = context.getServiceCollection().storageManager();
+        if (!storageManager.isUsingFlatFiles()) {
+            // The latest data is not in the flat files, so copying them would overwrite it with older data.
+            return context.errorResult("command.nucleus.migratedata.notflatfile");
+        }
+
+        context.sendMessage("command.nucleus.migratedata.start");
+
+        // Make sure that anything waiting to be written makes it into the flat files first.
+        storageManager.saveAll().join();
+        try {
+            int count = storageManager.migrateFlatFileToH2();
+            context.sendMessage("command.nucleus.migratedata.complete", count);
+            return context.successResult();
+        } catch (Exception e) {
+            context.getServiceCollection().logger().error("Could not migrate the flat file data", e);
+            return context.errorResult("command.nucleus.migratedata.fail", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.commands.nucleus;
+
+import io.github.nucleuspowered.nucleus.modules.core.CorePermissions;
+import io.github.nucleuspowered.nucleus.modules.core.commands.NucleusCommand;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandContext;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandExecutor;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandResult;
+import io.github.nucleuspowered.nucleus.scaffold.command.annotation.Command;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+
+@NonnullByDefault
+@Command(
+        aliases = "profile",
+        basePermission = CorePermissions.BASE_NUCLEUS_PROFILE,
+        commandDescriptionKey = "nucleus.profile",
+        parentCommand = NucleusCommand.class,
+        hasExecutor = false
+)
+public class ProfileCommand implements ICommandExecutor<CommandSource> {
+
+    @Override
+    public ICommandResult execute(ICommandContext<? extends CommandSource> context) {
+        return context.failResult();
+    }
+
+}
@@ -17,7 +17,8 @@ import org.spongepowered.api.command.CommandSource;
         basePermission = CorePermissions.BASE_NUCLEUS_REBUILDUSERCACHE,
         commandDescriptionKey = "nucleus.rebuildusercache",
         parentCommand = NucleusCommand.class,
-        async = true
+        async = true,
+        longRunning = true
 )
 public class RebuildUserCacheCommand implements ICommandExecutor<CommandSource> {
 
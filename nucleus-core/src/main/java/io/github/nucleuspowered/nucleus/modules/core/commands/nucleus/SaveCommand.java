@@ -19,7 +19,8 @@ import org.spongepowered.api.util.annotation.NonnullByDefault;
         basePermission = CorePermissions.BASE_NUCLEUS_SAVE,
         commandDescriptionKey = "nucleus.save",
         parentCommand = NucleusCommand.class,
-        async = true
+        async = true,
+        longRunning = true
 )
 public class SaveCommand implements ICommandExecutor<CommandSource> {
 
@@ -0,0 +1,33 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.commands.nucleus.debug;
+
+import io.github.nucleuspowered.nucleus.modules.core.CorePermissions;
+import io.github.nucleuspowered.nucleus.modules.core.commands.nucleus.DebugCommand;
+import io.github.nucleuspowered.nucleus.modules.core.services.LoginPrefetchService;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandContext;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandExecutor;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandResult;
+import io.github.nucleuspowered.nucleus.scaffold.command.annotation.Command;
+import org.spongepowered.api.command.CommandException;
+import org.spongepowered.api.command.CommandSource;
+
+@Command(
+        aliases = "loginprefetch",
+        basePermission = CorePermissions.BASE_DEBUG_LOGINPREFETCH,
+        commandDescriptionKey = "nucleus.debug.loginprefetch",
+        parentCommand = DebugCommand.class
+)
+public class LoginPrefetchStatsCommand implements ICommandExecutor<CommandSource> {
+
+    @Override public ICommandResult execute(ICommandContext<? extends CommandSource> context) throws CommandException {
+        LoginPrefetchService service = context.getServiceCollection().getServiceUnchecked(LoginPrefetchService.class);
+        context.sendMessage("command.nucleus.debug.loginprefetch.lookups",
+                service.getHits(), service.getWaits(), service.getMisses(), service.getTimeouts());
+        context.sendMessage("command.nucleus.debug.loginprefetch.loads",
+                service.getLoads(), String.format("%.2f", service.getAverageLoadMillis()), String.format("%.2f", service.getMaxLoadMillis()));
+        return context.successResult();
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.commands.nucleus.debug;
+
+import io.github.nucleuspowered.nucleus.modules.core.CorePermissions;
+import io.github.nucleuspowered.nucleus.modules.core.commands.nucleus.DebugCommand;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandContext;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandExecutor;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandResult;
+import io.github.nucleuspowered.nucleus.scaffold.command.annotation.Command;
+import io.github.nucleuspowered.nucleus.services.interfaces.IPermissionService;
+import org.spongepowered.api.command.CommandException;
+import org.spongepowered.api.command.CommandSource;
+
+@Command(
+        aliases = "permissioncache",
+        basePermission = CorePermissions.BASE_DEBUG_PERMISSIONCACHE,
+        commandDescriptionKey = "nucleus.debug.permissioncache",
+        parentCommand = DebugCommand.class
+)
+public class PermissionCacheStatsCommand implements ICommandExecutor<CommandSource> {
+
+    @Override public ICommandResult execute(ICommandContext<? extends CommandSource> context) throws CommandException {
+        IPermissionService.CacheStats stats = context.getServiceCollection().permissionService().getCacheStats();
+        context.sendMessage("command.nucleus.debug.permissioncache.permissions",
+                stats.getPermissionHits(), stats.getPermissionMisses(), hitRate(stats.getPermissionHits(), stats.getPermissionMisses()));
+        context.sendMessage("command.nucleus.debug.permissioncache.options",
+                stats.getOptionHits(), stats.getOptionMisses(), hitRate(stats.getOptionHits(), stats.getOptionMisses()));
+        return context.successResult();
+    }
+
+    private static String hitRate(long hits, long misses) {
+        long total = hits + misses;
+        return String.format("%.1f", total == 0 ? 0 : hits * 100.0 / total);
+    }
+}
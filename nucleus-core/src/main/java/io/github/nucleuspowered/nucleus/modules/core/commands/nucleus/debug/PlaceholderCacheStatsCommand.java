@@ -0,0 +1,46 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.commands.nucleus.debug;
+
+import io.github.nucleuspowered.nucleus.api.placeholder.PlaceholderCachePolicy;
+import io.github.nucleuspowered.nucleus.modules.core.CorePermissions;
+import io.github.nucleuspowered.nucleus.modules.core.commands.nucleus.DebugCommand;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandContext;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandExecutor;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandResult;
+import io.github.nucleuspowered.nucleus.scaffold.command.annotation.Command;
+import io.github.nucleuspowered.nucleus.services.impl.placeholder.PlaceholderMetadata;
+import org.spongepowered.api.command.CommandException;
+import org.spongepowered.api.command.CommandSource;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Command(
+        aliases = "placeholdercache",
+        basePermission = CorePermissions.BASE_DEBUG_PLACEHOLDERCACHE,
+        commandDescriptionKey = "nucleus.debug.placeholdercache",
+        parentCommand = DebugCommand.class
+)
+public class PlaceholderCacheStatsCommand implements ICommandExecutor<CommandSource> {
+
+    @Override public ICommandResult execute(ICommandContext<? extends CommandSource> context) throws CommandException {
+        List<PlaceholderMetadata> cached = context.getServiceCollection().placeholderService().getAllParsers().stream()
+                .filter(x -> x.getCachePolicy().getType() != PlaceholderCachePolicy.Type.NEVER)
+                .sorted(Comparator.comparing(PlaceholderMetadata::getToken))
+                .collect(Collectors.toList());
+        if (cached.isEmpty()) {
+            return context.errorResult("command.nucleus.debug.placeholdercache.none");
+        }
+
+        for (PlaceholderMetadata metadata : cached) {
+            context.sendMessage("command.nucleus.debug.placeholdercache.entry",
+                    metadata.getToken(), metadata.getCachePolicy().toString(), metadata.getHits(), metadata.getMisses());
+        }
+
+        return context.successResult();
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.commands.nucleus.profile;
+
+import io.github.nucleuspowered.nucleus.modules.core.CorePermissions;
+import io.github.nucleuspowered.nucleus.modules.core.commands.nucleus.ProfileCommand;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandContext;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandExecutor;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandResult;
+import io.github.nucleuspowered.nucleus.scaffold.command.annotation.Command;
+import io.github.nucleuspowered.nucleus.services.impl.profiling.ProfilingService;
+import io.github.nucleuspowered.nucleus.services.interfaces.IProfilingService;
+import org.spongepowered.api.command.CommandSource;
+
+import java.io.IOException;
+import java.util.List;
+
+@Command(
+        aliases = "dump",
+        basePermission = CorePermissions.BASE_NUCLEUS_PROFILE_DUMP,
+        commandDescriptionKey = "nucleus.profile.dump",
+        parentCommand = ProfileCommand.class,
+        async = true
+)
+public class ProfileDumpCommand implements ICommandExecutor<CommandSource> {
+
+    private static final int SHOWN = 10;
+
+    @Override public ICommandResult execute(ICommandContext<? extends CommandSource> context) {
+        IProfilingService profilingService = context.getServiceCollection().profilingService();
+        List<IProfilingService.Entry> entries = profilingService.getEntries();
+        if (entries.isEmpty()) {
+            return context.errorResult("command.nucleus.profile.none");
+        }
+
+        context.sendMessage("command.nucleus.profile.header");
+        for (IProfilingService.Entry entry : entries.subList(0, Math.min(SHOWN, entries.size()))) {
+            context.sendMessage("command.nucleus.profile.entry",
+                    entry.getCategory(),
+                    entry.getKey(),
+                    entry.getCount(),
+                    format(entry.getTotalNanos()),
+                    format(entry.getPercentileNanos(50)),
+                    format(entry.getPercentileNanos(90)),
+                    format(entry.getPercentileNanos(99)),
+                    format(entry.getMaxNanos()));
+        }
+
+        try {
+            context.sendMessage("command.nucleus.profile.exported", profilingService.export().toString());
+            return context.successResult();
+        } catch (IOException e) {
+            return context.errorResult("command.nucleus.profile.exportfailed", e.getMessage());
+        }
+    }
+
+    private static String format(long nanos) {
+        return String.format("%.2f", ProfilingService.toMillis(nanos));
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.commands.nucleus.profile;
+
+import io.github.nucleuspowered.nucleus.modules.core.CorePermissions;
+import io.github.nucleuspowered.nucleus.modules.core.commands.nucleus.ProfileCommand;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandContext;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandExecutor;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandResult;
+import io.github.nucleuspowered.nucleus.scaffold.command.annotation.Command;
+import org.spongepowered.api.command.CommandSource;
+
+@Command(
+        aliases = "reset",
+        basePermission = CorePermissions.BASE_NUCLEUS_PROFILE_RESET,
+        commandDescriptionKey = "nucleus.profile.reset",
+        parentCommand = ProfileCommand.class
+)
+public class ProfileResetCommand implements ICommandExecutor<CommandSource> {
+
+    @Override public ICommandResult execute(ICommandContext<? extends CommandSource> context) {
+        context.getServiceCollection().profilingService().reset();
+        context.sendMessage("command.nucleus.profile.reset");
+        return context.successResult();
+    }
+}
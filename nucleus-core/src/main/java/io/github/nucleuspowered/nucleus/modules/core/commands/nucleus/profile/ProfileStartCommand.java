@@ -0,0 +1,31 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.commands.nucleus.profile;
+
+import io.github.nucleuspowered.nucleus.modules.core.CorePermissions;
+import io.github.nucleuspowered.nucleus.modules.core.commands.nucleus.ProfileCommand;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandContext;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandExecutor;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandResult;
+import io.github.nucleuspowered.nucleus.scaffold.command.annotation.Command;
+import org.spongepowered.api.command.CommandSource;
+
+@Command(
+        aliases = "start",
+        basePermission = CorePermissions.BASE_NUCLEUS_PROFILE_START,
+        commandDescriptionKey = "nucleus.profile.start",
+        parentCommand = ProfileCommand.class
+)
+public class ProfileStartCommand implements ICommandExecutor<CommandSource> {
+
+    @Override public ICommandResult execute(ICommandContext<? extends CommandSource> context) {
+        if (!context.getServiceCollection().profilingService().start()) {
+            return context.errorResult("command.nucleus.profile.alreadyrunning");
+        }
+
+        context.sendMessage("command.nucleus.profile.started");
+        return context.successResult();
+    }
+}
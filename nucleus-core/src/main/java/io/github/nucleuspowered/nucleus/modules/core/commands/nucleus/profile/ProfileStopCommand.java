@@ -0,0 +1,42 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.commands.nucleus.profile;
+
+import io.github.nucleuspowered.nucleus.modules.core.CorePermissions;
+import io.github.nucleuspowered.nucleus.modules.core.commands.nucleus.ProfileCommand;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandContext;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandExecutor;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandResult;
+import io.github.nucleuspowered.nucleus.scaffold.command.annotation.Command;
+import io.github.nucleuspowered.nucleus.services.interfaces.IProfilingService;
+import org.spongepowered.api.command.CommandSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Command(
+        aliases = "stop",
+        basePermission = CorePermissions.BASE_NUCLEUS_PROFILE_STOP,
+        commandDescriptionKey = "nucleus.profile.stop",
+        parentCommand = ProfileCommand.class,
+        async = true
+)
+public class ProfileStopCommand implements ICommandExecutor<CommandSource> {
+
+    @Override public ICommandResult execute(ICommandContext<? extends CommandSource> context) {
+        IProfilingService profilingService = context.getServiceCollection().profilingService();
+        if (!profilingService.stop()) {
+            return context.errorResult("command.nucleus.profile.notrunning");
+        }
+
+        try {
+            Path path = profilingService.export();
+            context.sendMessage("command.nucleus.profile.stopped", path.toString());
+            return context.successResult();
+        } catch (IOException e) {
+            return context.errorResult("command.nucleus.profile.exportfailed", e.getMessage());
+        }
+    }
+}
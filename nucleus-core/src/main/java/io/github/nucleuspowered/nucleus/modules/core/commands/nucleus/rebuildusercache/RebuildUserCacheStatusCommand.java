@@ -0,0 +1,50 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.commands.nucleus.rebuildusercache;
+
+import io.github.nucleuspowered.nucleus.modules.core.CorePermissions;
+import io.github.nucleuspowered.nucleus.modules.core.commands.nucleus.RebuildUserCacheCommand;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandContext;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandExecutor;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandResult;
+import io.github.nucleuspowered.nucleus.scaffold.command.annotation.Command;
+import io.github.nucleuspowered.nucleus.services.interfaces.IUserCacheService;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+
+import java.util.Optional;
+
+@NonnullByDefault
+@Command(
+        aliases = "status",
+        basePermission = CorePermissions.BASE_NUCLEUS_REBUILDUSERCACHE_STATUS,
+        commandDescriptionKey = "nucleus.rebuildusercache.status",
+        parentCommand = RebuildUserCacheCommand.class
+)
+public class RebuildUserCacheStatusCommand implements ICommandExecutor<CommandSource> {
+
+    @Override
+    public ICommandResult execute(ICommandContext<? extends CommandSource> context) {
+        Optional<IUserCacheService.RebuildProgress> optionalProgress =
+                context.getServiceCollection().userCacheService().getRebuildProgress();
+        if (!optionalProgress.isPresent()) {
+            context.sendMessage("command.nucleus.rebuild.status.none");
+            return context.successResult();
+        }
+
+        IUserCacheService.RebuildProgress progress = optionalProgress.get();
+        String perSecond = String.format("%.1f", progress.getUsersPerSecond());
+        String elapsed = context.getTimeString(progress.getElapsed());
+        if (progress.isComplete()) {
+            context.sendMessage("command.nucleus.rebuild.status.complete", progress.getProcessed(), elapsed, perSecond);
+        } else {
+            int percent = progress.getTotal() == 0 ? 100 : (int) (100L * progress.getProcessed() / progress.getTotal());
+            context.sendMessage("command.nucleus.rebuild.status.running",
+                    progress.getProcessed(), progress.getTotal(), percent, perSecond, elapsed);
+        }
+
+        return context.successResult();
+    }
+}
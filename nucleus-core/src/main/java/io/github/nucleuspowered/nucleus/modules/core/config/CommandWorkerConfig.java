@@ -0,0 +1,29 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.config;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class CommandWorkerConfig {
+
+    public static final int DEFAULT_THREADS = 2;
+    public static final int DEFAULT_MAX_PENDING = 50;
+
+    @Setting(value = "threads", comment = "config.core.commandworkers.threads")
+    private int threads = DEFAULT_THREADS;
+
+    @Setting(value = "max-pending", comment = "config.core.commandworkers.maxpending")
+    private int maxPending = DEFAULT_MAX_PENDING;
+
+    public int getThreads() {
+        return Math.max(1, this.threads);
+    }
+
+    public int getMaxPending() {
+        return Math.max(1, this.maxPending);
+    }
+}
@@ -64,6 +64,24 @@ public class CoreConfig {
     @Setting(value = "data-file-location", comment = "config.core.datafilelocation")
     private String dataFileLocation = "default";
 
+    @Setting(value = "data-storage-engine", comment = "config.core.datastorageengine")
+    private String dataStorageEngine = "nucleus:flatfile";
+
+    @Setting(value = "data-save", comment = "config.core.datasave")
+    private DataSaveConfig dataSaveConfig = new DataSaveConfig();
+
+    @Setting(value = "command-workers", comment = "config.core.commandworkers")
+    private CommandWorkerConfig commandWorkerConfig = new CommandWorkerConfig();
+
+    @Setting(value = "login-prefetch-timeout-millis", comment = "config.core.loginprefetchtimeout")
+    private long loginPrefetchTimeoutMillis = 5000;
+
+    @Setting(value = "profile-export-interval-minutes", comment = "config.core.profileexportinterval")
+    private long profileExportIntervalMinutes = 5;
+
+    @Setting(value = "persist-cooldowns", comment = "config.core.persistcooldowns")
+    private boolean persistCooldowns = false;
+
     @Setting(value = "offline-user-tab-limit", comment = "config.core.offlineusertablimit")
     private int nicknameArgOfflineLimit = 20;
 
@@ -139,6 +157,30 @@ public class CoreConfig {
         return this.serverLocale;
     }
 
+    public String getDataStorageEngine() {
+        return this.dataStorageEngine;
+    }
+
+    public CommandWorkerConfig getCommandWorkerConfig() {
+        return this.commandWorkerConfig;
+    }
+
+    public DataSaveConfig getDataSaveConfig() {
+        return this.dataSaveConfig;
+    }
+
+    public long getLoginPrefetchTimeoutMillis() {
+        return Math.max(0, this.loginPrefetchTimeoutMillis);
+    }
+
+    public long getProfileExportIntervalMinutes() {
+        return Math.max(0, this.profileExportIntervalMinutes);
+    }
+
+    public boolean isPersistCooldowns() {
+        return this.persistCooldowns;
+    }
+
     public int getNicknameArgOfflineLimit() {
         return this.nicknameArgOfflineLimit;
     }
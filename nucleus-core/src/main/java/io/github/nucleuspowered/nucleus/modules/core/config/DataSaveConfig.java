@@ -0,0 +1,35 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.config;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+import java.time.Duration;
+
+@ConfigSerializable
+public class DataSaveConfig {
+
+    @Setting(value = "flush-interval-seconds", comment = "config.core.datasave.interval")
+    private int flushInterval = 10;
+
+    @Setting(value = "batch-size", comment = "config.core.datasave.batchsize")
+    private int batchSize = 250;
+
+    @Setting(value = "max-pending-writes", comment = "config.core.datasave.maxpending")
+    private int maxPendingWrites = 1000;
+
+    public Duration getFlushInterval() {
+        return Duration.ofSeconds(Math.max(0, this.flushInterval));
+    }
+
+    public int getBatchSize() {
+        return Math.max(1, this.batchSize);
+    }
+
+    public int getMaxPendingWrites() {
+        return Math.max(1, this.maxPendingWrites);
+    }
+}
@@ -12,6 +12,7 @@ import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfig;
 import io.github.nucleuspowered.nucleus.modules.core.events.NucleusOnLoginEvent;
 import io.github.nucleuspowered.nucleus.modules.core.events.OnFirstLoginEvent;
 import io.github.nucleuspowered.nucleus.modules.core.events.UserDataLoadedEvent;
+import io.github.nucleuspowered.nucleus.modules.core.services.LoginPrefetchService;
 import io.github.nucleuspowered.nucleus.modules.core.services.UniqueUserService;
 import io.github.nucleuspowered.nucleus.scaffold.listener.ListenerBase;
 import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
@@ -49,6 +50,7 @@ import javax.inject.Inject;
 public class CoreListener implements IReloadableService.Reloadable, ListenerBase {
 
     private final INucleusServiceCollection serviceCollection;
+    private final LoginPrefetchService loginPrefetchService;
     @Nullable private NucleusTextTemplate getKickOnStopMessage = null;
     @Nullable private final URL url;
     private boolean warnOnWildcard = true;
@@ -56,6 +58,7 @@ public class CoreListener implements IReloadableService.Reloadable, ListenerBase
     @Inject
     public CoreListener(INucleusServiceCollection serviceCollection) {
         this.serviceCollection = serviceCollection;
+        this.loginPrefetchService = serviceCollection.getServiceUnchecked(LoginPrefetchService.class);
         URL u = null;
         try {
             u = new URL("https://ore.spongepowered.org/Nucleus/Nucleus/pages/The-Permissions-Wildcard-(And-Why-You-Shouldn't-Use-It)");
@@ -65,6 +68,18 @@ public class CoreListener implements IReloadableService.Reloadable, ListenerBase
         this.url = u;
     }
 
+    /* (non-Javadoc)
+     * Start loading the player's data as early as possible, so that it is ready by the time that
+     * other plugins have processed the auth event.
+     */
+    @Listener(order = Order.PRE)
+    public void onPlayerAuthFirst(final ClientConnectionEvent.Auth event) {
+        final UUID userId = event.getProfile().getUniqueId();
+        if (userId != null) {
+            this.loginPrefetchService.prefetch(userId);
+        }
+    }
+
     @Listener(order = Order.POST)
     public void onPlayerAuth(final ClientConnectionEvent.Auth event) {
         final UUID userId = event.getProfile().getUniqueId();
@@ -73,8 +88,8 @@ public class CoreListener implements IReloadableService.Reloadable, ListenerBase
         }
 
         // Create user data if required, and place into cache.
-        // As this is already async, load on thread.
-        IUserDataObject dataObject = this.serviceCollection.storageManager().getUserService().getOrNewOnThread(userId);
+        // As this is already async, this may wait for the prefetch to complete.
+        IUserDataObject dataObject = this.loginPrefetchService.getUser(userId);
 
         // Fire the event, which will be async too, perhaps unsurprisingly.
         // The main use for this will be migrations.
@@ -97,7 +112,7 @@ public class CoreListener implements IReloadableService.Reloadable, ListenerBase
     public void onPlayerLoginLast(final ClientConnectionEvent.Login event, @Getter("getProfile") GameProfile profile,
         @Getter("getTargetUser") User user) {
 
-        IUserDataObject udo = this.serviceCollection.storageManager().getUserService().getOrNewOnThread(user.getUniqueId());
+        IUserDataObject udo = this.loginPrefetchService.getUser(user.getUniqueId());
 
         if (event.getFromTransform().equals(event.getToTransform())) {
             try (CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame()) {
@@ -120,8 +135,10 @@ public class CoreListener implements IReloadableService.Reloadable, ListenerBase
      */
     @Listener(order = Order.FIRST)
     public void onPlayerJoinFirst(final ClientConnectionEvent.Join event, @Getter("getTargetEntity") final Player player) {
+        this.serviceCollection.playerDisplayNameService().addOnlineName(player.getUniqueId(), player.getName());
         try {
-            IUserDataObject qsu = this.serviceCollection.storageManager().getUserService().getOrNewOnThread(player.getUniqueId());
+            IUserDataObject qsu = this.loginPrefetchService.getUser(player.getUniqueId());
+            this.loginPrefetchService.release(player.getUniqueId());
             qsu.set(CoreKeys.LAST_LOGIN, Instant.now());
             if (this.serviceCollection.platformService().isServer()) {
                 qsu.set(CoreKeys.IP_ADDRESS, player.getConnection().getAddress().getAddress().toString());
@@ -184,6 +201,8 @@ public class CoreListener implements IReloadableService.Reloadable, ListenerBase
 
     @Listener(order = Order.LAST)
     public void onPlayerQuit(final ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") final Player player) {
+        this.serviceCollection.playerDisplayNameService().removeOnlineName(player.getUniqueId());
+
         // There is an issue in Sponge where the connection may not even exist, because they were disconnected before the connection was
         // completely established.
         //noinspection ConstantConditions
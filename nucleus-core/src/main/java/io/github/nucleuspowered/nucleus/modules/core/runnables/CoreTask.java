@@ -42,13 +42,13 @@ public class CoreTask implements TaskBase, IReloadableService.Reloadable {
 
     @Override
     public void accept(Task task) {
-        this.serviceCollection.storageManager().getUserService().clearCache();
-
         if (this.printSave) {
             this.serviceCollection.logger().info(this.serviceCollection.messageProvider().getMessageString("core.savetask.starting"));
         }
 
-        this.serviceCollection.storageManager().saveAll();
+        // Save before clearing the cache, else anything that has not been saved will be lost.
+        this.serviceCollection.storageManager().saveAll().join();
+        this.serviceCollection.storageManager().getUserService().clearCache();
 
         if (this.printSave) {
             this.serviceCollection.logger().info(this.serviceCollection.messageProvider().getMessageString("core.savetask.complete"));
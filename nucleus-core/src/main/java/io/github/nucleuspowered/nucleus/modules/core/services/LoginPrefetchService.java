@@ -0,0 +1,185 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfig;
+import io.github.nucleuspowered.nucleus.scaffold.service.ServiceBase;
+import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
+import io.github.nucleuspowered.nucleus.services.impl.storage.dataobjects.modular.IUserDataObject;
+import io.github.nucleuspowered.nucleus.services.interfaces.IReloadableService;
+import org.slf4j.Logger;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.scheduler.SpongeExecutorService;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+
+/**
+ * Starts loading a player's data as soon as they start to connect, so that
+ * by the time the login and join listeners need it, it is already in memory.
+ *
+ * <p>Listeners that need the data ask this service for it. If the load has
+ * not finished, they wait for a bounded time before loading it themselves.</p>
+ *
+ * <p>The prefetch only reads existing data. New data is created by the POST
+ * auth listener, so that logins which are cancelled by bans or the whitelist
+ * do not leave a user file behind.</p>
+ */
+public class LoginPrefetchService implements ServiceBase, IReloadableService.Reloadable {
+
+    private final INucleusServiceCollection serviceCollection;
+    private final Logger logger;
+
+    // Holds the loaded data until the player has joined, so it can't be evicted in between.
+    private final Cache<UUID, CompletableFuture<Optional<IUserDataObject>>> prefetched = Caffeine.newBuilder()
+            .expireAfterWrite(2, TimeUnit.MINUTES)
+            .build();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong waits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong totalLoadNanos = new AtomicLong();
+    private final AtomicLong maxLoadNanos = new AtomicLong();
+
+    private long timeoutMillis = 5000;
+    @Nullable private volatile SpongeExecutorService executor;
+
+    @Inject
+    public LoginPrefetchService(INucleusServiceCollection serviceCollection) {
+        this.serviceCollection = serviceCollection;
+        this.logger = serviceCollection.logger();
+    }
+
+    /**
+     * Starts loading the data for the given player, if it is not already
+     * being loaded.
+     *
+     * @param uuid The {@link UUID} of the player
+     */
+    public void prefetch(UUID uuid) {
+        SpongeExecutorService executor = getExecutor();
+        this.prefetched.get(uuid, key -> CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            Optional<IUserDataObject> result = this.serviceCollection.storageManager().getUserService().getOnThread(key);
+            long time = System.nanoTime() - start;
+            this.loads.incrementAndGet();
+            this.totalLoadNanos.addAndGet(time);
+            this.maxLoadNanos.accumulateAndGet(time, Math::max);
+            return result;
+        }, executor));
+    }
+
+    private SpongeExecutorService getExecutor() {
+        SpongeExecutorService executor = this.executor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = this.executor;
+                if (executor == null) {
+                    executor = Sponge.getScheduler().createAsyncExecutor(this.serviceCollection.pluginContainer());
+                    this.executor = executor;
+                }
+            }
+        }
+
+        return executor;
+    }
+
+    /**
+     * Gets the data for the given player, using the prefetched data if
+     * there is any, and creating it if the player has no data yet.
+     *
+     * @param uuid The {@link UUID} of the player
+     * @return The {@link IUserDataObject}
+     */
+    public IUserDataObject getUser(UUID uuid) {
+        return getPrefetched(this.prefetched.getIfPresent(uuid))
+                .orElseGet(() -> this.serviceCollection.storageManager().getUserService().getOrNewOnThread(uuid));
+    }
+
+    /**
+     * Releases the data held for the player, once it is no longer needed for
+     * logging in.
+     *
+     * @param uuid The {@link UUID} of the player
+     */
+    public void release(UUID uuid) {
+        this.prefetched.invalidate(uuid);
+    }
+
+    private Optional<IUserDataObject> getPrefetched(@Nullable CompletableFuture<Optional<IUserDataObject>> future) {
+        if (future == null) {
+            this.misses.incrementAndGet();
+            return Optional.empty();
+        }
+
+        if (future.isDone() && !future.isCompletedExceptionally()) {
+            this.hits.incrementAndGet();
+            return future.join();
+        }
+
+        this.waits.incrementAndGet();
+        try {
+            return future.get(this.timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            this.timeouts.incrementAndGet();
+            this.logger.warn("Prefetching player data took longer than {} ms, loading it directly.", this.timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            this.logger.error("Could not prefetch player data, loading it directly.", e.getCause());
+        }
+
+        return Optional.empty();
+    }
+
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    public long getWaits() {
+        return this.waits.get();
+    }
+
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    public long getTimeouts() {
+        return this.timeouts.get();
+    }
+
+    public long getLoads() {
+        return this.loads.get();
+    }
+
+    public double getAverageLoadMillis() {
+        long loads = this.loads.get();
+        return loads == 0 ? 0 : this.totalLoadNanos.get() / (loads * 1_000_000.0);
+    }
+
+    public double getMaxLoadMillis() {
+        return this.maxLoadNanos.get() / 1_000_000.0;
+    }
+
+    @Override
+    public void onReload(INucleusServiceCollection serviceCollection) {
+        this.timeoutMillis = serviceCollection.moduleDataProvider().getModuleConfig(CoreConfig.class).getLoginPrefetchTimeoutMillis();
+
+        // The storage engine may have changed.
+        this.prefetched.invalidateAll();
+    }
+}
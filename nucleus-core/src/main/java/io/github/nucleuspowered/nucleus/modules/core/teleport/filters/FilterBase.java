@@ -7,14 +7,13 @@ package io.github.nucleuspowered.nucleus.modules.core.teleport.filters;
 import com.flowpowered.math.vector.Vector3i;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.data.property.block.PassableProperty;
-import org.spongepowered.api.world.World;
-import org.spongepowered.api.world.teleport.TeleportHelperFilter;
+import org.spongepowered.api.world.extent.BlockVolume;
 
-abstract class FilterBase implements TeleportHelperFilter {
+abstract class FilterBase implements VolumeTeleportHelperFilter {
 
     @SuppressWarnings("all")
-    boolean isPassable(World world, Vector3i position, boolean checkSafe) {
-        BlockState block = world.getBlock(position);
+    boolean isPassable(BlockVolume volume, Vector3i position, boolean checkSafe) {
+        BlockState block = volume.getBlock(position);
         if (checkSafe && isSafeBodyMaterial(block)) {
             return false;
         }
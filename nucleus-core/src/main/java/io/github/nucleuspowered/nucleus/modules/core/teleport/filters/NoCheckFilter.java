@@ -7,15 +7,14 @@ package io.github.nucleuspowered.nucleus.modules.core.teleport.filters;
 import com.flowpowered.math.vector.Vector3i;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.util.Tristate;
-import org.spongepowered.api.world.World;
-import org.spongepowered.api.world.teleport.TeleportHelperFilter;
+import org.spongepowered.api.world.extent.BlockVolume;
 import org.spongepowered.plugin.meta.util.NonnullByDefault;
 
 @NonnullByDefault
-public class NoCheckFilter implements TeleportHelperFilter {
+public class NoCheckFilter implements VolumeTeleportHelperFilter {
 
     @Override
-    public Tristate isValidLocation(World world, Vector3i position) {
+    public Tristate isValidLocation(BlockVolume volume, Vector3i position) {
         return Tristate.TRUE;
     }
 
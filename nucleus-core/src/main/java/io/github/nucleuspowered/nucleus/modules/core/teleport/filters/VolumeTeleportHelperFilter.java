@@ -0,0 +1,35 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.teleport.filters;
+
+import com.flowpowered.math.vector.Vector3i;
+import org.spongepowered.api.util.Tristate;
+import org.spongepowered.api.world.World;
+import org.spongepowered.api.world.extent.BlockVolume;
+import org.spongepowered.api.world.teleport.TeleportHelperFilter;
+
+/**
+ * A {@link TeleportHelperFilter} that only needs to look at blocks to decide
+ * whether a location is valid, and so can be run against a snapshot of the
+ * world off the server thread.
+ */
+public interface VolumeTeleportHelperFilter extends TeleportHelperFilter {
+
+    @Override
+    default Tristate isValidLocation(World world, Vector3i position) {
+        return isValidLocation((BlockVolume) world, position);
+    }
+
+    /**
+     * Checks if the position in the given volume is valid, as
+     * {@link #isValidLocation(World, Vector3i)} does for a {@link World}.
+     *
+     * @param volume The {@link BlockVolume} to check against
+     * @param position The position to check
+     * @return The result
+     */
+    Tristate isValidLocation(BlockVolume volume, Vector3i position);
+
+}
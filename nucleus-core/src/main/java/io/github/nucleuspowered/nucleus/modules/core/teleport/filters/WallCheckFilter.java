@@ -7,16 +7,16 @@ package io.github.nucleuspowered.nucleus.modules.core.teleport.filters;
 import com.flowpowered.math.vector.Vector3i;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.util.Tristate;
-import org.spongepowered.api.world.World;
+import org.spongepowered.api.world.extent.BlockVolume;
 import org.spongepowered.plugin.meta.util.NonnullByDefault;
 
 @NonnullByDefault
 public class WallCheckFilter extends FilterBase {
 
     @Override
-    public Tristate isValidLocation(World world, Vector3i position) {
+    public Tristate isValidLocation(BlockVolume volume, Vector3i position) {
         // Check that the block is not solid.
-        if (isPassable(world, position, false) && isPassable(world, position.add(0, 1, 0), false)) {
+        if (isPassable(volume, position, false) && isPassable(volume, position.add(0, 1, 0), false)) {
             return Tristate.TRUE;
         }
 
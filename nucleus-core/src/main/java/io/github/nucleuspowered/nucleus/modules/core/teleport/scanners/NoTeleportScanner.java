@@ -5,7 +5,6 @@
 package io.github.nucleuspowered.nucleus.modules.core.teleport.scanners;
 
 import com.flowpowered.math.vector.Vector3i;
-import io.github.nucleuspowered.nucleus.api.teleport.data.TeleportScanner;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.TeleportHelper;
@@ -13,10 +12,12 @@ import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.teleport.TeleportHelperFilter;
 import org.spongepowered.plugin.meta.util.NonnullByDefault;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 @NonnullByDefault
-public class NoTeleportScanner implements TeleportScanner {
+public class NoTeleportScanner implements VolumeTeleportScanner {
 
     @Override
     public Optional<Location<World>> scanFrom(
@@ -38,6 +39,11 @@ public class NoTeleportScanner implements TeleportScanner {
         );
     }
 
+    @Override
+    public List<Vector3i> getScanOrigins(World world, Vector3i position, int height) {
+        return Collections.singletonList(position);
+    }
+
     @Override
     public String getId() {
         return "nucleus:no_scan";
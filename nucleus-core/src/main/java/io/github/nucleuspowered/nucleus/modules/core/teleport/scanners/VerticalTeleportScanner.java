@@ -5,23 +5,24 @@
 package io.github.nucleuspowered.nucleus.modules.core.teleport.scanners;
 
 import com.flowpowered.math.vector.Vector3i;
-import io.github.nucleuspowered.nucleus.api.teleport.data.TeleportScanner;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.teleport.TeleportHelperFilter;
 import org.spongepowered.plugin.meta.util.NonnullByDefault;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
-public abstract class VerticalTeleportScanner implements TeleportScanner {
+public abstract class VerticalTeleportScanner implements VolumeTeleportScanner {
 
     @Override
     public Optional<Location<World>> scanFrom(
             World world,
             Vector3i position,
-            int width,
             int height,
+            int width,
             int floorDistance,
             TeleportHelperFilter filter,
             TeleportHelperFilter... filters) {
@@ -48,6 +49,19 @@ public abstract class VerticalTeleportScanner implements TeleportScanner {
         return Optional.empty();
     }
 
+    @Override
+    public List<Vector3i> getScanOrigins(World world, Vector3i position, int height) {
+        int maxy = world.getBlockMax().getY();
+        final int jumps = (height * 2) - 1;
+        List<Vector3i> origins = new ArrayList<>();
+        do {
+            origins.add(position);
+            position = position.add(0, jumps, 0);
+        } while (position.getY() < maxy);
+
+        return origins;
+    }
+
     @NonnullByDefault
     public static class Ascending extends VerticalTeleportScanner {
 
@@ -0,0 +1,31 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.teleport.scanners;
+
+import com.flowpowered.math.vector.Vector3i;
+import io.github.nucleuspowered.nucleus.api.teleport.data.TeleportScanner;
+import org.spongepowered.api.world.World;
+
+import java.util.List;
+
+/**
+ * A {@link TeleportScanner} that can describe the positions it would search
+ * from, so that the search can be run against a snapshot of the world off the
+ * server thread.
+ */
+public interface VolumeTeleportScanner extends TeleportScanner {
+
+    /**
+     * Gets the positions, in order, that {@link #scanFrom} would search
+     * around.
+     *
+     * @param world The {@link World} being scanned
+     * @param position The starting position
+     * @param height The height of the area that is searched around each position
+     * @return The positions
+     */
+    List<Vector3i> getScanOrigins(World world, Vector3i position, int height);
+
+}
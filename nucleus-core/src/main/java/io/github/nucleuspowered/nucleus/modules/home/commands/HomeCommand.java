@@ -6,6 +6,7 @@ package io.github.nucleuspowered.nucleus.modules.home.commands;
 
 import io.github.nucleuspowered.nucleus.api.module.home.NucleusHomeService;
 import io.github.nucleuspowered.nucleus.api.module.home.data.Home;
+import io.github.nucleuspowered.nucleus.api.module.home.exception.HomeException;
 import io.github.nucleuspowered.nucleus.api.teleport.data.TeleportResult;
 import io.github.nucleuspowered.nucleus.modules.home.HomePermissions;
 import io.github.nucleuspowered.nucleus.modules.home.config.HomeConfig;
@@ -18,6 +19,7 @@ import io.github.nucleuspowered.nucleus.scaffold.command.ICommandResult;
 import io.github.nucleuspowered.nucleus.scaffold.command.annotation.Command;
 import io.github.nucleuspowered.nucleus.scaffold.command.annotation.CommandModifier;
 import io.github.nucleuspowered.nucleus.scaffold.command.annotation.EssentialsEquivalent;
+import io.github.nucleuspowered.nucleus.scaffold.command.control.CommandControl;
 import io.github.nucleuspowered.nucleus.scaffold.command.modifier.CommandModifiers;
 import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
 import io.github.nucleuspowered.nucleus.services.interfaces.IReloadableService;
@@ -33,6 +35,9 @@ import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.World;
 
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
+
+import javax.annotation.Nullable;
 
 @EssentialsEquivalent(value = {"home", "homes"}, notes = "'/homes' will list homes, '/home' will teleport like Essentials did.")
 @Command(
@@ -109,11 +114,34 @@ public class HomeCommand implements ICommandExecutor<Player>, IReloadableService
             }
         }
 
-        TeleportResult result = homeService.warpToHome(
+        // The safe location search happens off the main thread, we finish the command when it's done.
+        CommandControl control = context.getServiceCollection().commandMetadataService()
+                .getControl(HomeCommand.class)
+                .orElseThrow(IllegalStateException::new);
+        homeService.warpToHomeAsync(
                 player,
                 wl,
                 this.isSafeTeleport
-        );
+        ).handle((result, throwable) -> {
+            control.completeLater(context, onWarp(context, wl, result, throwable));
+            return result;
+        });
+        return ICommandResult.willContinueLater();
+    }
+
+    static ICommandResult onWarpFailure(ICommandContext<? extends Player> context, Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+        if (cause instanceof HomeException && ((HomeException) cause).getText() != null) {
+            return context.errorResultLiteral(((HomeException) cause).getText());
+        }
+
+        return context.errorResult("command.error");
+    }
+
+    private ICommandResult onWarp(ICommandContext<? extends Player> context, Home wl, @Nullable TeleportResult result, @Nullable Throwable throwable) {
+        if (throwable != null) {
+            return onWarpFailure(context, throwable);
+        }
 
         // Warp to it safely.
         if (result.isSuccessful()) {
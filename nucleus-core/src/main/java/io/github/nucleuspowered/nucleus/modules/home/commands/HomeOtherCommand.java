@@ -4,7 +4,6 @@
  */
 package io.github.nucleuspowered.nucleus.modules.home.commands;
 
-import io.github.nucleuspowered.nucleus.api.module.home.data.Home;
 import io.github.nucleuspowered.nucleus.api.teleport.data.TeleportResult;
 import io.github.nucleuspowered.nucleus.modules.home.HomePermissions;
 import io.github.nucleuspowered.nucleus.modules.home.config.HomeConfig;
@@ -15,6 +14,7 @@ import io.github.nucleuspowered.nucleus.scaffold.command.ICommandExecutor;
 import io.github.nucleuspowered.nucleus.scaffold.command.ICommandResult;
 import io.github.nucleuspowered.nucleus.scaffold.command.annotation.Command;
 import io.github.nucleuspowered.nucleus.scaffold.command.annotation.CommandModifier;
+import io.github.nucleuspowered.nucleus.scaffold.command.control.CommandControl;
 import io.github.nucleuspowered.nucleus.scaffold.command.modifier.CommandModifiers;
 import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
 import io.github.nucleuspowered.nucleus.services.interfaces.IReloadableService;
@@ -25,6 +25,8 @@ import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
 
+import javax.annotation.Nullable;
+
 @NonnullByDefault
 @Command(
         aliases = {"other", "#homeother"},
@@ -53,28 +55,44 @@ public class HomeOtherCommand implements ICommandExecutor<Player>, IReloadableSe
                         new HomeOtherArgument(
                                 Text.of(this.home),
                                 serviceCollection.getServiceUnchecked(HomeService.class),
-                                serviceCollection))
+                                serviceCollection,
+                                false))
         };
     }
 
     @Override public ICommandResult execute(ICommandContext<? extends Player> context) throws CommandException {
-        // Get the home.
-        Home wl = context.requireOne(this.home, Home.class);
+        // The target's homes may not be loaded, so the home is looked up off the main thread.
+        HomeOtherArgument.Target target = context.requireOne(this.home, HomeOtherArgument.Target.class);
         HomeService service = context.getServiceCollection().getServiceUnchecked(HomeService.class);
+        CommandControl control = context.getServiceCollection().commandMetadataService()
+                .getControl(HomeOtherCommand.class)
+                .orElseThrow(IllegalStateException::new);
 
         Player player = context.getIfPlayer();
-        TeleportResult result = service.warpToHome(
+        service.warpToHomeAsync(
                             player,
-                            wl,
+                            target.getUser().getUniqueId(),
+                            target.getName(),
                             this.isSafeTeleport
-                    );
+                    ).handle((result, throwable) -> {
+                        control.completeLater(context, onWarp(context, target, result, throwable));
+                        return result;
+                    });
+        return ICommandResult.willContinueLater();
+    }
+
+    private ICommandResult onWarp(ICommandContext<? extends Player> context, HomeOtherArgument.Target target,
+            @Nullable TeleportResult result, @Nullable Throwable throwable) {
+        if (throwable != null) {
+            return HomeCommand.onWarpFailure(context, throwable);
+        }
 
         // Warp to it safely.
         if (result.isSuccessful()) {
-            context.sendMessage("command.homeother.success", wl.getUser().getName(), wl.getName());
+            context.sendMessage("command.homeother.success", target.getUser().getName(), target.getName());
             return context.successResult();
         } else {
-            return context.errorResult("command.homeother.fail", wl.getUser().getName(), wl.getName());
+            return context.errorResult("command.homeother.fail", target.getUser().getName(), target.getName());
         }
     }
 }
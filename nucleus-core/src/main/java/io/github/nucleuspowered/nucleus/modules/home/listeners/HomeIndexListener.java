@@ -0,0 +1,36 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.home.listeners;
+
+import io.github.nucleuspowered.nucleus.modules.home.services.HomeService;
+import io.github.nucleuspowered.nucleus.scaffold.listener.ListenerBase;
+import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.filter.Getter;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
+
+import javax.inject.Inject;
+
+public class HomeIndexListener implements ListenerBase {
+
+    private final HomeService homeService;
+
+    @Inject
+    public HomeIndexListener(INucleusServiceCollection serviceCollection) {
+        this.homeService = serviceCollection.getServiceUnchecked(HomeService.class);
+    }
+
+    @Listener(order = Order.EARLY)
+    public void onJoin(final ClientConnectionEvent.Join event, @Getter("getTargetEntity") final Player player) {
+        this.homeService.indexHomes(player.getUniqueId());
+    }
+
+    @Listener(order = Order.POST)
+    public void onQuit(final ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") final Player player) {
+        this.homeService.removeIndex(player.getUniqueId());
+    }
+}
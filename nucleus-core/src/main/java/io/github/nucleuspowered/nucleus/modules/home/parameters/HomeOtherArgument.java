@@ -29,13 +29,27 @@ public class HomeOtherArgument extends HomeArgument {
 
     private final DisplayNameArgument nickArg;
     private final IPermissionService permissionService;
+    private final boolean resolveHome;
 
     public HomeOtherArgument(@Nullable Text key,
             HomeService homeService,
             INucleusServiceCollection serviceCollection) {
+        this(key, homeService, serviceCollection, true);
+    }
+
+    /**
+     * If resolveHome is false, this returns a {@link Target} rather than the
+     * home, so that the command can look the home up without blocking the
+     * main thread.
+     */
+    public HomeOtherArgument(@Nullable Text key,
+            HomeService homeService,
+            INucleusServiceCollection serviceCollection,
+            boolean resolveHome) {
         super(key, homeService, serviceCollection.messageProvider());
         this.nickArg = new DisplayNameArgument(Text.of("user"), DisplayNameArgument.Target.USER, serviceCollection);
         this.permissionService = serviceCollection.permissionService();
+        this.resolveHome = resolveHome;
     }
 
 
@@ -61,6 +75,10 @@ public class HomeOtherArgument extends HomeArgument {
             throw args.createError(this.messageProviderService.getMessageFor(source.getLocale(), "args.homeother.exempt"));
         }
 
+        if (!this.resolveHome) {
+            return new Target(user, ohome.get());
+        }
+
         return this.getHome(user, source, ohome.get(), args);
     }
 
@@ -103,4 +121,23 @@ public class HomeOtherArgument extends HomeArgument {
     public Text getUsage(CommandSource src) {
         return Text.of("<user> <home>");
     }
+
+    public static final class Target {
+
+        private final User user;
+        private final String name;
+
+        private Target(User user, String name) {
+            this.user = user;
+            this.name = name;
+        }
+
+        public User getUser() {
+            return this.user;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+    }
 }
@@ -35,16 +35,20 @@ import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.CauseStackManager;
 import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.scheduler.SpongeExecutorService;
 import org.spongepowered.api.service.user.UserStorageService;
 import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.teleport.TeleportHelperFilter;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 import javax.annotation.Nullable;
@@ -55,33 +59,99 @@ public class HomeService implements NucleusHomeService, ServiceBase {
 
     private final INucleusServiceCollection serviceCollection;
 
+    // The decoded homes of online players, keyed by lower case home name.
+    private final Map<UUID, ImmutableMap<String, Home>> homeIndex = new ConcurrentHashMap<>();
+    private final SpongeExecutorService asyncExecutor;
+    private final SpongeExecutorService syncExecutor;
+
     @Inject
     public HomeService(INucleusServiceCollection serviceCollection) {
         this.serviceCollection = serviceCollection;
+        this.asyncExecutor = Sponge.getScheduler().createAsyncExecutor(serviceCollection.pluginContainer());
+        this.syncExecutor = Sponge.getScheduler().createSyncExecutor(serviceCollection.pluginContainer());
+    }
+
+    /**
+     * Decodes the homes of a player that has just joined, so that lookups for
+     * them do not need to touch their data until they leave.
+     *
+     * @param user The {@link UUID} of the player
+     */
+    public void indexHomes(UUID user) {
+        IUserDataObject udo = this.serviceCollection.storageManager().getOrCreateUserOnThread(user);
+        this.homeIndex.put(user, index(user, udo.get(HomeKeys.HOMES).orElseGet(ImmutableMap::of)));
+    }
+
+    public void removeIndex(UUID user) {
+        this.homeIndex.remove(user);
     }
 
     @Override
     public List<Home> getHomes(UUID user) {
+        ImmutableMap<String, Home> index = this.homeIndex.get(user);
+        if (index != null) {
+            return index.values().asList();
+        }
+
         Optional<IUserDataObject> service = this.serviceCollection.storageManager().getUserOnThread(user); //.get().getHome;
         return service.map(modularUserService -> getHomes(user, modularUserService)).orElseGet(ImmutableList::of);
 
     }
 
+    @Override
+    public CompletableFuture<List<Home>> getHomesAsync(UUID user) {
+        ImmutableMap<String, Home> index = this.homeIndex.get(user);
+        if (index != null) {
+            return CompletableFuture.completedFuture(index.values().asList());
+        }
+
+        return loadUser(user).thenApply(service -> service.map(x -> getHomes(user, x)).orElseGet(ImmutableList::of));
+    }
+
     private List<Home> getHomes(UUID user, IUserDataObject userDataObject) {
         return getHomesFrom(user, userDataObject.get(HomeKeys.HOMES).orElseGet(ImmutableMap::of));
     }
 
     public Collection<String> getHomeNames(UUID user) {
+        ImmutableMap<String, Home> index = this.homeIndex.get(user);
+        if (index != null) {
+            return index.values().stream().map(Home::getName).collect(ImmutableSet.toImmutableSet());
+        }
+
         return this.serviceCollection.storageManager()
                 .getUserOnThread(user).flatMap(x -> x.get(HomeKeys.HOMES).map(Map::keySet)).orElseGet(ImmutableSet::of);
     }
 
     @Override public Optional<Home> getHome(UUID user, String name) {
-        Optional<IUserDataObject> service = this.serviceCollection.storageManager().getUser(user).join();
+        ImmutableMap<String, Home> index = this.homeIndex.get(user);
+        if (index != null) {
+            return Optional.ofNullable(index.get(name.toLowerCase()));
+        }
+
+        Optional<IUserDataObject> service = this.serviceCollection.storageManager().getUserOnThread(user);
         return service.flatMap(modularUserService -> getHome(name, user, modularUserService.get(HomeKeys.HOMES).orElse(null)));
 
     }
 
+    @Override public CompletableFuture<Optional<Home>> getHomeAsync(UUID user, String name) {
+        ImmutableMap<String, Home> index = this.homeIndex.get(user);
+        if (index != null) {
+            return CompletableFuture.completedFuture(Optional.ofNullable(index.get(name.toLowerCase())));
+        }
+
+        return loadUser(user).thenApply(service -> service.flatMap(x -> getHome(name, user, x.get(HomeKeys.HOMES).orElse(null))));
+    }
+
+    // The storage manager only loads on another thread when it is asked on the main thread, so anything else
+    // is handed to the async executor, so that the caller is never the one to wait for the load.
+    private CompletableFuture<Optional<IUserDataObject>> loadUser(UUID user) {
+        if (Sponge.getServer().isMainThread()) {
+            return this.serviceCollection.storageManager().getUser(user);
+        }
+
+        return CompletableFuture.supplyAsync(() -> this.serviceCollection.storageManager().getUserOnThread(user), this.asyncExecutor);
+    }
+
     @Override public void createHome(Cause cause, User user, String name, Location<World> location, Vector3d rotation) throws HomeException  {
         // Preconditions.checkState(cause.root() instanceof PluginContainer, "The root must be a PluginContainer");
         createHomeInternal(cause, user, name, location, rotation);
@@ -110,7 +180,7 @@ public class HomeService implements NucleusHomeService, ServiceBase {
         CreateHomeEvent event = new CreateHomeEvent(name, user, cause, location);
         postEvent(event);
 
-        if (!setHome(m, name, location, rotation, false, udo)) {
+        if (!setHome(user.getUniqueId(), m, name, location, rotation, false, udo)) {
             throw new HomeException(
                     this.serviceCollection.messageProvider().getMessageFor(
                         Util.getSourceFromCause(cause),
@@ -133,7 +203,7 @@ public class HomeService implements NucleusHomeService, ServiceBase {
 
         IUserDataObject udo = this.serviceCollection.storageManager().getOrCreateUserOnThread(home.getOwnersUniqueId());
         Map<String, LocationNode> m = udo.get(HomeKeys.HOMES).orElseGet(ImmutableMap::of);
-        if (!setHome(m, home.getName(), location, rotation, false, udo)) {
+        if (!setHome(home.getOwnersUniqueId(), m, home.getName(), location, rotation, false, udo)) {
             throw new HomeException(
                     this.serviceCollection.messageProvider().getMessageFor(
                             Util.getSourceFromCause(cause),
@@ -156,7 +226,7 @@ public class HomeService implements NucleusHomeService, ServiceBase {
 
         IUserDataObject udo = this.serviceCollection.storageManager().getOrCreateUserOnThread(home.getOwnersUniqueId());
         Map<String, LocationNode> m = udo.get(HomeKeys.HOMES).orElseGet(ImmutableMap::of);
-        if (!deleteHome(m, home.getName(), udo)) {
+        if (!deleteHome(home.getOwnersUniqueId(), m, home.getName(), udo)) {
                 throw new HomeException(
                         this.serviceCollection.messageProvider().getMessageFor(
                                 Util.getSourceFromCause(cause),
@@ -188,6 +258,59 @@ public class HomeService implements NucleusHomeService, ServiceBase {
     }
 
     public TeleportResult warpToHome(Player src, Home home, boolean safeTeleport) throws HomeException {
+        Location<World> targetLocation = prepareWarp(src, home);
+        INucleusTeleportService teleportService = this.serviceCollection.teleportService();
+        TeleportHelperFilter filter = teleportService.getAppropriateFilter(src, safeTeleport);
+
+        return teleportService.teleportPlayer(
+                        src,
+                        targetLocation,
+                        home.getRotation(),
+                        false,
+                        TeleportScanners.NO_SCAN.get(),
+                        filter
+                );
+    }
+
+    @Override public CompletableFuture<TeleportResult> warpToHomeAsync(Player src, Home home, boolean safeTeleport) {
+        Location<World> targetLocation;
+        try {
+            targetLocation = prepareWarp(src, home);
+        } catch (HomeException e) {
+            CompletableFuture<TeleportResult> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        INucleusTeleportService teleportService = this.serviceCollection.teleportService();
+        TeleportHelperFilter filter = teleportService.getAppropriateFilter(src, safeTeleport);
+
+        return teleportService.teleportPlayerAsync(
+                src,
+                targetLocation,
+                home.getRotation(),
+                false,
+                TeleportScanners.NO_SCAN.get(),
+                filter
+        );
+    }
+
+    @Override public CompletableFuture<TeleportResult> warpToHomeAsync(Player src, UUID user, String name, boolean safeTeleport) {
+        // The lookup may need to load the user's data, so the teleport continues on the main thread afterwards.
+        return getHomeAsync(user, name).thenComposeAsync(home -> {
+            if (!home.isPresent()) {
+                CompletableFuture<TeleportResult> future = new CompletableFuture<>();
+                future.completeExceptionally(new HomeException(
+                        this.serviceCollection.messageProvider().getMessageFor(src, "args.home.nohome", name),
+                        HomeException.Reasons.DOES_NOT_EXIST));
+                return future;
+            }
+
+            return warpToHomeAsync(src, home.get(), safeTeleport);
+        }, this.syncExecutor);
+    }
+
+    private Location<World> prepareWarp(Player src, Home home) throws HomeException {
         Sponge.getServer().loadWorld(home.getWorldProperties()
                 .orElseThrow(() ->
                         new HomeException(
@@ -207,17 +330,7 @@ public class HomeService implements NucleusHomeService, ServiceBase {
             postEvent(new UseHomeEvent(frame.getCurrentCause(), src, home));
         }
 
-        INucleusTeleportService teleportService = this.serviceCollection.teleportService();
-        TeleportHelperFilter filter = teleportService.getAppropriateFilter(src, safeTeleport);
-
-        return teleportService.teleportPlayer(
-                        src,
-                        targetLocation,
-                        home.getRotation(),
-                        false,
-                        TeleportScanners.NO_SCAN.get(),
-                        filter
-                );
+        return targetLocation;
     }
 
     private void postEvent(AbstractHomeEvent event) throws HomeException {
@@ -240,6 +353,20 @@ public class HomeService implements NucleusHomeService, ServiceBase {
         return i.build();
     }
 
+    private ImmutableMap<String, Home> index(UUID uuid, Map<String, LocationNode> msln) {
+        // Older data may have names that only differ by case, the first one wins as it does with a lookup.
+        Map<String, Home> i = new LinkedHashMap<>();
+        for (Map.Entry<String, LocationNode> entry : msln.entrySet()) {
+            i.putIfAbsent(entry.getKey().toLowerCase(), getHomeFrom(entry.getKey(), uuid, entry.getValue()));
+        }
+
+        return ImmutableMap.copyOf(i);
+    }
+
+    private void updateIndex(UUID uuid, Map<String, LocationNode> msln) {
+        this.homeIndex.computeIfPresent(uuid, (k, v) -> index(uuid, msln));
+    }
+
     private Home getHomeFrom(String string, UUID user, LocationNode node) {
         return new NucleusHome(string, user, node);
     }
@@ -251,7 +378,7 @@ public class HomeService implements NucleusHomeService, ServiceBase {
         return Util.getValueIgnoreCase(homeData, home).map(x -> getHomeFrom(home, uuid, x));
     }
 
-    private boolean setHome(Map<String, LocationNode> m, String home, Location<World> location, Vector3d rotation, boolean overwrite,
+    private boolean setHome(UUID owner, Map<String, LocationNode> m, String home, Location<World> location, Vector3d rotation, boolean overwrite,
             IUserDataObject udo) {
         final Pattern warpName = Pattern.compile("^[a-zA-Z][a-zA-Z0-9]{1,15}$");
 
@@ -270,6 +397,7 @@ public class HomeService implements NucleusHomeService, ServiceBase {
 
         m.put(home, new LocationNode(location, rotation));
         udo.set(HomeKeys.HOMES, m);
+        updateIndex(owner, m);
         return true;
     }
 
@@ -287,7 +415,7 @@ public class HomeService implements NucleusHomeService, ServiceBase {
         return false;
     }
 
-    private boolean deleteHome(Map<String, LocationNode> m, String home, IUserDataObject udo) {
+    private boolean deleteHome(UUID owner, Map<String, LocationNode> m, String home, IUserDataObject udo) {
         if (m == null || m.isEmpty()) {
             return false;
         }
@@ -297,6 +425,7 @@ public class HomeService implements NucleusHomeService, ServiceBase {
             m = Maps.newHashMap(m);
             m.remove(os.get());
             udo.set(HomeKeys.HOMES, m);
+            updateIndex(owner, m);
             return true;
         }
 
@@ -24,6 +24,7 @@ import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
 
 import java.time.Instant;
+import java.util.HashMap;
 import java.util.Map;
 
 @NonnullByDefault
@@ -52,6 +53,7 @@ public class KitResetUsageCommand implements ICommandExecutor<CommandSource> {
         Map<String, Instant> data = userDataObject.getNullable(KitKeys.REDEEMED_KITS);
         if (data != null && data.containsKey(kitInfo.getName().toLowerCase())) {
             // Remove the key.
+            data = new HashMap<>(data);
             data.remove(kitInfo.getName().toLowerCase());
             userDataObject.set(KitKeys.REDEEMED_KITS, data);
             storageManager.getUserService().save(u.getUniqueId(), userDataObject);
@@ -50,7 +50,7 @@ public class KitListener implements ListenerBase {
         if (dataObject.has(KitKeys.LEGACY_KIT_LAST_USED_TIME)) {
             // migration time. We know this isn't null
             Map<String, Long> data = dataObject.get(KitKeys.LEGACY_KIT_LAST_USED_TIME).orElseGet(HashMap::new);
-            Map<String, Instant> newData = dataObject.get(KitKeys.REDEEMED_KITS).orElseGet(HashMap::new);
+            Map<String, Instant> newData = dataObject.get(KitKeys.REDEEMED_KITS).<Map<String, Instant>>map(HashMap::new).orElseGet(HashMap::new);
             data.forEach((key, value) -> newData.putIfAbsent(key.toLowerCase(), Instant.ofEpochSecond(value)));
             dataObject.remove(KitKeys.LEGACY_KIT_LAST_USED_TIME);
             dataObject.set(KitKeys.REDEEMED_KITS, newData);
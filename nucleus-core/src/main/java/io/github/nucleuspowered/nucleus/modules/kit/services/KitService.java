@@ -156,6 +156,7 @@ public class KitService implements NucleusKitService, IReloadableService.Reloada
 
         Map<String, Instant> redeemed = dataObject
                 .get(KitKeys.REDEEMED_KITS)
+                .<Map<String, Instant>>map(HashMap::new)
                 .orElseGet(HashMap::new);
 
         Instant timeOfLastUse = redeemed.get(kit.getName().toLowerCase());
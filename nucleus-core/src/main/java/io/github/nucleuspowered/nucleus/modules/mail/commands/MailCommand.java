@@ -5,12 +5,13 @@
 package io.github.nucleuspowered.nucleus.modules.mail.commands;
 
 import io.github.nucleuspowered.nucleus.api.module.mail.NucleusMailService;
+import io.github.nucleuspowered.nucleus.api.module.mail.data.MailMessage;
 import io.github.nucleuspowered.nucleus.modules.mail.MailPermissions;
 import io.github.nucleuspowered.nucleus.modules.mail.parameter.MailFilterArgument;
 import io.github.nucleuspowered.nucleus.modules.mail.services.MailHandler;
 import io.github.nucleuspowered.nucleus.scaffold.command.ICommandContext;
-import io.github.nucleuspowered.nucleus.scaffold.command.ICommandExecutor;
 import io.github.nucleuspowered.nucleus.scaffold.command.ICommandResult;
+import io.github.nucleuspowered.nucleus.scaffold.command.IStagedCommandExecutor;
 import io.github.nucleuspowered.nucleus.scaffold.command.annotation.Command;
 import io.github.nucleuspowered.nucleus.scaffold.command.annotation.EssentialsEquivalent;
 import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
@@ -21,15 +22,16 @@ import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
 
+import java.util.List;
+
 @EssentialsEquivalent({"mail", "email"})
 @NonnullByDefault
 @Command(
         aliases = { "mail", "email" },
         basePermission = MailPermissions.BASE_MAIL,
-        commandDescriptionKey = "mail",
-        async = true
+        commandDescriptionKey = "mail"
 )
-public class MailCommand implements ICommandExecutor<Player> {
+public class MailCommand implements IStagedCommandExecutor<Player, List<MailMessage>> {
 
     @Override
     public CommandElement[] parameters(INucleusServiceCollection serviceCollection) {
@@ -42,10 +44,18 @@ public class MailCommand implements ICommandExecutor<Player> {
         };
     }
 
-    @Override public ICommandResult execute(ICommandContext<? extends Player> context) throws CommandException {
-        return MailReadBase.INSTANCE.executeCommand(
+    @Override public List<MailMessage> load(ICommandContext<? extends Player> context) throws CommandException {
+        return MailReadBase.INSTANCE.loadMail(
                 context,
                 context.getIfPlayer(),
                 context.getAll(MailReadBase.FILTERS, NucleusMailService.MailFilter.class));
     }
+
+    @Override public ICommandResult apply(ICommandContext<? extends Player> context, List<MailMessage> loaded) throws CommandException {
+        return MailReadBase.INSTANCE.showMail(
+                context,
+                context.getIfPlayer(),
+                context.getAll(MailReadBase.FILTERS, NucleusMailService.MailFilter.class),
+                loaded);
+    }
 }
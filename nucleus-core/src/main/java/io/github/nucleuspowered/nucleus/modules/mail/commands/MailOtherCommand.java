@@ -5,12 +5,13 @@
 package io.github.nucleuspowered.nucleus.modules.mail.commands;
 
 import io.github.nucleuspowered.nucleus.api.module.mail.NucleusMailService;
+import io.github.nucleuspowered.nucleus.api.module.mail.data.MailMessage;
 import io.github.nucleuspowered.nucleus.modules.mail.MailPermissions;
 import io.github.nucleuspowered.nucleus.modules.mail.parameter.MailFilterArgument;
 import io.github.nucleuspowered.nucleus.modules.mail.services.MailHandler;
 import io.github.nucleuspowered.nucleus.scaffold.command.ICommandContext;
-import io.github.nucleuspowered.nucleus.scaffold.command.ICommandExecutor;
 import io.github.nucleuspowered.nucleus.scaffold.command.ICommandResult;
+import io.github.nucleuspowered.nucleus.scaffold.command.IStagedCommandExecutor;
 import io.github.nucleuspowered.nucleus.scaffold.command.NucleusParameters;
 import io.github.nucleuspowered.nucleus.scaffold.command.annotation.Command;
 import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
@@ -22,15 +23,16 @@ import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
 
+import java.util.List;
+
 @NonnullByDefault
 @Command(
         aliases = { "other", "o" },
         basePermission = MailPermissions.BASE_MAIL_OTHER,
         commandDescriptionKey = "mail.other",
-        async = true,
         parentCommand = MailCommand.class
 )
-public class MailOtherCommand implements ICommandExecutor<CommandSource> {
+public class MailOtherCommand implements IStagedCommandExecutor<CommandSource, List<MailMessage>> {
 
     @Override
     public CommandElement[] parameters(INucleusServiceCollection serviceCollection) {
@@ -41,10 +43,18 @@ public class MailOtherCommand implements ICommandExecutor<CommandSource> {
         };
     }
 
-    @Override public ICommandResult execute(ICommandContext<? extends CommandSource> context) throws CommandException {
-        return MailReadBase.INSTANCE.executeCommand(
+    @Override public List<MailMessage> load(ICommandContext<? extends CommandSource> context) throws CommandException {
+        return MailReadBase.INSTANCE.loadMail(
                 context,
                 context.requireOne(NucleusParameters.Keys.USER, User.class),
                 context.getAll(MailReadBase.FILTERS, NucleusMailService.MailFilter.class));
     }
+
+    @Override public ICommandResult apply(ICommandContext<? extends CommandSource> context, List<MailMessage> loaded) throws CommandException {
+        return MailReadBase.INSTANCE.showMail(
+                context,
+                context.requireOne(NucleusParameters.Keys.USER, User.class),
+                context.getAll(MailReadBase.FILTERS, NucleusMailService.MailFilter.class),
+                loaded);
+    }
 }
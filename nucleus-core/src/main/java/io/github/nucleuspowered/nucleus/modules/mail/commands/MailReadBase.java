@@ -38,9 +38,13 @@ public class MailReadBase {
 
     static final String FILTERS = "filters";
 
-    public ICommandResult executeCommand(ICommandContext<? extends CommandSource> context,
+    /**
+     * Gets the mail to show, oldest first. This does not need to run on the
+     * main thread.
+     */
+    public List<MailMessage> loadMail(ICommandContext<? extends CommandSource> context,
             final User target,
-            Collection<NucleusMailService.MailFilter> lmf) throws CommandException {
+            Collection<NucleusMailService.MailFilter> lmf) {
         MailHandler handler = context.getServiceCollection().getServiceUnchecked(MailHandler.class);
         List<MailMessage> lmd;
         if (!lmf.isEmpty()) {
@@ -49,6 +53,13 @@ public class MailReadBase {
             lmd = handler.getMailInternal(target);
         }
 
+        return lmd.stream().sorted(Comparator.comparing(MailMessage::getDate)).collect(Collectors.toList());
+    }
+
+    public ICommandResult showMail(ICommandContext<? extends CommandSource> context,
+            final User target,
+            Collection<NucleusMailService.MailFilter> lmf,
+            List<MailMessage> lmd) throws CommandException {
         if (lmd.isEmpty()) {
             if (context.is(target)) {
                 context.sendMessage(!lmf.isEmpty() ? "command.mail.none.filter" : "command.mail.none.normal.self");
@@ -59,8 +70,7 @@ public class MailReadBase {
             return context.successResult();
         }
 
-        List<Text> mails = lmd.stream().sorted(Comparator.comparing(MailMessage::getDate))
-                        .map(x -> createMessage(context, x, target)).collect(Collectors.toList());
+        List<Text> mails = lmd.stream().map(x -> createMessage(context, x, target)).collect(Collectors.toList());
 
         // Paginate the mail.
         PaginationList.Builder b = Util.getPaginationBuilder(context.getCommandSource()).padding(Text.of(TextColors.GREEN, "-")).title(
@@ -72,6 +82,10 @@ public class MailReadBase {
         }
 
         b.sendTo(context.getCommandSource());
+        if (context.is(target)) {
+            context.getServiceCollection().getServiceUnchecked(MailHandler.class).markMailRead(target);
+        }
+
         return context.successResult();
     }
 
@@ -0,0 +1,48 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.mail.commands;
+
+import io.github.nucleuspowered.nucleus.modules.mail.MailPermissions;
+import io.github.nucleuspowered.nucleus.modules.mail.services.MailHandler;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandContext;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandExecutor;
+import io.github.nucleuspowered.nucleus.scaffold.command.ICommandResult;
+import io.github.nucleuspowered.nucleus.scaffold.command.NucleusParameters;
+import io.github.nucleuspowered.nucleus.scaffold.command.annotation.Command;
+import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
+import org.spongepowered.api.command.CommandException;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.command.args.CommandElement;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+
+@NonnullByDefault
+@Command(
+        aliases = { "sendall", "#sendmailall" },
+        basePermission = MailPermissions.BASE_MAIL_SENDALL,
+        commandDescriptionKey = "mail.sendall",
+        async = true,
+        parentCommand = MailCommand.class
+)
+public class SendAllMailCommand implements ICommandExecutor<CommandSource> {
+
+    @Override
+    public CommandElement[] parameters(INucleusServiceCollection serviceCollection) {
+        return new CommandElement[] {
+                NucleusParameters.MESSAGE
+        };
+    }
+
+    @Override
+    public ICommandResult execute(ICommandContext<? extends CommandSource> context) throws CommandException {
+        String m = context.getOne(NucleusParameters.Keys.MESSAGE, String.class)
+                .orElseThrow(() -> context.createException("args.message.none"));
+
+        // Recipients are read from the user store and sent to in batches, progress is reported as it goes.
+        MailHandler handler = context.getServiceCollection().getServiceUnchecked(MailHandler.class);
+        handler.sendBulkMail(context.is(Player.class) ? context.getIfPlayer() : null, null, m, context.getCommandSource());
+        return context.successResult();
+    }
+}
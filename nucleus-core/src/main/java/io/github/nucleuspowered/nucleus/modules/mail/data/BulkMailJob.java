@@ -0,0 +1,102 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.mail.data;
+
+import com.google.common.collect.Lists;
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.annotation.Nullable;
+
+/**
+ * A mail that is being sent to many players, and how far delivery has got.
+ */
+@ConfigSerializable
+public class BulkMailJob {
+
+    @Setting
+    private UUID id;
+
+    @Setting
+    private UUID sender;
+
+    @Setting
+    private long date;
+
+    @Setting
+    private String message;
+
+    @Setting
+    @Nullable
+    private List<UUID> recipients = null;
+
+    @Setting
+    @Nullable
+    private UUID lastKey = null;
+
+    @Setting
+    private int delivered = 0;
+
+    public BulkMailJob() {
+        // ignored - for Configurate
+    }
+
+    public BulkMailJob(UUID sender, long date, String message, @Nullable List<UUID> recipients) {
+        this.id = UUID.randomUUID();
+        this.sender = sender;
+        this.date = date;
+        this.message = message;
+        this.recipients = recipients == null ? null : Lists.newArrayList(recipients);
+    }
+
+    public UUID getId() {
+        return this.id;
+    }
+
+    public UUID getSender() {
+        return this.sender;
+    }
+
+    public long getDate() {
+        return this.date;
+    }
+
+    public String getMessage() {
+        return this.message;
+    }
+
+    /**
+     * The players to send the mail to, or empty if it is to be sent to
+     * every player in the user store.
+     *
+     * @return The recipients, if restricted
+     */
+    public Optional<List<UUID>> getRecipients() {
+        return Optional.ofNullable(this.recipients);
+    }
+
+    /**
+     * The last recipient that was processed. Mail has been delivered to all
+     * recipients up to and including this one, in natural order.
+     *
+     * @return The key, if any have been processed
+     */
+    public Optional<UUID> getLastKey() {
+        return Optional.ofNullable(this.lastKey);
+    }
+
+    public int getDelivered() {
+        return this.delivered;
+    }
+
+    public void checkpoint(UUID lastKey, int delivered) {
+        this.lastKey = lastKey;
+        this.delivered = delivered;
+    }
+}
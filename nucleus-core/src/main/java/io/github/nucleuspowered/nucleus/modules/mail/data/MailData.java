@@ -27,6 +27,9 @@ public class MailData implements MailMessage {
     @Setting
     private String message;
 
+    // The position of this mail in the recipient's mailbox. This is not part of the mail itself.
+    private long id = -1;
+
     public MailData() { }
 
     public MailData(UUID uuid, Instant date, String message) {
@@ -35,6 +38,21 @@ public class MailData implements MailMessage {
         this.message = message;
     }
 
+    public MailData(long id, UUID uuid, long date, String message) {
+        this.id = id;
+        this.uuid = uuid;
+        this.date = date;
+        this.message = message;
+    }
+
+    public long getId() {
+        return this.id;
+    }
+
+    public long getEpochMilli() {
+        return this.date;
+    }
+
     @Override public String getMessage() {
         return this.message;
     }
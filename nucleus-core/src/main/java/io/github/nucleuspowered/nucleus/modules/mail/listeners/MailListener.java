@@ -12,6 +12,7 @@ import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.filter.Getter;
+import org.spongepowered.api.event.game.state.GameStartedServerEvent;
 import org.spongepowered.api.event.network.ClientConnectionEvent;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.text.Text;
@@ -36,10 +37,16 @@ public class MailListener implements ListenerBase {
         this.pluginContainer = serviceCollection.pluginContainer();
     }
 
+    @Listener
+    public void onServerStarted(GameStartedServerEvent event) {
+        // Carry on with any mail to many players that was interrupted by the server stopping.
+        this.handler.resumeBulkMail();
+    }
+
     @Listener
     public void onPlayerJoin(ClientConnectionEvent.Join event, @Getter("getTargetEntity") Player player) {
         Sponge.getScheduler().createAsyncExecutor(this.pluginContainer).schedule(() -> {
-            int mailCount = this.handler.getMailInternal(event.getTargetEntity()).size();
+            int mailCount = this.handler.getMailCount(event.getTargetEntity());
             if (mailCount > 0) {
                 this.messageProvider.sendMessageTo(player, "mail.login", String.valueOf(mailCount));
                 player.sendMessage(Text.builder()
@@ -0,0 +1,245 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.mail.services;
+
+import com.google.common.reflect.TypeToken;
+import io.github.nucleuspowered.nucleus.Util;
+import io.github.nucleuspowered.nucleus.modules.mail.data.BulkMailJob;
+import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
+import io.github.nucleuspowered.nucleus.services.interfaces.IMessageProviderService;
+import io.github.nucleuspowered.nucleus.services.interfaces.IStorageManager;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.gson.GsonConfigurationLoader;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+import org.slf4j.Logger;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.api.text.Text;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+/**
+ * Delivers a mail to many players, a batch at a time, on async tasks.
+ *
+ * <p>Each job is saved before delivery starts, and after each batch along
+ * with the last recipient it reached, so that a job that is interrupted by
+ * the server stopping carries on from that batch when it next starts.
+ * There is a short pause between batches so that delivery does not take all
+ * of the disk's attention.</p>
+ */
+final class BulkMailDelivery {
+
+    private static final int BATCH_SIZE = 250;
+    private static final long BATCH_DELAY_MILLIS = 50;
+    private static final int PROGRESS_REPORTS = 10;
+
+    private final INucleusServiceCollection serviceCollection;
+    private final Supplier<MailboxStore> store;
+    private final Logger logger;
+
+    BulkMailDelivery(INucleusServiceCollection serviceCollection, Supplier<MailboxStore> store) {
+        this.serviceCollection = serviceCollection;
+        this.store = store;
+        this.logger = serviceCollection.logger();
+    }
+
+    /**
+     * Starts delivering a new job.
+     *
+     * @param job The job
+     * @param source The {@link CommandSource} to tell about the progress of the job, if any
+     * @return A {@link CompletableFuture} that completes with the number of
+     *      players the mail was delivered to
+     */
+    CompletableFuture<Integer> start(BulkMailJob job, @Nullable CommandSource source) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        try {
+            save(job);
+        } catch (IOException | ObjectMappingException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        schedule(new Run(job, source, future), 0);
+        return future;
+    }
+
+    /**
+     * Carries on with any jobs that were interrupted by the server stopping.
+     */
+    void resumeAll() {
+        Path directory = directory();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.json")) {
+            for (Path file : files) {
+                try {
+                    BulkMailJob job = loader(file).load().getValue(TypeToken.of(BulkMailJob.class));
+                    if (job != null && job.getId() != null) {
+                        schedule(new Run(job, null, new CompletableFuture<>()), 0);
+                    }
+                } catch (IOException | ObjectMappingException e) {
+                    this.logger.warn("Could not load the bulk mail job in " + file + ", it will not be resumed", e);
+                }
+            }
+        } catch (IOException e) {
+            this.logger.warn("Could not read the bulk mail jobs in " + directory, e);
+        }
+    }
+
+    private void schedule(Run run, long delayMillis) {
+        Task.builder().async().delay(delayMillis, TimeUnit.MILLISECONDS).execute(run).submit(this.serviceCollection.pluginContainer());
+    }
+
+    private void save(BulkMailJob job) throws IOException, ObjectMappingException {
+        Files.createDirectories(directory());
+        GsonConfigurationLoader loader = loader(jobPath(job));
+        ConfigurationNode node = loader.createEmptyNode();
+        node.setValue(TypeToken.of(BulkMailJob.class), job);
+        loader.save(node);
+    }
+
+    private Path directory() {
+        return this.serviceCollection.dataDir().get().resolve("mail").resolve("bulk");
+    }
+
+    private Path jobPath(BulkMailJob job) {
+        return directory().resolve(job.getId() + ".json");
+    }
+
+    private static GsonConfigurationLoader loader(Path path) {
+        return GsonConfigurationLoader.builder()
+                .setPath(path)
+                .build();
+    }
+
+    private final class Run implements Runnable {
+
+        private final BulkMailJob job;
+        @Nullable private final CommandSource source;
+        private final CompletableFuture<Integer> future;
+
+        @Nullable private List<UUID> keys;
+        @Nullable private Text from;
+        private int index;
+        private int delivered;
+        private int nextReport;
+
+        private Run(BulkMailJob job, @Nullable CommandSource source, CompletableFuture<Integer> future) {
+            this.job = job;
+            this.source = source;
+            this.future = future;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (this.keys == null) {
+                    prepare();
+                }
+
+                List<UUID> batch = this.keys.subList(this.index, Math.min(this.keys.size(), this.index + BATCH_SIZE));
+                MailboxStore mailboxStore = BulkMailDelivery.this.store.get();
+                List<UUID> recipients = new ArrayList<>(batch.size());
+                for (UUID uuid : batch) {
+                    if (!uuid.equals(this.job.getSender())) {
+                        mailboxStore.deliver(uuid, this.job.getSender(), this.job.getDate(), this.job.getMessage());
+                        this.delivered++;
+                        recipients.add(uuid);
+                    }
+                }
+
+                // Players can only be looked up and messaged on the main thread.
+                Task.builder().execute(() -> recipients.forEach(this::notifyIfOnline))
+                        .submit(BulkMailDelivery.this.serviceCollection.pluginContainer());
+
+                this.index += batch.size();
+                if (this.index >= this.keys.size()) {
+                    Files.deleteIfExists(jobPath(this.job));
+                    send("command.mail.sendall.complete", this.delivered);
+                    this.future.complete(this.delivered);
+                    return;
+                }
+
+                this.job.checkpoint(batch.get(batch.size() - 1), this.delivered);
+                save(this.job);
+                if (this.index >= this.nextReport) {
+                    send("command.mail.sendall.progress", this.index, this.keys.size());
+                    this.nextReport += Math.max(1, this.keys.size() / PROGRESS_REPORTS);
+                }
+
+                schedule(this, BATCH_DELAY_MILLIS);
+            } catch (Exception e) {
+                BulkMailDelivery.this.logger.error("Could not deliver bulk mail " + this.job.getId()
+                        + ", delivery will carry on when the server next starts", e);
+                send("command.mail.sendall.failed", this.delivered);
+                this.future.completeExceptionally(e);
+            }
+        }
+
+        private void prepare() throws Exception {
+            List<UUID> keys;
+            if (this.job.getRecipients().isPresent()) {
+                keys = new ArrayList<>(this.job.getRecipients().get());
+            } else {
+                // Anything waiting to be written needs to be in the repository before we read it.
+                IStorageManager storageManager = BulkMailDelivery.this.serviceCollection.storageManager();
+                storageManager.getUserService().ensureSaved().join();
+                keys = new ArrayList<>(storageManager.getUserRepository().getAllKeys());
+            }
+
+            Collections.sort(keys);
+            this.keys = keys;
+            this.delivered = this.job.getDelivered();
+            if (this.job.getLastKey().isPresent()) {
+                int index = Collections.binarySearch(keys, this.job.getLastKey().get());
+                this.index = index >= 0 ? index + 1 : -index - 1;
+                BulkMailDelivery.this.logger.info("Resuming bulk mail " + this.job.getId() + " from player " + this.index + " of " + keys.size());
+            } else {
+                send("command.mail.sendall.started", keys.size());
+            }
+
+            this.nextReport = this.index + Math.max(1, keys.size() / PROGRESS_REPORTS);
+        }
+
+        private void notifyIfOnline(UUID uuid) {
+            Sponge.getServer().getPlayer(uuid).ifPresent(player -> {
+                if (this.from == null) {
+                    this.from = Util.CONSOLE_FAKE_UUID.equals(this.job.getSender())
+                            ? Text.of(Sponge.getServer().getConsole().getName())
+                            : BulkMailDelivery.this.serviceCollection.playerDisplayNameService().getDisplayName(this.job.getSender());
+                }
+
+                player.sendMessage(Text.builder()
+                        .append(BulkMailDelivery.this.serviceCollection.messageProvider().getMessageFor(player, "mail.youvegotmail"))
+                        .append(Text.of(" ", this.from)).build());
+            });
+        }
+
+        // Resumed jobs have no source to tell, so their progress goes to the console.
+        private void send(String key, Object... args) {
+            Task.builder().execute(() -> {
+                IMessageProviderService messageProvider = BulkMailDelivery.this.serviceCollection.messageProvider();
+                CommandSource target = this.source == null ? Sponge.getServer().getConsole() : this.source;
+                messageProvider.sendMessageTo(target, key, args);
+            }).submit(BulkMailDelivery.this.serviceCollection.pluginContainer());
+        }
+    }
+}
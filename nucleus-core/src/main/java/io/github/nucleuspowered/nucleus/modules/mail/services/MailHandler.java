@@ -10,6 +10,7 @@ import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.api.module.mail.NucleusMailService;
 import io.github.nucleuspowered.nucleus.api.module.mail.data.MailMessage;
 import io.github.nucleuspowered.nucleus.modules.mail.MailKeys;
+import io.github.nucleuspowered.nucleus.modules.mail.data.BulkMailJob;
 import io.github.nucleuspowered.nucleus.modules.mail.data.MailData;
 import io.github.nucleuspowered.nucleus.modules.mail.events.InternalNucleusMailEvent;
 import io.github.nucleuspowered.nucleus.scaffold.service.ServiceBase;
@@ -17,30 +18,43 @@ import io.github.nucleuspowered.nucleus.scaffold.service.annotations.APIService;
 import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
 import io.github.nucleuspowered.nucleus.services.impl.storage.dataobjects.modular.IUserDataObject;
 import io.github.nucleuspowered.nucleus.services.interfaces.IMessageProviderService;
+import io.github.nucleuspowered.nucleus.services.interfaces.IReloadableService;
 import io.github.nucleuspowered.nucleus.services.interfaces.IStorageManager;
 import org.spongepowered.api.Sponge;
+import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.entity.living.player.User;
+import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.api.text.Text;
+import org.spongepowered.api.util.Identifiable;
 
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 
 @SuppressWarnings("UnstableApiUsage")
 @APIService(NucleusMailService.class)
-public class MailHandler implements NucleusMailService, ServiceBase {
+public class MailHandler implements NucleusMailService, ServiceBase, IReloadableService.DataLocationReloadable {
 
     private final INucleusServiceCollection serviceCollection;
+    private final BulkMailDelivery bulkMailDelivery;
+    @Nullable private volatile MailboxStore store;
 
     @Inject
     public MailHandler(INucleusServiceCollection serviceCollection) {
         this.serviceCollection = serviceCollection;
+        this.bulkMailDelivery = new BulkMailDelivery(serviceCollection, this::getStore);
     }
 
     @Override
@@ -49,42 +63,69 @@ public class MailHandler implements NucleusMailService, ServiceBase {
     }
 
     public final List<MailMessage> getMailInternal(User player, MailFilter... filters) {
-        List<MailMessage> data = this.serviceCollection.storageManager().getUserService()
-                .getOrNewOnThread(player.getUniqueId())
-                .getNullable(MailKeys.MAIL_DATA);
-        if (data == null || data.isEmpty()) {
-            return ImmutableList.of();
+        try (Stream<MailData> stream = filter(getStore().stream(player.getUniqueId()), filters)) {
+            return stream.collect(ImmutableList.<MailMessage>toImmutableList());
         }
+    }
+
+    @Override
+    public List<MailMessage> getMail(User player, int offset, int limit, MailFilter... filters) {
+        try (Stream<MailData> stream = filter(getStore().stream(player.getUniqueId()), filters)) {
+            return stream.skip(offset).limit(limit).collect(Collectors.<MailMessage>toList());
+        }
+    }
+
+    @Override
+    public int getMailCount(User player) {
+        return getStore().getCount(player.getUniqueId());
+    }
+
+    public int getUnreadMailCount(User player) {
+        return getStore().getUnread(player.getUniqueId());
+    }
+
+    public void markMailRead(User player) {
+        getStore().markRead(player.getUniqueId());
+    }
 
+    private static Stream<MailData> filter(Stream<MailData> stream, MailFilter... filters) {
         if (filters.length == 0) {
-            return ImmutableList.copyOf(data);
+            return stream;
         }
 
         Predicate<MailMessage> lmf = Arrays.stream(filters).map(x -> (Predicate<MailMessage>)x).reduce(Predicate::and).orElse(x -> true);
-        return data.stream().filter(lmf).collect(ImmutableList.toImmutableList());
+        return stream.filter(lmf);
     }
 
     @Override
-    public boolean removeMail(User player, MailMessage mailData) {
-        IUserDataObject dataObject = this.serviceCollection.storageManager().getUserService().getOrNewOnThread(player.getUniqueId());
-        List<MailMessage> data = dataObject.get(MailKeys.MAIL_DATA).orElseGet(ArrayList::new);
-        boolean result = data.removeIf(x ->
-                mailData.getDate().equals(x.getDate()) &&
-                mailData.getMessage().equalsIgnoreCase(x.getMessage()) &&
-                Objects.equals(mailData.getSender().orElse(null), x.getSender().orElse(null)));
+    public MailFilter createSenderFilter(boolean includeConsole, final Collection<UUID> player) {
+        // Stored mail knows its sender's UUID, so there is no need to look up the sender for each mail.
+        return m -> {
+            if (m instanceof MailData) {
+                UUID sender = ((MailData) m).getUuid();
+                return Util.CONSOLE_FAKE_UUID.equals(sender) ? includeConsole : player.contains(sender);
+            }
+
+            return m.getSender().map(x -> player.contains(x.getUniqueId())).orElse(includeConsole);
+        };
+    }
 
-        if (result) {
-            dataObject.set(MailKeys.MAIL_DATA, data);
-            this.serviceCollection.storageManager().getUserService().save(player.getUniqueId(), dataObject);
+    @Override
+    public boolean removeMail(User player, MailMessage mailData) {
+        if (mailData instanceof MailData && ((MailData) mailData).getId() >= 0) {
+            long id = ((MailData) mailData).getId();
+            return getStore().delete(player.getUniqueId(), x -> x.getId() == id);
         }
 
-        return result;
+        UUID sender = getSenderUUID(mailData);
+        return getStore().delete(player.getUniqueId(), x ->
+                mailData.getDate().equals(x.getDate()) &&
+                mailData.getMessage().equalsIgnoreCase(x.getMessage()) &&
+                sender.equals(x.getUuid()));
     }
 
     @Override
     public void sendMail(@Nullable User playerFrom, User playerTo, String message) {
-        IUserDataObject dataObject = this.serviceCollection.storageManager().getUserService().getOrNewOnThread(playerTo.getUniqueId());
-
         // Message is about to be sent. Send the event out. If canceled, then
         // that's that.
         IMessageProviderService messageProvider = this.serviceCollection.messageProvider();
@@ -100,11 +141,11 @@ public class MailHandler implements NucleusMailService, ServiceBase {
             return;
         }
 
-        List<MailMessage> messages = dataObject.get(MailKeys.MAIL_DATA).orElseGet(ArrayList::new);
-        MailData md = new MailData(playerFrom == null ? Util.CONSOLE_FAKE_UUID : playerFrom.getUniqueId(), Instant.now(), message);
-        messages.add(md);
-        dataObject.set(MailKeys.MAIL_DATA, messages);
-        this.serviceCollection.storageManager().getUserService().save(playerTo.getUniqueId(), dataObject);
+        getStore().append(
+                playerTo.getUniqueId(),
+                playerFrom == null ? Util.CONSOLE_FAKE_UUID : playerFrom.getUniqueId(),
+                Instant.now().toEpochMilli(),
+                message);
 
         Text from = playerFrom == null ? Text.of(Sponge.getServer().getConsole().getName()) :
                 this.serviceCollection.playerDisplayNameService().getDisplayName(playerFrom);
@@ -117,16 +158,105 @@ public class MailHandler implements NucleusMailService, ServiceBase {
         sendMail(null, playerTo, message);
     }
 
+    @Override
+    public CompletableFuture<Integer> sendBulkMail(@Nullable User playerFrom, Collection<UUID> playersTo, String message) {
+        return sendBulkMail(playerFrom, new ArrayList<>(playersTo), message, null);
+    }
+
+    @Override
+    public CompletableFuture<Integer> sendMailToAll(@Nullable User playerFrom, String message) {
+        return sendBulkMail(playerFrom, null, message, null);
+    }
+
+    /**
+     * Sends the same mail to many players.
+     *
+     * @param playerFrom The sender, or null for the console
+     * @param playersTo The recipients, or null for every player in the user store
+     * @param message The message
+     * @param source The {@link CommandSource} to tell about the progress of delivery, if any
+     * @return A {@link CompletableFuture} that completes with the number of players the mail was delivered to
+     */
+    public CompletableFuture<Integer> sendBulkMail(@Nullable User playerFrom, @Nullable List<UUID> playersTo, String message,
+            @Nullable CommandSource source) {
+        BulkMailJob job = new BulkMailJob(
+                playerFrom == null ? Util.CONSOLE_FAKE_UUID : playerFrom.getUniqueId(),
+                Instant.now().toEpochMilli(),
+                message,
+                playersTo);
+        return this.bulkMailDelivery.start(job, source);
+    }
+
+    public void resumeBulkMail() {
+        this.bulkMailDelivery.resumeAll();
+    }
+
     @Override
     public boolean clearUserMail(User player) {
+        return getStore().clear(player.getUniqueId());
+    }
+
+    @Override
+    public void onDataFileLocationChange(INucleusServiceCollection serviceCollection) {
+        MailboxStore old = this.store;
+        this.store = null;
+        if (old != null) {
+            old.invalidateAll();
+        }
+    }
+
+    private MailboxStore getStore() {
+        MailboxStore current = this.store;
+        if (current == null) {
+            synchronized (this) {
+                current = this.store;
+                if (current == null) {
+                    current = createStore();
+                    this.store = current;
+                }
+            }
+        }
+
+        return current;
+    }
+
+    private MailboxStore createStore() {
         IStorageManager storageManager = this.serviceCollection.storageManager();
-        IUserDataObject dataObject = storageManager.getUserService().getOrNewOnThread(player.getUniqueId());
-        if (dataObject.getNullable(MailKeys.MAIL_DATA) != null) {
-            dataObject.remove(MailKeys.MAIL_DATA);
-            storageManager.getUserService().save(player.getUniqueId(), dataObject);
-            return true;
+        return new MailboxStore(
+                this.serviceCollection.dataDir().get().resolve("mail"),
+                this.serviceCollection.logger(),
+                runnable -> Task.builder().async().execute(runnable).submit(this.serviceCollection.pluginContainer()),
+                new MailboxStore.LegacyMail() {
+                    @Override
+                    public List<MailData> get(UUID owner) {
+                        List<MailMessage> data = storageManager.getUserOnThread(owner)
+                                .map(x -> x.getNullable(MailKeys.MAIL_DATA))
+                                .orElse(null);
+                        if (data == null) {
+                            return Collections.emptyList();
+                        }
+
+                        return data.stream()
+                                .map(x -> x instanceof MailData ? (MailData) x : new MailData(getSenderUUID(x), x.getDate(), x.getMessage()))
+                                .collect(Collectors.toList());
+                    }
+
+                    @Override
+                    public void remove(UUID owner) {
+                        Optional<IUserDataObject> dataObject = storageManager.getUserOnThread(owner);
+                        if (dataObject.isPresent()) {
+                            dataObject.get().remove(MailKeys.MAIL_DATA);
+                            storageManager.getUserService().save(owner, dataObject.get());
+                        }
+                    }
+                });
+    }
+
+    private static UUID getSenderUUID(MailMessage message) {
+        if (message instanceof MailData) {
+            return ((MailData) message).getUuid();
         }
 
-        return false;
+        return message.getSender().map(Identifiable::getUniqueId).orElse(Util.CONSOLE_FAKE_UUID);
     }
 }
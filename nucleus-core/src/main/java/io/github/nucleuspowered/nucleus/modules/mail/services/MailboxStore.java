@@ -0,0 +1,531 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.mail.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import io.github.nucleuspowered.nucleus.modules.mail.data.MailData;
+import org.slf4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Stores each player's mail in its own directory, away from the rest of
+ * their data, so that sending mail or counting it does not need the rest of
+ * their data, or the rest of their mail, to be loaded.
+ *
+ * <p>Each mailbox has a small header that holds the number of messages and
+ * the number that are unread, along with the segment files that hold the
+ * messages themselves. Messages are only ever appended to the last segment.
+ * Deleted messages are recorded in the header and skipped when reading,
+ * and the segments are rewritten without them in the background once enough
+ * have built up. Segments that are replaced are kept until any streams that
+ * are reading them have been closed.</p>
+ *
+ * <p>A mailbox's directory is only created when the first message is added
+ * to it, so players who have never had mail do not get one. Mail that was
+ * stored with the rest of a player's data is moved into their mailbox the
+ * first time it is read, rather than when mail is delivered to it.</p>
+ *
+ * <p>Mailboxes are cached for a while after they are used. A mailbox that is
+ * in use is also kept to one side until it is released, so that only one
+ * instance of it is ever loaded at a time.</p>
+ */
+public final class MailboxStore {
+
+    private static final int SEGMENT_SIZE = 500;
+    private static final int MIN_DELETED_TO_COMPACT = 32;
+    private static final String HEADER = "header.json";
+    private static final Gson GSON = new Gson();
+
+    private final Path directory;
+    private final Logger logger;
+    private final Executor backgroundExecutor;
+    private final LegacyMail legacyMail;
+    private final Cache<UUID, Mailbox> mailboxes = Caffeine.newBuilder()
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+    private final Map<UUID, Mailbox> inUse = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the store.
+     *
+     * @param directory The directory to store the mailboxes in
+     * @param logger The {@link Logger}
+     * @param backgroundExecutor The executor to compact mailboxes on
+     * @param legacyMail Provides any mail that a player has in their user data
+     *      from before mailboxes existed, so it can be moved into their mailbox
+     */
+    public MailboxStore(Path directory, Logger logger, Executor backgroundExecutor, LegacyMail legacyMail) {
+        this.directory = directory;
+        this.logger = logger;
+        this.backgroundExecutor = backgroundExecutor;
+        this.legacyMail = legacyMail;
+    }
+
+    public int getCount(UUID owner) {
+        return withMailbox(owner, Mailbox::getCount);
+    }
+
+    public int getUnread(UUID owner) {
+        return withMailbox(owner, Mailbox::getUnread);
+    }
+
+    public void markRead(UUID owner) {
+        withMailbox(owner, mailbox -> {
+            mailbox.markRead();
+            return null;
+        });
+    }
+
+    public void append(UUID owner, UUID from, long date, String message) {
+        withMailbox(owner, mailbox -> {
+            mailbox.append(from, date, message);
+            return null;
+        });
+    }
+
+    /**
+     * Appends a message without keeping the mailbox loaded afterwards if it
+     * was not already, for when mail is sent to a great many players at once.
+     *
+     * @param owner The owner of the mailbox
+     * @param from The sender
+     * @param date The time the mail was sent, in milliseconds since the epoch
+     * @param message The message
+     */
+    public void deliver(UUID owner, UUID from, long date, String message) {
+        Mailbox mailbox = acquire(owner, false);
+        try {
+            mailbox.deliver(from, date, message);
+        } finally {
+            release(owner);
+        }
+    }
+
+    /**
+     * Deletes the first message that matches the predicate.
+     *
+     * @param owner The owner of the mailbox
+     * @param matcher The predicate
+     * @return Whether a message was deleted
+     */
+    public boolean delete(UUID owner, Predicate<MailData> matcher) {
+        return withMailbox(owner, mailbox -> {
+            boolean deleted = mailbox.delete(matcher);
+            if (deleted && mailbox.needsCompaction()) {
+                // Keep the mailbox in use until it has been compacted.
+                acquire(owner, true);
+                this.backgroundExecutor.execute(() -> {
+                    try {
+                        mailbox.compact();
+                    } finally {
+                        release(owner);
+                    }
+                });
+            }
+
+            return deleted;
+        });
+    }
+
+    public boolean clear(UUID owner) {
+        return withMailbox(owner, Mailbox::clear);
+    }
+
+    /**
+     * Streams the messages in a mailbox, oldest first, reading each segment
+     * as it is reached. The stream must be closed.
+     *
+     * @param owner The owner of the mailbox
+     * @return The {@link Stream}
+     */
+    public Stream<MailData> stream(UUID owner) {
+        Mailbox mailbox = acquire(owner, true);
+        try {
+            return mailbox.stream().onClose(() -> release(owner));
+        } catch (RuntimeException e) {
+            release(owner);
+            throw e;
+        }
+    }
+
+    public void invalidateAll() {
+        this.mailboxes.invalidateAll();
+    }
+
+    private <T> T withMailbox(UUID owner, Function<Mailbox, T> action) {
+        Mailbox mailbox = acquire(owner, true);
+        try {
+            return action.apply(mailbox);
+        } finally {
+            release(owner);
+        }
+    }
+
+    /*
+     * Gets the mailbox and marks it as in use until release is called. While a mailbox is in use, everything
+     * that asks for it gets the same instance, even if it has left the cache, so that two instances never
+     * write the same header.
+     */
+    private Mailbox acquire(UUID owner, boolean cache) {
+        return this.inUse.compute(owner, (uuid, mailbox) -> {
+            if (mailbox == null) {
+                mailbox = cache ? this.mailboxes.get(uuid, this::createMailbox) : this.mailboxes.getIfPresent(uuid);
+                if (mailbox == null) {
+                    mailbox = createMailbox(uuid);
+                }
+            } else if (cache) {
+                this.mailboxes.put(uuid, mailbox);
+            }
+
+            mailbox.users++;
+            return mailbox;
+        });
+    }
+
+    private void release(UUID owner) {
+        this.inUse.computeIfPresent(owner, (uuid, mailbox) -> --mailbox.users == 0 ? null : mailbox);
+    }
+
+    // Nothing is read until the mailbox is first used, so this does not block.
+    private Mailbox createMailbox(UUID owner) {
+        return new Mailbox(owner, this.directory.resolve(owner.toString()));
+    }
+
+    /**
+     * Mail that was stored with the rest of a player's data.
+     */
+    public interface LegacyMail {
+
+        List<MailData> get(UUID owner);
+
+        void remove(UUID owner);
+
+    }
+
+    /**
+     * The persisted part of a mailbox.
+     */
+    private static final class Header {
+
+        private long nextId = 1;
+        private long lastReadId = 0;
+        private int count = 0;
+        private int unread = 0;
+        private int nextSegment = 0;
+        private int inLastSegment = SEGMENT_SIZE;
+        private List<Integer> segments = new ArrayList<>();
+        private Set<Long> deleted = new HashSet<>();
+        // Headers written before mail could be delivered without reading the mailbox always had any legacy mail moved.
+        private boolean legacyMailMoved = true;
+
+    }
+
+    private final class Mailbox {
+
+        private final UUID owner;
+        private final Path mailboxDirectory;
+        // Null until the mailbox is first used.
+        private Header header;
+        // Whether the directory exists. Until something is written, the mailbox is only held in memory.
+        private boolean created;
+        private int openStreams = 0;
+        // The number of callers using this mailbox. Only changed inside the in use map's compute functions.
+        private int users = 0;
+        private final List<Integer> toDelete = new ArrayList<>();
+
+        private Mailbox(UUID owner, Path mailboxDirectory) {
+            this.owner = owner;
+            this.mailboxDirectory = mailboxDirectory;
+        }
+
+        private synchronized int getCount() {
+            load(true);
+            return this.header.count;
+        }
+
+        private synchronized int getUnread() {
+            load(true);
+            return this.header.unread;
+        }
+
+        private synchronized void markRead() {
+            load(true);
+            this.header.lastReadId = this.header.nextId - 1;
+            this.header.unread = 0;
+            saveHeader();
+        }
+
+        private synchronized void append(UUID from, long date, String message) {
+            load(true);
+            write(from, date, message);
+            saveHeader();
+        }
+
+        // Leaves any legacy mail where it is, so that delivering does not need the owner's user data.
+        private synchronized void deliver(UUID from, long date, String message) {
+            load(false);
+            write(from, date, message);
+            saveHeader();
+        }
+
+        private void load(boolean moveLegacyMail) {
+            if (this.header == null) {
+                Path headerFile = this.mailboxDirectory.resolve(HEADER);
+                try {
+                    if (Files.exists(headerFile)) {
+                        this.header = GSON.fromJson(new String(Files.readAllBytes(headerFile), StandardCharsets.UTF_8), Header.class);
+                        this.created = true;
+                    } else {
+                        this.header = new Header();
+                        this.header.legacyMailMoved = false;
+                    }
+                } catch (IOException | JsonParseException e) {
+                    throw new IllegalStateException("Could not load the mailbox for " + this.owner, e);
+                }
+            }
+
+            if (moveLegacyMail && !this.header.legacyMailMoved) {
+                List<MailData> legacy = MailboxStore.this.legacyMail.get(this.owner);
+                // Legacy mail has no read marker, so it is treated as read unless there is newer unread mail.
+                boolean read = this.header.unread == 0;
+                for (MailData data : legacy) {
+                    write(data.getUuid(), data.getEpochMilli(), data.getMessage());
+                }
+
+                if (read) {
+                    this.header.lastReadId = this.header.nextId - 1;
+                    this.header.unread = 0;
+                }
+
+                this.header.legacyMailMoved = true;
+                saveHeader();
+                if (!legacy.isEmpty()) {
+                    MailboxStore.this.legacyMail.remove(this.owner);
+                }
+            }
+        }
+
+        private synchronized void write(UUID from, long date, String message) {
+            if (!this.created) {
+                try {
+                    Files.createDirectories(this.mailboxDirectory);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+
+                this.created = true;
+            }
+
+            if (this.header.inLastSegment >= SEGMENT_SIZE) {
+                this.header.segments.add(this.header.nextSegment++);
+                this.header.inLastSegment = 0;
+            }
+
+            JsonObject object = new JsonObject();
+            object.addProperty("id", this.header.nextId);
+            object.addProperty("from", from.toString());
+            object.addProperty("date", date);
+            object.addProperty("message", message);
+            Path segment = segmentPath(this.header.segments.get(this.header.segments.size() - 1));
+            try (BufferedWriter writer = Files.newBufferedWriter(segment, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                writer.write(GSON.toJson(object));
+                writer.newLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            this.header.nextId++;
+            this.header.inLastSegment++;
+            this.header.count++;
+            this.header.unread++;
+        }
+
+        private synchronized boolean delete(Predicate<MailData> matcher) {
+            load(true);
+            MailData match;
+            try (Stream<MailData> stream = stream()) {
+                match = stream.filter(matcher).findFirst().orElse(null);
+            }
+
+            if (match == null) {
+                return false;
+            }
+
+            this.header.deleted.add(match.getId());
+            this.header.count--;
+            if (match.getId() > this.header.lastReadId) {
+                this.header.unread--;
+            }
+
+            saveHeader();
+            return true;
+        }
+
+        private synchronized boolean clear() {
+            load(true);
+            if (this.header.count == 0) {
+                return false;
+            }
+
+            List<Integer> oldSegments = new ArrayList<>(this.header.segments);
+            this.header.segments.clear();
+            this.header.deleted.clear();
+            this.header.inLastSegment = SEGMENT_SIZE;
+            this.header.count = 0;
+            this.header.unread = 0;
+            this.header.lastReadId = this.header.nextId - 1;
+            saveHeader();
+            retireSegments(oldSegments);
+            return true;
+        }
+
+        private synchronized boolean needsCompaction() {
+            load(true);
+            return this.header.deleted.size() >= MIN_DELETED_TO_COMPACT && this.header.deleted.size() >= this.header.count;
+        }
+
+        // Takes a copy of the segments and deletions so that appends and deletes can carry on while reading.
+        // The segments are not deleted until the stream is closed.
+        private synchronized Stream<MailData> stream() {
+            load(true);
+            List<Integer> segments = new ArrayList<>(this.header.segments);
+            Set<Long> deleted = new HashSet<>(this.header.deleted);
+            this.openStreams++;
+            return segments.stream()
+                    .flatMap(this::readSegment)
+                    .filter(x -> !deleted.contains(x.getId()))
+                    .onClose(this::onStreamClosed);
+        }
+
+        private synchronized void onStreamClosed() {
+            if (--this.openStreams == 0 && !this.toDelete.isEmpty()) {
+                deleteSegments(this.toDelete);
+                this.toDelete.clear();
+            }
+        }
+
+        // Deletes segments that are no longer in the header, once nothing is reading them.
+        private synchronized void retireSegments(List<Integer> segments) {
+            if (this.openStreams == 0) {
+                deleteSegments(segments);
+            } else {
+                this.toDelete.addAll(segments);
+            }
+        }
+
+        private Stream<MailData> readSegment(int segment) {
+            try {
+                return Files.lines(segmentPath(segment), StandardCharsets.UTF_8)
+                        .filter(x -> !x.isEmpty())
+                        .map(x -> {
+                            JsonObject object = GSON.fromJson(x, JsonObject.class);
+                            return new MailData(
+                                    object.get("id").getAsLong(),
+                                    UUID.fromString(object.get("from").getAsString()),
+                                    object.get("date").getAsLong(),
+                                    object.get("message").getAsString());
+                        });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private synchronized void compact() {
+            if (!needsCompaction()) {
+                return;
+            }
+
+            List<Integer> oldSegments = new ArrayList<>(this.header.segments);
+            List<MailData> live = new ArrayList<>();
+            try (Stream<MailData> stream = stream()) {
+                stream.forEach(live::add);
+            }
+
+            List<Integer> newSegments = new ArrayList<>();
+            try {
+                for (int i = 0; i < live.size(); i += SEGMENT_SIZE) {
+                    int segment = this.header.nextSegment++;
+                    List<String> lines = new ArrayList<>();
+                    for (MailData data : live.subList(i, Math.min(live.size(), i + SEGMENT_SIZE))) {
+                        JsonObject object = new JsonObject();
+                        object.addProperty("id", data.getId());
+                        object.addProperty("from", data.getUuid().toString());
+                        object.addProperty("date", data.getEpochMilli());
+                        object.addProperty("message", data.getMessage());
+                        lines.add(GSON.toJson(object));
+                    }
+
+                    Files.write(segmentPath(segment), lines, StandardCharsets.UTF_8);
+                    newSegments.add(segment);
+                }
+            } catch (IOException e) {
+                MailboxStore.this.logger.error("Could not compact the mailbox in " + this.mailboxDirectory, e);
+                deleteSegments(newSegments);
+                return;
+            }
+
+            this.header.segments = newSegments;
+            this.header.deleted.clear();
+            this.header.inLastSegment = newSegments.isEmpty() ? SEGMENT_SIZE : live.size() - (newSegments.size() - 1) * SEGMENT_SIZE;
+            saveHeader();
+            retireSegments(oldSegments);
+        }
+
+        private void saveHeader() {
+            if (!this.created) {
+                // Nothing has been written, so there is nothing to keep track of.
+                return;
+            }
+
+            Path headerFile = this.mailboxDirectory.resolve(HEADER);
+            Path tempFile = this.mailboxDirectory.resolve(HEADER + ".tmp");
+            try {
+                Files.write(tempFile, GSON.toJson(this.header).getBytes(StandardCharsets.UTF_8));
+                Files.move(tempFile, headerFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void deleteSegments(List<Integer> segments) {
+            for (int segment : segments) {
+                try {
+                    Files.deleteIfExists(segmentPath(segment));
+                } catch (IOException e) {
+                    MailboxStore.this.logger.warn("Could not delete the mail segment " + segmentPath(segment), e);
+                }
+            }
+        }
+
+        private Path segmentPath(int segment) {
+            return this.mailboxDirectory.resolve("segment-" + segment + ".jsonl");
+        }
+    }
+}
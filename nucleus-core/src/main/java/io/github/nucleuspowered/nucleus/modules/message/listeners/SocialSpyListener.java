@@ -0,0 +1,40 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.message.listeners;
+
+import io.github.nucleuspowered.nucleus.modules.message.services.MessageHandler;
+import io.github.nucleuspowered.nucleus.scaffold.listener.ListenerBase;
+import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.filter.Getter;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
+
+import javax.inject.Inject;
+
+/**
+ * Keeps the index of online social spies in the {@link MessageHandler} up to
+ * date as players join and leave.
+ */
+public class SocialSpyListener implements ListenerBase {
+
+    private final MessageHandler messageHandler;
+
+    @Inject
+    public SocialSpyListener(INucleusServiceCollection serviceCollection) {
+        this.messageHandler = serviceCollection.getServiceUnchecked(MessageHandler.class);
+    }
+
+    @Listener(order = Order.POST)
+    public void onJoin(ClientConnectionEvent.Join event, @Getter("getTargetEntity") Player player) {
+        this.messageHandler.refreshSocialSpy(player);
+    }
+
+    @Listener(order = Order.POST)
+    public void onQuit(ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") Player player) {
+        this.messageHandler.removeSocialSpy(player.getUniqueId());
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.message.runnables;
+
+import io.github.nucleuspowered.nucleus.modules.message.services.MessageHandler;
+import io.github.nucleuspowered.nucleus.scaffold.task.TaskBase;
+import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
+import org.spongepowered.api.scheduler.Task;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+import javax.inject.Inject;
+
+/**
+ * Picks up changes to social spy permissions and levels, which do not fire
+ * events of their own. This runs as often as cached permission decisions
+ * expire, so players who gain social spy are found as soon as the change
+ * can be seen.
+ */
+public class SocialSpyRefreshTask implements TaskBase {
+
+    private final MessageHandler messageHandler;
+
+    @Inject
+    public SocialSpyRefreshTask(INucleusServiceCollection serviceCollection) {
+        this.messageHandler = serviceCollection.getServiceUnchecked(MessageHandler.class);
+    }
+
+    @Override
+    public void accept(Task task) {
+        this.messageHandler.refreshAllSocialSpies();
+    }
+
+    @Override
+    public boolean isAsync() {
+        return false;
+    }
+
+    @Override
+    public Duration interval() {
+        return Duration.of(10, ChronoUnit.SECONDS);
+    }
+
+}
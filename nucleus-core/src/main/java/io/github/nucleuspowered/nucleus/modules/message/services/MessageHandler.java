@@ -29,12 +29,14 @@ import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.channel.MessageChannel;
-import org.spongepowered.api.text.serializer.TextSerializers;
 import org.spongepowered.api.util.Identifiable;
 import org.spongepowered.api.util.Tristate;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
 
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -59,6 +61,7 @@ public class MessageHandler implements NucleusPrivateMessagingService, IReloadab
     private final Map<UUID, UUID> messagesReceived = Maps.newHashMap();
     private final Map<UUID, CustomMessageTarget<? extends CommandSource>> targets = Maps.newHashMap();
     private final Map<String, UUID> targetNames = Maps.newHashMap();
+    private final SocialSpyIndex socialSpyIndex = new SocialSpyIndex();
 
     public static final String socialSpyOption = "nucleus.socialspy.level";
 
@@ -74,6 +77,54 @@ public class MessageHandler implements NucleusPrivateMessagingService, IReloadab
         this.useLevels = this.messageConfig.isSocialSpyLevels();
         this.sameLevel = this.messageConfig.isSocialSpySameLevel();
         this.serverLevel = this.messageConfig.getServerLevel();
+
+        // Whether levels are used may have changed.
+        if (Sponge.isServerAvailable()) {
+            refreshAllSocialSpies();
+        }
+    }
+
+    /**
+     * Re-evaluates whether the player is a social spy, and at what level,
+     * and updates the index of spies to match.
+     *
+     * @param uuid The {@link UUID} of the player
+     */
+    public void refreshSocialSpy(UUID uuid) {
+        Optional<Player> player = Sponge.getServer().getPlayer(uuid);
+        if (player.isPresent()) {
+            refreshSocialSpy(player.get());
+        } else {
+            this.socialSpyIndex.remove(uuid);
+        }
+    }
+
+    public void refreshSocialSpy(Player player) {
+        if (isSocialSpy(player)) {
+            this.socialSpyIndex.put(player.getUniqueId(), getSocialSpyLevel(player));
+        } else {
+            this.socialSpyIndex.remove(player.getUniqueId());
+        }
+    }
+
+    public void removeSocialSpy(UUID uuid) {
+        this.socialSpyIndex.remove(uuid);
+    }
+
+    /**
+     * Rebuilds the index of spies from the online players. Permissions and
+     * options can change without an event, so this is also run periodically.
+     */
+    public void refreshAllSocialSpies() {
+        // Build the new index first, so messages sent meanwhile still see the old one.
+        Map<UUID, Integer> spies = new HashMap<>();
+        for (Player player : Sponge.getServer().getOnlinePlayers()) {
+            if (isSocialSpy(player)) {
+                spies.put(player.getUniqueId(), getSocialSpyLevel(player));
+            }
+        }
+
+        this.socialSpyIndex.replaceAll(spies);
     }
 
     @Override
@@ -168,26 +219,31 @@ public class MessageHandler implements NucleusPrivateMessagingService, IReloadab
         Set<UUID> uuidsToSpyOn = toSpyOn.stream().map(x -> x instanceof User ? ((User)x).getUniqueId() : Util.CONSOLE_FAKE_UUID)
                 .collect(Collectors.toSet());
 
-        // Get those who aren't the subjects and have social spy on.
-        Set<CommandSource> sources = Sponge.getServer().getOnlinePlayers().stream()
-                .filter(x -> !uuidsToSpyOn.contains(x.getUniqueId()))
-                .filter(this::isSocialSpy)
-                .collect(Collectors.toSet());
+        // Get those who aren't the subjects and have social spy on, at a high enough level.
+        Collection<UUID> spies;
+        if (this.useLevels) {
+            int highestLevel = toSpyOn.stream().mapToInt(this::getSocialSpyLevelForSource).max().orElse(0);
+            spies = this.socialSpyIndex.getSpies(highestLevel, this.sameLevel);
+        } else {
+            spies = this.socialSpyIndex.getSpies(Integer.MIN_VALUE, true);
+        }
 
-        if (!this.useLevels) {
-            if (includeConsole) {
-                sources.add(Sponge.getServer().getConsole());
+        Set<CommandSource> sources = new HashSet<>();
+        for (UUID spy : spies) {
+            if (!uuidsToSpyOn.contains(spy)) {
+                Optional<Player> player = Sponge.getServer().getPlayer(spy);
+                if (player.isPresent()) {
+                    // Permissions and levels can change without an event, so
+                    // check that the spy may still see this message.
+                    if (canSpyOn(player.get(), sourceToSpyOn)) {
+                        sources.add(player.get());
+                    } else {
+                        refreshSocialSpy(player.get());
+                    }
+                }
             }
-
-            return sources;
         }
 
-        // Get the highest level from the sources to spy on.
-        int highestLevel = toSpyOn.stream().mapToInt(this::getSocialSpyLevelForSource).max().orElse(0);
-        sources = sources.stream()
-            .filter(x -> this.sameLevel ? getSocialSpyLevelForSource(x) >= highestLevel : getSocialSpyLevelForSource(x) > highestLevel)
-            .collect(Collectors.toSet());
-
         if (includeConsole) {
             sources.add(Sponge.getServer().getConsole());
         }
@@ -398,21 +454,14 @@ public class MessageHandler implements NucleusPrivateMessagingService, IReloadab
     }
 
     private Text useMessage(CommandSource player, String m) {
-        this.serviceCollection.textStyleService().stripPermissionless(
+        return this.serviceCollection.textStyleService().stripPermissionlessAndAddUrls(
                 MessagePermissions.MESSAGE_COLOUR,
                 MessagePermissions.MESSAGE_STYLE,
                 player,
-                m
+                m,
+                this.serviceCollection.permissionService().hasPermission(player, MessagePermissions.MESSAGE_URLS),
+                false
         );
-
-        Text result;
-        if (this.serviceCollection.permissionService().hasPermission(player, MessagePermissions.MESSAGE_URLS)) {
-            result = this.serviceCollection.textStyleService().addUrls(m);
-        } else {
-            result = TextSerializers.FORMATTING_CODE.deserialize(m);
-        }
-
-        return result;
     }
 
     private int getSocialSpyLevelForSource(CommandSource source) {
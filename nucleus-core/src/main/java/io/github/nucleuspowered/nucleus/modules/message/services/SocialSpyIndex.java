@@ -0,0 +1,77 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.message.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * The online players that have social spy on, sorted by their social spy
+ * level, so that the spies for a message can be found without checking
+ * every online player.
+ */
+final class SocialSpyIndex {
+
+    private final Map<UUID, Integer> levels = new HashMap<>();
+    private final NavigableMap<Integer, Set<UUID>> spiesByLevel = new TreeMap<>();
+
+    synchronized void put(UUID uuid, int level) {
+        Integer previous = this.levels.put(uuid, level);
+        if (previous != null) {
+            if (previous == level) {
+                return;
+            }
+
+            removeFromLevel(uuid, previous);
+        }
+
+        this.spiesByLevel.computeIfAbsent(level, x -> new HashSet<>()).add(uuid);
+    }
+
+    synchronized void remove(UUID uuid) {
+        Integer previous = this.levels.remove(uuid);
+        if (previous != null) {
+            removeFromLevel(uuid, previous);
+        }
+    }
+
+    synchronized void replaceAll(Map<UUID, Integer> spies) {
+        this.levels.clear();
+        this.spiesByLevel.clear();
+        spies.forEach(this::put);
+    }
+
+    /**
+     * Gets the spies with a level above the given level, or at or above it
+     * if inclusive.
+     *
+     * @param level The level
+     * @param inclusive Whether spies at the given level are included
+     * @return The {@link UUID}s of the spies
+     */
+    synchronized Collection<UUID> getSpies(int level, boolean inclusive) {
+        List<UUID> result = new ArrayList<>();
+        this.spiesByLevel.tailMap(level, inclusive).values().forEach(result::addAll);
+        return result;
+    }
+
+    private void removeFromLevel(UUID uuid, int level) {
+        Set<UUID> atLevel = this.spiesByLevel.get(level);
+        if (atLevel != null) {
+            atLevel.remove(uuid);
+            if (atLevel.isEmpty()) {
+                this.spiesByLevel.remove(level);
+            }
+        }
+    }
+}
@@ -20,11 +20,13 @@ import io.github.nucleuspowered.nucleus.scaffold.service.annotations.APIService;
 import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
 import io.github.nucleuspowered.nucleus.services.impl.storage.dataobjects.modular.IUserDataObject;
 import io.github.nucleuspowered.nucleus.services.interfaces.IMessageProviderService;
+import io.github.nucleuspowered.nucleus.services.interfaces.IPlaceholderService;
 import io.github.nucleuspowered.nucleus.services.interfaces.IPlayerDisplayNameService;
 import io.github.nucleuspowered.nucleus.services.interfaces.IReloadableService;
 import io.github.nucleuspowered.nucleus.services.interfaces.IStorageManager;
 import io.github.nucleuspowered.nucleus.services.interfaces.ITextStyleService;
 import io.github.nucleuspowered.nucleus.util.CauseStackHelper;
+import io.github.nucleuspowered.nucleus.util.PrefixIndex;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.data.key.Keys;
@@ -37,11 +39,13 @@ import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.format.TextColors;
 import org.spongepowered.api.text.serializer.TextSerializers;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.TreeMap;
 import java.util.UUID;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -55,12 +59,16 @@ public class NicknameService implements NucleusNicknameService, IReloadableServi
     private final IMessageProviderService messageProviderService;
     private final IStorageManager storageManager;
     private final ITextStyleService textStyleService;
+    private final IPlayerDisplayNameService playerDisplayNameService;
+    private final IPlaceholderService placeholderService;
 
     @Inject
     public NicknameService(INucleusServiceCollection serviceCollection) {
         this.messageProviderService = serviceCollection.messageProvider();
         this.storageManager = serviceCollection.storageManager();
         this.textStyleService = serviceCollection.textStyleService();
+        this.playerDisplayNameService = serviceCollection.playerDisplayNameService();
+        this.placeholderService = serviceCollection.placeholderService();
     }
 
     private Text prefix = Text.EMPTY;
@@ -69,7 +77,7 @@ public class NicknameService implements NucleusNicknameService, IReloadableServi
     private int max = 16;
     private final BiMap<UUID, String> cache = HashBiMap.create();
     private final BiMap<UUID, Text> textCache = HashBiMap.create();
-    private final TreeMap<String, UUID> reverseLowerCaseCache = new TreeMap<>();
+    private final PrefixIndex<UUID> nicknameIndex = new PrefixIndex<>();
 
     public void injectResolver(INucleusServiceCollection serviceCollection) {
         serviceCollection.playerDisplayNameService().provideDisplayNameResolver(this::getNicknameWithPrefix);
@@ -79,16 +87,19 @@ public class NicknameService implements NucleusNicknameService, IReloadableServi
                         return getFromCache(name).map(x -> x);
                     }
 
-                    @Override public Map<UUID, String> startsWith(String name) {
-                        return startsWithUUIDStringMap(name);
+                    @Override public Map<UUID, String> startsWith(String name, int limit) {
+                        return NicknameService.this.nicknameIndex.startsWith(name, limit);
                     }
                 }
         );
     }
 
     public void updateCache(UUID player, Text text) {
-        this.cache.put(player, text.toPlain());
+        String plain = text.toPlain();
+        this.cache.put(player, plain);
         this.textCache.put(player, text);
+        this.nicknameIndex.put(player, TextSerializers.FORMATTING_CODE.stripCodes(plain));
+        this.placeholderService.invalidateNames(player.toString());
     }
 
     public Optional<Player> getFromCache(String text) {
@@ -96,7 +107,7 @@ public class NicknameService implements NucleusNicknameService, IReloadableServi
         if (u != null) {
             Optional<Player> ret = Sponge.getServer().getPlayer(u);
             if (!ret.isPresent()) {
-                this.cache.remove(u);
+                removeFromCache(u);
             }
 
             return ret;
@@ -110,51 +121,41 @@ public class NicknameService implements NucleusNicknameService, IReloadableServi
     }
 
     public Map<Player, Text> getFromSubstring(String search) {
-        final String prefix = search.toLowerCase();
-        Collection<UUID> uuidCollection;
-        if (prefix.length() > 0) {
-            char nextLetter = (char) (prefix.charAt(prefix.length() -1) + 1);
-            String end = prefix.substring(0, prefix.length()-1) + nextLetter;
-            uuidCollection = this.reverseLowerCaseCache.subMap(prefix, end).values();
-        } else {
-            uuidCollection = this.reverseLowerCaseCache.values();
-        }
-
-        ImmutableMap.Builder<Player, Text> mapToReturn = ImmutableMap.builder();
-        Sponge.getServer().getOnlinePlayers().stream()
-                .filter(x -> !this.cache.containsKey(x.getUniqueId()))
-                .filter(x -> x.getName().toLowerCase().startsWith(prefix))
+        Map<Player, Text> mapToReturn = new HashMap<>();
+        this.playerDisplayNameService.onlineNamesStartingWith(search, Integer.MAX_VALUE).keySet().stream()
+                .filter(x -> !this.cache.containsKey(x))
+                .map(x -> Sponge.getServer().getPlayer(x).orElse(null))
+                .filter(Objects::nonNull)
                 .forEach(player -> mapToReturn.put(player, player.get(Keys.DISPLAY_NAME).orElseGet(
                         () -> Text.of(player.getName(), "*"))));
 
-        for (UUID uuid : uuidCollection) {
+        for (UUID uuid : this.nicknameIndex.startsWith(search, Integer.MAX_VALUE).keySet()) {
             Optional<Player> op = Sponge.getServer().getPlayer(uuid);
             op.ifPresent(player -> mapToReturn.put(player, this.textCache.get(uuid)));
         }
 
-        return mapToReturn.build();
+        return ImmutableMap.copyOf(mapToReturn);
     }
 
     public Map<String, UUID> startsWithGetMap(String text) {
-        return this.cache.inverse().entrySet().stream().filter(x -> x.getKey().startsWith(text.toLowerCase()))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        return this.nicknameIndex.startsWith(text, Integer.MAX_VALUE).entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getValue, Map.Entry::getKey, (first, second) -> first));
     }
 
     public Map<UUID, String> startsWithUUIDStringMap(String text) {
-        return this.cache.inverse().entrySet().stream().filter(x -> x.getKey().startsWith(text.toLowerCase()))
-                .collect(Collectors.toMap(Map.Entry::getValue, Map.Entry::getKey));
+        return this.nicknameIndex.startsWith(text, Integer.MAX_VALUE);
     }
 
 
     public List<UUID> startsWith(String text) {
-        return this.cache.inverse().entrySet().stream().filter(x -> x.getKey().startsWith(text.toLowerCase()))
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toList());
+        return new ArrayList<>(this.nicknameIndex.startsWith(text, Integer.MAX_VALUE).keySet());
     }
 
     public void removeFromCache(UUID player) {
         this.cache.remove(player);
         this.textCache.remove(player);
+        this.nicknameIndex.remove(player);
+        this.placeholderService.invalidateNames(player.toString());
     }
 
     @Override
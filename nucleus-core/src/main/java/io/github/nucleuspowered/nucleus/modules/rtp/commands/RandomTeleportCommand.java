@@ -12,6 +12,7 @@ import io.github.nucleuspowered.nucleus.modules.rtp.RTPPermissions;
 import io.github.nucleuspowered.nucleus.modules.rtp.config.RTPConfig;
 import io.github.nucleuspowered.nucleus.modules.rtp.events.RTPSelectedLocationEvent;
 import io.github.nucleuspowered.nucleus.modules.rtp.options.RTPOptions;
+import io.github.nucleuspowered.nucleus.modules.rtp.services.RTPLocationPool;
 import io.github.nucleuspowered.nucleus.modules.rtp.services.RTPService;
 import io.github.nucleuspowered.nucleus.scaffold.command.ICommandContext;
 import io.github.nucleuspowered.nucleus.scaffold.command.ICommandExecutor;
@@ -45,6 +46,7 @@ import java.util.Optional;
 import java.util.UUID;
 import java.util.WeakHashMap;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 
 @NonnullByDefault
@@ -113,6 +115,11 @@ public class RandomTeleportCommand implements ICommandExecutor<CommandSource>, I
         context.sendMessage("command.rtp.searching");
 
         RTPOptions options = new RTPOptions(this.rc, currentWorld.getName());
+        RTPKernel kernel = context.getServiceCollection().getServiceUnchecked(RTPService.class).getKernel(wp);
+
+        // Try to take a location that has already been found before searching on the server thread.
+        RTPLocationPool pool = context.getServiceCollection().getServiceUnchecked(RTPLocationPool.class);
+        Location<World> pooledLocation = pool.canPool(kernel) ? pool.poll(currentWorld).orElse(null) : null;
         RTPTask rtask = new RTPTask(
                 context.getServiceCollection().pluginContainer(),
                 currentWorld,
@@ -120,7 +127,8 @@ public class RandomTeleportCommand implements ICommandExecutor<CommandSource>, I
                 player,
                 this.rc.getNoOfAttempts(),
                 options,
-                context.getServiceCollection().getServiceUnchecked(RTPService.class).getKernel(wp),
+                kernel,
+                pooledLocation,
                 context.is(player) ? context.getCost() : 0);
         Task task = Sponge.getScheduler().createTaskBuilder().execute(rtask).submit(context.getServiceCollection().pluginContainer());
         this.cachedTasks.put(task, player.getUniqueId());
@@ -152,6 +160,7 @@ public class RandomTeleportCommand implements ICommandExecutor<CommandSource>, I
         private final int maxCount;
         private final NucleusRTPService.RTPOptions options;
         private final RTPKernel kernel;
+        @Nullable private Location<World> pooledLocation;
 
         private RTPTask(
                 PluginContainer pluginContainer,
@@ -161,6 +170,7 @@ public class RandomTeleportCommand implements ICommandExecutor<CommandSource>, I
                 int maxCount,
                 NucleusRTPService.RTPOptions options,
                 RTPKernel kernel,
+                @Nullable Location<World> pooledLocation,
                 double cost) {
             super(source.getServiceCollection(), target1, cost);
             this.logger = source.getServiceCollection().logger();
@@ -174,6 +184,17 @@ public class RandomTeleportCommand implements ICommandExecutor<CommandSource>, I
             this.count = maxCount;
             this.options = options;
             this.kernel = kernel;
+            this.pooledLocation = pooledLocation;
+        }
+
+        private Optional<Location<World>> nextLocation() {
+            if (this.pooledLocation != null) {
+                Optional<Location<World>> location = Optional.of(this.pooledLocation);
+                this.pooledLocation = null;
+                return location;
+            }
+
+            return this.kernel.getLocation(this.target.getLocation(), this.targetWorld, this.options);
         }
 
         @Override public void accept(Task task) {
@@ -189,8 +210,7 @@ public class RandomTeleportCommand implements ICommandExecutor<CommandSource>, I
                 int counter = 0;
                 while (++counter <= 10) {
                     try {
-                        Optional<Location<World>> optionalLocation =
-                                this.kernel.getLocation(this.target.getLocation(), this.targetWorld, this.options);
+                        Optional<Location<World>> optionalLocation = nextLocation();
                         if (optionalLocation.isPresent()) {
                             Location<World> targetLocation = optionalLocation.get();
                             if (Sponge.getEventManager().post(new RTPSelectedLocationEvent(
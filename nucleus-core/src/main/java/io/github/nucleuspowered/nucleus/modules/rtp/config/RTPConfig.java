@@ -66,6 +66,9 @@ public class RTPConfig {
             BiomeTypes.FROZEN_OCEAN.getId()
     );
 
+    @Setting(value = "location-pool", comment = "config.rtp.pool")
+    private LocationPoolConfig locationPool = new LocationPoolConfig();
+
     private ImmutableSet<BiomeType> lazyLoadProhbitedBiomes;
 
     public int getNoOfAttempts() {
@@ -125,6 +128,42 @@ public class RTPConfig {
         return this.defaultRTPKernel;
     }
 
+    public LocationPoolConfig getLocationPool() {
+        return this.locationPool;
+    }
+
+    @ConfigSerializable
+    public static class LocationPoolConfig {
+
+        @Setting(value = "enabled", comment = "config.rtp.pool.enabled")
+        private boolean enabled = true;
+
+        @Setting(value = "size", comment = "config.rtp.pool.size")
+        private int size = 10;
+
+        @Setting(value = "refill-interval-ticks", comment = "config.rtp.pool.interval")
+        private int refillIntervalTicks = 5;
+
+        @Setting(value = "attempts-per-refill", comment = "config.rtp.pool.attempts")
+        private int attemptsPerRefill = 1;
+
+        public boolean isEnabled() {
+            return this.enabled && this.size > 0;
+        }
+
+        public int getSize() {
+            return this.size;
+        }
+
+        public int getRefillIntervalTicks() {
+            return Math.max(1, this.refillIntervalTicks);
+        }
+
+        public int getAttemptsPerRefill() {
+            return Math.max(1, this.attemptsPerRefill);
+        }
+    }
+
     @ConfigSerializable
     public static class PerWorldRTPConfig {
         @Setting(value = "radius")
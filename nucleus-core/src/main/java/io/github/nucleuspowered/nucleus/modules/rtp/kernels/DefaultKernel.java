@@ -65,6 +65,12 @@ public class DefaultKernel implements RTPKernel {
         return Optional.empty();
     }
 
+    // Only the world spawn is used as the centre, the current location is not.
+    @Override
+    public boolean isIndependentOfCurrentLocation() {
+        return true;
+    }
+
     TeleportHelperFilter filterToUse() {
         return TeleportHelperFilters.DEFAULT;
     }
@@ -0,0 +1,49 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.rtp.listeners;
+
+import io.github.nucleuspowered.nucleus.modules.rtp.config.RTPConfig;
+import io.github.nucleuspowered.nucleus.modules.rtp.services.RTPLocationPool;
+import io.github.nucleuspowered.nucleus.scaffold.listener.ListenerBase;
+import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
+import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.data.Transaction;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.block.ChangeBlockEvent;
+import org.spongepowered.api.event.world.UnloadWorldEvent;
+
+import javax.inject.Inject;
+
+public class RTPLocationPoolListener implements ListenerBase.Conditional {
+
+    private final RTPLocationPool pool;
+
+    @Inject
+    public RTPLocationPoolListener(INucleusServiceCollection serviceCollection) {
+        this.pool = serviceCollection.getServiceUnchecked(RTPLocationPool.class);
+    }
+
+    // A pooled location is only known to be safe for the blocks that were there when it was found.
+    @Listener(order = Order.POST)
+    public void onBlockChange(ChangeBlockEvent.Post event) {
+        for (Transaction<BlockSnapshot> transaction : event.getTransactions()) {
+            if (transaction.isValid()) {
+                BlockSnapshot snapshot = transaction.getOriginal();
+                this.pool.onBlockChange(snapshot.getWorldUniqueId(), snapshot.getPosition().getX(), snapshot.getPosition().getZ());
+            }
+        }
+    }
+
+    @Listener
+    public void onWorldUnload(UnloadWorldEvent event) {
+        this.pool.removeWorld(event.getTargetWorld().getUniqueId());
+    }
+
+    @Override
+    public boolean shouldEnable(INucleusServiceCollection serviceCollection) {
+        return serviceCollection.moduleDataProvider().getModuleConfig(RTPConfig.class).getLocationPool().isEnabled();
+    }
+}
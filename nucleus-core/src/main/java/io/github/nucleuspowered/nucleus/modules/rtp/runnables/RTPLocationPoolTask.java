@@ -0,0 +1,46 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.rtp.runnables;
+
+import io.github.nucleuspowered.nucleus.modules.rtp.services.RTPLocationPool;
+import io.github.nucleuspowered.nucleus.scaffold.task.TaskBase;
+import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
+import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+import javax.inject.Inject;
+
+/**
+ * Tops up the RTP location pools. This runs every tick, the pool decides how
+ * often to do any work.
+ */
+@NonnullByDefault
+public class RTPLocationPoolTask implements TaskBase {
+
+    private final RTPLocationPool pool;
+
+    @Inject
+    public RTPLocationPoolTask(INucleusServiceCollection serviceCollection) {
+        this.pool = serviceCollection.getServiceUnchecked(RTPLocationPool.class);
+    }
+
+    @Override
+    public void accept(Task task) {
+        this.pool.refill();
+    }
+
+    @Override
+    public boolean isAsync() {
+        return false;
+    }
+
+    @Override
+    public Duration interval() {
+        return Duration.of(50, ChronoUnit.MILLIS);
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.rtp.services;
+
+import io.github.nucleuspowered.nucleus.api.module.rtp.kernel.RTPKernel;
+import io.github.nucleuspowered.nucleus.modules.rtp.config.RTPConfig;
+import io.github.nucleuspowered.nucleus.modules.rtp.options.RTPOptions;
+import io.github.nucleuspowered.nucleus.scaffold.service.ServiceBase;
+import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
+import io.github.nucleuspowered.nucleus.services.interfaces.IReloadableService;
+import org.slf4j.Logger;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.util.PositionOutOfBoundsException;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.inject.Inject;
+
+/**
+ * Holds a pool of pre-validated random teleport locations for each world that
+ * /rtp has been used in, so that a player can be sent to a location without a
+ * live search on the server thread.
+ *
+ * <p>The pools are refilled by {@link #refill()} from a sync task, a small
+ * number of kernel attempts at a time. A world only holds one location per
+ * chunk, and the location is discarded if any block in that chunk changes.
+ * This class is only accessed from the server thread.</p>
+ */
+public class RTPLocationPool implements IReloadableService.Reloadable, ServiceBase {
+
+    private final INucleusServiceCollection serviceCollection;
+    private final Logger logger;
+    private final Map<UUID, Map<Long, Location<World>>> pools = new HashMap<>();
+    private RTPConfig config = new RTPConfig();
+    private int ticksUntilRefill = 0;
+
+    @Inject
+    public RTPLocationPool(INucleusServiceCollection serviceCollection) {
+        this.serviceCollection = serviceCollection;
+        this.logger = serviceCollection.logger();
+    }
+
+    /**
+     * Gets whether locations for the given kernel can be pooled. Only kernels
+     * that declare they do not need the player's location can be, any others
+     * are searched for when the player teleports.
+     *
+     * @param kernel The {@link RTPKernel}
+     * @return true if so
+     */
+    public boolean canPool(RTPKernel kernel) {
+        return this.config.getLocationPool().isEnabled() && kernel.isIndependentOfCurrentLocation();
+    }
+
+    /**
+     * Takes a location from the pool for the given world, if there is one.
+     * The world will be kept topped up from this point onwards.
+     *
+     * @param world The {@link World}
+     * @return The location, if one was available
+     */
+    public Optional<Location<World>> poll(World world) {
+        Map<Long, Location<World>> pool = this.pools.computeIfAbsent(world.getUniqueId(), k -> new LinkedHashMap<>());
+        Iterator<Location<World>> iterator = pool.values().iterator();
+        if (iterator.hasNext()) {
+            Location<World> location = iterator.next();
+            iterator.remove();
+            return Optional.of(location);
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Discards any pooled location in the chunk that contains the given block.
+     *
+     * @param worldUUID The {@link UUID} of the world
+     * @param blockX The x co-ordinate of the block
+     * @param blockZ The z co-ordinate of the block
+     */
+    public void onBlockChange(UUID worldUUID, int blockX, int blockZ) {
+        Map<Long, Location<World>> pool = this.pools.get(worldUUID);
+        if (pool != null && !pool.isEmpty()) {
+            pool.remove(chunkKey(blockX, blockZ));
+        }
+    }
+
+    public void removeWorld(UUID worldUUID) {
+        this.pools.remove(worldUUID);
+    }
+
+    /**
+     * Spends up to the configured number of kernel attempts on topping up the
+     * pools that are below their target size.
+     */
+    public void refill() {
+        RTPConfig.LocationPoolConfig poolConfig = this.config.getLocationPool();
+        if (!poolConfig.isEnabled() || this.pools.isEmpty() || --this.ticksUntilRefill > 0) {
+            return;
+        }
+
+        this.ticksUntilRefill = poolConfig.getRefillIntervalTicks();
+        int budget = poolConfig.getAttemptsPerRefill();
+        int target = poolConfig.getSize();
+        RTPService rtpService = this.serviceCollection.getServiceUnchecked(RTPService.class);
+        List<UUID> toRemove = new ArrayList<>();
+        for (Map.Entry<UUID, Map<Long, Location<World>>> entry : this.pools.entrySet()) {
+            if (budget <= 0) {
+                break;
+            }
+
+            Map<Long, Location<World>> pool = entry.getValue();
+            if (pool.size() >= target) {
+                continue;
+            }
+
+            Optional<World> optionalWorld = Sponge.getServer().getWorld(entry.getKey());
+            if (!optionalWorld.isPresent()) {
+                toRemove.add(entry.getKey());
+                continue;
+            }
+
+            World world = optionalWorld.get();
+            RTPKernel kernel = rtpService.getKernel(world.getName());
+            if (!canPool(kernel)) {
+                toRemove.add(entry.getKey());
+                continue;
+            }
+
+            RTPOptions options = new RTPOptions(this.config, world.getName());
+            while (budget > 0 && pool.size() < target) {
+                budget--;
+                try {
+                    kernel.getLocation(null, world, options).ifPresent(location ->
+                            pool.putIfAbsent(chunkKey(location.getBlockX(), location.getBlockZ()), location));
+                } catch (PositionOutOfBoundsException ignore) {
+                    // treat as fail.
+                } catch (Exception e) {
+                    this.logger.debug("Could not generate an RTP location for world " + world.getName(), e);
+                }
+            }
+        }
+
+        toRemove.forEach(this.pools::remove);
+    }
+
+    @Override
+    public void onReload(INucleusServiceCollection serviceCollection) {
+        this.config = serviceCollection.moduleDataProvider().getModuleConfig(RTPConfig.class);
+
+        // The radius or kernel may have changed, so what we have may no longer be valid.
+        this.pools.values().forEach(Map::clear);
+        if (!this.config.getLocationPool().isEnabled()) {
+            this.pools.clear();
+        }
+    }
+
+    private static long chunkKey(int blockX, int blockZ) {
+        return ((long) (blockX >> 4) << 32) | ((blockZ >> 4) & 0xFFFFFFFFL);
+    }
+}
@@ -19,6 +19,7 @@ import io.github.nucleuspowered.nucleus.scaffold.command.NucleusParameters;
 import io.github.nucleuspowered.nucleus.scaffold.command.annotation.Command;
 import io.github.nucleuspowered.nucleus.scaffold.command.annotation.CommandModifier;
 import io.github.nucleuspowered.nucleus.scaffold.command.annotation.EssentialsEquivalent;
+import io.github.nucleuspowered.nucleus.scaffold.command.control.CommandControl;
 import io.github.nucleuspowered.nucleus.scaffold.command.modifier.CommandModifiers;
 import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
 import io.github.nucleuspowered.nucleus.services.interfaces.IReloadableService;
@@ -34,6 +35,8 @@ import org.spongepowered.api.world.storage.WorldProperties;
 
 import java.util.Optional;
 
+import javax.annotation.Nullable;
+
 @EssentialsEquivalent("spawn")
 @NonnullByDefault
 @Command(
@@ -101,28 +104,44 @@ public class SpawnCommand implements ICommandExecutor<Player>, IReloadableServic
                 }
             }
 
-            // If we don't have a rotation, then use the current rotation
-            TeleportResult result = context
-                    .getServiceCollection()
+            // The safe location search happens off the main thread, we finish the command when it's done.
+            CommandControl control = context.getServiceCollection().commandMetadataService()
+                    .getControl(SpawnCommand.class)
+                    .orElseThrow(IllegalStateException::new);
+            context.getServiceCollection()
                     .teleportService()
-                    .teleportPlayerSmart(
+                    .teleportPlayerSmartAsync(
                             src,
                             event.getTransformTo(),
                             true,
                             !force && this.sc.isSafeTeleport(),
                             TeleportScanners.NO_SCAN.get()
-                    );
+                    ).handle((result, throwable) -> {
+                        control.completeLater(context, onTeleport(context, result, throwable, wp));
+                        return result;
+                    });
+            return ICommandResult.willContinueLater();
+        }
+    }
 
-            if (result.isSuccessful()) {
-                context.sendMessage("command.spawn.success", wp.getWorldName());
-                return context.successResult();
-            }
+    private ICommandResult onTeleport(ICommandContext<? extends Player> context,
+            @Nullable TeleportResult result,
+            @Nullable Throwable throwable,
+            WorldProperties wp) {
+        if (throwable != null || result == null) {
+            context.getServiceCollection().logger().error("Could not send {} to spawn", context.getIfPlayer().getName(), throwable);
+            return context.errorResult("command.error");
+        }
 
-            if (result == TeleportResult.FAIL_NO_LOCATION) {
-                return context.errorResult("command.spawn.fail", wp.getWorldName());
-            }
+        if (result.isSuccessful()) {
+            context.sendMessage("command.spawn.success", wp.getWorldName());
+            return context.successResult();
+        }
 
-            return context.errorResult("command.spawn.cancelled", wp.getWorldName());
+        if (result == TeleportResult.FAIL_NO_LOCATION) {
+            return context.errorResult("command.spawn.fail", wp.getWorldName());
         }
+
+        return context.errorResult("command.spawn.cancelled", wp.getWorldName());
     }
 }
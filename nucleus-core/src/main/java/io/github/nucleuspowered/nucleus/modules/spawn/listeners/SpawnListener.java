@@ -10,6 +10,7 @@ import io.github.nucleuspowered.nucleus.api.teleport.data.NucleusTeleportHelperF
 import io.github.nucleuspowered.nucleus.api.teleport.data.TeleportScanners;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.LocationNode;
 import io.github.nucleuspowered.nucleus.modules.core.CoreKeys;
+import io.github.nucleuspowered.nucleus.modules.core.services.LoginPrefetchService;
 import io.github.nucleuspowered.nucleus.modules.spawn.SpawnKeys;
 import io.github.nucleuspowered.nucleus.modules.spawn.SpawnPermissions;
 import io.github.nucleuspowered.nucleus.modules.spawn.config.GlobalSpawnConfig;
@@ -60,7 +61,8 @@ public class SpawnListener implements IReloadableService.Reloadable, ListenerBas
         UUID pl = loginEvent.getProfile().getUniqueId();
         IStorageManager storageManager = this.serviceCollection.storageManager();
         IMessageProviderService messageProviderService = this.serviceCollection.messageProvider();
-        boolean first = storageManager.getOrCreateUserOnThread(pl).get(CoreKeys.FIRST_JOIN).isPresent();
+        LoginPrefetchService loginPrefetchService = this.serviceCollection.getServiceUnchecked(LoginPrefetchService.class);
+        boolean first = loginPrefetchService.getUser(pl).get(CoreKeys.FIRST_JOIN).isPresent();
         IGeneralDataObject generalDataObject = storageManager.getGeneralService().getOrNew().join();
 
         try {
@@ -16,6 +16,7 @@ import io.github.nucleuspowered.nucleus.scaffold.command.NucleusParameters;
 import io.github.nucleuspowered.nucleus.scaffold.command.annotation.Command;
 import io.github.nucleuspowered.nucleus.scaffold.command.annotation.CommandModifier;
 import io.github.nucleuspowered.nucleus.scaffold.command.annotation.EssentialsEquivalent;
+import io.github.nucleuspowered.nucleus.scaffold.command.control.CommandControl;
 import io.github.nucleuspowered.nucleus.scaffold.command.modifier.CommandModifiers;
 import io.github.nucleuspowered.nucleus.scaffold.command.parameter.AlternativeUsageArgument;
 import io.github.nucleuspowered.nucleus.scaffold.command.parameter.DisplayNameArgument;
@@ -41,6 +42,8 @@ import org.spongepowered.api.world.World;
 import java.util.Optional;
 import java.util.function.Supplier;
 
+import javax.annotation.Nullable;
+
 @EssentialsEquivalent(value = {"tp", "tele", "tp2p", "teleport", "tpo"}, isExact = false,
         notes = "If you have permission, this will override '/tptoggle' automatically.")
 @NonnullByDefault
@@ -165,18 +168,23 @@ public class TeleportCommand implements ICommandExecutor<CommandSource>, IReload
         if (to.getPlayer().isPresent()) {
             try (CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame()) {
                 frame.pushCause(context.getIfPlayer());
-                TeleportResult result =
-                        context.getServiceCollection()
-                            .getServiceUnchecked(PlayerTeleporterService.class)
-                                .teleportWithMessage(
-                                        context.getIfPlayer(),
-                                        from,
-                                        to.getPlayer().get(),
-                                        !context.hasAny("f"),
-                                        beQuiet,
-                                        false
-                                );
-                return result.isSuccessful() ? context.successResult() : context.failResult();
+                CommandControl control = context.getServiceCollection().commandMetadataService()
+                        .getControl(TeleportCommand.class)
+                        .orElseThrow(IllegalStateException::new);
+                context.getServiceCollection()
+                        .getServiceUnchecked(PlayerTeleporterService.class)
+                        .teleportWithMessage(
+                                context.getIfPlayer(),
+                                from,
+                                to.getPlayer().get(),
+                                !context.hasAny("f"),
+                                beQuiet,
+                                false
+                        ).handle((result, throwable) -> {
+                            control.completeLater(context, onTeleport(context, result, throwable));
+                            return result;
+                        });
+                return ICommandResult.willContinueLater();
             }
         }
 
@@ -217,4 +225,15 @@ public class TeleportCommand implements ICommandExecutor<CommandSource>, IReload
         return context.errorResult("command.teleport.error");
     }
 
+    private ICommandResult onTeleport(ICommandContext<? extends CommandSource> context,
+            @Nullable TeleportResult result,
+            @Nullable Throwable throwable) {
+        if (throwable != null || result == null) {
+            context.getServiceCollection().logger().error("Could not complete the teleport", throwable);
+            return context.errorResult("command.error");
+        }
+
+        return result.isSuccessful() ? context.successResult() : context.failResult();
+    }
+
 }
@@ -14,16 +14,20 @@ import io.github.nucleuspowered.nucleus.scaffold.command.ICommandResult;
 import io.github.nucleuspowered.nucleus.scaffold.command.NucleusParameters;
 import io.github.nucleuspowered.nucleus.scaffold.command.annotation.Command;
 import io.github.nucleuspowered.nucleus.scaffold.command.annotation.EssentialsEquivalent;
+import io.github.nucleuspowered.nucleus.scaffold.command.control.CommandControl;
 import io.github.nucleuspowered.nucleus.scaffold.command.parameter.IfConditionElseArgument;
 import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
 import io.github.nucleuspowered.nucleus.services.interfaces.IReloadableService;
 import org.spongepowered.api.command.CommandException;
+import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.command.args.CommandElement;
 import org.spongepowered.api.command.args.GenericArguments;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
 
+import javax.annotation.Nullable;
+
 /**
  * NOTE: TeleportHere is considered an admin command, as there is a potential
  * for abuse for non-admin players trying to pull players. No cost or warmups
@@ -66,15 +70,21 @@ public class TeleportHereCommand implements ICommandExecutor<Player>, IReloadabl
         PlayerTeleporterService sts = context.getServiceCollection().getServiceUnchecked(PlayerTeleporterService.class);
         if (target.getPlayer().isPresent()) {
             Player to = target.getPlayer().get();
-            TeleportResult result = sts.teleportWithMessage(
+            CommandControl control = context.getServiceCollection().commandMetadataService()
+                    .getControl(TeleportHereCommand.class)
+                    .orElseThrow(IllegalStateException::new);
+            sts.teleportWithMessage(
                     context.getIfPlayer(),
                     to,
                     context.getIfPlayer(),
                     false,
                     beQuiet,
                     false
-            );
-            return result.isSuccessful() ? context.successResult() : context.failResult();
+            ).handle((result, throwable) -> {
+                control.completeLater(context, onTeleport(context, result, throwable));
+                return result;
+            });
+            return ICommandResult.willContinueLater();
         } else {
             if (context.testPermission(TeleportPermissions.TPHERE_OFFLINE)) {
                 return context.errorResult("command.tphere.noofflineperms");
@@ -88,4 +98,15 @@ public class TeleportHereCommand implements ICommandExecutor<Player>, IReloadabl
 
         return context.successResult();
     }
+
+    private ICommandResult onTeleport(ICommandContext<? extends CommandSource> context,
+            @Nullable TeleportResult result,
+            @Nullable Throwable throwable) {
+        if (throwable != null || result == null) {
+            context.getServiceCollection().logger().error("Could not complete the teleport", throwable);
+            return context.errorResult("command.error");
+        }
+
+        return result.isSuccessful() ? context.successResult() : context.failResult();
+    }
 }
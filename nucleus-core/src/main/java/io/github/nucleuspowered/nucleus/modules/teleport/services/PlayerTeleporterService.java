@@ -36,6 +36,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 import javax.annotation.Nullable;
@@ -95,22 +96,29 @@ public class PlayerTeleporterService implements ServiceBase, IReloadableService.
     private final Map<UUID, TeleportRequest> activeTeleportRequestsCommand = new HashMap<>();
     private final Multimap<UUID, TeleportRequest> activeTeleportRequests = HashMultimap.create();
 
-    public TeleportResult teleportWithMessage(
+    public CompletableFuture<TeleportResult> teleportWithMessage(
             CommandSource source,
             Player playerToTeleport,
             Player target,
             boolean safe,
             boolean quietSource,
             boolean quietTarget) {
+        return this.safeTeleportService.teleportPlayerSmartAsync(
+                playerToTeleport,
+                target.getTransform(),
+                false,
+                safe,
+                TeleportScanners.NO_SCAN.get()
+        ).thenApply(result -> onTeleport(result, source, playerToTeleport, target, quietSource, quietTarget));
+    }
 
-        TeleportResult result =
-                this.safeTeleportService.teleportPlayerSmart(
-                                playerToTeleport,
-                                target.getTransform(),
-                                false,
-                                safe,
-                                TeleportScanners.NO_SCAN.get()
-                        );
+    private TeleportResult onTeleport(
+            TeleportResult result,
+            CommandSource source,
+            Player playerToTeleport,
+            Player target,
+            boolean quietSource,
+            boolean quietTarget) {
         if (result.isSuccessful()) {
             if (!source.equals(target) && !quietSource) {
                 this.messageProviderService.sendMessageTo(source, "teleport.success.source",
@@ -73,6 +73,37 @@ public class TeleportTask implements CancellableTask {
         run();
     }
 
+    private void onTeleport(TeleportResult result,
+            Player teleportingPlayer,
+            Player targetPlayer,
+            @Nullable User source,
+            CommandSource receiver) {
+        if (!result.isSuccessful()) {
+            if (!this.silentSource) {
+                this.serviceCollection.messageProvider()
+                        .sendMessageTo(receiver, result == TeleportResult.FAIL_NO_LOCATION ?
+                                "teleport.nosafe" : "teleport.cancelled");
+            }
+
+            onCancel();
+            return;
+        }
+
+        if (!this.toTeleport.equals(this.requester) && !this.silentSource) {
+            this.serviceCollection.messageProvider()
+                .sendMessageTo(receiver, "teleport.success.source", teleportingPlayer.getName(), targetPlayer.getName());
+        }
+
+        this.serviceCollection.messageProvider().sendMessageTo(teleportingPlayer, "teleport.to.success", targetPlayer.getName());
+        if (!this.silentTarget) {
+            this.serviceCollection.messageProvider().sendMessageTo(targetPlayer,"teleport.from.success", teleportingPlayer.getName());
+        }
+
+        if (this.successCallback != null && source != null) {
+            source.getPlayer().ifPresent(x -> this.successCallback.accept(x));
+        }
+    }
+
     public void run() {
         // Teleport them
         Player teleportingPlayer = Sponge.getServer().getPlayer(this.toTeleport).orElse(null);
@@ -89,38 +120,22 @@ public class TeleportTask implements CancellableTask {
                     frame.pushCause(source);
                 }
 
-                TeleportResult result = tpHandler.teleportPlayerSmart(
+                tpHandler.teleportPlayerSmartAsync(
                         teleportingPlayer,
                         this.requestLocation == null ? targetPlayer.getTransform() : this.requestLocation,
                         false,
                         this.safe,
                         TeleportScanners.NO_SCAN.get()
-                );
-
-                if (!result.isSuccessful()) {
-                    if (!this.silentSource) {
-                        this.serviceCollection.messageProvider()
-                                .sendMessageTo(receiver, result == TeleportResult.FAIL_NO_LOCATION ?
-                                        "teleport.nosafe" : "teleport.cancelled");
+                ).handle((result, throwable) -> {
+                    if (throwable != null) {
+                        this.serviceCollection.logger().error("Could not teleport {} to {}",
+                                teleportingPlayer.getName(), targetPlayer.getName(), throwable);
+                        result = TeleportResult.FAIL_CANCELLED;
                     }
 
-                    onCancel();
-                    return;
-                }
-
-                if (!this.toTeleport.equals(this.requester) && !this.silentSource) {
-                    this.serviceCollection.messageProvider()
-                        .sendMessageTo(receiver, "teleport.success.source", teleportingPlayer.getName(), targetPlayer.getName());
-                }
-
-                this.serviceCollection.messageProvider().sendMessageTo(teleportingPlayer, "teleport.to.success", targetPlayer.getName());
-                if (!this.silentTarget) {
-                    this.serviceCollection.messageProvider().sendMessageTo(targetPlayer,"teleport.from.success", teleportingPlayer.getName());
-                }
-
-                if (this.successCallback != null && source != null) {
-                    source.getPlayer().ifPresent(x -> this.successCallback.accept(x));
-                }
+                    onTeleport(result, teleportingPlayer, targetPlayer, source, receiver);
+                    return result;
+                });
             }
         } else {
             if (!this.silentSource) {
@@ -18,6 +18,7 @@ import io.github.nucleuspowered.nucleus.scaffold.command.NucleusParameters;
 import io.github.nucleuspowered.nucleus.scaffold.command.annotation.Command;
 import io.github.nucleuspowered.nucleus.scaffold.command.annotation.CommandModifier;
 import io.github.nucleuspowered.nucleus.scaffold.command.annotation.EssentialsEquivalent;
+import io.github.nucleuspowered.nucleus.scaffold.command.control.CommandControl;
 import io.github.nucleuspowered.nucleus.scaffold.command.modifier.CommandModifiers;
 import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
 import io.github.nucleuspowered.nucleus.services.interfaces.IEconomyServiceProvider;
@@ -36,6 +37,8 @@ import org.spongepowered.api.world.teleport.TeleportHelperFilter;
 
 import java.util.Optional;
 
+import javax.annotation.Nullable;
+
 @NonnullByDefault
 @EssentialsEquivalent(value = {"warp", "warps"}, isExact = false, notes = "Use '/warp' for warping, '/warps' to list warps.")
 @Command(
@@ -147,7 +150,7 @@ public class WarpCommand implements ICommandExecutor<CommandSource>, IReloadable
             Optional<Double> i = wd.getCost();
             double cost = i.orElse(this.defaultCost);
 
-            boolean charge = false;
+            final boolean charge;
             IEconomyServiceProvider economyServiceProvider = context.getServiceCollection().economyServiceProvider();
             if (!isOther && economyServiceProvider.serviceExists() && cost > 0 &&
                     !context.testPermission(WarpPermissions.EXEMPT_COST_WARP)) {
@@ -157,6 +160,8 @@ public class WarpCommand implements ICommandExecutor<CommandSource>, IReloadable
                     return context.errorResult("command.warp.cost.nomoney", wd.getName(),
                             economyServiceProvider.getCurrencySymbol(cost));
                 }
+            } else {
+                charge = false;
             }
 
             // We have a warp data, warp them.
@@ -174,32 +179,55 @@ public class WarpCommand implements ICommandExecutor<CommandSource>, IReloadable
             INucleusTeleportService safeLocationService = context.getServiceCollection().teleportService();
             TeleportHelperFilter filter = safeLocationService.getAppropriateFilter(player, isSafe);
 
-            TeleportResult result = safeLocationService.teleportPlayer(
+            // The safe location search happens off the main thread, we finish the command when it's done.
+            CommandControl control = context.getServiceCollection().commandMetadataService()
+                    .getControl(WarpCommand.class)
+                    .orElseThrow(IllegalStateException::new);
+            safeLocationService.teleportPlayerAsync(
                     player,
                     wd.getLocation().get(),
                     wd.getRotation(),
                     false,
                     TeleportScanners.NO_SCAN.get(),
                     filter
-            );
-
-            if (!result.isSuccessful()) {
-                if (charge) {
-                    economyServiceProvider.depositInPlayer(player, cost, false);
-                }
+            ).handle((result, throwable) -> {
+                control.completeLater(context, onWarp(context, result, throwable, player, wd, isOther, charge, cost));
+                return result;
+            });
+            return ICommandResult.willContinueLater();
+        }
+    }
 
-                // Don't add the cooldown if enabled.
-                return context.errorResult(result == TeleportResult.FAIL_NO_LOCATION ? "command.warps.nosafe" :
-                        "command.warps.cancelled");
+    private ICommandResult onWarp(ICommandContext<? extends CommandSource> context,
+            @Nullable TeleportResult result,
+            @Nullable Throwable throwable,
+            Player player,
+            Warp wd,
+            boolean isOther,
+            boolean charge,
+            double cost) {
+        IEconomyServiceProvider economyServiceProvider = context.getServiceCollection().economyServiceProvider();
+        if (throwable != null || result == null || !result.isSuccessful()) {
+            if (charge) {
+                economyServiceProvider.depositInPlayer(player, cost, false);
             }
 
-            if (isOther) {
-                context.sendMessageTo(player, "command.warps.warped", wd.getName());
-            } else if (charge) {
-                context.sendMessage("command.warp.cost.charged", economyServiceProvider.getCurrencySymbol(cost));
+            // Don't add the cooldown if enabled.
+            if (throwable != null || result == null) {
+                context.getServiceCollection().logger().error("Could not warp {} to {}", player.getName(), wd.getName(), throwable);
+                return context.errorResult("command.error");
             }
 
-            return context.successResult();
+            return context.errorResult(result == TeleportResult.FAIL_NO_LOCATION ? "command.warps.nosafe" :
+                    "command.warps.cancelled");
         }
+
+        if (isOther) {
+            context.sendMessageTo(player, "command.warps.warped", wd.getName());
+        } else if (charge) {
+            context.sendMessage("command.warp.cost.charged", economyServiceProvider.getCurrencySymbol(cost));
+        }
+
+        return context.successResult();
     }
 }
@@ -4,6 +4,7 @@
  */
 package io.github.nucleuspowered.nucleus.quickstart;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.inject.Key;
 import com.google.inject.TypeLiteral;
 import io.github.nucleuspowered.nucleus.quickstart.module.StandardModule;
@@ -22,10 +23,18 @@ public class QuickStartModuleConstructor implements ModuleConstructor<StandardMo
     private final Key<Supplier<DiscoveryModuleHolder<? ,?>>> holderKey = Key.get(
             new TypeLiteral<Supplier<DiscoveryModuleHolder<? ,?>>>() {});
     private final Map<String, Map<String, List<String>>> moduleList;
+    private final Map<String, RegistrationIndex> registrationIndex;
     private final INucleusServiceCollection serviceCollection;
 
     public QuickStartModuleConstructor(Map<String, Map<String, List<String>>> m, INucleusServiceCollection serviceCollection) {
+        this(m, ImmutableMap.of(), serviceCollection);
+    }
+
+    public QuickStartModuleConstructor(Map<String, Map<String, List<String>>> m,
+            Map<String, RegistrationIndex> registrationIndex,
+            INucleusServiceCollection serviceCollection) {
          this.moduleList = m;
+         this.registrationIndex = registrationIndex;
          this.serviceCollection = serviceCollection;
     }
 
@@ -48,7 +57,7 @@ public class QuickStartModuleConstructor implements ModuleConstructor<StandardMo
             throw new QuickStartModuleLoaderException.Construction(moduleClass, "Could not instantiate module!", e);
         }
 
-        m.init(this.moduleList.get(moduleClass.getName()));
+        m.init(this.moduleList.get(moduleClass.getName()), this.registrationIndex.get(moduleClass.getName()));
         return m;
     }
 }
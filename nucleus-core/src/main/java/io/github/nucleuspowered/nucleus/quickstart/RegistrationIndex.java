@@ -0,0 +1,50 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.quickstart;
+
+import java.util.List;
+
+/**
+ * What the annotation processor has already worked out for a module, read
+ * from <code>registration-index.json</code>, so that it does not have to be
+ * found by reflection when the module is enabled.
+ */
+public final class RegistrationIndex {
+
+    private List<Permission> permissions;
+
+    public List<Permission> getPermissions() {
+        return this.permissions;
+    }
+
+    public static final class Permission {
+
+        private String permission;
+        private String descriptionKey;
+        private String[] replacements;
+        private String level;
+        private boolean isPrefix;
+
+        public String getPermission() {
+            return this.permission;
+        }
+
+        public String getDescriptionKey() {
+            return this.descriptionKey;
+        }
+
+        public String[] getReplacements() {
+            return this.replacements == null ? new String[0] : this.replacements;
+        }
+
+        public String getLevel() {
+            return this.level;
+        }
+
+        public boolean isPrefix() {
+            return this.isPrefix;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.quickstart;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Adds up how long each startup phase takes, across all modules, so that
+ * the totals can be logged once startup has finished.
+ */
+public final class StartupTimings {
+
+    private final Map<String, Long> phaseNanos = new LinkedHashMap<>();
+    private final Map<String, Long> moduleNanos = new LinkedHashMap<>();
+
+    public <E extends Exception> void time(String phase, Phase<E> task) throws E {
+        time(phase, null, task);
+    }
+
+    public <E extends Exception> void time(String phase, String module, Phase<E> task) throws E {
+        long start = System.nanoTime();
+        try {
+            task.run();
+        } finally {
+            long taken = System.nanoTime() - start;
+            synchronized (this) {
+                this.phaseNanos.merge(phase, taken, Long::sum);
+                if (module != null) {
+                    this.moduleNanos.merge(module, taken, Long::sum);
+                }
+            }
+        }
+    }
+
+    public synchronized String getPhaseSummary() {
+        return summarise(this.phaseNanos);
+    }
+
+    public synchronized String getModuleSummary() {
+        return summarise(this.moduleNanos);
+    }
+
+    private static String summarise(Map<String, Long> nanos) {
+        return nanos.entrySet().stream()
+                .map(x -> x.getKey() + " " + TimeUnit.NANOSECONDS.toMillis(x.getValue()) + "ms")
+                .collect(Collectors.joining(", "));
+    }
+
+    @FunctionalInterface
+    public interface Phase<E extends Exception> {
+
+        void run() throws E;
+
+    }
+}
@@ -8,6 +8,8 @@ import com.google.common.collect.ImmutableMap;
 import io.github.nucleuspowered.nucleus.Constants;
 import io.github.nucleuspowered.nucleus.annotationprocessor.Store;
 import io.github.nucleuspowered.nucleus.api.placeholder.PlaceholderParser;
+import io.github.nucleuspowered.nucleus.api.util.NoExceptionAutoClosable;
+import io.github.nucleuspowered.nucleus.quickstart.RegistrationIndex;
 import io.github.nucleuspowered.nucleus.quickstart.annotation.RequireExistenceOf;
 import io.github.nucleuspowered.nucleus.quickstart.annotation.RequiresPlatform;
 import io.github.nucleuspowered.nucleus.quickstart.annotation.ServerOnly;
@@ -22,9 +24,11 @@ import io.github.nucleuspowered.nucleus.scaffold.service.annotations.APIService;
 import io.github.nucleuspowered.nucleus.scaffold.task.TaskBase;
 import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
 import io.github.nucleuspowered.nucleus.services.impl.permission.PermissionMetadata;
+import io.github.nucleuspowered.nucleus.services.impl.permission.SuggestedLevel;
 import io.github.nucleuspowered.nucleus.services.impl.playerinformation.NucleusProvider;
 import io.github.nucleuspowered.nucleus.services.interfaces.ICommandMetadataService;
 import io.github.nucleuspowered.nucleus.services.interfaces.IPermissionService;
+import io.github.nucleuspowered.nucleus.services.interfaces.IProfilingService;
 import io.github.nucleuspowered.nucleus.services.interfaces.IReloadableService;
 import org.slf4j.Logger;
 import org.spongepowered.api.Platform;
@@ -68,6 +72,7 @@ public abstract class StandardModule implements Module {
     private final Logger logger;
     private String packageName;
     @Nullable private Map<String, List<String>> objectTypesToClassListMap;
+    @Nullable private RegistrationIndex registrationIndex;
 
     @Inject
     public StandardModule(Supplier<DiscoveryModuleHolder<?, ?>> moduleHolder, INucleusServiceCollection collection) {
@@ -83,8 +88,13 @@ public abstract class StandardModule implements Module {
         return this.serviceCollection;
     }
 
-    public void init(Map<String, List<String>> m) {
+    public String getModuleId() {
+        return this.moduleId;
+    }
+
+    public void init(Map<String, List<String>> m, @Nullable RegistrationIndex registrationIndex) {
         this.objectTypesToClassListMap = m;
+        this.registrationIndex = registrationIndex;
     }
 
     @Override
@@ -287,12 +297,20 @@ public abstract class StandardModule implements Module {
 
         tasksToLoad.stream().map(this::getInstance).filter(Objects::nonNull).forEach(c -> {
             Task.Builder tb = Sponge.getScheduler().createTaskBuilder().interval(c.interval().toMillis(), TimeUnit.MILLISECONDS);
+            final String key = c.getClass().getSimpleName();
+            final IProfilingService profilingService = this.serviceCollection.profilingService();
             if (this.serviceCollection.platformService().isServer()) {
-                tb.execute(c);
+                tb.execute(t -> {
+                    try (NoExceptionAutoClosable timing = profilingService.time("task", key)) {
+                        c.accept(t);
+                    }
+                });
             } else {
                 tb.execute(t -> {
                     if (Sponge.getGame().isServerAvailable()) {
-                        c.accept(t);
+                        try (NoExceptionAutoClosable timing = profilingService.time("task", key)) {
+                            c.accept(t);
+                        }
                     }
                 });
             }
@@ -539,6 +557,22 @@ public abstract class StandardModule implements Module {
 
     public void registerPermissions() {
         IPermissionService permissionService = this.serviceCollection.permissionService();
+        if (this.registrationIndex != null && this.registrationIndex.getPermissions() != null) {
+            // The annotation processor has already read the fields, no need to load the classes.
+            for (RegistrationIndex.Permission permission : this.registrationIndex.getPermissions()) {
+                permissionService.register(
+                        permission.getPermission(),
+                        permission.getDescriptionKey(),
+                        permission.getReplacements(),
+                        SuggestedLevel.valueOf(permission.getLevel()),
+                        permission.isPrefix(),
+                        this.moduleId
+                );
+            }
+
+            return;
+        }
+
         for (Class<?> c : getClassesFromList(Constants.PERMISSIONS)) {
             for (Field field : c.getDeclaredFields()) {
                 if (field.isAnnotationPresent(PermissionMetadata.class)
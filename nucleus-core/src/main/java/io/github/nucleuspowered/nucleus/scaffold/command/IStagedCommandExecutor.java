@@ -0,0 +1,63 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.scaffold.command;
+
+import io.github.nucleuspowered.nucleus.services.interfaces.ICommandWorkerService;
+import org.spongepowered.api.command.CommandException;
+import org.spongepowered.api.command.CommandSource;
+
+/**
+ * Defines the logic of a command that is run in two stages: a load stage,
+ * which runs on a worker thread, and an apply stage, which runs on the main
+ * thread with what was loaded.
+ *
+ * <p>Storage reads and building text should go in {@link #load(ICommandContext)}.
+ * Anything that touches the world, players or their inventories must go in
+ * {@link #apply(ICommandContext, Object)}.</p>
+ *
+ * <p>Modifiers run as they would for any other command: requirements and
+ * pre-execute checks before the load stage, and completion or failure
+ * actions after the apply stage. If there are too many commands waiting on
+ * the {@link ICommandWorkerService}, the command fails and any failure
+ * actions, such as refunding the cost, are run.</p>
+ *
+ * @param <C> The type of {@link CommandSource} that can run this command.
+ * @param <T> The type of what is loaded.
+ */
+public interface IStagedCommandExecutor<C extends CommandSource, T> extends ICommandExecutor<C> {
+
+    /**
+     * Loads what the command needs. This is not run on the main thread.
+     *
+     * @param context The {@link ICommandContext}
+     * @return What was loaded
+     * @throws CommandException if the command cannot continue
+     */
+    T load(ICommandContext<? extends C> context) throws CommandException;
+
+    /**
+     * Completes the command with what was loaded. This is run on the main
+     * thread.
+     *
+     * @param context The {@link ICommandContext}
+     * @param loaded What was returned from {@link #load(ICommandContext)}
+     * @return The result of the command.
+     * @throws CommandException if the command fails
+     */
+    ICommandResult apply(ICommandContext<? extends C> context, T loaded) throws CommandException;
+
+    /**
+     * Runs both stages on the current thread. Commands run through Nucleus
+     * do not use this.
+     *
+     * @param context The {@link ICommandContext}
+     * @return The result of the command.
+     */
+    @Override
+    default ICommandResult execute(ICommandContext<? extends C> context) throws CommandException {
+        return apply(context, load(context));
+    }
+
+}
@@ -82,8 +82,25 @@ public @interface Command {
     /**
      * Determines whether to run the command async
      *
+     * <p>The whole executor is then run on a command worker thread. Commands
+     * that need to load data and then touch the world should implement
+     * {@link io.github.nucleuspowered.nucleus.scaffold.command.IStagedCommandExecutor}
+     * instead, which ignores this.</p>
+     *
      * @return true if so
      */
     boolean async() default false;
 
+    /**
+     * Determines whether an async command can take minutes to run, such as
+     * one that reads every data file.
+     *
+     * <p>These run on their own async task rather than on a command worker
+     * thread, so that they do not hold up other commands. This has no effect
+     * unless {@link #async()} is true.</p>
+     *
+     * @return true if so
+     */
+    boolean longRunning() default false;
+
 }
@@ -15,6 +15,7 @@ import io.github.nucleuspowered.nucleus.scaffold.command.ICommandContext;
 import io.github.nucleuspowered.nucleus.scaffold.command.ICommandExecutor;
 import io.github.nucleuspowered.nucleus.scaffold.command.ICommandInterceptor;
 import io.github.nucleuspowered.nucleus.scaffold.command.ICommandResult;
+import io.github.nucleuspowered.nucleus.scaffold.command.IStagedCommandExecutor;
 import io.github.nucleuspowered.nucleus.scaffold.command.NucleusArgumentParseException;
 import io.github.nucleuspowered.nucleus.scaffold.command.NucleusCommandException;
 import io.github.nucleuspowered.nucleus.scaffold.command.annotation.Command;
@@ -64,6 +65,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
@@ -82,6 +85,7 @@ public class CommandControl implements CommandCallable {
     private final Class<? extends CommandSource> sourceType;
     private final UsageCommand usageCommand;
     private final boolean isAsync;
+    private final boolean isLongRunning;
 
     private final SortedMap<String, CommandCallable> subcommands = new TreeMap<>();
     private final Map<String, CommandCallable> primarySubcommands = new HashMap<>();
@@ -94,6 +98,9 @@ public class CommandControl implements CommandCallable {
     private final CommandModifiersConfig commandModifiersConfig = new CommandModifiersConfig();
 
     private final String command;
+    private final String cooldownOptionKey;
+    private final String warmupOptionKey;
+    private final String costOptionKey;
     private boolean acceptingRegistration = true;
 
     public CommandControl(
@@ -136,7 +143,13 @@ public class CommandControl implements CommandCallable {
         } else {
             this.command = meta.getAliases()[0];
         }
+
+        String optionKey = "nucleus." + this.command.replace(" ", ".");
+        this.cooldownOptionKey = optionKey + ".cooldown";
+        this.warmupOptionKey = optionKey + ".warmup";
+        this.costOptionKey = optionKey + ".cost";
         this.isAsync = meta.getCommandAnnotation().async();
+        this.isLongRunning = meta.getCommandAnnotation().longRunning();
 
         // this must be last.
         this.modifiers = validateModifiers(this, serviceCollection.logger(), meta.getCommandAnnotation());
@@ -230,6 +243,17 @@ public class CommandControl implements CommandCallable {
             }
         }
 
+        // Only this command's own work is timed, subcommands time themselves.
+        try (NoExceptionAutoClosable timing = this.serviceCollection.profilingService().time("command", this.command)) {
+            return processCommand(cause, source, args, context, thrown);
+        }
+    }
+
+    private ICommandResult processCommand(Cause cause,
+            CommandSource source,
+            CommandArgs args,
+            CommandContext context,
+            List<Tuple<String, CommandException>> thrown) throws CommandException {
         // Ensure we're the correct type.
         checkSourceType(source);
 
@@ -251,7 +275,11 @@ public class CommandControl implements CommandCallable {
 
             // Can we run this command? Exception will be thrown if not.
             for (Map.Entry<CommandModifier, ICommandModifier> x : modifiers.entrySet()) {
-                Optional<Text> req = x.getValue().testRequirement(contextSource, this, this.serviceCollection, x.getKey());
+                Optional<Text> req;
+                try (NoExceptionAutoClosable timing = this.serviceCollection.profilingService().time("requirement", x.getKey().value())) {
+                    req = x.getValue().testRequirement(contextSource, this, this.serviceCollection, x.getKey());
+                }
+
                 if (req.isPresent()) {
                     // Nope, we're out
                     throw new CommandException(req.get());
@@ -320,7 +348,11 @@ public class CommandControl implements CommandCallable {
                 // Modifiers might have something to say about it.
                 for (Map.Entry<CommandModifier, ICommandModifier> modifier : contextSource.modifiers().entrySet()) {
                     if (modifier.getKey().onExecute()) {
-                        result = modifier.getValue().preExecute(contextSource, this, this.serviceCollection, modifier.getKey());
+                        try (NoExceptionAutoClosable timing =
+                                this.serviceCollection.profilingService().time("preexecute", modifier.getKey().value())) {
+                            result = modifier.getValue().preExecute(contextSource, this, this.serviceCollection, modifier.getKey());
+                        }
+
                         if (result.isPresent()) {
                             // STOP.
                             onResult(source, contextSource, result.get());
@@ -388,54 +420,164 @@ public class CommandControl implements CommandCallable {
         }
 
         ICommandResult result;
-        if (this.isAsync) {
-            runAsync(source, context);
-            result = context.successResult();
+        if (this.executor instanceof IStagedCommandExecutor) {
+            result = runStaged(context);
+            if (!result.isWillContinue()) {
+                onResult(source, context, result);
+                postCommand(context, result);
+            }
+        } else if (this.isAsync) {
+            result = runAsync(source, context);
+            if (!result.isSuccess()) {
+                onResult(source, context, result);
+                postCommand(context, result);
+            }
         } else {
             // Anything else to go here?
             result = this.executor.execute((ICommandContext) context);
-            onResult(source, context, result);
-            for (ICommandInterceptor commandInterceptor : context.getServiceCollection().commandMetadataService().interceptors()) {
-                commandInterceptor.onPostCommand(
-                        (Class<ICommandExecutor<?>>) this.executor.getClass(),
-                        this,
-                        context,
-                        result
-                );
+            if (!result.isWillContinue()) {
+                onResult(source, context, result);
+                postCommand(context, result);
             }
         }
 
         return result;
     }
 
-    private void runAsync(final CommandSource source, final ICommandContext<? extends CommandSource> context) {
+    /**
+     * Completes a command whose executor returned {@link ICommandResult#willContinueLater()},
+     * running the modifiers and interceptors as if the given result had been
+     * returned in the first place.
+     *
+     * <p>This must be called on the main thread.</p>
+     *
+     * @param context The {@link ICommandContext} the command was executed with
+     * @param result The final result of the command
+     */
+    public void completeLater(ICommandContext<? extends CommandSource> context, ICommandResult result) {
+        try {
+            onResult(context.getCommandSourceUnchecked(), context, result);
+            postCommand(context, result);
+        } catch (CommandException e) {
+            this.serviceCollection.logger().warn("Error completing command {}", this.command, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void postCommand(ICommandContext<? extends CommandSource> context, ICommandResult result) {
+        Preconditions.checkState(this.executor != null, "executor");
+        for (ICommandInterceptor commandInterceptor : context.getServiceCollection().commandMetadataService().interceptors()) {
+            commandInterceptor.onPostCommand(
+                    (Class<ICommandExecutor<?>>) this.executor.getClass(),
+                    this,
+                    context,
+                    result
+            );
+        }
+    }
+
+    private ICommandResult runAsync(final CommandSource source, final ICommandContext<? extends CommandSource> context) {
         Preconditions.checkState(this.executor != null, "executor");
-        Task.builder().execute(task -> {
+        Runnable task = () -> {
             ICommandResult result;
-            try {
+            try (NoExceptionAutoClosable timing = this.serviceCollection.profilingService().time("command-async", this.command)) {
                 //noinspection unchecked
                 result = this.executor.execute((ICommandContext) context);
             } catch (CommandException e) {
                 result = context.errorResultLiteral(e.getText());
+            } catch (Exception e) {
+                result = unexpectedResult(context, e);
             }
 
             final ICommandResult fResult = result;
             Task.builder().execute(t -> {
                 try {
                     onResult(source, context, fResult);
-                    for (ICommandInterceptor commandInterceptor : context.getServiceCollection().commandMetadataService().interceptors()) {
-                        commandInterceptor.onPostCommand(
-                                (Class<ICommandExecutor<?>>) this.executor.getClass(),
-                                this,
-                                context,
-                                fResult
-                        );
-                    }
+                    postCommand(context, fResult);
                 } catch (CommandException e) {
-                    e.printStackTrace();
+                    this.serviceCollection.logger().warn("Error completing command {}", this.command, e);
+                }
+            }).submit(this.serviceCollection.pluginContainer());
+        };
+
+        if (this.isLongRunning) {
+            // Kept off the command workers, so that they stay free for the commands players are waiting on.
+            Task.builder()
+                    .async()
+                    .name("Nucleus command: " + this.command)
+                    .execute(task)
+                    .submit(this.serviceCollection.pluginContainer());
+            return context.successResult();
+        }
+
+        boolean accepted = this.serviceCollection.commandWorkerService().submit(task);
+        return accepted ? context.successResult() : context.errorResult("command.workers.busy");
+    }
+
+    /**
+     * Runs the load stage of an {@link IStagedCommandExecutor} on a worker
+     * thread, then the apply stage on the main thread, and then completes
+     * the command as {@link #completeLater(ICommandContext, ICommandResult)}
+     * would.
+     *
+     * @param context The {@link ICommandContext}
+     * @return {@link ICommandResult#willContinueLater()}, or an error if the
+     *      workers are too busy to accept the command
+     */
+    @SuppressWarnings("unchecked")
+    private ICommandResult runStaged(final ICommandContext<? extends CommandSource> context) {
+        final IStagedCommandExecutor<CommandSource, Object> staged = (IStagedCommandExecutor<CommandSource, Object>) this.executor;
+        boolean accepted = this.serviceCollection.commandWorkerService().submit(() -> {
+            Object loaded = null;
+            ICommandResult failed = null;
+            try (NoExceptionAutoClosable timing = this.serviceCollection.profilingService().time("command-load", this.command)) {
+                loaded = staged.load(context);
+            } catch (CommandException e) {
+                failed = context.errorResultLiteral(e.getText());
+            } catch (Exception e) {
+                failed = unexpectedResult(context, e);
+            }
+
+            final Object fLoaded = loaded;
+            final ICommandResult fFailed = failed;
+            Task.builder().execute(t -> {
+                try {
+                    context.getCommandSource();
+                } catch (CommandException e) {
+                    // The player left while the command was loading, so it can't be applied, but anything taken must be given back.
+                    try {
+                        runFailActions(context);
+                    } catch (Exception ex) {
+                        this.serviceCollection.logger().warn("Error running fail actions for command {}", this.command, ex);
+                    }
+
+                    return;
+                }
+
+                ICommandResult result = fFailed;
+                if (result == null) {
+                    try (NoExceptionAutoClosable timing = this.serviceCollection.profilingService().time("command-apply", this.command)) {
+                        result = staged.apply(context, fLoaded);
+                    } catch (CommandException e) {
+                        result = context.errorResultLiteral(e.getText());
+                    } catch (Exception e) {
+                        result = unexpectedResult(context, e);
+                    }
+                }
+
+                // The apply stage can itself continue later, it then calls completeLater itself.
+                if (!result.isWillContinue()) {
+                    completeLater(context, result);
                 }
             }).submit(this.serviceCollection.pluginContainer());
-        }).async().submit(this.serviceCollection.pluginContainer());
+        });
+
+        return accepted ? ICommandResult.willContinueLater() : context.errorResult("command.workers.busy");
+    }
+
+    private ICommandResult unexpectedResult(ICommandContext<? extends CommandSource> context, Exception e) {
+        this.serviceCollection.logger().error("Unexpected error running command {}", this.command, e);
+        return context.errorResult("command.exception.unexpected", e.getMessage() == null ? "null" : e.getMessage());
     }
 
     private void onResult(CommandSource source, ICommandContext<? extends CommandSource> contextSource, ICommandResult result) throws CommandException {
@@ -465,21 +607,57 @@ public class CommandControl implements CommandCallable {
     }
 
     private Map<CommandModifier, ICommandModifier> selectAppropriateModifiers(CommandSource source) throws CommandException {
-        return this.modifiers
-                .entrySet()
-                .stream()
-                .filter(x -> x.getKey().target().isInstance(source))
-                .filter(x -> {
-                    try {
-                        return x.getValue().canExecuteModifier(this.serviceCollection, source);
-                    } catch (CommandException e) {
-                        e.printStackTrace();
-                        return false;
-                    }
-                })
-                .filter(x -> x.getKey().exemptPermission().isEmpty() ||
-                        !this.serviceCollection.permissionService().hasPermission(source, x.getKey().exemptPermission()))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        if (this.modifiers.isEmpty()) {
+            return this.modifiers;
+        }
+
+        // Whether a modifier can run may depend on more than permissions, such as whether there is an economy
+        // plugin, so that is checked on each execution rather than kept with the resolved modifiers.
+        ImmutableMap.Builder<CommandModifier, ICommandModifier> builder = ImmutableMap.builder();
+        for (Map.Entry<CommandModifier, ICommandModifier> x : getResolvedModifiers(source).modifiers.entrySet()) {
+            try {
+                if (x.getValue().canExecuteModifier(this.serviceCollection, source)) {
+                    builder.put(x.getKey(), x.getValue());
+                }
+            } catch (CommandException e) {
+                this.serviceCollection.logger().error("Could not check whether the modifier " + x.getKey().value()
+                        + " applies to the command " + getCommandKey(), e);
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Gets the modifiers and option values that apply to the source, which
+     * are worked out once and then kept for as long as the permission service
+     * keeps the source's permission decisions.
+     *
+     * @param source The source
+     * @return The {@link ResolvedModifiers}
+     */
+    private ResolvedModifiers getResolvedModifiers(CommandSource source) {
+        return this.serviceCollection.permissionService().getDerived(source, this, subject -> resolveModifiers(source));
+    }
+
+    private ResolvedModifiers resolveModifiers(CommandSource source) {
+        ImmutableMap.Builder<CommandModifier, ICommandModifier> builder = ImmutableMap.builder();
+        for (Map.Entry<CommandModifier, ICommandModifier> x : this.modifiers.entrySet()) {
+            if (!x.getKey().target().isInstance(source)) {
+                continue;
+            }
+
+            if (x.getKey().exemptPermission().isEmpty() ||
+                    !this.serviceCollection.permissionService().hasPermission(source, x.getKey().exemptPermission())) {
+                builder.put(x.getKey(), x.getValue());
+            }
+        }
+
+        return new ResolvedModifiers(
+                builder.build(),
+                this.serviceCollection.permissionService().getIntOptionFromSubject(source, this.cooldownOptionKey),
+                this.serviceCollection.permissionService().getIntOptionFromSubject(source, this.warmupOptionKey),
+                this.serviceCollection.permissionService().getDoubleOptionFromSubject(source, this.costOptionKey));
     }
 
     @Override
@@ -672,8 +850,12 @@ public class CommandControl implements CommandCallable {
     }
 
     public int getCooldown(Subject subject) {
+        if (subject instanceof CommandSource) {
+            return getResolvedModifiers((CommandSource) subject).cooldown.orElseGet(this::getCooldown);
+        }
+
         return this.serviceCollection.permissionService()
-                .getIntOptionFromSubject(subject, String.format("nucleus.%s.cooldown", this.command.replace(" ", ".")))
+                .getIntOptionFromSubject(subject, this.cooldownOptionKey)
                 .orElseGet(this::getCooldown);
     }
 
@@ -682,8 +864,12 @@ public class CommandControl implements CommandCallable {
     }
 
     public int getWarmup(Subject subject) {
+        if (subject instanceof CommandSource) {
+            return getResolvedModifiers((CommandSource) subject).warmup.orElseGet(this::getWarmup);
+        }
+
         return this.serviceCollection.permissionService()
-                .getIntOptionFromSubject(subject, String.format("nucleus.%s.warmup", this.command.replace(" ", ".")))
+                .getIntOptionFromSubject(subject, this.warmupOptionKey)
                 .orElseGet(this::getWarmup);
     }
 
@@ -692,8 +878,12 @@ public class CommandControl implements CommandCallable {
     }
 
     public double getCost(Subject subject) {
+        if (subject instanceof CommandSource) {
+            return getResolvedModifiers((CommandSource) subject).cost.orElseGet(this::getCost);
+        }
+
         return this.serviceCollection.permissionService()
-                .getDoubleOptionFromSubject(subject, String.format("nucleus.%s.cost", this.command.replace(" ", ".")))
+                .getDoubleOptionFromSubject(subject, this.costOptionKey)
                 .orElseGet(this::getCost);
     }
 
@@ -781,4 +971,28 @@ public class CommandControl implements CommandCallable {
         return args.getRaw().substring(args.getRawPosition()).trim();
     }
 
+    /**
+     * The modifiers that the source is not exempt from, and the values of the options
+     * that override the configured cooldown, warmup and cost. The configured
+     * values are not held here, so they can change on reload without this
+     * needing to be worked out again.
+     */
+    private static final class ResolvedModifiers {
+
+        private final ImmutableMap<CommandModifier, ICommandModifier> modifiers;
+        private final OptionalInt cooldown;
+        private final OptionalInt warmup;
+        private final OptionalDouble cost;
+
+        private ResolvedModifiers(ImmutableMap<CommandModifier, ICommandModifier> modifiers,
+                OptionalInt cooldown,
+                OptionalInt warmup,
+                OptionalDouble cost) {
+            this.modifiers = modifiers;
+            this.cooldown = cooldown;
+            this.warmup = warmup;
+            this.cost = cost;
+        }
+    }
+
 }
@@ -38,6 +38,8 @@ import javax.annotation.Nullable;
 
 public class DisplayNameArgument extends CommandElement {
 
+    // The most players that will be considered for tab completion, the client can't usefully show more.
+    private static final int COMPLETION_LIMIT = 100;
     private static boolean init = false;
     private static int USER_LIMIT = 20;
     private static boolean PARTIAL_MATCH = true;
@@ -187,22 +189,20 @@ public class DisplayNameArgument extends CommandElement {
 
             String parse = toParse.toLowerCase();
             final Predicate<Player> shouldShow = determinePredicate(source);
-            final Predicate<Player> partial = x -> x.getName().toLowerCase().startsWith(parse);
 
             UserStorageService uss = Sponge.getServiceManager().provideUnchecked(UserStorageService.class);
-            Sponge.getServer().getOnlinePlayers().stream()
-                    .filter(partial.and(shouldShow))
-                    .forEach(player -> {
-                        if (playerOnly) {
-                            names.add("p:" + player.getName());
-                        } else {
-                            names.add(player.getName());
-                        }
-                    });
-
-            if (!playerOnly) {
+            if (playerOnly) {
+                this.displayNameService.onlineNamesStartingWith(parse, COMPLETION_LIMIT)
+                        .keySet()
+                        .stream()
+                        .map(x -> Sponge.getServer().getPlayer(x).orElse(null))
+                        .filter(Objects::nonNull)
+                        .filter(shouldShow)
+                        .forEach(player -> names.add("p:" + player.getName()));
+            } else {
+                // This includes the real names of online players.
                 this.displayNameService
-                        .startsWith(parse)
+                        .startsWith(parse, COMPLETION_LIMIT)
                         .entrySet()
                         .stream()
                         .map(x ->
@@ -10,6 +10,7 @@ import io.github.nucleuspowered.nucleus.services.impl.NucleusServiceCollection;
 import io.github.nucleuspowered.nucleus.services.interfaces.IChatMessageFormatterService;
 import io.github.nucleuspowered.nucleus.services.interfaces.ICommandElementSupplier;
 import io.github.nucleuspowered.nucleus.services.interfaces.ICommandMetadataService;
+import io.github.nucleuspowered.nucleus.services.interfaces.ICommandWorkerService;
 import io.github.nucleuspowered.nucleus.services.interfaces.ICompatibilityService;
 import io.github.nucleuspowered.nucleus.services.interfaces.IConfigurateHelper;
 import io.github.nucleuspowered.nucleus.services.interfaces.ICooldownService;
@@ -24,6 +25,7 @@ import io.github.nucleuspowered.nucleus.services.interfaces.IPlatformService;
 import io.github.nucleuspowered.nucleus.services.interfaces.IPlayerDisplayNameService;
 import io.github.nucleuspowered.nucleus.services.interfaces.IPlayerInformationService;
 import io.github.nucleuspowered.nucleus.services.interfaces.IPlayerOnlineService;
+import io.github.nucleuspowered.nucleus.services.interfaces.IProfilingService;
 import io.github.nucleuspowered.nucleus.services.interfaces.IReloadableService;
 import io.github.nucleuspowered.nucleus.services.interfaces.IStorageManager;
 import io.github.nucleuspowered.nucleus.services.interfaces.ITextFileControllerCollection;
@@ -91,6 +93,10 @@ public interface INucleusServiceCollection {
 
     IPlaceholderService placeholderService();
 
+    IProfilingService profilingService();
+
+    ICommandWorkerService commandWorkerService();
+
     Logger logger();
 
     <I, C extends I> void registerService(Class<I> key, C service, boolean rereg);
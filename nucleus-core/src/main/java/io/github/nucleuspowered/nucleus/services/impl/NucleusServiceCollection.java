@@ -11,6 +11,7 @@ import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
 import io.github.nucleuspowered.nucleus.services.interfaces.IChatMessageFormatterService;
 import io.github.nucleuspowered.nucleus.services.interfaces.ICommandElementSupplier;
 import io.github.nucleuspowered.nucleus.services.interfaces.ICommandMetadataService;
+import io.github.nucleuspowered.nucleus.services.interfaces.ICommandWorkerService;
 import io.github.nucleuspowered.nucleus.services.interfaces.ICompatibilityService;
 import io.github.nucleuspowered.nucleus.services.interfaces.IConfigurateHelper;
 import io.github.nucleuspowered.nucleus.services.interfaces.ICooldownService;
@@ -25,6 +26,7 @@ import io.github.nucleuspowered.nucleus.services.interfaces.IPlatformService;
 import io.github.nucleuspowered.nucleus.services.interfaces.IPlayerDisplayNameService;
 import io.github.nucleuspowered.nucleus.services.interfaces.IPlayerInformationService;
 import io.github.nucleuspowered.nucleus.services.interfaces.IPlayerOnlineService;
+import io.github.nucleuspowered.nucleus.services.interfaces.IProfilingService;
 import io.github.nucleuspowered.nucleus.services.interfaces.IReloadableService;
 import io.github.nucleuspowered.nucleus.services.interfaces.IStorageManager;
 import io.github.nucleuspowered.nucleus.services.interfaces.ITextFileControllerCollection;
@@ -76,6 +78,8 @@ public class NucleusServiceCollection implements INucleusServiceCollection {
     private final Provider<ICompatibilityService> compatibilityServiceProvider;
     private final Provider<IChatMessageFormatterService> chatMessageFormatterProvider;
     private final Provider<IPlaceholderService> placeholderServiceProvider;
+    private final Provider<IProfilingService> profilingServiceProvider;
+    private final Provider<ICommandWorkerService> commandWorkerServiceProvider;
     private final Injector injector;
     private final PluginContainer pluginContainer;
     private final Logger logger;
@@ -114,6 +118,8 @@ public class NucleusServiceCollection implements INucleusServiceCollection {
         this.compatibilityServiceProvider = new LazyLoad<>(this, injector, ICompatibilityService.class);
         this.chatMessageFormatterProvider = new LazyLoad<>(this, injector, IChatMessageFormatterService.class);
         this.placeholderServiceProvider = new LazyLoad<>(this, injector, IPlaceholderService.class);
+        this.profilingServiceProvider = new LazyLoad<>(this, injector, IProfilingService.class);
+        this.commandWorkerServiceProvider = new LazyLoad<>(this, injector, ICommandWorkerService.class);
         this.injector = injector;
         this.pluginContainer = pluginContainer;
         this.logger = logger;
@@ -212,6 +218,14 @@ public class NucleusServiceCollection implements INucleusServiceCollection {
         return this.placeholderServiceProvider.get();
     }
 
+    @Override public IProfilingService profilingService() {
+        return this.profilingServiceProvider.get();
+    }
+
+    @Override public ICommandWorkerService commandWorkerService() {
+        return this.commandWorkerServiceProvider.get();
+    }
+
     @Override public IUserCacheService userCacheService() {
         return this.userCacheServiceProvider.get();
     }
@@ -0,0 +1,87 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.services.impl.commandworker;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.github.nucleuspowered.nucleus.modules.core.config.CommandWorkerConfig;
+import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfig;
+import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
+import io.github.nucleuspowered.nucleus.services.interfaces.ICommandWorkerService;
+import io.github.nucleuspowered.nucleus.services.interfaces.IReloadableService;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+@Singleton
+public class CommandWorkerService implements ICommandWorkerService, IReloadableService.Reloadable {
+
+    private final INucleusServiceCollection serviceCollection;
+
+    // The queue itself is unbounded so that the limit can change on reload, the pending count is what limits it.
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            CommandWorkerConfig.DEFAULT_THREADS,
+            CommandWorkerConfig.DEFAULT_THREADS,
+            60,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder().setNameFormat("Nucleus Command Worker #%d").setDaemon(true).build());
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile int maxPending = CommandWorkerConfig.DEFAULT_MAX_PENDING;
+
+    @Inject
+    public CommandWorkerService(INucleusServiceCollection serviceCollection, IReloadableService reloadableService) {
+        this.serviceCollection = serviceCollection;
+        this.executor.allowCoreThreadTimeOut(true);
+        reloadableService.registerReloadable(this);
+    }
+
+    @Override public boolean submit(Runnable task) {
+        if (this.pending.incrementAndGet() > this.maxPending) {
+            this.pending.decrementAndGet();
+            return false;
+        }
+
+        try {
+            this.executor.execute(() -> {
+                try {
+                    task.run();
+                } catch (Throwable e) {
+                    this.serviceCollection.logger().error("Error running a command on a worker thread", e);
+                } finally {
+                    this.pending.decrementAndGet();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            this.pending.decrementAndGet();
+            return false;
+        }
+    }
+
+    @Override public int getPendingCount() {
+        return this.pending.get();
+    }
+
+    @Override public synchronized void onReload(INucleusServiceCollection serviceCollection) {
+        CommandWorkerConfig config = serviceCollection.moduleDataProvider().getModuleConfig(CoreConfig.class).getCommandWorkerConfig();
+        this.maxPending = config.getMaxPending();
+
+        // The core size can never be more than the maximum size, so the order these are set in matters.
+        int threads = config.getThreads();
+        if (threads > this.executor.getMaximumPoolSize()) {
+            this.executor.setMaximumPoolSize(threads);
+            this.executor.setCorePoolSize(threads);
+        } else {
+            this.executor.setCorePoolSize(threads);
+            this.executor.setMaximumPoolSize(threads);
+        }
+    }
+}
@@ -4,82 +4,203 @@
  */
 package io.github.nucleuspowered.nucleus.services.impl.cooldown;
 
+import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfig;
+import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
 import io.github.nucleuspowered.nucleus.services.interfaces.ICooldownService;
+import io.github.nucleuspowered.nucleus.services.interfaces.IReloadableService;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.gson.GsonConfigurationLoader;
+import org.slf4j.Logger;
 import org.spongepowered.api.util.Identifiable;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Duration;
-import java.time.Instant;
-import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+import javax.inject.Inject;
 import javax.inject.Singleton;
 
+/**
+ * Stores cooldowns by key, then by the {@link UUID} of the {@link Identifiable}.
+ *
+ * <p>Expired cooldowns are treated as absent when they are looked up, and are
+ * removed from the store when a cooldown is set, in order of expiry.</p>
+ *
+ * <p>If enabled in the core config, cooldowns are saved when the server
+ * stops and loaded again when it starts.</p>
+ */
 @Singleton
-public class CooldownService implements ICooldownService {
-
-    private final Map<DualKey, Instant> cooldowns = new HashMap<>();
-
-    private Map<DualKey, Instant> cleanUp() {
-        Instant now = Instant.now();
-        Collection<DualKey> keys = this.cooldowns.entrySet()
-                .stream()
-                .filter(x -> x.getValue().isBefore(now))
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toList());
-        for (DualKey key : keys) {
-            this.cooldowns.remove(key);
+public class CooldownService implements ICooldownService, IReloadableService.DataLocationReloadable {
+
+    private static final String FILE_NAME = "cooldowns.json";
+
+    // Cooldowns with less than this remaining are not worth keeping over a restart.
+    private static final long PERSIST_THRESHOLD_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final ConcurrentMap<String, ConcurrentMap<UUID, Long>> cooldowns = new ConcurrentHashMap<>();
+    private final DelayQueue<Expiry> expiryQueue = new DelayQueue<>();
+    private final INucleusServiceCollection serviceCollection;
+    private final Supplier<Path> dataDirectory;
+    private final Logger logger;
+
+    @Inject
+    public CooldownService(INucleusServiceCollection serviceCollection) {
+        this.serviceCollection = serviceCollection;
+        this.dataDirectory = serviceCollection.dataDir();
+        this.logger = serviceCollection.logger();
+        serviceCollection.reloadableService().registerDataFileReloadable(this);
+        load();
+    }
+
+    private boolean isPersisted() {
+        return this.serviceCollection.moduleDataProvider().getModuleConfig(CoreConfig.class).isPersistCooldowns();
+    }
+
+    @Nullable
+    private Long getExpiry(String key, UUID uuid) {
+        ConcurrentMap<UUID, Long> forKey = this.cooldowns.get(key);
+        if (forKey != null) {
+            Long expiry = forKey.get(uuid);
+            if (expiry != null && expiry > System.currentTimeMillis()) {
+                return expiry;
+            }
+        }
+
+        return null;
+    }
+
+    private void evictExpired() {
+        Expiry expiry;
+        while ((expiry = this.expiryQueue.poll()) != null) {
+            ConcurrentMap<UUID, Long> forKey = this.cooldowns.get(expiry.key);
+            if (forKey != null) {
+                // Only remove the entry if it has not been replaced with a later cooldown.
+                forKey.remove(expiry.uuid, expiry.expiresAt);
+            }
         }
+    }
 
-        return this.cooldowns;
+    private void put(String key, UUID uuid, long expiresAt) {
+        this.cooldowns.computeIfAbsent(key, k -> new ConcurrentHashMap<>()).put(uuid, expiresAt);
+        this.expiryQueue.add(new Expiry(key, uuid, expiresAt));
     }
 
     @Override public boolean hasCooldown(String key, Identifiable identifiable) {
-        return cleanUp().containsKey(new DualKey(key, identifiable.getUniqueId()));
+        return getExpiry(key, identifiable.getUniqueId()) != null;
     }
 
     @Override public Optional<Duration> getCooldown(String key, Identifiable identifiable) {
-        return Optional.ofNullable(cleanUp()
-                .get(new DualKey(key, identifiable.getUniqueId())))
-                .map(x -> Duration.between(Instant.now(), x));
+        Long expiry = getExpiry(key, identifiable.getUniqueId());
+        if (expiry == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(Duration.ofMillis(expiry - System.currentTimeMillis()));
     }
 
     @Override public void setCooldown(String key, Identifiable identifiable, Duration cooldownLength) {
-        this.cooldowns.put(new DualKey(key, identifiable.getUniqueId()), Instant.now().plus(cooldownLength));
+        evictExpired();
+        put(key, identifiable.getUniqueId(), System.currentTimeMillis() + cooldownLength.toMillis());
     }
 
     @Override public void clearCooldown(String key, Identifiable identifiable) {
-        this.cooldowns.remove(new DualKey(key, identifiable.getUniqueId()));
+        ConcurrentMap<UUID, Long> forKey = this.cooldowns.get(key);
+        if (forKey != null) {
+            forKey.remove(identifiable.getUniqueId());
+        }
     }
 
-    private static class DualKey {
+    @Override public void load() {
+        this.cooldowns.clear();
+        this.expiryQueue.clear();
+        if (!isPersisted()) {
+            return;
+        }
+
+        try {
+            ConfigurationNode node = configurationLoader().load();
+            long now = System.currentTimeMillis();
+            for (Map.Entry<Object, ? extends ConfigurationNode> keyEntry : node.getChildrenMap().entrySet()) {
+                String key = String.valueOf(keyEntry.getKey());
+                for (Map.Entry<Object, ? extends ConfigurationNode> entry : keyEntry.getValue().getChildrenMap().entrySet()) {
+                    long expiresAt = entry.getValue().getLong();
+                    if (expiresAt > now) {
+                        try {
+                            put(key, UUID.fromString(String.valueOf(entry.getKey())), expiresAt);
+                        } catch (IllegalArgumentException e) {
+                            // ignored, not a UUID
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            this.logger.warn("Could not load the saved cooldowns", e);
+        }
+    }
+
+    @Override public void save() {
+        if (!isPersisted()) {
+            return;
+        }
+
+        try {
+            GsonConfigurationLoader loader = configurationLoader();
+            ConfigurationNode node = loader.createEmptyNode();
+            long threshold = System.currentTimeMillis() + PERSIST_THRESHOLD_MILLIS;
+            this.cooldowns.forEach((key, forKey) -> forKey.forEach((uuid, expiresAt) -> {
+                if (expiresAt > threshold) {
+                    node.getNode(key, uuid.toString()).setValue(expiresAt);
+                }
+            }));
+            loader.save(node);
+        } catch (IOException e) {
+            this.logger.warn("Could not save the cooldowns", e);
+        }
+    }
+
+    private GsonConfigurationLoader configurationLoader() {
+        return GsonConfigurationLoader.builder()
+                .setPath(this.dataDirectory.get().resolve(FILE_NAME))
+                .build();
+    }
+
+    @Override
+    public void onDataFileLocationChange(INucleusServiceCollection serviceCollection) {
+        load();
+    }
+
+    private static final class Expiry implements Delayed {
 
         private final String key;
         private final UUID uuid;
+        private final Long expiresAt;
 
-        private DualKey(String key, UUID uuid) {
+        private Expiry(String key, UUID uuid, long expiresAt) {
             this.key = key;
             this.uuid = uuid;
+            this.expiresAt = expiresAt;
         }
 
-        @Override public boolean equals(Object o) {
-            if (this == o) {
-                return true;
-            }
-            if (o == null || getClass() != o.getClass()) {
-                return false;
-            }
-            DualKey dualKey = (DualKey) o;
-            return Objects.equals(key, dualKey.key) &&
-                    Objects.equals(uuid, dualKey.uuid);
+        @Override public long getDelay(TimeUnit unit) {
+            return unit.convert(this.expiresAt - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
         }
 
-        @Override public int hashCode() {
-            return Objects.hash(key, uuid.getLeastSignificantBits(), uuid.getMostSignificantBits());
+        @Override public int compareTo(Delayed o) {
+            if (o instanceof Expiry) {
+                return Long.compare(this.expiresAt, ((Expiry) o).expiresAt);
+            }
+
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), o.getDelay(TimeUnit.MILLISECONDS));
         }
     }
 }
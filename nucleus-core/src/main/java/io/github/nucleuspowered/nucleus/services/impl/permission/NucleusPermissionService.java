@@ -4,6 +4,8 @@
  */
 package io.github.nucleuspowered.nucleus.services.impl.permission;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -45,6 +47,9 @@ import java.util.OptionalLong;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 import javax.annotation.Nullable;
 import javax.inject.Inject;
@@ -63,6 +68,13 @@ public class NucleusPermissionService implements IPermissionService, IReloadable
     private final Set<String> failedChecks = new HashSet<>();
     private final Map<String, IPermissionService.Metadata> metadataMap = new HashMap<>();
     private final Map<String, IPermissionService.Metadata> prefixMetadataMap = new HashMap<>();
+    private final PermissionPrefixTrie prefixTrie = new PermissionPrefixTrie();
+
+    // Subject data can change in the permission plugin without an event we can listen to, so decisions are only trusted for a short time.
+    private final Cache<UUID, SubjectDecisions> decisions = Caffeine.newBuilder()
+            .expireAfterWrite(10, TimeUnit.SECONDS)
+            .build();
+    private final Stats stats = new Stats();
 
     private final Map<UUID, Map<String, Context>> standardContexts = new ConcurrentHashMap<>();
     private final Map<SuggestedLevel, Set<SubjectReference>> appliedRoles = new HashMap<>();
@@ -96,6 +108,8 @@ public class NucleusPermissionService implements IPermissionService, IReloadable
                 subject.getTransientSubjectData().setPermission(ImmutableSet.of(), permission.getValue().getPermission(), Tristate.TRUE);
             }
         }
+
+        this.decisions.invalidateAll();
     }
 
     @Override public boolean isOpOnly() {
@@ -113,14 +127,86 @@ public class NucleusPermissionService implements IPermissionService, IReloadable
 
         // don't know if there is a better way to do this.
         this.isOpOnly = service.getPlugin().getId().equals("sponge");
+        this.decisions.invalidateAll();
     }
 
     @Override public boolean hasPermission(Subject permissionSubject, String permission) {
-        return hasPermission(permissionSubject, permission, this.useRole);
+        Set<Context> contexts = permissionSubject.getActiveContexts();
+        Decisions decisions = getDecisions(permissionSubject, contexts);
+        if (decisions == null) {
+            return hasPermission(permissionSubject, contexts, permission, this.useRole);
+        }
+
+        Boolean result = decisions.permissions.get(permission);
+        if (result != null) {
+            this.stats.permissionHits.incrementAndGet();
+            return result;
+        }
+
+        this.stats.permissionMisses.incrementAndGet();
+        result = hasPermission(permissionSubject, contexts, permission, this.useRole);
+        decisions.permissions.put(permission, result);
+        return result;
     }
 
     @Override public Tristate hasPermissionTristate(Subject subject, String permission) {
-        return hasPermissionTristate(subject, permission, this.useRole);
+        Set<Context> contexts = subject.getActiveContexts();
+        Decisions decisions = getDecisions(subject, contexts);
+        if (decisions == null) {
+            return hasPermissionTristate(subject, contexts, permission, this.useRole);
+        }
+
+        Tristate result = decisions.tristates.get(permission);
+        if (result != null) {
+            this.stats.permissionHits.incrementAndGet();
+            return result;
+        }
+
+        this.stats.permissionMisses.incrementAndGet();
+        result = hasPermissionTristate(subject, contexts, permission, this.useRole);
+        decisions.tristates.put(permission, result);
+        return result;
+    }
+
+    /**
+     * Gets the decisions that have been made for the subject in the given
+     * contexts. Only subjects with a {@link UUID} have decisions cached.
+     *
+     * <p>Decisions are kept for each set of contexts the subject has been
+     * in, so contexts that are set for the duration of a command, or a move
+     * between worlds, do not mean they are thrown away.</p>
+     *
+     * @param subject The subject
+     * @param contexts The subject's active contexts
+     * @return The {@link Decisions}, or null if they are not cached for this subject
+     */
+    @Nullable
+    private Decisions getDecisions(Subject subject, Set<Context> contexts) {
+        if (!(subject instanceof Identifiable)) {
+            return null;
+        }
+
+        return this.decisions.get(((Identifiable) subject).getUniqueId(), uuid -> new SubjectDecisions()).get(contexts);
+    }
+
+    @Override public <T> T getDerived(Subject subject, Object key, Function<Subject, T> compute) {
+        Decisions decisions = getDecisions(subject, subject.getActiveContexts());
+        if (decisions == null) {
+            return compute.apply(subject);
+        }
+
+        @SuppressWarnings("unchecked")
+        T result = (T) decisions.derived.get(key);
+        if (result == null) {
+            result = compute.apply(subject);
+            decisions.derived.put(key, result);
+        }
+
+        return result;
+    }
+
+    @Override public IPermissionService.CacheStats getCacheStats() {
+        return this.stats;
     }
 
     @Override public boolean hasPermissionWithConsoleOverride(Subject subject, String permission, boolean permissionIfConsoleAndOverridden) {
@@ -139,6 +225,7 @@ public class NucleusPermissionService implements IPermissionService, IReloadable
         CoreConfig coreConfig = serviceCollection.moduleDataProvider().getModuleConfig(CoreConfig.class);
         this.useRole = coreConfig.isUseParentPerms();
         this.consoleOverride = coreConfig.isConsoleOverride();
+        this.decisions.invalidateAll();
     }
 
     @Override public void registerDescriptions() {
@@ -159,9 +246,23 @@ public class NucleusPermissionService implements IPermissionService, IReloadable
     }
 
     @Override public void register(String permission, PermissionMetadata metadata, String moduleid) {
-        NucleusPermissionService.Metadata m = new NucleusPermissionService.Metadata(permission, metadata, moduleid);
-        if (metadata.isPrefix()) {
+        register(new NucleusPermissionService.Metadata(permission, metadata, moduleid));
+    }
+
+    @Override public void register(String permission,
+            String descriptionKey,
+            String[] replacements,
+            SuggestedLevel level,
+            boolean isPrefix,
+            String moduleid) {
+        register(new NucleusPermissionService.Metadata(descriptionKey, replacements, permission, level, isPrefix, moduleid));
+    }
+
+    private void register(NucleusPermissionService.Metadata m) {
+        String permission = m.getPermission();
+        if (m.isPrefix()) {
             this.prefixMetadataMap.put(permission.toLowerCase(), m);
+            this.prefixTrie.put(permission.toLowerCase(), m);
         } else {
             this.metadataMap.put(permission.toLowerCase(), m);
         }
@@ -220,17 +321,26 @@ public class NucleusPermissionService implements IPermissionService, IReloadable
     }
 
     @Override public Optional<String> getOptionFromSubject(Subject player, String... options) {
+        Set<Context> contexts = player.getActiveContexts();
+        Decisions decisions = getDecisions(player, contexts);
         for (String option : options) {
             String o = option.toLowerCase();
 
-            // Option for context.
-            Optional<String> os = player.getOption(player.getActiveContexts(), o);
-            if (os.isPresent()) {
-                return os.map(r -> r.isEmpty() ? null : r);
+            // Subject#getOption(String) uses the active contexts too, so one lookup covers both.
+            Optional<String> os;
+            if (decisions == null) {
+                os = player.getOption(contexts, o);
+            } else {
+                os = decisions.options.get(o);
+                if (os == null) {
+                    this.stats.optionMisses.incrementAndGet();
+                    os = player.getOption(contexts, o);
+                    decisions.options.put(o, os);
+                } else {
+                    this.stats.optionHits.incrementAndGet();
+                }
             }
 
-            // General option
-            os = player.getOption(o);
             if (os.isPresent()) {
                 return os.map(r -> r.isEmpty() ? null : r);
             }
@@ -247,37 +357,31 @@ public class NucleusPermissionService implements IPermissionService, IReloadable
         return ImmutableList.copyOf(this.metadataMap.values());
     }
 
-    private boolean hasPermission(Subject subject, String permission, boolean checkRole) {
-        Tristate tristate = hasPermissionTristate(subject, permission, checkRole);
+    private boolean hasPermission(Subject subject, Set<Context> contexts, String permission, boolean checkRole) {
+        Tristate tristate = hasPermissionTristate(subject, contexts, permission, checkRole);
         if (tristate == Tristate.UNDEFINED) {
-            return subject.hasPermission(permission); // guarantees the correct response.
+            return subject.hasPermission(contexts, permission); // guarantees the correct response.
         }
 
         return tristate.asBoolean();
     }
 
-    private Tristate hasPermissionTristate(Subject subject, String permission, boolean checkRole) {
+    private Tristate hasPermissionTristate(Subject subject, Set<Context> contexts, String permission, boolean checkRole) {
         if (checkRole && permission.startsWith("nucleus.")) {
-            Tristate tristate = subject.getPermissionValue(subject.getActiveContexts(), permission);
+            Tristate tristate = subject.getPermissionValue(contexts, permission);
             if (tristate == Tristate.UNDEFINED) {
                 @Nullable IPermissionService.Metadata result = this.metadataMap.get(permission);
+                if (result == null) {
+                    result = this.prefixTrie.getLongestPrefix(permission);
+                }
+
                 if (result != null) { // check the "parent" perm
                     String perm = result.getSuggestedLevel().getPermission();
                     if (perm == null) {
-                        return subject.getPermissionValue(subject.getActiveContexts(), permission);
+                        // This is the permission we just checked.
+                        return tristate;
                     } else {
-                        return subject.getPermissionValue(subject.getActiveContexts(), perm);
-                    }
-                }
-
-                for (Map.Entry<String, IPermissionService.Metadata> entry : this.prefixMetadataMap.entrySet()) {
-                    if (permission.startsWith(entry.getKey())) {
-                        String perm = entry.getValue().getSuggestedLevel().getPermission();
-                        if (perm == null) {
-                            return subject.getPermissionValue(subject.getActiveContexts(), permission);
-                        } else {
-                            return subject.getPermissionValue(subject.getActiveContexts(), perm);
-                        }
+                        return subject.getPermissionValue(contexts, perm);
                     }
                 }
 
@@ -329,17 +433,23 @@ public class NucleusPermissionService implements IPermissionService, IReloadable
 
     private void setContext(UUID uuid, Context context) {
         this.standardContexts.computeIfAbsent(uuid, k -> new HashMap<>()).put(context.getKey().toLowerCase(), context);
+        this.decisions.invalidate(uuid);
     }
 
     @Override
     public NoExceptionAutoClosable setContextTemporarily(Subject subject, Context context) {
+        // Decisions are cached for each set of active contexts, so these do not need to be thrown away.
         if (subject instanceof Identifiable) {
             UUID uuid = ((Identifiable) subject).getUniqueId();
             Context old = this.standardContexts.computeIfAbsent(uuid, k -> new HashMap<>()).put(context.getKey().toLowerCase(), context);
             return () -> {
-                removeContext(uuid, context.getKey().toLowerCase());
-                if (old != null) {
-                    setContext(uuid, context);
+                Map<String, Context> contexts = this.standardContexts.get(uuid);
+                if (contexts != null) {
+                    if (old != null) {
+                        contexts.put(context.getKey().toLowerCase(), old);
+                    } else {
+                        contexts.remove(context.getKey().toLowerCase());
+                    }
                 }
             };
         }
@@ -352,11 +462,14 @@ public class NucleusPermissionService implements IPermissionService, IReloadable
         if (contexts != null && !contexts.isEmpty()) {
             contexts.remove(key.toLowerCase());
         }
+
+        this.decisions.invalidate(subject);
     }
 
     @Override
     public void removePlayerContexts(UUID uuid) {
         this.standardContexts.remove(uuid);
+        this.decisions.invalidate(uuid);
     }
 
     @Override
@@ -389,6 +502,64 @@ public class NucleusPermissionService implements IPermissionService, IReloadable
         return 1;
     }
 
+    /**
+     * The decisions cached for a subject, for each set of contexts it has
+     * been in.
+     */
+    private static final class SubjectDecisions {
+
+        // A subject is rarely in more than a handful of context sets between expiries, this just stops them piling up.
+        private static final int MAX_CONTEXT_SETS = 8;
+
+        private final Map<Set<Context>, Decisions> byContexts = new ConcurrentHashMap<>();
+
+        private Decisions get(Set<Context> contexts) {
+            Decisions decisions = this.byContexts.get(contexts);
+            if (decisions == null) {
+                if (this.byContexts.size() >= MAX_CONTEXT_SETS) {
+                    this.byContexts.clear();
+                }
+
+                decisions = this.byContexts.computeIfAbsent(ImmutableSet.copyOf(contexts), k -> new Decisions());
+            }
+
+            return decisions;
+        }
+    }
+
+    private static final class Decisions {
+
+        private final Map<String, Boolean> permissions = new ConcurrentHashMap<>();
+        private final Map<String, Tristate> tristates = new ConcurrentHashMap<>();
+        private final Map<String, Optional<String>> options = new ConcurrentHashMap<>();
+        private final Map<Object, Object> derived = new ConcurrentHashMap<>();
+
+    }
+
+    private static final class Stats implements IPermissionService.CacheStats {
+
+        private final AtomicLong permissionHits = new AtomicLong();
+        private final AtomicLong permissionMisses = new AtomicLong();
+        private final AtomicLong optionHits = new AtomicLong();
+        private final AtomicLong optionMisses = new AtomicLong();
+
+        @Override public long getPermissionHits() {
+            return this.permissionHits.get();
+        }
+
+        @Override public long getPermissionMisses() {
+            return this.permissionMisses.get();
+        }
+
+        @Override public long getOptionHits() {
+            return this.optionHits.get();
+        }
+
+        @Override public long getOptionMisses() {
+            return this.optionMisses.get();
+        }
+    }
+
     public static class Metadata implements IPermissionService.Metadata {
 
         private final String description;
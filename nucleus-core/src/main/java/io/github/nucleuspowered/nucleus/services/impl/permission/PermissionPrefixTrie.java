@@ -0,0 +1,63 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.services.impl.permission;
+
+import io.github.nucleuspowered.nucleus.services.interfaces.IPermissionService;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * Holds the permissions that were registered as prefixes, so that the
+ * registered prefix of a permission can be found by walking the permission
+ * once, rather than testing it against every prefix.
+ */
+final class PermissionPrefixTrie {
+
+    private final Node root = new Node();
+
+    void put(String prefix, IPermissionService.Metadata metadata) {
+        Node node = this.root;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = node.children.computeIfAbsent(prefix.charAt(i), c -> new Node());
+        }
+
+        node.metadata = metadata;
+    }
+
+    /**
+     * Gets the metadata for the longest registered prefix that the
+     * permission starts with.
+     *
+     * @param permission The permission
+     * @return The metadata, or null if no prefix matches
+     */
+    @Nullable
+    IPermissionService.Metadata getLongestPrefix(String permission) {
+        IPermissionService.Metadata result = null;
+        Node node = this.root;
+        for (int i = 0; i < permission.length(); i++) {
+            node = node.children.get(permission.charAt(i));
+            if (node == null) {
+                break;
+            }
+
+            if (node.metadata != null) {
+                result = node.metadata;
+            }
+        }
+
+        return result;
+    }
+
+    private static final class Node {
+
+        private final Map<Character, Node> children = new HashMap<>();
+        @Nullable private IPermissionService.Metadata metadata;
+
+    }
+}
@@ -86,7 +86,7 @@ public class NucleusPlaceholder implements Placeholder.Standard {
     @NonNull
     @Override
     public Text toText() {
-        Text result = this.metadata.getParser().parse(this);
+        Text result = this.metadata.parse(this);
         if (!result.isEmpty()) {
             return Text.of(this.prepend, result, this.append);
         }
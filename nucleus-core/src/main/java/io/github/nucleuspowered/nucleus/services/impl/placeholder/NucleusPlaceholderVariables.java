@@ -25,4 +25,8 @@ public class NucleusPlaceholderVariables implements PlaceholderVariables {
     ImmutableMap<Key<?>, Object> getMap() {
         return this.map;
     }
+
+    static boolean isEmpty(PlaceholderVariables variables) {
+        return variables instanceof NucleusPlaceholderVariables && ((NucleusPlaceholderVariables) variables).map.isEmpty();
+    }
 }
@@ -4,18 +4,56 @@
  */
 package io.github.nucleuspowered.nucleus.services.impl.placeholder;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.nucleuspowered.nucleus.api.placeholder.PlaceholderCachePolicy;
 import io.github.nucleuspowered.nucleus.api.placeholder.PlaceholderParser;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.text.Text;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
 
 public class PlaceholderMetadata {
+
+    private static final int MAX_CACHED = 1000;
+
     private final String token;
     private final PluginContainer pluginContainer;
     private final PlaceholderParser parser;
+    private final PlaceholderCachePolicy cachePolicy;
+    @Nullable private final Cache<CacheKey, CachedText> cache;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
 
-    PlaceholderMetadata(String token, PluginContainer pluginContainer, PlaceholderParser parser) {
+    PlaceholderMetadata(String token, PluginContainer pluginContainer, PlaceholderParser parser, PlaceholderCachePolicy cachePolicy) {
         this.token = token;
         this.pluginContainer = pluginContainer;
         this.parser = parser;
+        this.cachePolicy = cachePolicy;
+        this.cache = createCache(cachePolicy);
+    }
+
+    @Nullable
+    private static Cache<CacheKey, CachedText> createCache(PlaceholderCachePolicy cachePolicy) {
+        switch (cachePolicy.getType()) {
+            case PER_TICK:
+                // Entries are checked against the current tick, this just stops old ones piling up.
+                return Caffeine.newBuilder().maximumSize(MAX_CACHED).expireAfterWrite(1, TimeUnit.SECONDS).build();
+            case TTL:
+                return Caffeine.newBuilder().maximumSize(MAX_CACHED)
+                        .expireAfterWrite(cachePolicy.getDuration().get().toNanos(), TimeUnit.NANOSECONDS).build();
+            case UNTIL_INVALIDATED:
+                return Caffeine.newBuilder().maximumSize(MAX_CACHED).build();
+            default:
+                return null;
+        }
     }
 
     public String getToken() {
@@ -29,4 +67,97 @@ public class PlaceholderMetadata {
     public PlaceholderParser getParser() {
         return this.parser;
     }
+
+    public PlaceholderCachePolicy getCachePolicy() {
+        return this.cachePolicy;
+    }
+
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    /**
+     * Parses the placeholder, reusing an earlier result if the cache policy
+     * allows it.
+     *
+     * @param placeholder The placeholder
+     * @return The {@link Text}
+     */
+    Text parse(NucleusPlaceholder placeholder) {
+        if (this.cache == null || !NucleusPlaceholderVariables.isEmpty(placeholder.getVariables())) {
+            return this.parser.parse(placeholder);
+        }
+
+        CacheKey key = new CacheKey(
+                placeholder.getAssociatedSource().map(CommandSource::getIdentifier).orElse(""),
+                placeholder.argument().orElse(null));
+        int tick = this.cachePolicy.getType() == PlaceholderCachePolicy.Type.PER_TICK ? Sponge.getServer().getRunningTimeTicks() : 0;
+        CachedText cached = this.cache.getIfPresent(key);
+        if (cached != null && cached.tick == tick) {
+            this.hits.incrementAndGet();
+            return cached.text;
+        }
+
+        this.misses.incrementAndGet();
+        Text text = this.parser.parse(placeholder);
+        this.cache.put(key, new CachedText(text, tick));
+        return text;
+    }
+
+    void invalidate() {
+        if (this.cache != null) {
+            this.cache.invalidateAll();
+        }
+    }
+
+    void invalidate(String identifier) {
+        if (this.cache != null) {
+            this.cache.asMap().keySet().removeIf(x -> x.source.equals(identifier));
+        }
+    }
+
+    private static final class CacheKey {
+
+        private final String source;
+        @Nullable private final String argument;
+
+        private CacheKey(String source, @Nullable String argument) {
+            this.source = source;
+            this.argument = argument;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            CacheKey cacheKey = (CacheKey) o;
+            return this.source.equals(cacheKey.source) && Objects.equals(this.argument, cacheKey.argument);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.source, this.argument);
+        }
+    }
+
+    private static final class CachedText {
+
+        private final Text text;
+        private final int tick;
+
+        private CachedText(Text text, int tick) {
+            this.text = text;
+            this.tick = tick;
+        }
+    }
 }
@@ -4,8 +4,12 @@
  */
 package io.github.nucleuspowered.nucleus.services.impl.placeholder;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.ImmutableSet;
 import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.api.placeholder.Placeholder;
+import io.github.nucleuspowered.nucleus.api.placeholder.PlaceholderCachePolicy;
 import io.github.nucleuspowered.nucleus.api.placeholder.PlaceholderParser;
 import io.github.nucleuspowered.nucleus.api.placeholder.PlaceholderVariables;
 import io.github.nucleuspowered.nucleus.modules.core.services.UniqueUserService;
@@ -27,11 +31,15 @@ import org.spongepowered.api.text.serializer.TextSerializers;
 import org.spongepowered.api.world.Locatable;
 import org.spongepowered.api.world.World;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -44,7 +52,18 @@ public class PlaceholderService implements IPlaceholderService, IInitService {
 
     private static final Pattern SUFFIX_PATTERN = Pattern.compile(":([sp]+)$", Pattern.CASE_INSENSITIVE);
     private static final Pattern SEPARATOR = Pattern.compile("[\\s|:_]]");
+
+    // Names are invalidated when a nickname changes, but prefixes, suffixes and display names
+    // set by other plugins have no change event, so these are only kept for a short time.
+    private static final PlaceholderCachePolicy PLAYER_POLICY = PlaceholderCachePolicy.ttl(Duration.ofSeconds(5));
+    private static final Set<String> NAME_TOKENS =
+            ImmutableSet.of("name", "playername", "subject", "player", "playerdisplayname", "displayname");
+
     private final Map<String, PlaceholderMetadata> parsers = new HashMap<>();
+    private final List<InvalidationListener> invalidationListeners = new CopyOnWriteArrayList<>();
+
+    // Token strings come from a small set of templates, so they are only split up once.
+    private final Cache<String, ParsedToken> parsedTokens = Caffeine.newBuilder().maximumSize(1000).build();
     private final PluginContainer pluginContainer;
 
     @Inject
@@ -59,36 +78,39 @@ public class PlaceholderService implements IPlaceholderService, IInitService {
         NamePlaceholder normalName = new NamePlaceholder(
                 serviceCollection.playerDisplayNameService(),
                 IPlayerDisplayNameService::addCommandToName);
-        registerToken(pluginContainer, "name", normalName);
-        registerToken(pluginContainer, "playername", normalName);
+        registerToken(pluginContainer, "name", normalName, PLAYER_POLICY);
+        registerToken(pluginContainer, "playername", normalName, PLAYER_POLICY);
         registerToken(pluginContainer, "subject", new NamePlaceholder(
                 serviceCollection.playerDisplayNameService(),
                 IPlayerDisplayNameService::addCommandToName,
-                true));
+                true), PLAYER_POLICY);
 
         NamePlaceholder displayName = new NamePlaceholder(
                 serviceCollection.playerDisplayNameService(),
                 IPlayerDisplayNameService::addCommandToName);
-        registerToken(pluginContainer, "player", displayName);
-        registerToken(pluginContainer, "playerdisplayname", displayName);
-        registerToken(pluginContainer, "displayname", displayName);
+        registerToken(pluginContainer, "player", displayName, PLAYER_POLICY);
+        registerToken(pluginContainer, "playerdisplayname", displayName, PLAYER_POLICY);
+        registerToken(pluginContainer, "displayname", displayName, PLAYER_POLICY);
 
         IPermissionService permissionService = serviceCollection.permissionService();
-        registerToken(pluginContainer, "prefix", new OptionAliasPlaceholder(permissionService, "prefix"));
-        registerToken(pluginContainer, "suffix", new OptionAliasPlaceholder(permissionService, "suffix"));
+        registerToken(pluginContainer, "prefix", new OptionAliasPlaceholder(permissionService, "prefix"), PLAYER_POLICY);
+        registerToken(pluginContainer, "suffix", new OptionAliasPlaceholder(permissionService, "suffix"), PLAYER_POLICY);
 
-        registerToken(pluginContainer, "maxplayers", p -> Text.of(Sponge.getServer().getMaxPlayers()));
-        registerToken(pluginContainer, "onlineplayers", p -> Text.of(Sponge.getServer().getOnlinePlayers().size()));
-        registerToken(pluginContainer, "currentworld", placeholder -> Text.of(getWorld(placeholder)));
+        registerToken(pluginContainer, "maxplayers", p -> Text.of(Sponge.getServer().getMaxPlayers()), PlaceholderCachePolicy.perTick());
+        registerToken(pluginContainer, "onlineplayers", p -> Text.of(Sponge.getServer().getOnlinePlayers().size()), PlaceholderCachePolicy.perTick());
+        registerToken(pluginContainer, "currentworld", placeholder -> Text.of(getWorld(placeholder)), PlaceholderCachePolicy.perTick());
         registerToken(pluginContainer, "time", placeholder ->
-                Text.of(Util.getTimeFromTicks(serviceCollection.messageProvider(), getWorld(placeholder).getProperties().getWorldTime())));
+                Text.of(Util.getTimeFromTicks(serviceCollection.messageProvider(), getWorld(placeholder).getProperties().getWorldTime())),
+                PlaceholderCachePolicy.perTick());
 
         registerToken(pluginContainer, "uniquevisitor",
-                placeholder -> Text.of(serviceCollection.getServiceUnchecked(UniqueUserService.class).getUniqueUserCount()));
+                placeholder -> Text.of(serviceCollection.getServiceUnchecked(UniqueUserService.class).getUniqueUserCount()),
+                PlaceholderCachePolicy.perTick());
         registerToken(pluginContainer, "ipaddress",
                 placeholder -> placeholder.getAssociatedSource().filter(x -> x instanceof RemoteSource)
                         .map(x -> Text.of(((RemoteSource) x).getConnection().getAddress().getAddress().toString()))
-                        .orElse(Text.of("localhost")));
+                        .orElse(Text.of("localhost")),
+                PlaceholderCachePolicy.ttl(Duration.ofMinutes(1)));
 
         // register the builders.
         Sponge.getRegistry().registerBuilderSupplier(Placeholder.StandardBuilder.class, () -> new NucleusPlaceholderStandardBuilder(this));
@@ -99,66 +121,75 @@ public class PlaceholderService implements IPlaceholderService, IInitService {
 
     @Override
     public TextRepresentable parse(@Nullable CommandSource commandSource, String input, PlaceholderVariables variables) {
-        String token = input.toLowerCase().trim().replace("{{", "").replace("}}", "");
-        Matcher m = SUFFIX_PATTERN.matcher(token);
-        Text appendSpace = Text.EMPTY;
-        Text prependSpace = Text.EMPTY;
-        if (m.find(0)) {
-            String match = m.group(1).toLowerCase();
-            if (match.contains("s")) {
-                appendSpace = Util.SPACE;
-            }
-            if (match.contains("p")) {
-                prependSpace = Util.SPACE;
-            }
-
-            token = token.replaceAll(SUFFIX_PATTERN.pattern(), "");
-        }
-
+        ParsedToken parsedToken = this.parsedTokens.get(input, ParsedToken::new);
         Placeholder.Builder<? extends Placeholder, ?> builder;
-        if (token.startsWith("o:")) {
+        if (parsedToken.option != null) {
             if (commandSource == null) {
                 return Text.EMPTY;
             }
             // option
             builder = new NucleusOptionPlaceholderBuilder()
-                    .setOptionKey(token.substring(2))
+                    .setOptionKey(parsedToken.option)
                     .setSubject(commandSource)
                     .setTextSerializer(TextSerializers.FORMATTING_CODE);
         } else {
-            String[] s = token.split("\\|", 2);
-            String tokenIn = s[0].toLowerCase();
-            Placeholder.StandardBuilder b = new NucleusPlaceholderStandardBuilder(this)
-                    .setToken(tokenIn)
+            builder = new NucleusPlaceholderStandardBuilder(this)
+                    .setToken(parsedToken.token)
                     .setAssociatedSource(commandSource)
-                    .setPlaceholderVariables(variables);
-            if (s.length == 2) {
-                b.setArgument(s[1]);
-            }
-
-            builder = b;
+                    .setPlaceholderVariables(variables)
+                    .setArgument(parsedToken.argument);
         }
 
         return builder
-                .setPrependingTextIfNotEmpty(prependSpace)
-                .setAppendingTextIfNotEmpty(appendSpace)
+                .setPrependingTextIfNotEmpty(parsedToken.prepend)
+                .setAppendingTextIfNotEmpty(parsedToken.append)
                 .build();
     }
 
     @Override
-    public void registerToken(PluginContainer pluginContainer, String tokenName, PlaceholderParser parser) {
+    public void registerToken(PluginContainer pluginContainer, String tokenName, PlaceholderParser parser, PlaceholderCachePolicy cachePolicy) {
         if (SEPARATOR.asPredicate().test(tokenName)) {
             // can't be registered.
             throw new IllegalArgumentException("Tokens must not contain |, :, _ or space characters.");
         }
         String token = tokenName.toLowerCase();
         if (!this.parsers.containsKey(token)) {
-            this.parsers.put(token, new PlaceholderMetadata(token, pluginContainer, parser));
+            this.parsers.put(token, new PlaceholderMetadata(token, pluginContainer, parser, cachePolicy));
         } else {
             throw new IllegalStateException("Token " + tokenName.toLowerCase() + " has already been registered.");
         }
     }
 
+    @Override
+    public void invalidate(String token) {
+        String lowerToken = token.toLowerCase();
+        PlaceholderMetadata placeholderMetadata = this.parsers.get(lowerToken);
+        if (placeholderMetadata != null) {
+            placeholderMetadata.invalidate();
+            this.invalidationListeners.forEach(x -> x.onInvalidate(lowerToken, null));
+        }
+    }
+
+    @Override
+    public void invalidate(String token, String identifier) {
+        String lowerToken = token.toLowerCase();
+        PlaceholderMetadata placeholderMetadata = this.parsers.get(lowerToken);
+        if (placeholderMetadata != null) {
+            placeholderMetadata.invalidate(identifier);
+            this.invalidationListeners.forEach(x -> x.onInvalidate(lowerToken, identifier));
+        }
+    }
+
+    @Override
+    public void invalidateNames(String identifier) {
+        NAME_TOKENS.forEach(x -> invalidate(x, identifier));
+    }
+
+    @Override
+    public void registerInvalidationListener(InvalidationListener listener) {
+        this.invalidationListeners.add(listener);
+    }
+
     @Override
     public Optional<PlaceholderParser> getParser(String token) {
         PlaceholderMetadata placeholderMetadata = this.parsers.get(SEPARATOR.split(token.toLowerCase(), 2)[0]);
@@ -201,8 +232,56 @@ public class PlaceholderService implements IPlaceholderService, IInitService {
         return world;
     }
 
+    @Override
+    public Collection<PlaceholderMetadata> getAllParsers() {
+        return this.parsers.values();
+    }
+
     @Override
     public Collection<PlaceholderMetadata> getNucleusParsers() {
         return this.parsers.values().stream().filter(x -> x.getPluginContainer().equals(this.pluginContainer)).collect(Collectors.toList());
     }
+
+    /**
+     * A token string, split into its parts.
+     */
+    private static final class ParsedToken {
+
+        @Nullable private final String option;
+        private final String token;
+        @Nullable private final String argument;
+        private final Text prepend;
+        private final Text append;
+
+        private ParsedToken(String input) {
+            String token = input.toLowerCase().trim().replace("{{", "").replace("}}", "");
+            Matcher m = SUFFIX_PATTERN.matcher(token);
+            Text appendSpace = Text.EMPTY;
+            Text prependSpace = Text.EMPTY;
+            if (m.find(0)) {
+                String match = m.group(1).toLowerCase();
+                if (match.contains("s")) {
+                    appendSpace = Util.SPACE;
+                }
+                if (match.contains("p")) {
+                    prependSpace = Util.SPACE;
+                }
+
+                token = token.substring(0, m.start());
+            }
+
+            this.prepend = prependSpace;
+            this.append = appendSpace;
+            if (token.startsWith("o:")) {
+                this.option = token.substring(2);
+                this.token = token;
+                this.argument = null;
+            } else {
+                String[] s = token.split("\\|", 2);
+                this.option = null;
+                this.token = s[0];
+                this.argument = s.length == 2 ? s[1] : null;
+            }
+        }
+    }
 }
@@ -11,6 +11,7 @@ import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
 import io.github.nucleuspowered.nucleus.services.interfaces.IMessageProviderService;
 import io.github.nucleuspowered.nucleus.services.interfaces.IPlayerDisplayNameService;
 import io.github.nucleuspowered.nucleus.services.interfaces.IReloadableService;
+import io.github.nucleuspowered.nucleus.util.PrefixIndex;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.data.key.Keys;
@@ -38,6 +39,7 @@ public class PlayerDisplayNameService implements IPlayerDisplayNameService, IRel
 
     private final LinkedHashSet<DisplayNameResolver> resolvers = new LinkedHashSet<>();
     private final LinkedHashSet<DisplayNameQuery> queries = new LinkedHashSet<>();
+    private final PrefixIndex<UUID> onlineNames = new PrefixIndex<>();
 
     private final IMessageProviderService messageProviderService;
 
@@ -75,21 +77,33 @@ public class PlayerDisplayNameService implements IPlayerDisplayNameService, IRel
         return Optional.empty();
     }
 
-    @Override public Map<UUID, List<String>> startsWith(String displayName) {
+    @Override public Map<UUID, List<String>> startsWith(String displayName, int limit) {
         Map<UUID, List<String>> uuids = new HashMap<>();
-        Sponge.getServer().getOnlinePlayers().stream()
-            .filter(x -> x.getName().toLowerCase().startsWith(displayName.toLowerCase()))
-            .forEach(x -> uuids.put(x.getUniqueId(), Lists.newArrayList(x.getName())));
+        this.onlineNames.startsWith(displayName, limit).forEach((uuid, name) -> uuids.put(uuid, Lists.newArrayList(name)));
 
         for (DisplayNameQuery query : this.queries) {
-            query.startsWith(displayName).forEach(
-                    (uuid, name) -> uuids.computeIfAbsent(uuid, x -> new ArrayList<>()).add(name)
-            );
+            query.startsWith(displayName, limit).forEach((uuid, name) -> {
+                if (uuids.containsKey(uuid) || uuids.size() < limit) {
+                    uuids.computeIfAbsent(uuid, x -> new ArrayList<>()).add(name);
+                }
+            });
         }
 
         return uuids;
     }
 
+    @Override public Map<UUID, String> onlineNamesStartingWith(String name, int limit) {
+        return this.onlineNames.startsWith(name, limit);
+    }
+
+    @Override public void addOnlineName(UUID uuid, String name) {
+        this.onlineNames.put(uuid, name);
+    }
+
+    @Override public void removeOnlineName(UUID uuid) {
+        this.onlineNames.remove(uuid);
+    }
+
     @Override
     public Optional<User> getUser(Text displayName) {
         return getUser(displayName.toPlain());
@@ -0,0 +1,121 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.services.impl.profiling;
+
+import io.github.nucleuspowered.nucleus.services.interfaces.IProfilingService;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how long something takes, without locking.
+ *
+ * <p>Times are put into buckets in the same way as an HDR histogram: each
+ * power of two is split into {@link #SUB_BUCKETS} buckets of equal width, so
+ * every bucket is within about 6% of the times it holds. Times longer than
+ * about a minute all go in the last bucket, though the maximum is still
+ * recorded exactly.</p>
+ */
+public final class LatencyHistogram implements IProfilingService.Entry {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 36;
+    private static final int BUCKETS = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final String category;
+    private final String key;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    public LatencyHistogram(String category, String key) {
+        this.category = category;
+        this.key = key;
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        this.count.increment();
+        this.totalNanos.add(value);
+        this.buckets.incrementAndGet(bucketFor(value));
+        if (value > this.maxNanos.get()) {
+            this.maxNanos.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    private static int bucketFor(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    // The largest time that would be put in the bucket.
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+
+        int exponent = (bucket - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+        int subBucket = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (1L << exponent) + (subBucket + 1) * width - 1;
+    }
+
+    @Override public String getCategory() {
+        return this.category;
+    }
+
+    @Override public String getKey() {
+        return this.key;
+    }
+
+    @Override public long getCount() {
+        return this.count.sum();
+    }
+
+    @Override public long getTotalNanos() {
+        return this.totalNanos.sum();
+    }
+
+    @Override public long getMaxNanos() {
+        return this.maxNanos.get();
+    }
+
+    @Override public long getPercentileNanos(double percentile) {
+        long total = 0;
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = this.buckets.get(i);
+            total += counts[i];
+        }
+
+        if (total == 0) {
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(total * Math.min(100, Math.max(0, percentile)) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                // The last bucket also holds every time that is too long for the others.
+                return i == BUCKETS - 1 ? getMaxNanos() : Math.min(upperBoundOf(i), getMaxNanos());
+            }
+        }
+
+        return getMaxNanos();
+    }
+}
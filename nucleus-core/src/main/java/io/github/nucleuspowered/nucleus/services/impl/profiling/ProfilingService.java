@@ -0,0 +1,165 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.services.impl.profiling;
+
+import io.github.nucleuspowered.nucleus.api.util.NoExceptionAutoClosable;
+import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfig;
+import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
+import io.github.nucleuspowered.nucleus.services.interfaces.IProfilingService;
+import io.github.nucleuspowered.nucleus.services.interfaces.IReloadableService;
+import org.spongepowered.api.scheduler.Task;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+@Singleton
+public class ProfilingService implements IProfilingService, IReloadableService.Reloadable {
+
+    private static final DateTimeFormatter FILE_NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final INucleusServiceCollection serviceCollection;
+
+    // Category, then key, so that no strings need to be built to record a time.
+    private final Map<String, Map<String, LatencyHistogram>> histograms = new ConcurrentHashMap<>();
+
+    private volatile boolean running = false;
+    private long exportIntervalMinutes = 5;
+    @Nullable private Task exportTask;
+    @Nullable private Path exportFile;
+
+    @Inject
+    public ProfilingService(INucleusServiceCollection serviceCollection, IReloadableService reloadableService) {
+        this.serviceCollection = serviceCollection;
+        reloadableService.registerReloadable(this);
+    }
+
+    @Override public boolean isRunning() {
+        return this.running;
+    }
+
+    @Override public synchronized boolean start() {
+        if (this.running) {
+            return false;
+        }
+
+        this.histograms.clear();
+        this.exportFile = null;
+        this.running = true;
+        scheduleExport();
+        return true;
+    }
+
+    @Override public synchronized boolean stop() {
+        if (!this.running) {
+            return false;
+        }
+
+        this.running = false;
+        cancelExport();
+        return true;
+    }
+
+    @Override public void reset() {
+        this.histograms.clear();
+    }
+
+    @Override public NoExceptionAutoClosable time(String category, String key) {
+        if (!this.running) {
+            return NoExceptionAutoClosable.EMPTY;
+        }
+
+        final long start = System.nanoTime();
+        return () -> this.histograms.computeIfAbsent(category, c -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key, k -> new LatencyHistogram(category, k))
+                .record(System.nanoTime() - start);
+    }
+
+    @Override public List<IProfilingService.Entry> getEntries() {
+        List<IProfilingService.Entry> entries = new ArrayList<>();
+        this.histograms.values().forEach(x -> entries.addAll(x.values()));
+        entries.sort(Comparator.comparingLong(IProfilingService.Entry::getTotalNanos).reversed());
+        return entries;
+    }
+
+    @Override public synchronized Path export() throws IOException {
+        // Each profiling run is written to one file, which is replaced on each export.
+        if (this.exportFile == null) {
+            this.exportFile = this.serviceCollection.dataDir().get()
+                    .resolve("profiles")
+                    .resolve("profile-" + LocalDateTime.now().format(FILE_NAME_FORMAT) + ".txt");
+        }
+
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("%-14s %-48s %10s %12s %10s %10s %10s %10s",
+                "category", "key", "count", "total ms", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        for (IProfilingService.Entry entry : getEntries()) {
+            lines.add(String.format("%-14s %-48s %10d %12.2f %10.3f %10.3f %10.3f %10.3f",
+                    entry.getCategory(),
+                    entry.getKey(),
+                    entry.getCount(),
+                    toMillis(entry.getTotalNanos()),
+                    toMillis(entry.getPercentileNanos(50)),
+                    toMillis(entry.getPercentileNanos(90)),
+                    toMillis(entry.getPercentileNanos(99)),
+                    toMillis(entry.getMaxNanos())));
+        }
+
+        Files.createDirectories(this.exportFile.getParent());
+        Files.write(this.exportFile, lines, StandardCharsets.UTF_8);
+        return this.exportFile;
+    }
+
+    @Override public synchronized void onReload(INucleusServiceCollection serviceCollection) {
+        this.exportIntervalMinutes = serviceCollection.moduleDataProvider().getModuleConfig(CoreConfig.class).getProfileExportIntervalMinutes();
+        if (this.running) {
+            cancelExport();
+            scheduleExport();
+        }
+    }
+
+    public static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private void scheduleExport() {
+        if (this.exportIntervalMinutes > 0) {
+            this.exportTask = Task.builder()
+                    .async()
+                    .delay(this.exportIntervalMinutes, TimeUnit.MINUTES)
+                    .interval(this.exportIntervalMinutes, TimeUnit.MINUTES)
+                    .execute(this::exportQuietly)
+                    .submit(this.serviceCollection.pluginContainer());
+        }
+    }
+
+    private void cancelExport() {
+        if (this.exportTask != null) {
+            this.exportTask.cancel();
+            this.exportTask = null;
+        }
+    }
+
+    private void exportQuietly() {
+        try {
+            export();
+        } catch (IOException e) {
+            this.serviceCollection.logger().warn("Could not write the profiling results", e);
+        }
+    }
+}
@@ -6,6 +6,8 @@ package io.github.nucleuspowered.nucleus.services.impl.storage;
 
 import com.google.gson.JsonObject;
 import io.github.nucleuspowered.nucleus.guice.DataDirectory;
+import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfig;
+import io.github.nucleuspowered.nucleus.modules.core.config.DataSaveConfig;
 import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
 import io.github.nucleuspowered.nucleus.services.impl.storage.dataaccess.IConfigurateBackedDataTranslator;
 import io.github.nucleuspowered.nucleus.services.impl.storage.dataobjects.modular.GeneralDataObject;
@@ -17,6 +19,9 @@ import io.github.nucleuspowered.nucleus.services.impl.storage.dataobjects.modula
 import io.github.nucleuspowered.nucleus.services.impl.storage.dataobjects.standard.IKitDataObject;
 import io.github.nucleuspowered.nucleus.services.impl.storage.dataobjects.standard.KitDataObject;
 import io.github.nucleuspowered.nucleus.services.impl.storage.persistence.FlatFileStorageRepositoryFactory;
+import io.github.nucleuspowered.nucleus.services.impl.storage.persistence.FlatFileToH2Migrator;
+import io.github.nucleuspowered.nucleus.services.impl.storage.persistence.H2StorageRepositoryFactory;
+import io.github.nucleuspowered.nucleus.services.impl.storage.persistence.IndexedUserStorageRepository;
 import io.github.nucleuspowered.nucleus.services.impl.storage.queryobjects.IUserQueryObject;
 import io.github.nucleuspowered.nucleus.services.impl.storage.queryobjects.IWorldQueryObject;
 import io.github.nucleuspowered.nucleus.services.impl.storage.registry.IStorageRepositoryFactoryRegistryModule;
@@ -28,6 +33,7 @@ import io.github.nucleuspowered.nucleus.services.interfaces.IReloadableService;
 import io.github.nucleuspowered.nucleus.services.interfaces.IStorageManager;
 import io.github.nucleuspowered.storage.dataaccess.IDataTranslator;
 import io.github.nucleuspowered.storage.persistence.IStorageRepository;
+import io.github.nucleuspowered.storage.persistence.IStorageRepositoryFactory;
 import io.github.nucleuspowered.storage.services.IStorageService;
 import ninja.leaping.configurate.ConfigurationNode;
 import ninja.leaping.configurate.ConfigurationOptions;
@@ -36,6 +42,7 @@ import org.slf4j.Logger;
 import org.spongepowered.api.plugin.PluginContainer;
 
 import java.nio.file.Path;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
@@ -47,7 +54,10 @@ import javax.inject.Singleton;
 @Singleton
 public final class StorageManager implements IStorageManager, IReloadableService.Reloadable {
 
+    private final Supplier<Path> dataDirectory;
     private final FlatFileStorageRepositoryFactory flatFileStorageRepositoryFactory;
+    private final H2StorageRepositoryFactory h2StorageRepositoryFactory;
+    private final Logger logger;
     private final IConfigurateHelper configurateHelper;
     private final IStorageService.SingleCached<IGeneralDataObject> generalService;
     private final UserService userService;
@@ -59,8 +69,11 @@ public final class StorageManager implements IStorageManager, IReloadableService
             Logger logger,
             IConfigurateHelper configurateHelper,
             PluginContainer pluginContainer) {
+        this.dataDirectory = dataDirectory;
         this.flatFileStorageRepositoryFactory = new FlatFileStorageRepositoryFactory(dataDirectory, logger);
-        new IStorageRepositoryFactoryRegistryModule(this.flatFileStorageRepositoryFactory);
+        this.h2StorageRepositoryFactory = new H2StorageRepositoryFactory(dataDirectory, logger, pluginContainer);
+        new IStorageRepositoryFactoryRegistryModule(this.flatFileStorageRepositoryFactory, this.h2StorageRepositoryFactory);
+        this.logger = logger;
         this.configurateHelper = configurateHelper;
         this.userService = new UserService(this, pluginContainer);
         this.worldService = new WorldService(this, pluginContainer);
@@ -77,6 +90,10 @@ public final class StorageManager implements IStorageManager, IReloadableService
     @Nullable
     private IStorageRepository.Keyed<UUID, IUserQueryObject, JsonObject> userRepository;
 
+    // What the user repository was created from, so that its index is only rebuilt when they change.
+    @Nullable private IStorageRepositoryFactory<JsonObject> userRepositoryFactory;
+    @Nullable private Path userRepositoryLocation;
+
     @Nullable
     private IStorageRepository.Keyed<UUID, IWorldQueryObject, JsonObject> worldRepository;
 
@@ -171,7 +188,9 @@ public final class StorageManager implements IStorageManager, IReloadableService
     public IStorageRepository.Keyed<UUID, IUserQueryObject, JsonObject> getUserRepository() {
         if (this.userRepository == null) {
             // fallback to flat file
-            this.userRepository = this.flatFileStorageRepositoryFactory.userRepository();
+            this.userRepository = new IndexedUserStorageRepository(this.flatFileStorageRepositoryFactory.userRepository(), this.logger);
+            this.userRepositoryFactory = this.flatFileStorageRepositoryFactory;
+            this.userRepositoryLocation = this.dataDirectory.get();
         }
         return this.userRepository;
     }
@@ -219,32 +238,66 @@ public final class StorageManager implements IStorageManager, IReloadableService
         return CompletableFuture.allOf(a, b, c, d);
     }
 
+    @Override
+    public boolean isUsingFlatFiles() {
+        return this.userRepositoryFactory == null || this.userRepositoryFactory == this.flatFileStorageRepositoryFactory;
+    }
+
+    @Override
+    public int migrateFlatFileToH2() throws Exception {
+        return new FlatFileToH2Migrator(this.flatFileStorageRepositoryFactory, this.h2StorageRepositoryFactory).migrate();
+    }
+
     @Override
     public void onReload(INucleusServiceCollection serviceCollection) {
-        // TODO: Data registry
+        IStorageRepositoryFactory<JsonObject> factory = selectFactory(serviceCollection);
         if (this.generalRepository != null) {
             this.generalRepository.shutdown();
         }
 
-        this.generalRepository = null; // TODO: config
+        this.generalRepository = factory.generalRepository();
 
         if (this.worldRepository != null) {
             this.worldRepository.shutdown();
         }
 
-        this.worldRepository = null; // TODO: config
+        this.worldRepository = factory.worldRepository();
 
-        if (this.userRepository != null) {
-            this.userRepository.shutdown();
-        }
+        // Creating the user repository means indexing every user again, so keep it if it would be the same.
+        Path location = this.dataDirectory.get();
+        if (this.userRepository == null || factory != this.userRepositoryFactory || !location.equals(this.userRepositoryLocation)) {
+            if (this.userRepository != null) {
+                this.userRepository.shutdown();
+            }
 
-        this.userRepository = null; // TODO: config
+            this.userRepository = new IndexedUserStorageRepository(factory.userRepository(), this.logger);
+            this.userRepositoryFactory = factory;
+            this.userRepositoryLocation = location;
+        }
 
         if (this.kitsRepository != null) {
             this.kitsRepository.shutdown();
         }
 
-        this.kitsRepository = null; // TODO: config
+        this.kitsRepository = factory.kitsRepository();
+
+        DataSaveConfig dataSaveConfig = serviceCollection.moduleDataProvider().getModuleConfig(CoreConfig.class).getDataSaveConfig();
+        this.userService.setWriteBehindOptions(
+                dataSaveConfig.getFlushInterval(), dataSaveConfig.getBatchSize(), dataSaveConfig.getMaxPendingWrites());
+        this.worldService.setWriteBehindOptions(
+                dataSaveConfig.getFlushInterval(), dataSaveConfig.getBatchSize(), dataSaveConfig.getMaxPendingWrites());
+    }
+
+    @SuppressWarnings("unchecked")
+    private IStorageRepositoryFactory<JsonObject> selectFactory(INucleusServiceCollection serviceCollection) {
+        String id = serviceCollection.moduleDataProvider().getModuleConfig(CoreConfig.class).getDataStorageEngine();
+        Optional<IStorageRepositoryFactory> factory = IStorageRepositoryFactoryRegistryModule.getInstance().getById(id);
+        if (factory.isPresent()) {
+            return (IStorageRepositoryFactory<JsonObject>) factory.get();
+        }
+
+        this.logger.warn(serviceCollection.messageProvider().getMessageString("nucleus.storage.unknown", id));
+        return this.flatFileStorageRepositoryFactory;
     }
 
 }
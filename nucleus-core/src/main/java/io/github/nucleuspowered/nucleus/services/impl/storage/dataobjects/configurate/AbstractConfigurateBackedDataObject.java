@@ -6,12 +6,27 @@ package io.github.nucleuspowered.nucleus.services.impl.storage.dataobjects.confi
 
 import ninja.leaping.configurate.ConfigurationNode;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Indicates that this is the basic object for saving data with
  */
 public abstract class AbstractConfigurateBackedDataObject implements IConfigurateBackedDataObject {
 
     protected ConfigurationNode backingNode;
+    private final AtomicLong modificationCount = new AtomicLong();
+
+    /**
+     * Indicates that the backing node has been changed and the object
+     * needs to be saved.
+     */
+    protected void markModified() {
+        this.modificationCount.incrementAndGet();
+    }
+
+    @Override public long getModificationCount() {
+        return this.modificationCount.get();
+    }
 
     @Override public ConfigurationNode getBackingNode() {
         return this.backingNode.copy();
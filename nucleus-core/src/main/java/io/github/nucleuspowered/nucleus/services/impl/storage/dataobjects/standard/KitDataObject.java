@@ -40,6 +40,7 @@ public class KitDataObject extends AbstractConfigurateBackedDataObject implement
     public void setKitMap(Map<String, Kit> map) throws Exception {
         SingleKitTypeSerilaiser.INSTANCE.serialize(map, this.backingNode);
         this.cached = ImmutableMap.copyOf(map);
+        markModified();
     }
 
     @Override
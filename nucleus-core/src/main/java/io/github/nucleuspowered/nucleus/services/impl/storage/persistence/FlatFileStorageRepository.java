@@ -198,16 +198,28 @@ abstract class FlatFileStorageRepository implements IStorageRepository {
         @Override
         public Collection<UUID> getAllKeys(Q query) throws DataLoadException, DataQueryException {
             if (query.restrictedToKeys()) {
-                getAllKeysInternal().retainAll(query.keys());
+                ImmutableSet.Builder<UUID> builder = ImmutableSet.builder();
+                for (UUID uuid : query.keys()) {
+                    if (existsInternal(uuid) != null) {
+                        builder.add(uuid);
+                    }
+                }
+
+                return builder.build();
             }
 
             throw new DataQueryException("There must only a key", query);
         }
 
         private Set<UUID> getAllKeysInternal() throws DataLoadException {
-            UUIDFileWalker u = new UUIDFileWalker();
+            Path basePath = BASE_PATH.get();
+            if (!Files.isDirectory(basePath)) {
+                return new HashSet<>();
+            }
+
+            UUIDFileWalker u = new UUIDFileWalker(basePath);
             try {
-                Files.walkFileTree(BASE_PATH.get(), u);
+                Files.walkFileTree(basePath, u);
                 return u.uuidSet;
             } catch (IOException e) {
                 throw new DataLoadException("Could not walk the file tree", e);
@@ -260,10 +272,15 @@ abstract class FlatFileStorageRepository implements IStorageRepository {
         private static class UUIDFileWalker extends SimpleFileVisitor<Path> {
 
             private final Set<UUID> uuidSet = new HashSet<>();
+            private final Path basePath;
+
+            private UUIDFileWalker(Path basePath) {
+                this.basePath = basePath;
+            }
 
             @Override
             public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-                if (dir.getFileName().toString().length() == 2) {
+                if (dir.equals(this.basePath) || dir.getFileName().toString().length() == 2) {
                     return super.preVisitDirectory(dir, attrs);
                 }
 
@@ -275,9 +292,9 @@ abstract class FlatFileStorageRepository implements IStorageRepository {
             @Override
             public FileVisitResult visitFile(Path file, BasicFileAttributes attr) {
                 if (attr.isRegularFile()) {
-                    if (file.endsWith(".json")) {
-                        String f = file.getFileName().toString();
-                        if (f.length() == 41 && f.startsWith(file.getParent().toString().toLowerCase())) {
+                    String f = file.getFileName().toString();
+                    if (f.endsWith(".json")) {
+                        if (f.length() == 41 && f.startsWith(file.getParent().getFileName().toString().toLowerCase())) {
                             try {
                                 this.uuidSet.add(UUID.fromString(f.substring(0, 36)));
                             } catch (Exception e) {
@@ -0,0 +1,82 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.services.impl.storage.persistence;
+
+import com.google.gson.JsonObject;
+import io.github.nucleuspowered.storage.exceptions.DataLoadException;
+import io.github.nucleuspowered.storage.exceptions.DataQueryException;
+import io.github.nucleuspowered.storage.exceptions.DataSaveException;
+import io.github.nucleuspowered.storage.persistence.IStorageRepository;
+import io.github.nucleuspowered.storage.queryobjects.IQueryObject;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Copies the data stored in the flat file layout, that is, {@code userdata/xx/<uuid>.json},
+ * {@code worlddata/xx/<uuid>.json}, {@code general.json} and {@code kits.json}, into the
+ * H2 database.
+ *
+ * <p>Existing entries in the database with the same key are overwritten. The flat files are
+ * left in place.</p>
+ */
+public final class FlatFileToH2Migrator {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final FlatFileStorageRepositoryFactory source;
+    private final H2StorageRepositoryFactory target;
+
+    public FlatFileToH2Migrator(FlatFileStorageRepositoryFactory source, H2StorageRepositoryFactory target) {
+        this.source = source;
+        this.target = target;
+    }
+
+    /**
+     * Performs the migration.
+     *
+     * @return The number of user and world entries that were migrated.
+     */
+    public int migrate() throws DataLoadException, DataQueryException, DataSaveException, ObjectMappingException {
+        int count = migrateKeyed(this.source.userRepository(), this.target.userRepository());
+        count += migrateKeyed(this.source.worldRepository(), this.target.worldRepository());
+        migrateSingle(this.source.generalRepository(), this.target.generalRepository());
+        migrateSingle(this.source.kitsRepository(), this.target.kitsRepository());
+        return count;
+    }
+
+    private <Q extends IQueryObject<UUID, Q>> int migrateKeyed(
+            IStorageRepository.Keyed<UUID, Q, JsonObject> from,
+            IStorageRepository.Keyed<UUID, Q, JsonObject> to) throws DataLoadException, DataQueryException, DataSaveException, ObjectMappingException {
+        int count = 0;
+        Map<UUID, JsonObject> batch = new HashMap<>();
+        for (UUID uuid : from.getAllKeys()) {
+            Optional<JsonObject> object = from.get(uuid);
+            if (object.isPresent()) {
+                batch.put(uuid, object.get());
+                if (batch.size() >= BATCH_SIZE) {
+                    to.saveAll(batch);
+                    count += batch.size();
+                    batch.clear();
+                }
+            }
+        }
+
+        to.saveAll(batch);
+        return count + batch.size();
+    }
+
+    private void migrateSingle(IStorageRepository.Single<JsonObject> from, IStorageRepository.Single<JsonObject> to)
+            throws DataLoadException, DataQueryException, DataSaveException, ObjectMappingException {
+        Optional<JsonObject> object = from.get();
+        if (object.isPresent()) {
+            to.save(object.get());
+        }
+    }
+
+}
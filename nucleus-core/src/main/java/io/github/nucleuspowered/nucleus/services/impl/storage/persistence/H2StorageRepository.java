@@ -0,0 +1,314 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.services.impl.storage.persistence;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.github.nucleuspowered.nucleus.util.ThrownSupplier;
+import io.github.nucleuspowered.storage.exceptions.DataDeleteException;
+import io.github.nucleuspowered.storage.exceptions.DataLoadException;
+import io.github.nucleuspowered.storage.exceptions.DataQueryException;
+import io.github.nucleuspowered.storage.exceptions.DataSaveException;
+import io.github.nucleuspowered.storage.persistence.IStorageRepository;
+import io.github.nucleuspowered.storage.queryobjects.IQueryObject;
+import io.github.nucleuspowered.storage.util.KeyedObject;
+import org.slf4j.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.annotation.Nullable;
+
+/**
+ * Stores the {@link JsonObject} payloads in a single embedded H2 database file,
+ * rather than one file per object.
+ *
+ * <p>Every write is performed in a transaction, and multiple writes may be
+ * grouped into one transaction through {@link UUIDKeyed#saveAll(Map)}.</p>
+ */
+abstract class H2StorageRepository implements IStorageRepository {
+
+    private static final Gson gson = new Gson();
+
+    private final Logger logger;
+    private final ThrownSupplier<Connection, SQLException> connectionSupplier;
+
+    protected H2StorageRepository(Logger logger, ThrownSupplier<Connection, SQLException> connectionSupplier) {
+        this.logger = logger;
+        this.connectionSupplier = connectionSupplier;
+    }
+
+    Logger getLogger() {
+        return this.logger;
+    }
+
+    Connection getConnection() throws SQLException {
+        return this.connectionSupplier.get();
+    }
+
+    static JsonObject fromString(String data) {
+        return new JsonParser().parse(data).getAsJsonObject();
+    }
+
+    static String toString(JsonObject object) {
+        return gson.toJson(object);
+    }
+
+    void rollback(Connection connection) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            this.logger.error("Could not roll back the transaction", e);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        // Connections are returned to the pool after each operation, and each
+        // operation is committed on completion.
+    }
+
+    @Override public void clearCache() {
+        // noop
+    }
+
+    @Override public boolean hasCache() {
+        return false;
+    }
+
+    static class Single extends H2StorageRepository implements IStorageRepository.Single<JsonObject> {
+
+        private final String table;
+        private final String key;
+
+        Single(Logger logger, ThrownSupplier<Connection, SQLException> connectionSupplier, String table, String key) {
+            super(logger, connectionSupplier);
+            this.table = table;
+            this.key = key;
+        }
+
+        @Override
+        public Optional<JsonObject> get() throws DataLoadException {
+            try (Connection connection = getConnection();
+                    PreparedStatement statement = connection.prepareStatement("SELECT data FROM " + this.table + " WHERE id = ?")) {
+                statement.setString(1, this.key);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next()) {
+                        return Optional.of(fromString(resultSet.getString(1)));
+                    }
+                }
+            } catch (Exception e) {
+                throw new DataLoadException("Could not load " + this.key + " from the database", e);
+            }
+
+            return Optional.empty();
+        }
+
+        @Override
+        public void save(JsonObject object) throws DataSaveException {
+            try (Connection connection = getConnection();
+                    PreparedStatement statement =
+                            connection.prepareStatement("MERGE INTO " + this.table + " (id, data) KEY (id) VALUES (?, ?)")) {
+                statement.setString(1, this.key);
+                statement.setString(2, H2StorageRepository.toString(object));
+                statement.executeUpdate();
+            } catch (SQLException e) {
+                throw new DataSaveException("Could not save " + this.key + " to the database", e);
+            }
+        }
+
+    }
+
+    static class UUIDKeyed<Q extends IQueryObject<UUID, Q>>
+            extends H2StorageRepository
+            implements Keyed<UUID, Q, JsonObject> {
+
+        private final String table;
+
+        UUIDKeyed(Logger logger, ThrownSupplier<Connection, SQLException> connectionSupplier, String table) {
+            super(logger, connectionSupplier);
+            this.table = table;
+        }
+
+        @Override
+        public boolean exists(Q query) throws DataLoadException {
+            return query.keys().size() == 1 && exists(query.keys().iterator().next());
+        }
+
+        @Override
+        public Optional<KeyedObject<UUID, JsonObject>> get(Q query) throws DataLoadException, DataQueryException {
+            if (query.keys().size() != 1) {
+                throw new DataQueryException("There must only a key", query);
+            }
+
+            UUID uuid = query.keys().iterator().next();
+            return get(uuid).map(x -> new KeyedObject<>(uuid, x));
+        }
+
+        @Override
+        public int count(Q query) {
+            if (!query.restrictedToKeys()) {
+                return -1;
+            }
+
+            int count = 0;
+            try {
+                for (UUID uuid : query.keys()) {
+                    if (exists(uuid)) {
+                        count++;
+                    }
+                }
+            } catch (DataLoadException e) {
+                getLogger().error("Could not count the objects in " + this.table, e);
+                return -1;
+            }
+
+            return count;
+        }
+
+        @Override
+        public void save(UUID key, JsonObject object) throws DataSaveException {
+            saveAll(ImmutableMap.of(key, object));
+        }
+
+        @Override
+        public void saveAll(Map<UUID, JsonObject> objects) throws DataSaveException {
+            if (objects.isEmpty()) {
+                return;
+            }
+
+            Connection connection = null;
+            try {
+                connection = getConnection();
+                connection.setAutoCommit(false);
+                try (PreparedStatement statement =
+                        connection.prepareStatement("MERGE INTO " + this.table + " (id, data) KEY (id) VALUES (?, ?)")) {
+                    for (Map.Entry<UUID, JsonObject> entry : objects.entrySet()) {
+                        statement.setObject(1, entry.getKey());
+                        statement.setString(2, H2StorageRepository.toString(entry.getValue()));
+                        statement.addBatch();
+                    }
+
+                    statement.executeBatch();
+                }
+
+                connection.commit();
+            } catch (SQLException e) {
+                if (connection != null) {
+                    rollback(connection);
+                }
+
+                throw new DataSaveException("Could not save " + objects.size() + " object(s) to " + this.table, e);
+            } finally {
+                close(connection);
+            }
+        }
+
+        @Override
+        public void delete(UUID key) throws DataDeleteException {
+            try (Connection connection = getConnection();
+                    PreparedStatement statement = connection.prepareStatement("DELETE FROM " + this.table + " WHERE id = ?")) {
+                statement.setObject(1, key);
+                statement.executeUpdate();
+            } catch (SQLException e) {
+                throw new DataDeleteException("Could not delete " + key, e);
+            }
+        }
+
+        @Override
+        public boolean exists(UUID key) throws DataLoadException {
+            try (Connection connection = getConnection();
+                    PreparedStatement statement = connection.prepareStatement("SELECT 1 FROM " + this.table + " WHERE id = ?")) {
+                statement.setObject(1, key);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return resultSet.next();
+                }
+            } catch (SQLException e) {
+                throw new DataLoadException("Could not check whether " + key + " exists in " + this.table, e);
+            }
+        }
+
+        @Override
+        public Optional<JsonObject> get(UUID key) throws DataLoadException {
+            try (Connection connection = getConnection();
+                    PreparedStatement statement = connection.prepareStatement("SELECT data FROM " + this.table + " WHERE id = ?")) {
+                statement.setObject(1, key);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next()) {
+                        return Optional.of(fromString(resultSet.getString(1)));
+                    }
+                }
+            } catch (Exception e) {
+                throw new DataLoadException("Could not load " + key + " from " + this.table, e);
+            }
+
+            return Optional.empty();
+        }
+
+        @Override
+        public Collection<UUID> getAllKeys() throws DataLoadException {
+            ImmutableSet.Builder<UUID> builder = ImmutableSet.builder();
+            try (Connection connection = getConnection();
+                    PreparedStatement statement = connection.prepareStatement("SELECT id FROM " + this.table);
+                    ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    builder.add((UUID) resultSet.getObject(1));
+                }
+            } catch (SQLException e) {
+                throw new DataLoadException("Could not get the keys from " + this.table, e);
+            }
+
+            return builder.build();
+        }
+
+        @Override
+        public Map<UUID, JsonObject> getAll(Q query) throws DataLoadException, DataQueryException {
+            ImmutableMap.Builder<UUID, JsonObject> builder = ImmutableMap.builder();
+            for (UUID key : getAllKeys(query)) {
+                get(key).ifPresent(x -> builder.put(key, x));
+            }
+
+            return builder.build();
+        }
+
+        @Override
+        public Collection<UUID> getAllKeys(Q query) throws DataLoadException, DataQueryException {
+            if (!query.restrictedToKeys()) {
+                throw new DataQueryException("There must only a key", query);
+            }
+
+            ImmutableSet.Builder<UUID> builder = ImmutableSet.builder();
+            for (UUID uuid : query.keys()) {
+                if (exists(uuid)) {
+                    builder.add(uuid);
+                }
+            }
+
+            return builder.build();
+        }
+
+        private void close(@Nullable Connection connection) {
+            if (connection != null) {
+                try {
+                    connection.setAutoCommit(true);
+                    connection.close();
+                } catch (SQLException e) {
+                    // ignored
+                }
+            }
+        }
+
+    }
+
+}
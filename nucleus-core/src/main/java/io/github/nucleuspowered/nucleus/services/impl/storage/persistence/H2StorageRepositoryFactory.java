@@ -0,0 +1,104 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.services.impl.storage.persistence;
+
+import com.google.gson.JsonObject;
+import io.github.nucleuspowered.nucleus.guice.DataDirectory;
+import io.github.nucleuspowered.nucleus.services.impl.storage.queryobjects.IUserQueryObject;
+import io.github.nucleuspowered.nucleus.services.impl.storage.queryobjects.IWorldQueryObject;
+import io.github.nucleuspowered.storage.persistence.IStorageRepository;
+import io.github.nucleuspowered.storage.persistence.IStorageRepositoryFactory;
+import org.slf4j.Logger;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.service.sql.SqlService;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.sql.DataSource;
+
+/**
+ * Creates repositories that are backed by a single embedded H2 database, obtained
+ * through Sponge's {@link SqlService}.
+ */
+@Singleton
+public final class H2StorageRepositoryFactory implements IStorageRepositoryFactory<JsonObject> {
+
+    private static final String DATABASE_FILE = "nucleusdata";
+    private static final String USER_TABLE = "userdata";
+    private static final String WORLD_TABLE = "worlddata";
+    private static final String SINGLE_TABLE = "singledata";
+    private static final String GENERAL_KEY = "general";
+    private static final String KITS_KEY = "kits";
+
+    private final Supplier<Path> dataPath;
+    private final Logger logger;
+    private final PluginContainer pluginContainer;
+    @Nullable private DataSource dataSource;
+
+    @Inject
+    public H2StorageRepositoryFactory(@DataDirectory Supplier<Path> path, Logger logger, PluginContainer pluginContainer) {
+        this.dataPath = path;
+        this.logger = logger;
+        this.pluginContainer = pluginContainer;
+    }
+
+    private synchronized DataSource getDataSource() throws SQLException {
+        if (this.dataSource == null) {
+            String url = "jdbc:h2:" + this.dataPath.get().resolve(DATABASE_FILE).toAbsolutePath().toString();
+            DataSource source = Sponge.getServiceManager().provideUnchecked(SqlService.class).getDataSource(this.pluginContainer, url);
+            try (Connection connection = source.getConnection(); Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE IF NOT EXISTS " + USER_TABLE + " (id UUID PRIMARY KEY, data CLOB NOT NULL)");
+                statement.execute("CREATE TABLE IF NOT EXISTS " + WORLD_TABLE + " (id UUID PRIMARY KEY, data CLOB NOT NULL)");
+                statement.execute("CREATE TABLE IF NOT EXISTS " + SINGLE_TABLE + " (id VARCHAR(64) PRIMARY KEY, data CLOB NOT NULL)");
+            }
+
+            this.dataSource = source;
+        }
+
+        return this.dataSource;
+    }
+
+    private Connection getConnection() throws SQLException {
+        return getDataSource().getConnection();
+    }
+
+    @Override
+    public IStorageRepository.Keyed<UUID, IUserQueryObject, JsonObject> userRepository() {
+        return new H2StorageRepository.UUIDKeyed<>(this.logger, this::getConnection, USER_TABLE);
+    }
+
+    @Override
+    public IStorageRepository.Keyed<UUID, IWorldQueryObject, JsonObject> worldRepository() {
+        return new H2StorageRepository.UUIDKeyed<>(this.logger, this::getConnection, WORLD_TABLE);
+    }
+
+    @Override
+    public IStorageRepository.Single<JsonObject> generalRepository() {
+        return new H2StorageRepository.Single(this.logger, this::getConnection, SINGLE_TABLE, GENERAL_KEY);
+    }
+
+    @Override
+    public IStorageRepository.Single<JsonObject> kitsRepository() {
+        return new H2StorageRepository.Single(this.logger, this::getConnection, SINGLE_TABLE, KITS_KEY);
+    }
+
+    @Override public String getId() {
+        return "nucleus:h2";
+    }
+
+    @Override public String getName() {
+        return "H2 Database";
+    }
+
+}
@@ -0,0 +1,468 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.services.impl.storage.persistence;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import io.github.nucleuspowered.nucleus.services.impl.storage.queryobjects.IUserQueryObject;
+import io.github.nucleuspowered.nucleus.services.impl.storage.queryobjects.QueryKeys;
+import io.github.nucleuspowered.storage.exceptions.DataDeleteException;
+import io.github.nucleuspowered.storage.exceptions.DataLoadException;
+import io.github.nucleuspowered.storage.exceptions.DataQueryException;
+import io.github.nucleuspowered.storage.exceptions.DataSaveException;
+import io.github.nucleuspowered.storage.persistence.IStorageRepository;
+import io.github.nucleuspowered.storage.queryobjects.QueryKey;
+import io.github.nucleuspowered.storage.util.KeyedObject;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+import org.slf4j.Logger;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.Nullable;
+
+/**
+ * Wraps a user {@link IStorageRepository.Keyed} and maintains secondary indexes
+ * over the stored data so that the {@link QueryKeys} can be answered without
+ * reading every user.
+ *
+ * <p>The indexes are built from the underlying repository the first time they
+ * are required, and are then updated as users are saved and deleted. The build
+ * reads every user, so it is done without holding the lock: saves and deletes
+ * made while it runs are recorded and applied to the new indexes before they
+ * are swapped in.</p>
+ */
+public final class IndexedUserStorageRepository implements IStorageRepository.Keyed<UUID, IUserQueryObject, JsonObject> {
+
+    private static final String IP_ADDRESS = "lastIP";
+    private static final String JAIL_DATA = "jailData";
+    private static final String JAIL_NAME = "jailName";
+    private static final String MUTE_DATA = "muteData";
+    private static final String LAST_LOGIN = "lastLogin";
+
+    private final IStorageRepository.Keyed<UUID, IUserQueryObject, JsonObject> delegate;
+    private final Logger logger;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Object buildLock = new Object();
+
+    // Swapped in under the write lock, and read under the read lock.
+    @Nullable private volatile Index index;
+    // Guarded by lock. Null values are deletions.
+    @Nullable private Map<UUID, JsonObject> changesDuringBuild;
+
+    public IndexedUserStorageRepository(IStorageRepository.Keyed<UUID, IUserQueryObject, JsonObject> delegate, Logger logger) {
+        this.delegate = delegate;
+        this.logger = logger;
+    }
+
+    /**
+     * Builds the indexes from the underlying repository, if they have not already been built.
+     */
+    public void ensureIndexed() throws DataLoadException {
+        if (this.index != null) {
+            return;
+        }
+
+        synchronized (this.buildLock) {
+            if (this.index != null) {
+                return;
+            }
+
+            this.lock.writeLock().lock();
+            try {
+                this.changesDuringBuild = new LinkedHashMap<>();
+            } finally {
+                this.lock.writeLock().unlock();
+            }
+
+            Index built = null;
+            try {
+                Index index = new Index();
+                for (UUID uuid : this.delegate.getAllKeys()) {
+                    try {
+                        this.delegate.get(uuid).ifPresent(x -> index.index(uuid, x));
+                    } catch (DataLoadException | DataQueryException e) {
+                        this.logger.warn("Could not index the data for user " + uuid, e);
+                    }
+                }
+
+                built = index;
+            } finally {
+                this.lock.writeLock().lock();
+                try {
+                    if (built != null) {
+                        Index index = built;
+                        this.changesDuringBuild.forEach((uuid, object) -> {
+                            if (object == null) {
+                                index.remove(uuid);
+                            } else {
+                                index.index(uuid, object);
+                            }
+                        });
+                        this.index = index;
+                    }
+
+                    this.changesDuringBuild = null;
+                } finally {
+                    this.lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    private void update(Map<UUID, JsonObject> objects) {
+        this.lock.writeLock().lock();
+        try {
+            Index index = this.index;
+            if (index != null) {
+                objects.forEach(index::index);
+            } else if (this.changesDuringBuild != null) {
+                this.changesDuringBuild.putAll(objects);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(UUID uuid) {
+        this.lock.writeLock().lock();
+        try {
+            Index index = this.index;
+            if (index != null) {
+                index.remove(uuid);
+            } else if (this.changesDuringBuild != null) {
+                this.changesDuringBuild.put(uuid, null);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    private Collection<UUID> query(IUserQueryObject query) throws DataLoadException, DataQueryException {
+        ensureIndexed();
+        this.lock.readLock().lock();
+        try {
+            Index index = this.index;
+            Set<UUID> result = null;
+            Long lastLoginSince = null;
+            for (Map.Entry<QueryKey<?, IUserQueryObject>, List<?>> entry : query.queries().entrySet()) {
+                QueryKey<?, IUserQueryObject> key = entry.getKey();
+                Set<UUID> matches = new HashSet<>();
+                if (key == QueryKeys.IP_ADDRESS) {
+                    for (String ip : QueryKeys.IP_ADDRESS.getValues(entry.getValue())) {
+                        matches.addAll(index.byIpAddress.getOrDefault(normaliseIp(ip), ImmutableSet.of()));
+                    }
+                } else if (key == QueryKeys.JAIL_NAME) {
+                    for (String jail : QueryKeys.JAIL_NAME.getValues(entry.getValue())) {
+                        matches.addAll(index.byJailName.getOrDefault(jail.toLowerCase(Locale.ROOT), ImmutableSet.of()));
+                    }
+                } else if (key == QueryKeys.JAILED) {
+                    for (boolean jailed : QueryKeys.JAILED.getValues(entry.getValue())) {
+                        if (jailed) {
+                            index.byJailName.values().forEach(matches::addAll);
+                        } else {
+                            index.entries.forEach((k, v) -> {
+                                if (v.jailName == null) {
+                                    matches.add(k);
+                                }
+                            });
+                        }
+                    }
+                } else if (key == QueryKeys.MUTED) {
+                    for (boolean isMuted : QueryKeys.MUTED.getValues(entry.getValue())) {
+                        if (isMuted) {
+                            matches.addAll(index.muted);
+                        } else {
+                            index.entries.keySet().stream().filter(x -> !index.muted.contains(x)).forEach(matches::add);
+                        }
+                    }
+                } else if (key == QueryKeys.LAST_LOGIN_SINCE) {
+                    for (Instant instant : QueryKeys.LAST_LOGIN_SINCE.getValues(entry.getValue())) {
+                        long millis = instant.toEpochMilli();
+                        lastLoginSince = lastLoginSince == null ? millis : Math.min(lastLoginSince, millis);
+                    }
+
+                    if (lastLoginSince == null) {
+                        throw new DataQueryException("No time was given for " + key.key(), query);
+                    }
+
+                    index.byLastLogin.tailMap(lastLoginSince, true).values().forEach(matches::addAll);
+                } else {
+                    throw new DataQueryException("Unknown query key " + key.key(), query);
+                }
+
+                if (result == null) {
+                    result = matches;
+                } else {
+                    result.retainAll(matches);
+                }
+            }
+
+            if (result == null) {
+                result = new HashSet<>(index.entries.keySet());
+            }
+
+            if (query.restrictedToKeys()) {
+                result.retainAll(query.keys());
+            }
+
+            if (lastLoginSince == null) {
+                return ImmutableSet.copyOf(result);
+            }
+
+            // Most recent logins first.
+            Set<UUID> ordered = new LinkedHashSet<>();
+            for (Set<UUID> uuids : index.byLastLogin.tailMap(lastLoginSince, true).descendingMap().values()) {
+                for (UUID uuid : uuids) {
+                    if (result.contains(uuid)) {
+                        ordered.add(uuid);
+                    }
+                }
+            }
+
+            return ImmutableSet.copyOf(ordered);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private static String normaliseIp(String ip) {
+        return ip.replace("/", "");
+    }
+
+    @Override
+    public boolean supportsNonKeyQueries() {
+        return true;
+    }
+
+    @Override
+    public boolean exists(IUserQueryObject query) throws DataLoadException, DataQueryException {
+        if (query.queries().isEmpty()) {
+            return this.delegate.exists(query);
+        }
+
+        return count(query) > 0;
+    }
+
+    @Override
+    public Optional<KeyedObject<UUID, JsonObject>> get(IUserQueryObject query) throws DataLoadException, DataQueryException {
+        if (query.queries().isEmpty()) {
+            return this.delegate.get(query);
+        }
+
+        Collection<UUID> keys = query(query);
+        if (keys.size() != 1) {
+            throw new DataQueryException("The query must match exactly one user", query);
+        }
+
+        UUID uuid = keys.iterator().next();
+        return this.delegate.get(uuid).map(x -> new KeyedObject<>(uuid, x));
+    }
+
+    @Override
+    public int count(IUserQueryObject query) {
+        if (query.queries().isEmpty()) {
+            return this.delegate.count(query);
+        }
+
+        try {
+            return query(query).size();
+        } catch (DataLoadException | DataQueryException e) {
+            this.logger.error("Could not query the user index", e);
+            return -1;
+        }
+    }
+
+    @Override
+    public void save(UUID key, JsonObject object) throws ObjectMappingException, DataSaveException {
+        this.delegate.save(key, object);
+        update(ImmutableMap.of(key, object));
+    }
+
+    @Override
+    public void saveAll(Map<UUID, JsonObject> objects) throws ObjectMappingException, DataSaveException {
+        this.delegate.saveAll(objects);
+        update(objects);
+    }
+
+    @Override
+    public void delete(UUID key) throws DataDeleteException {
+        this.delegate.delete(key);
+        remove(key);
+    }
+
+    @Override
+    public boolean exists(UUID key) throws DataLoadException {
+        return this.delegate.exists(key);
+    }
+
+    @Override
+    public Optional<JsonObject> get(UUID key) throws DataLoadException, DataQueryException {
+        return this.delegate.get(key);
+    }
+
+    @Override
+    public Collection<UUID> getAllKeys() throws DataLoadException {
+        return this.delegate.getAllKeys();
+    }
+
+    @Override
+    public Map<UUID, JsonObject> getAll(IUserQueryObject query) throws DataLoadException, DataQueryException {
+        if (query.queries().isEmpty()) {
+            return this.delegate.getAll(query);
+        }
+
+        ImmutableMap.Builder<UUID, JsonObject> builder = ImmutableMap.builder();
+        for (UUID uuid : query(query)) {
+            this.delegate.get(uuid).ifPresent(x -> builder.put(uuid, x));
+        }
+
+        return builder.build();
+    }
+
+    @Override
+    public Collection<UUID> getAllKeys(IUserQueryObject query) throws DataLoadException, DataQueryException {
+        if (query.queries().isEmpty()) {
+            return this.delegate.getAllKeys(query);
+        }
+
+        return query(query);
+    }
+
+    @Override
+    public void shutdown() {
+        this.delegate.shutdown();
+    }
+
+    @Override
+    public void clearCache() {
+        this.delegate.clearCache();
+    }
+
+    @Override
+    public boolean hasCache() {
+        return this.delegate.hasCache();
+    }
+
+    private static final class Index {
+
+        private final Map<UUID, IndexEntry> entries = new HashMap<>();
+        private final Map<String, Set<UUID>> byIpAddress = new HashMap<>();
+        private final Map<String, Set<UUID>> byJailName = new HashMap<>();
+        private final Set<UUID> muted = new HashSet<>();
+        private final NavigableMap<Long, Set<UUID>> byLastLogin = new TreeMap<>();
+
+        private void index(UUID uuid, JsonObject object) {
+            IndexEntry entry = new IndexEntry(object);
+            IndexEntry old = this.entries.put(uuid, entry);
+            if (old != null) {
+                unindex(uuid, old);
+            }
+
+            if (entry.ipAddress != null) {
+                this.byIpAddress.computeIfAbsent(entry.ipAddress, x -> new HashSet<>()).add(uuid);
+            }
+
+            if (entry.jailName != null) {
+                this.byJailName.computeIfAbsent(entry.jailName, x -> new HashSet<>()).add(uuid);
+            }
+
+            if (entry.muted) {
+                this.muted.add(uuid);
+            }
+
+            if (entry.lastLogin != null) {
+                this.byLastLogin.computeIfAbsent(entry.lastLogin, x -> new HashSet<>()).add(uuid);
+            }
+        }
+
+        private void remove(UUID uuid) {
+            IndexEntry entry = this.entries.remove(uuid);
+            if (entry != null) {
+                unindex(uuid, entry);
+            }
+        }
+
+        private void unindex(UUID uuid, IndexEntry entry) {
+            removeFrom(this.byIpAddress, entry.ipAddress, uuid);
+            removeFrom(this.byJailName, entry.jailName, uuid);
+            removeFrom(this.byLastLogin, entry.lastLogin, uuid);
+            this.muted.remove(uuid);
+        }
+
+        private static <T> void removeFrom(Map<T, Set<UUID>> map, @Nullable T key, UUID uuid) {
+            if (key != null) {
+                Set<UUID> set = map.get(key);
+                if (set != null && set.remove(uuid) && set.isEmpty()) {
+                    map.remove(key);
+                }
+            }
+        }
+    }
+
+    private static final class IndexEntry {
+
+        @Nullable private final String ipAddress;
+        @Nullable private final String jailName;
+        private final boolean muted;
+        @Nullable private final Long lastLogin;
+
+        private IndexEntry(JsonObject object) {
+            this.ipAddress = getString(object, IP_ADDRESS).map(IndexedUserStorageRepository::normaliseIp).orElse(null);
+            this.jailName = getObject(object, JAIL_DATA)
+                    .flatMap(x -> getString(x, JAIL_NAME))
+                    .map(x -> x.toLowerCase(Locale.ROOT))
+                    .orElse(null);
+            this.muted = getObject(object, MUTE_DATA).isPresent();
+            this.lastLogin = getLong(object, LAST_LOGIN);
+        }
+
+        private static Optional<String> getString(JsonObject object, String key) {
+            JsonElement element = object.get(key);
+            if (element != null && element.isJsonPrimitive()) {
+                return Optional.of(element.getAsString());
+            }
+
+            return Optional.empty();
+        }
+
+        private static Optional<JsonObject> getObject(JsonObject object, String key) {
+            JsonElement element = object.get(key);
+            if (element != null && element.isJsonObject()) {
+                return Optional.of(element.getAsJsonObject());
+            }
+
+            return Optional.empty();
+        }
+
+        @Nullable
+        private static Long getLong(JsonObject object, String key) {
+            JsonElement element = object.get(key);
+            if (element != null && element.isJsonPrimitive() && element.getAsJsonPrimitive().isNumber()) {
+                return element.getAsLong();
+            }
+
+            return null;
+        }
+    }
+
+}
@@ -4,7 +4,43 @@
  */
 package io.github.nucleuspowered.nucleus.services.impl.storage.queryobjects;
 
+import io.github.nucleuspowered.storage.queryobjects.QueryKey;
+
+import java.time.Instant;
+
+/**
+ * Keys for queries that are not on the primary key.
+ *
+ * <p>If a key is given multiple values, a user need only match one of them.
+ * If multiple keys are given, a user must match all of them.</p>
+ */
 public final class QueryKeys {
 
+    /**
+     * Users whose last known IP address is the given address, without a leading {@code /}.
+     */
+    public static final QueryKey<String, IUserQueryObject> IP_ADDRESS = QueryKey.of("ipAddress");
+
+    /**
+     * Users that are in the jail with the given name, case insensitive.
+     */
+    public static final QueryKey<String, IUserQueryObject> JAIL_NAME = QueryKey.of("jailName");
+
+    /**
+     * Users that are, or are not, jailed.
+     */
+    public static final QueryKey<Boolean, IUserQueryObject> JAILED = QueryKey.of("jailed");
+
+    /**
+     * Users that are, or are not, muted.
+     */
+    public static final QueryKey<Boolean, IUserQueryObject> MUTED = QueryKey.of("muted");
+
+    /**
+     * Users that last logged in at or after the given time. Results are ordered
+     * with the most recent login first.
+     */
+    public static final QueryKey<Instant, IUserQueryObject> LAST_LOGIN_SINCE = QueryKey.of("lastLoginSince");
+
     private QueryKeys() {}
 }
@@ -6,6 +6,7 @@ package io.github.nucleuspowered.nucleus.services.impl.storage.registry;
 
 import io.github.nucleuspowered.nucleus.scaffold.registry.NucleusRegistryModule;
 import io.github.nucleuspowered.nucleus.services.impl.storage.persistence.FlatFileStorageRepositoryFactory;
+import io.github.nucleuspowered.nucleus.services.impl.storage.persistence.H2StorageRepositoryFactory;
 import io.github.nucleuspowered.storage.persistence.IStorageRepositoryFactory;
 
 import javax.inject.Singleton;
@@ -15,6 +16,7 @@ public class IStorageRepositoryFactoryRegistryModule extends NucleusRegistryModu
 
     private static IStorageRepositoryFactoryRegistryModule INSTANCE;
     private final FlatFileStorageRepositoryFactory defaultFactory;
+    private final H2StorageRepositoryFactory h2Factory;
 
     public static IStorageRepositoryFactoryRegistryModule getInstance() {
         if (INSTANCE == null) {
@@ -23,11 +25,12 @@ public class IStorageRepositoryFactoryRegistryModule extends NucleusRegistryModu
         return INSTANCE;
     }
 
-    public IStorageRepositoryFactoryRegistryModule(FlatFileStorageRepositoryFactory factory) {
+    public IStorageRepositoryFactoryRegistryModule(FlatFileStorageRepositoryFactory factory, H2StorageRepositoryFactory h2Factory) {
         if (INSTANCE != null) {
             throw new IllegalStateException("Singleton already exists");
         }
         this.defaultFactory = factory;
+        this.h2Factory = h2Factory;
         INSTANCE = this;
     }
 
@@ -39,5 +42,6 @@ public class IStorageRepositoryFactoryRegistryModule extends NucleusRegistryModu
     @Override
     public void registerModuleDefaults() {
         this.registerAdditionalCatalog(this.defaultFactory);
+        this.registerAdditionalCatalog(this.h2Factory);
     }
 }
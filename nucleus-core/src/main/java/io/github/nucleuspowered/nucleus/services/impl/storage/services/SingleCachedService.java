@@ -25,6 +25,7 @@ public class SingleCachedService<O extends IDataObject> implements IStorageServi
     private final Supplier<IDataTranslator<O, JsonObject>> dataAccessSupplier;
     private final PluginContainer pluginContainer;
     private O cached = null;
+    private long savedModificationCount = -1;
 
     public SingleCachedService(
             final Supplier<IStorageRepository.Single<JsonObject>> repositorySupplier,
@@ -44,8 +45,9 @@ public class SingleCachedService<O extends IDataObject> implements IStorageServi
     @Override
     public CompletableFuture<Void> ensureSaved() {
         return ServicesUtil.run(() -> {
-            if (this.cached != null) {
-                save(this.cached);
+            O toSave = this.cached;
+            if (toSave != null && toSave.getModificationCount() != this.savedModificationCount) {
+                save(toSave);
             }
             return null;
         }, this.pluginContainer);
@@ -90,7 +92,10 @@ public class SingleCachedService<O extends IDataObject> implements IStorageServi
 
     private Optional<O> getFromRepo() throws Exception {
         Optional<O> gdo = this.repositorySupplier.get().get().map(x -> this.dataAccessSupplier.get().fromDataAccessObject(x));
-        gdo.ifPresent(x -> this.cached = x);
+        gdo.ifPresent(x -> {
+            this.cached = x;
+            this.savedModificationCount = x.getModificationCount();
+        });
         return gdo;
     }
 
@@ -108,8 +113,10 @@ public class SingleCachedService<O extends IDataObject> implements IStorageServi
     @Override
     public CompletableFuture<Void> save(@Nonnull O value) {
         return ServicesUtil.run(() -> {
+            long modificationCount = value.getModificationCount();
             this.repositorySupplier.get().save(this.dataAccessSupplier.get().toDataAccessObject(value));
             this.cached = value;
+            this.savedModificationCount = modificationCount;
             return null;
         }, this.pluginContainer);
     }
@@ -117,6 +124,7 @@ public class SingleCachedService<O extends IDataObject> implements IStorageServi
     @Override
     public CompletableFuture<Void> clearCache() {
         this.cached = null;
+        this.savedModificationCount = -1;
         if (this.repositorySupplier.get().hasCache()) {
             return ServicesUtil.run(() -> {
                 this.repositorySupplier.get().clearCache();
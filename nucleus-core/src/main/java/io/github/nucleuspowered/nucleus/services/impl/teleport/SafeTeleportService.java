@@ -5,12 +5,14 @@
 package io.github.nucleuspowered.nucleus.services.impl.teleport;
 
 import com.flowpowered.math.vector.Vector3d;
+import com.flowpowered.math.vector.Vector3i;
 import io.github.nucleuspowered.nucleus.api.EventContexts;
 import io.github.nucleuspowered.nucleus.api.teleport.data.NucleusTeleportHelperFilters;
 import io.github.nucleuspowered.nucleus.api.teleport.data.TeleportResult;
 import io.github.nucleuspowered.nucleus.api.teleport.data.TeleportScanner;
 import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.core.config.SafeTeleportConfig;
+import io.github.nucleuspowered.nucleus.modules.core.teleport.filters.NoCheckFilter;
 import io.github.nucleuspowered.nucleus.modules.teleport.events.AboutToTeleportEvent;
 import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
 import io.github.nucleuspowered.nucleus.services.interfaces.INucleusTeleportService;
@@ -24,6 +26,7 @@ import org.spongepowered.api.entity.living.player.gamemode.GameModes;
 import org.spongepowered.api.event.CauseStackManager;
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.scheduler.SpongeExecutorService;
 import org.spongepowered.api.text.channel.MessageReceiver;
 import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.TeleportHelper;
@@ -32,7 +35,9 @@ import org.spongepowered.api.world.WorldBorder;
 import org.spongepowered.api.world.teleport.TeleportHelperFilter;
 import org.spongepowered.api.world.teleport.TeleportHelperFilters;
 
+import java.util.Arrays;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -41,10 +46,16 @@ import javax.inject.Singleton;
 public class SafeTeleportService implements INucleusTeleportService, IReloadableService.Reloadable {
 
     private static final BorderDisableSession DUMMY = new BorderDisableSession() {};
+    private final PluginContainer pluginContainer;
     private SafeTeleportConfig config = new SafeTeleportConfig();
+    private final SpongeExecutorService asyncExecutor;
+    private final SpongeExecutorService syncExecutor;
 
     @Inject
     public SafeTeleportService(PluginContainer pluginContainer) {
+        this.pluginContainer = pluginContainer;
+        this.asyncExecutor = Sponge.getScheduler().createAsyncExecutor(pluginContainer);
+        this.syncExecutor = Sponge.getScheduler().createSyncExecutor(pluginContainer);
         Sponge.getServiceManager().setProvider(pluginContainer, INucleusTeleportService.class, this);
     }
 
@@ -127,7 +138,101 @@ public class SafeTeleportService implements INucleusTeleportService, IReloadable
                 filters
         );
 
+        return teleportPlayer(player, optionalWorldTransform, centreBlock, Sponge.getCauseStackManager().getCurrentCause(), false);
+    }
+
+    @Override public CompletableFuture<TeleportResult> teleportPlayerSmartAsync(Player player,
+            Transform<World> transform,
+            boolean centreBlock,
+            boolean safe,
+            TeleportScanner scanner) {
+        return teleportPlayerAsync(player,
+                transform.getLocation(),
+                transform.getRotation(),
+                centreBlock,
+                scanner,
+                getAppropriateFilter(player, safe));
+    }
+
+    @Override public CompletableFuture<TeleportResult> teleportPlayerAsync(Player player,
+            Location<World> location,
+            Vector3d rotation,
+            boolean centreBlock,
+            TeleportScanner scanner,
+            TeleportHelperFilter filter,
+            TeleportHelperFilter... filters) {
+        if (isNoCheck(filter) && Arrays.stream(filters).allMatch(SafeTeleportService::isNoCheck)) {
+            // Every position is safe, so there is nothing to search for.
+            return CompletableFuture.completedFuture(teleportPlayer(player, location, rotation, centreBlock, scanner, filter, filters));
+        }
+
+        Optional<SnapshotSafeLocationSearch> optionalSearch = SnapshotSafeLocationSearch.create(
+                location.getExtent(),
+                location.getBlockPosition(),
+                this.config.getHeight(),
+                this.config.getWidth(),
+                TeleportHelper.DEFAULT_FLOOR_CHECK_DISTANCE,
+                scanner,
+                filter,
+                filters
+        );
+
+        if (!optionalSearch.isPresent()) {
+            // The scanner or a filter needs the world, so this has to be done here.
+            return CompletableFuture.completedFuture(teleportPlayer(player, location, rotation, centreBlock, scanner, filter, filters));
+        }
+
+        SnapshotSafeLocationSearch search = optionalSearch.get();
         Cause cause = Sponge.getCauseStackManager().getCurrentCause();
+        return search(search, search.copyNext())
+                .handleAsync((position, throwable) -> {
+                    if (!player.isOnline()) {
+                        return TeleportResult.FAIL_CANCELLED;
+                    }
+
+                    Optional<Transform<World>> transform;
+                    if (throwable != null) {
+                        this.pluginContainer.getLogger().warn("Could not search for a safe location, searching on the main thread", throwable);
+                        transform = getSafeTransform(location, rotation, scanner, filter, filters);
+                    } else if (!position.isPresent()) {
+                        transform = Optional.empty();
+                    } else if (SnapshotSafeLocationSearch.isSafe(
+                            location.getExtent(), position.get(), search.getFloorDistance(), search.getFilters())) {
+                        transform = Optional.of(toTransform(location, position.get(), rotation));
+                    } else {
+                        // The world has changed since the blocks were copied.
+                        transform = getSafeTransform(location, rotation, scanner, filter, filters);
+                    }
+
+                    return teleportPlayer(player, transform, centreBlock, cause, true);
+                }, this.syncExecutor);
+    }
+
+    private CompletableFuture<Optional<Vector3i>> search(
+            SnapshotSafeLocationSearch search,
+            SnapshotSafeLocationSearch.Snapshot snapshot) {
+        return CompletableFuture.supplyAsync(snapshot::search, this.asyncExecutor)
+                .thenCompose(position -> {
+                    if (position.isPresent() || !search.hasNext()) {
+                        return CompletableFuture.completedFuture(position);
+                    }
+
+                    // The blocks have to be copied on the main thread.
+                    return CompletableFuture.supplyAsync(search::copyNext, this.syncExecutor)
+                            .thenCompose(next -> search(search, next));
+                });
+    }
+
+    private static boolean isNoCheck(TeleportHelperFilter filter) {
+        return filter instanceof NoCheckFilter;
+    }
+
+    private TeleportResult teleportPlayer(
+            Player player,
+            Optional<Transform<World>> optionalWorldTransform,
+            boolean centreBlock,
+            Cause cause,
+            boolean pushCause) {
         if (optionalWorldTransform.isPresent()) {
             Transform<World> targetLocation = optionalWorldTransform.get();
             AboutToTeleportEvent event = new AboutToTeleportEvent(
@@ -147,6 +252,10 @@ public class SafeTeleportService implements INucleusTeleportService, IReloadable
             }
 
             try (CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame()) {
+                if (pushCause) {
+                    frame.pushCause(cause.root());
+                }
+
                 frame.addContext(EventContexts.BYPASS_JAILING_RESTRICTION, true);
                 Optional<Entity> oe = player.getVehicle();
                 if (oe.isPresent()) {
@@ -198,7 +307,16 @@ public class SafeTeleportService implements INucleusTeleportService, IReloadable
             TeleportHelperFilter filter,
             TeleportHelperFilter... filters) {
         return getSafeLocation(location, scanner, filter, filters)
-                .map(x -> new Transform<>(location.getExtent(), location.getPosition(), rotation));
+                .map(x -> toTransform(location, x.getBlockPosition(), rotation));
+    }
+
+    // Keep the exact position asked for if it was safe, else go to the middle of the safe block.
+    private static Transform<World> toTransform(Location<World> requested, Vector3i safePosition, Vector3d rotation) {
+        if (requested.getBlockPosition().equals(safePosition)) {
+            return new Transform<>(requested.getExtent(), requested.getPosition(), rotation);
+        }
+
+        return new Transform<>(requested.getExtent(), safePosition.toDouble().add(0.5, 0, 0.5), rotation);
     }
 
     @Override public TeleportHelperFilter getAppropriateFilter(Player src, boolean safeTeleport) {
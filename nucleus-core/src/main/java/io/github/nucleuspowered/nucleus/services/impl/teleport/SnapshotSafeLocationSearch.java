@@ -0,0 +1,287 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.services.impl.teleport;
+
+import com.flowpowered.math.vector.Vector3i;
+import io.github.nucleuspowered.nucleus.api.teleport.data.TeleportScanner;
+import io.github.nucleuspowered.nucleus.modules.core.teleport.filters.VolumeTeleportHelperFilter;
+import io.github.nucleuspowered.nucleus.modules.core.teleport.scanners.VolumeTeleportScanner;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.util.Tristate;
+import org.spongepowered.api.world.World;
+import org.spongepowered.api.world.extent.BlockVolume;
+import org.spongepowered.api.world.extent.ImmutableBlockVolume;
+import org.spongepowered.api.world.teleport.TeleportHelperFilter;
+import org.spongepowered.api.world.teleport.TeleportHelperFilters;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+/**
+ * A safe location search that is run against immutable copies of the blocks
+ * around the target, so that only taking the copies needs to happen on the
+ * server thread.
+ *
+ * <p>This follows the same rules as the Sponge teleport helper: the target is
+ * checked first, then every position in the search area in order of distance
+ * from the target. Only scanners and filters that are known to look at nothing
+ * but the blocks themselves can be used, see {@link #create}.</p>
+ *
+ * <p>A scanner may search around many positions, such as every few blocks up
+ * a column of the world. The blocks are copied a few positions at a time by
+ * {@link #copyNext()}, so that no single copy takes up much of a tick, and
+ * the next copy is only taken if the positions so far had no safe
+ * location.</p>
+ */
+final class SnapshotSafeLocationSearch {
+
+    // About eight chunk sections.
+    private static final int MAX_BLOCKS_PER_COPY = 32768;
+
+    private final World world;
+    private final List<Vector3i> origins;
+    private final int height;
+    private final int width;
+    private final int floorDistance;
+    private final List<TeleportHelperFilter> filters;
+    private int next = 0;
+    @Nullable private List<Vector3i> offsets;
+
+    private SnapshotSafeLocationSearch(
+            World world,
+            List<Vector3i> origins,
+            int height,
+            int width,
+            int floorDistance,
+            List<TeleportHelperFilter> filters) {
+        this.world = world;
+        this.origins = origins;
+        this.height = height;
+        this.width = width;
+        this.floorDistance = floorDistance;
+        this.filters = filters;
+    }
+
+    /**
+     * Prepares a search from the given position. No blocks are copied until
+     * {@link #copyNext()} is called.
+     *
+     * @return The search, or an empty optional if the scanner or any of the
+     *      filters need the live world
+     */
+    static Optional<SnapshotSafeLocationSearch> create(
+            World world,
+            Vector3i position,
+            int height,
+            int width,
+            int floorDistance,
+            TeleportScanner scanner,
+            TeleportHelperFilter filter,
+            TeleportHelperFilter... filters) {
+        if (!(scanner instanceof VolumeTeleportScanner)) {
+            return Optional.empty();
+        }
+
+        List<TeleportHelperFilter> filterList = new ArrayList<>();
+        filterList.add(filter);
+        filterList.addAll(Arrays.asList(filters));
+        if (!filterList.stream().allMatch(SnapshotSafeLocationSearch::isBlockOnlyFilter)) {
+            return Optional.empty();
+        }
+
+        SnapshotSafeLocationSearch search = new SnapshotSafeLocationSearch(
+                world,
+                new ArrayList<>(),
+                height,
+                width,
+                floorDistance,
+                filterList);
+        for (Vector3i origin : ((VolumeTeleportScanner) scanner).getScanOrigins(world, position, height)) {
+            if (isValid(search.getMin(origin), search.getMax(origin))) {
+                search.origins.add(origin);
+            }
+        }
+
+        if (search.origins.isEmpty()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(search);
+    }
+
+    /**
+     * Gets whether there are positions to search around that have not been
+     * copied yet.
+     *
+     * @return Whether {@link #copyNext()} can be called
+     */
+    boolean hasNext() {
+        return this.next < this.origins.size();
+    }
+
+    /**
+     * Copies the blocks around the next positions to search around. This must
+     * be called on the server thread.
+     *
+     * @return The copy, which can be searched on any thread
+     */
+    Snapshot copyNext() {
+        int start = this.next;
+        Vector3i min = getMin(this.origins.get(start));
+        Vector3i max = getMax(this.origins.get(start));
+        int end = start + 1;
+        while (end < this.origins.size()) {
+            Vector3i newMin = min.min(getMin(this.origins.get(end)));
+            Vector3i newMax = max.max(getMax(this.origins.get(end)));
+            if (getBlockCount(newMin, newMax) > MAX_BLOCKS_PER_COPY) {
+                break;
+            }
+
+            min = newMin;
+            max = newMax;
+            end++;
+        }
+
+        this.next = end;
+        return new Snapshot(this.world.getBlockView(min, max).getImmutableBlockCopy(), this.origins.subList(start, end));
+    }
+
+    // Include the floor below the lowest position and the head room above the highest.
+    private Vector3i getMin(Vector3i origin) {
+        return origin.sub(this.width, this.height + this.floorDistance, this.width).max(this.world.getBlockMin());
+    }
+
+    private Vector3i getMax(Vector3i origin) {
+        return origin.add(this.width, this.height + 1, this.width).min(this.world.getBlockMax());
+    }
+
+    private static boolean isValid(Vector3i min, Vector3i max) {
+        return min.getX() <= max.getX() && min.getY() <= max.getY() && min.getZ() <= max.getZ();
+    }
+
+    private static long getBlockCount(Vector3i min, Vector3i max) {
+        return (long) (max.getX() - min.getX() + 1) * (max.getY() - min.getY() + 1) * (max.getZ() - min.getZ() + 1);
+    }
+
+    private List<Vector3i> getOffsets() {
+        if (this.offsets == null) {
+            List<Vector3i> offsets = new ArrayList<>();
+            for (int x = -this.width; x <= this.width; x++) {
+                for (int y = -this.height; y <= this.height; y++) {
+                    for (int z = -this.width; z <= this.width; z++) {
+                        offsets.add(new Vector3i(x, y, z));
+                    }
+                }
+            }
+
+            offsets.sort(Comparator.comparingInt(Vector3i::lengthSquared));
+            this.offsets = offsets;
+        }
+
+        return this.offsets;
+    }
+
+    List<TeleportHelperFilter> getFilters() {
+        return this.filters;
+    }
+
+    int getFloorDistance() {
+        return this.floorDistance;
+    }
+
+    /**
+     * Checks whether the position in the volume is safe for all the filters.
+     * As a {@link World} is a {@link BlockVolume}, this is also used to check
+     * the result of a search against the live world.
+     */
+    static boolean isSafe(BlockVolume volume, Vector3i position, int floorDistance, List<TeleportHelperFilter> filters) {
+        if (!volume.containsBlock(position) || !volume.containsBlock(position.add(0, 1, 0))) {
+            return false;
+        }
+
+        for (TeleportHelperFilter filter : filters) {
+            Tristate valid = filter instanceof VolumeTeleportHelperFilter ?
+                    ((VolumeTeleportHelperFilter) filter).isValidLocation(volume, position) : Tristate.UNDEFINED;
+            if (valid == Tristate.FALSE) {
+                return false;
+            } else if (valid == Tristate.UNDEFINED) {
+                if (!filter.isSafeBodyMaterial(volume.getBlock(position))
+                        || !filter.isSafeBodyMaterial(volume.getBlock(position.add(0, 1, 0)))
+                        || !isSafeFloor(volume, position, floorDistance, filter)) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    // Look down through anything that can be fallen through for something that can be stood on.
+    private static boolean isSafeFloor(BlockVolume volume, Vector3i position, int floorDistance, TeleportHelperFilter filter) {
+        for (int i = 1; i <= Math.max(1, floorDistance); i++) {
+            Vector3i below = position.sub(0, i, 0);
+            if (!volume.containsBlock(below)) {
+                return false;
+            }
+
+            BlockState state = volume.getBlock(below);
+            if (filter.isSafeFloorMaterial(state)) {
+                return true;
+            } else if (!filter.isSafeBodyMaterial(state)) {
+                return false;
+            }
+        }
+
+        return false;
+    }
+
+    // The built in Sponge filters, other than the surface only filter, only look at the block states.
+    private static boolean isBlockOnlyFilter(TeleportHelperFilter filter) {
+        return filter instanceof VolumeTeleportHelperFilter
+                || filter == TeleportHelperFilters.DEFAULT
+                || filter == TeleportHelperFilters.CONFIG
+                || filter == TeleportHelperFilters.FLYING
+                || filter == TeleportHelperFilters.NO_PORTAL;
+    }
+
+    /**
+     * A copy of the blocks around some of the positions to search around.
+     */
+    final class Snapshot {
+
+        private final ImmutableBlockVolume volume;
+        private final List<Vector3i> origins;
+
+        private Snapshot(ImmutableBlockVolume volume, List<Vector3i> origins) {
+            this.volume = volume;
+            this.origins = origins;
+        }
+
+        /**
+         * Runs the search against the copied blocks. This may be called from
+         * any thread.
+         *
+         * @return The safe position, if any
+         */
+        Optional<Vector3i> search() {
+            List<Vector3i> offsets = getOffsets();
+            for (Vector3i origin : this.origins) {
+                for (Vector3i offset : offsets) {
+                    Vector3i position = origin.add(offset);
+                    if (isSafe(this.volume, position, getFloorDistance(), getFilters())) {
+                        return Optional.of(position);
+                    }
+                }
+            }
+
+            return Optional.empty();
+        }
+    }
+}
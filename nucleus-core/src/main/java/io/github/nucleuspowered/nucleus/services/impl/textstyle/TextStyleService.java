@@ -4,6 +4,8 @@
  */
 package io.github.nucleuspowered.nucleus.services.impl.textstyle;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
 import com.google.common.collect.ImmutableList;
@@ -37,6 +39,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -55,6 +58,23 @@ public class TextStyleService implements ITextStyleService, IReloadableService.R
 
     private final static TextFormat EMPTY = new TextFormatImpl(TextColors.NONE, TextStyles.NONE);
 
+    // Each formatting code has a bit, so the codes a subject may not use can be held in an int.
+    private final static String CODES = "0123456789abcdefklmnor";
+    private final static int[] CODE_BITS = new int[128];
+
+    static {
+        for (int i = 0; i < CODES.length(); i++) {
+            CODE_BITS[CODES.charAt(i)] = 1 << i;
+        }
+    }
+
+    // Keyed on the subject and the permission prefixes. There is no event for permission changes, so the
+    // entries are short lived.
+    private final Cache<String, Integer> disallowedCodes = Caffeine.newBuilder()
+            .expireAfterWrite(30, TimeUnit.SECONDS)
+            .maximumSize(2000)
+            .build();
+
     private final Logger logger;
     private final IPermissionService permissionService;
     private final IMessageProviderService messageProviderService;
@@ -207,20 +227,23 @@ public class TextStyleService implements ITextStyleService, IReloadableService.R
     }
 
     private String stripPermissionless(List<String> permissionPrefixColour, String permissionPrefixStyle, Subject source, final String oldMessage) {
-        String message = oldMessage;
-        if (message.contains("&")) {
-            // Find the next
-            String p = getRegexForPermissionless(source, permissionPrefixColour, permissionPrefixStyle);
-            if (p != null) {
-                int oldlength;
-                do {
-                    oldlength = message.length();
-                    message = message.replaceAll(p, "");
-                } while (oldlength != message.length());
-            }
+        if (oldMessage.indexOf('&') < 0) {
+            return oldMessage;
         }
 
-        return message;
+        return scan(oldMessage, getDisallowedCodes(source, permissionPrefixColour, permissionPrefixStyle)).message;
+    }
+
+    @Override
+    public Text stripPermissionlessAndAddUrls(String permissionPrefixColour, String permissionPrefixStyle, Subject source, String text, boolean urls,
+            boolean replaceBlueUnderline) {
+        int disallowed = text.indexOf('&') < 0 ? 0 : getDisallowedCodes(source, Collections.singletonList(permissionPrefixColour), permissionPrefixStyle);
+        Scan scan = scan(text, disallowed);
+        if (urls && scan.mayContainUrl) {
+            return addUrls(scan.message, replaceBlueUnderline);
+        }
+
+        return TextSerializers.FORMATTING_CODE.deserialize(scan.message);
     }
 
     @Override public Collection<String> wouldStrip(String permissionPrefixColour, String permissionPrefixColor, String permissionPrefixStyle,
@@ -236,13 +259,16 @@ public class TextStyleService implements ITextStyleService, IReloadableService.R
             String permissionPrefixStyle,
             Subject source,
             final String oldMessage) {
-        if (oldMessage.contains("&")) {
-            // Find the next
-            String p = getKeys(source, permissionPrefixColour, permissionPrefixStyle);
-            if (p != null) {
+        if (oldMessage.indexOf('&') >= 0) {
+            int stripped = scan(oldMessage, getDisallowedCodes(source, permissionPrefixColour, permissionPrefixStyle)).stripped;
+            if (stripped != 0) {
                 ImmutableList.Builder<String> name = ImmutableList.builder();
-                // We don't support these.
-                for (char a : p.toCharArray()) {
+                for (int i = 0; i < CODES.length(); i++) {
+                    if ((stripped & (1 << i)) == 0) {
+                        continue;
+                    }
+
+                    char a = CODES.charAt(i);
                     TextColor textColor = this.idToColour.get(a);
                     if (textColor != null) {
                         name.add(textColor.getName());
@@ -259,48 +285,88 @@ public class TextStyleService implements ITextStyleService, IReloadableService.R
         return ImmutableList.of();
     }
 
-    private static void addStylePermIf(boolean condition, String prefix, String suffix, ImmutableList.Builder<String> builder) {
-        if (condition) {
-            builder.add(prefix + suffix);
+    /**
+     * Removes the given formatting codes from a message, in the same way as
+     * when stripping the codes that a subject does not have permission for.
+     *
+     * @param message The message
+     * @param codes The characters of the codes to remove, such as "al"
+     * @return The message without those codes
+     */
+    public static String stripCodes(String message, String codes) {
+        int disallowed = 0;
+        for (int i = 0; i < codes.length(); i++) {
+            char c = codes.charAt(i);
+            if (c < 128) {
+                disallowed |= CODE_BITS[c];
+            }
         }
+
+        return scan(message, disallowed).message;
     }
 
-    @Nullable
-    private String getRegexForPermissionless(Subject subject, List<String> permissionPrefixColour, String stylePrefix) {
-        String keys = getKeys(subject, permissionPrefixColour, stylePrefix);
-        if (keys != null) {
-            return "&[" + keys + "]";
+    /*
+     * Removes the disallowed codes in one pass. A code is checked as soon as its character is added, so if
+     * removing one code brings an & next to another code character, that is removed too, just as if the
+     * codes were removed repeatedly until nothing changed.
+     *
+     * While doing this, we also look for a character, a full stop, and a letter or number, as anything the
+     * URL parser would match needs that.
+     */
+    private static Scan scan(String message, int disallowed) {
+        StringBuilder builder = new StringBuilder(message.length());
+        int stripped = 0;
+        boolean mayContainUrl = false;
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            int length = builder.length();
+            if (length > 0 && builder.charAt(length - 1) == '&' && c < 128 && (CODE_BITS[c] & disallowed) != 0) {
+                builder.setLength(length - 1);
+                stripped |= CODE_BITS[c];
+                continue;
+            }
+
+            if (!mayContainUrl && length > 1 && Character.isLetterOrDigit(c) && builder.charAt(length - 1) == '.') {
+                char before = builder.charAt(length - 2);
+                mayContainUrl = before == '-' || Character.isLetterOrDigit(before);
+            }
+
+            builder.append(c);
         }
 
-        return null;
+        return new Scan(stripped == 0 ? message : builder.toString(), stripped, mayContainUrl);
     }
 
-    @Nullable
-    private String getKeys(Subject subject, List<String> permissionPrefixColour, String stylePrefix) {
-        StringBuilder stringBuilder = new StringBuilder();
-        for (Map.Entry<TextColor, String> suffix : this.colourToPermissionSuffix.entrySet()) {
-            if (permissionPrefixColour.stream().noneMatch(prefix -> this.permissionService.hasPermission(subject, prefix + suffix.getValue()))) {
-                Character c = this.idToColour.inverse().get(suffix.getKey());
-                if (c != null) {
-                    stringBuilder.append(c);
-                }
-            }
+    private static void addStylePermIf(boolean condition, String prefix, String suffix, ImmutableList.Builder<String> builder) {
+        if (condition) {
+            builder.add(prefix + suffix);
         }
+    }
 
-        for (Map.Entry<TextStyle, String> suffix : this.styleToPerms.entrySet()) {
-            if (!this.permissionService.hasPermission(subject, stylePrefix + suffix.getValue())) {
-                Character c = this.idToStyle.inverse().get(suffix.getKey());
-                if (c != null) {
-                    stringBuilder.append(c);
-                }
+    private int getDisallowedCodes(Subject subject, List<String> permissionPrefixColour, String stylePrefix) {
+        String key = subject.getContainingCollection().getIdentifier() + ":" + subject.getIdentifier() + ":"
+                + String.join(",", permissionPrefixColour) + ":" + stylePrefix;
+        return this.disallowedCodes.get(key, k -> computeDisallowedCodes(subject, permissionPrefixColour, stylePrefix));
+    }
+
+    private int computeDisallowedCodes(Subject subject, List<String> permissionPrefixColour, String stylePrefix) {
+        int disallowed = 0;
+        for (Map.Entry<Character, TextColor> entry : this.idToColour.entrySet()) {
+            String suffix = this.colourToPermissionSuffix.get(entry.getValue());
+            if (suffix != null
+                    && permissionPrefixColour.stream().noneMatch(prefix -> this.permissionService.hasPermission(subject, prefix + suffix))) {
+                disallowed |= CODE_BITS[entry.getKey()];
             }
         }
 
-        if (stringBuilder.length() > 0) {
-            return stringBuilder.toString();
+        for (Map.Entry<Character, TextStyle> entry : this.idToStyle.entrySet()) {
+            String suffix = this.styleToPerms.get(entry.getValue());
+            if (suffix != null && !this.permissionService.hasPermission(subject, stylePrefix + suffix)) {
+                disallowed |= CODE_BITS[entry.getKey()];
+            }
         }
 
-        return null;
+        return disallowed;
     }
 
     @Override
@@ -522,6 +588,20 @@ public class TextStyleService implements ITextStyleService, IReloadableService.R
 
     @Override public void onReload(INucleusServiceCollection serviceCollection) {
         String commandNameOnClick = serviceCollection.moduleDataProvider().getModuleConfig(CoreConfig.class).getCommandOnNameClick();
+        this.disallowedCodes.invalidateAll();
+    }
+
+    private static final class Scan {
+
+        private final String message;
+        private final int stripped;
+        private final boolean mayContainUrl;
+
+        private Scan(String message, int stripped, boolean mayContainUrl) {
+            this.message = message;
+            this.stripped = stripped;
+            this.mayContainUrl = mayContainUrl;
+        }
     }
 
     public static class TextFormatImpl implements TextFormat {
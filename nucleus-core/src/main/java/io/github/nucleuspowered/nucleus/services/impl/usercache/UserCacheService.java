@@ -4,33 +4,47 @@
  */
 package io.github.nucleuspowered.nucleus.services.impl.usercache;
 
-import com.google.common.collect.Maps;
 import com.google.common.reflect.TypeToken;
+import com.google.gson.JsonObject;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.UserCacheDataNode;
+import io.github.nucleuspowered.nucleus.configurate.datatypes.UserCacheRebuildCheckpoint;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.UserCacheVersionNode;
 import io.github.nucleuspowered.nucleus.services.INucleusServiceCollection;
 import io.github.nucleuspowered.nucleus.services.impl.storage.dataobjects.modular.IUserDataObject;
 import io.github.nucleuspowered.nucleus.services.impl.storage.queryobjects.IUserQueryObject;
+import io.github.nucleuspowered.nucleus.services.impl.storage.queryobjects.QueryKeys;
 import io.github.nucleuspowered.nucleus.services.impl.storage.queryobjects.UserQueryObject;
 import io.github.nucleuspowered.nucleus.services.interfaces.IReloadableService;
 import io.github.nucleuspowered.nucleus.services.interfaces.IStorageManager;
 import io.github.nucleuspowered.nucleus.services.interfaces.IUserCacheService;
+import io.github.nucleuspowered.storage.dataaccess.IDataTranslator;
+import io.github.nucleuspowered.storage.persistence.IStorageRepository;
+import io.github.nucleuspowered.storage.queryobjects.QueryKey;
 import io.github.nucleuspowered.storage.services.IStorageService;
 import ninja.leaping.configurate.ConfigurationNode;
 import ninja.leaping.configurate.gson.GsonConfigurationLoader;
 import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+import org.slf4j.Logger;
 import org.spongepowered.api.Sponge;
-import org.spongepowered.api.service.user.UserStorageService;
 import org.spongepowered.api.util.Identifiable;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -38,11 +52,15 @@ import javax.inject.Singleton;
 public class UserCacheService implements IUserCacheService, IReloadableService.DataLocationReloadable {
 
     private static final int expectedVersion = new UserCacheVersionNode().getVersion();
-    private boolean isWalking = false;
+    private static final int CHECKPOINT_INTERVAL = 5000;
+    private static final int MAX_PARALLELISM = 4;
+    private volatile boolean isWalking = false;
+    @Nullable private volatile Progress progress;
 
     private final Supplier<Path> dataDirectory;
     private final Object lockingObject = new Object();
     private final IStorageManager storageManager;
+    private final Logger logger;
 
     private UserCacheVersionNode data;
 
@@ -50,6 +68,7 @@ public class UserCacheService implements IUserCacheService, IReloadableService.D
     public UserCacheService(INucleusServiceCollection serviceCollection) {
         this.dataDirectory = serviceCollection.dataDir();
         this.storageManager = serviceCollection.storageManager();
+        this.logger = serviceCollection.logger();
         serviceCollection.reloadableService().registerDataFileReloadable(this);
         load();
     }
@@ -77,21 +96,53 @@ public class UserCacheService implements IUserCacheService, IReloadableService.D
 
     }
 
+    /**
+     * Runs the query against the storage indexes, if the storage supports it.
+     *
+     * @return The result, or {@code null} if the cache should be scanned instead
+     */
+    @Nullable
+    private <T> List<UUID> queryIndex(QueryKey<T, IUserQueryObject> key, T value) {
+        IStorageService.Keyed<UUID, IUserQueryObject, IUserDataObject> service = this.storageManager.getUserService();
+        if (!service.supportsNonPrimaryKeyQueries()) {
+            return null;
+        }
+
+        IUserQueryObject query = new UserQueryObject();
+        query.addConstraint(key, value);
+        return new ArrayList<>(service.getAllKeys(query).join());
+    }
+
     @Override public List<UUID> getForIp(String ip) {
-        updateCacheForOnlinePlayers();
         String ipToCheck = ip.replace("/", "");
+        List<UUID> indexed = queryIndex(QueryKeys.IP_ADDRESS, ipToCheck);
+        if (indexed != null) {
+            return indexed;
+        }
+
+        updateCacheForOnlinePlayers();
         return this.data.getNode().entrySet().stream().filter(x -> x.getValue()
                 .getIpAddress().map(y -> y.equals(ipToCheck)).orElse(false))
                 .map(Map.Entry::getKey).collect(Collectors.toList());
     }
 
     @Override public List<UUID> getJailed() {
+        List<UUID> indexed = queryIndex(QueryKeys.JAILED, true);
+        if (indexed != null) {
+            return indexed;
+        }
+
         updateCacheForOnlinePlayers();
         return this.data.getNode().entrySet().stream().filter(x -> x.getValue().isJailed())
                 .map(Map.Entry::getKey).collect(Collectors.toList());
     }
 
     @Override public List<UUID> getJailedIn(String name) {
+        List<UUID> indexed = queryIndex(QueryKeys.JAIL_NAME, name);
+        if (indexed != null) {
+            return indexed;
+        }
+
         updateCacheForOnlinePlayers();
         return this.data.getNode().entrySet().stream()
                 .filter(x -> x.getValue().getJailName().map(y -> y.equalsIgnoreCase(name)).orElse(false))
@@ -99,6 +150,11 @@ public class UserCacheService implements IUserCacheService, IReloadableService.D
     }
 
     @Override public List<UUID> getMuted() {
+        List<UUID> indexed = queryIndex(QueryKeys.MUTED, true);
+        if (indexed != null) {
+            return indexed;
+        }
+
         updateCacheForOnlinePlayers();
         return this.data.getNode().entrySet().stream().filter(x -> x.getValue().isMuted())
                 .map(Map.Entry::getKey).collect(Collectors.toList());
@@ -139,25 +195,58 @@ public class UserCacheService implements IUserCacheService, IReloadableService.D
         }
 
         try {
-            Map<UUID, UserCacheDataNode> data = Maps.newHashMap();
-            List<UUID> knownUsers = Sponge.getServiceManager().provideUnchecked(UserStorageService.class).getAll().stream()
-                    .map(Identifiable::getUniqueId).collect(Collectors.toList());
-
-            int count = 0;
-            IStorageService.Keyed<UUID, IUserQueryObject, IUserDataObject> manager = this.storageManager.getUserService();
-            for (UUID user : knownUsers) {
-                if (manager.exists(user).join()) {
-                    manager.get(user).join().ifPresent(x -> data.put(user, new UserCacheDataNode(x)));
-                    if (++count >= 10) {
-                        manager.clearCache();
-                        count = 0;
-                    }
+            // Anything waiting to be written needs to be in the repository before we read it.
+            this.storageManager.getUserService().ensureSaved().join();
+
+            IStorageRepository.Keyed<UUID, IUserQueryObject, JsonObject> repository = this.storageManager.getUserRepository();
+            IDataTranslator<IUserDataObject, JsonObject> translator = this.storageManager.getUserDataAccess();
+            List<UUID> keys = new ArrayList<>(repository.getAllKeys());
+            Collections.sort(keys);
+
+            // Pick up where an interrupted rebuild left off, if there was one.
+            Map<UUID, UserCacheDataNode> data = new ConcurrentHashMap<>();
+            int start = 0;
+            List<UserCacheRebuildCheckpoint> checkpoints = loadCheckpoints();
+            if (!checkpoints.isEmpty()) {
+                checkpoints.forEach(x -> data.putAll(x.getNode()));
+                int index = Collections.binarySearch(keys, checkpoints.get(checkpoints.size() - 1).getLastKey().get());
+                start = index >= 0 ? index + 1 : -index - 1;
+                this.logger.info("Resuming the user cache rebuild from user " + start + " of " + keys.size());
+            }
+
+            Progress progress = new Progress(keys.size(), start);
+            this.progress = progress;
+            ForkJoinPool pool = new ForkJoinPool(Math.max(1, Math.min(MAX_PARALLELISM, Runtime.getRuntime().availableProcessors() - 1)));
+            try {
+                int checkpointNumber = checkpoints.size();
+                for (int i = start; i < keys.size(); i += CHECKPOINT_INTERVAL) {
+                    List<UUID> batch = keys.subList(i, Math.min(keys.size(), i + CHECKPOINT_INTERVAL));
+                    Map<UUID, UserCacheDataNode> batchData = new ConcurrentHashMap<>();
+                    pool.submit(() -> batch.parallelStream().forEach(uuid -> {
+                        try {
+                            repository.get(uuid).ifPresent(x -> batchData.put(uuid, new UserCacheDataNode(translator.fromDataAccessObject(x))));
+                        } catch (Exception e) {
+                            this.logger.warn("Could not read the data for user " + uuid + " when rebuilding the user cache", e);
+                        }
+
+                        progress.processed.incrementAndGet();
+                    })).get();
+
+                    // Only the users in this batch are written, so each checkpoint costs the same.
+                    data.putAll(batchData);
+                    saveCheckpoint(checkpointNumber++, new UserCacheRebuildCheckpoint(batch.get(batch.size() - 1), batchData));
                 }
+            } finally {
+                pool.shutdown();
             }
 
             this.data = new UserCacheVersionNode();
             this.data.getNode().putAll(data);
             save();
+            progress.complete();
+            deleteCheckpoints();
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not rebuild the user cache. Running the rebuild again will resume it.", e);
         } finally {
             this.isWalking = false;
         }
@@ -165,9 +254,76 @@ public class UserCacheService implements IUserCacheService, IReloadableService.D
         return true;
     }
 
+    @Override public Optional<RebuildProgress> getRebuildProgress() {
+        return Optional.ofNullable(this.progress);
+    }
+
+    /**
+     * Loads the checkpoints of an interrupted rebuild, in the order that they
+     * were written. Loading stops at the first checkpoint that cannot be read,
+     * as the users after it would otherwise be missed.
+     */
+    private List<UserCacheRebuildCheckpoint> loadCheckpoints() {
+        List<UserCacheRebuildCheckpoint> checkpoints = new ArrayList<>();
+        for (int i = 0; Files.exists(checkpointPath(i)); i++) {
+            try {
+                UserCacheRebuildCheckpoint checkpoint = configurationLoader(checkpointPath(i))
+                        .load()
+                        .getValue(TypeToken.of(UserCacheRebuildCheckpoint.class));
+                if (checkpoint == null || checkpoint.getVersion() != expectedVersion || !checkpoint.getLastKey().isPresent()) {
+                    break;
+                }
+
+                checkpoints.add(checkpoint);
+            } catch (IOException | ObjectMappingException e) {
+                this.logger.warn("Could not load user cache rebuild checkpoint " + i + ", the rebuild will resume from the one before it", e);
+                break;
+            }
+        }
+
+        // Anything after the last good checkpoint will be written again.
+        for (int i = checkpoints.size(); Files.exists(checkpointPath(i)); i++) {
+            try {
+                Files.delete(checkpointPath(i));
+            } catch (IOException e) {
+                this.logger.warn("Could not delete user cache rebuild checkpoint " + i, e);
+            }
+        }
+
+        return checkpoints;
+    }
+
+    private void saveCheckpoint(int number, UserCacheRebuildCheckpoint checkpoint) throws IOException, ObjectMappingException {
+        Files.createDirectories(checkpointDirectory());
+        GsonConfigurationLoader loader = configurationLoader(checkpointPath(number));
+        ConfigurationNode node = loader.createEmptyNode();
+        node.setValue(TypeToken.of(UserCacheRebuildCheckpoint.class), checkpoint);
+        loader.save(node);
+    }
+
+    private void deleteCheckpoints() throws IOException {
+        for (int i = 0; Files.exists(checkpointPath(i)); i++) {
+            Files.delete(checkpointPath(i));
+        }
+
+        Files.deleteIfExists(checkpointDirectory());
+    }
+
+    private Path checkpointDirectory() {
+        return this.dataDirectory.get().resolve("usercache-rebuild");
+    }
+
+    private Path checkpointPath(int number) {
+        return checkpointDirectory().resolve(number + ".json");
+    }
+
     private GsonConfigurationLoader configurationLoader() {
+        return configurationLoader(this.dataDirectory.get().resolve("usercache.json"));
+    }
+
+    private static GsonConfigurationLoader configurationLoader(Path path) {
         return GsonConfigurationLoader.builder()
-                .setPath(this.dataDirectory.get().resolve("usercache.json"))
+                .setPath(path)
                 .build();
     }
 
@@ -175,4 +331,49 @@ public class UserCacheService implements IUserCacheService, IReloadableService.D
     public void onDataFileLocationChange(INucleusServiceCollection serviceCollection) {
         load();
     }
+
+    private static final class Progress implements RebuildProgress {
+
+        private final int total;
+        private final int resumedFrom;
+        private final long started = System.nanoTime();
+        private final AtomicInteger processed;
+        private volatile long finished = -1;
+
+        private Progress(int total, int resumedFrom) {
+            this.total = total;
+            this.resumedFrom = resumedFrom;
+            this.processed = new AtomicInteger(resumedFrom);
+        }
+
+        private void complete() {
+            this.finished = System.nanoTime();
+        }
+
+        @Override public int getTotal() {
+            return this.total;
+        }
+
+        @Override public int getProcessed() {
+            return this.processed.get();
+        }
+
+        @Override public Duration getElapsed() {
+            long end = this.finished == -1 ? System.nanoTime() : this.finished;
+            return Duration.ofNanos(end - this.started);
+        }
+
+        @Override public double getUsersPerSecond() {
+            long millis = getElapsed().toMillis();
+            if (millis == 0) {
+                return 0;
+            }
+
+            return (this.processed.get() - this.resumedFrom) * 1000.0 / millis;
+        }
+
+        @Override public boolean isComplete() {
+            return this.finished != -1;
+        }
+    }
 }
@@ -12,6 +12,7 @@ import io.github.nucleuspowered.nucleus.modules.core.CoreModule;
 import io.github.nucleuspowered.nucleus.modules.core.CorePermissions;
 import io.github.nucleuspowered.nucleus.modules.message.MessageModule;
 import io.github.nucleuspowered.nucleus.modules.message.MessagePermissions;
+import io.github.nucleuspowered.nucleus.modules.message.services.MessageHandler;
 import io.github.nucleuspowered.nucleus.modules.powertool.PowertoolModule;
 import io.github.nucleuspowered.nucleus.modules.powertool.PowertoolPermissions;
 import io.github.nucleuspowered.nucleus.modules.staffchat.StaffChatModule;
@@ -91,7 +92,9 @@ public class NucleusKeysProvider implements NucleusUserPreferenceService.Keys {
             ((serviceCollection, user) -> serviceCollection.permissionService().hasPermission(user, MessagePermissions.BASE_SOCIALSPY)
                     && !serviceCollection.permissionService().hasPermission(user, MessagePermissions.SOCIALSPY_FORCE)),
             "userpref.socialspy",
-            MessageModule.ID
+            MessageModule.ID,
+            (serviceCollection, uuid, value) ->
+                    serviceCollection.getService(MessageHandler.class).ifPresent(x -> x.refreshSocialSpy(uuid))
     );
     public static final PreferenceKeyImpl<Locale> PLAYER_LOCALE = new PreferenceKeyImpl.LocaleKey(
             PLAYER_LOCALE_KEY,
@@ -131,6 +131,15 @@ public class PreferenceKeyImpl<T> extends DataKeyImpl<T, IUserDataObject> implem
         public BooleanKey(String key, @Nullable Boolean def, BiPredicate<INucleusServiceCollection, User> canAccess, String descriptionKey, String module) {
             super(key, def, Boolean.class, canAccess, descriptionKey, module);
         }
+
+        public BooleanKey(String key,
+                @Nullable Boolean def,
+                BiPredicate<INucleusServiceCollection, User> canAccess,
+                String descriptionKey,
+                String module,
+                TriConsumer<INucleusServiceCollection, UUID, Boolean> onSet) {
+            super(key, def, Boolean.class, canAccess, descriptionKey, module, onSet);
+        }
     }
 
     public static class LocaleKey extends PreferenceKeyImpl<Locale> {
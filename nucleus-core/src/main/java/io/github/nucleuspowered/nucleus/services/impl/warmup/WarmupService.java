@@ -4,37 +4,62 @@
  */
 package io.github.nucleuspowered.nucleus.services.impl.warmup;
 
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import io.github.nucleuspowered.nucleus.services.interfaces.IWarmupService;
+import org.slf4j.Logger;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.scheduler.SpongeExecutorService;
 import org.spongepowered.api.scheduler.Task;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
-import java.util.function.Consumer;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs warmups from a single hashed timing wheel that is advanced once per
+ * server tick, rather than submitting a {@link Task} per warmup.
+ *
+ * <p>New warmups are handed to the wheel through a concurrent queue, and
+ * placed into the slot for the tick they are due on when the wheel next turns,
+ * so the wheel itself is only touched by the server thread. A warmup that is
+ * more than one revolution away stays in its slot until it is due. Cancelled
+ * warmups are left in their slot and are discarded when the slot is next
+ * processed.</p>
+ */
 @Singleton
 public class WarmupService implements IWarmupService {
 
-    private final Object lockingObject = new Object();
+    private static final int WHEEL_SIZE = 512;
+    private static final long MILLIS_PER_TICK = 50;
 
     private final PluginContainer pluginContainer;
-
-    // player to task
-    private final BiMap<UUID, UUID> tasks = HashBiMap.create();
-
-    // task to warmup
-    private final BiMap<UUID, WarmupTask> uuidToWarmup = HashBiMap.create();
+    private final Logger logger;
+    private final Map<UUID, Warmup> warmups = new ConcurrentHashMap<>();
+    private final Queue<Warmup> incoming = new ConcurrentLinkedQueue<>();
+    private final List<List<Warmup>> wheel = new ArrayList<>(WHEEL_SIZE);
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private final AtomicLong fired = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+    private volatile long currentTick = 0;
+    private volatile SpongeExecutorService asyncExecutor;
 
     @Inject
-    public WarmupService(PluginContainer pluginContainer) {
+    public WarmupService(PluginContainer pluginContainer, Logger logger) {
         this.pluginContainer = pluginContainer;
+        this.logger = logger;
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            this.wheel.add(new ArrayList<>());
+        }
     }
 
     @Override public void executeAfter(Player target, Duration duration, WarmupTask runnable) {
@@ -46,69 +71,124 @@ public class WarmupService implements IWarmupService {
     }
 
     private void execute(Player target, Duration duration, WarmupTask runnable, boolean async) {
-        synchronized (this.lockingObject) {
-            cancelInternal(target);
-
-            // build the task
-            final UUID playerTarget = target.getUniqueId();
-            Consumer<Task> taskToSubmit = task -> {
-                if (Sponge.getServer().getPlayer(playerTarget).isPresent()) {
-                    // Only run if the player is still on the server.
-                    runnable.run();
-                }
+        startIfRequired();
+        long ticks = Math.max(1, (duration.toMillis() + MILLIS_PER_TICK - 1) / MILLIS_PER_TICK);
+        Warmup warmup = new Warmup(target.getUniqueId(), runnable, async, this.currentTick + ticks);
+
+        Warmup previous = this.warmups.put(target.getUniqueId(), warmup);
+        if (previous != null) {
+            this.cancelled.incrementAndGet();
+            previous.task.onCancel();
+        }
 
-                this.tasks.remove(playerTarget);
-                this.uuidToWarmup.remove(task.getUniqueId());
-            };
+        this.incoming.add(warmup);
+    }
 
-            Task.Builder builder = Task.builder()
-                    .execute(taskToSubmit)
-                    .delay(duration.toMillis(), TimeUnit.MILLISECONDS)
-                    .name("Nucleus Warmup task: " + playerTarget.toString());
-            if (async) {
-                builder.async();
-            }
-            Task t = builder.submit(this.pluginContainer);
-            this.tasks.put(playerTarget, t.getUniqueId());
-            this.uuidToWarmup.put(t.getUniqueId(), runnable);
+    private void startIfRequired() {
+        if (this.started.compareAndSet(false, true)) {
+            this.asyncExecutor = Sponge.getScheduler().createAsyncExecutor(this.pluginContainer);
+            Task.builder()
+                    .execute(this::tick)
+                    .intervalTicks(1)
+                    .name("Nucleus Warmup wheel")
+                    .submit(this.pluginContainer);
         }
     }
 
-    @Override public boolean cancel(Player player) {
-        synchronized (this.lockingObject) {
-            return cancelInternal(player);
+    private void tick() {
+        long tick = ++this.currentTick;
+        Warmup warmup;
+        while ((warmup = this.incoming.poll()) != null) {
+            this.wheel.get(slot(Math.max(tick, warmup.dueTick))).add(warmup);
+        }
+
+        List<Warmup> slot = this.wheel.get(slot(tick));
+        if (slot.isEmpty()) {
+            return;
+        }
+
+        List<Warmup> due = new ArrayList<>();
+        slot.removeIf(x -> {
+            if (x.dueTick > tick) {
+                return false; // a later revolution
+            }
+
+            due.add(x);
+            return true;
+        });
+
+        for (Warmup dueWarmup : due) {
+            // If the remove fails, it was cancelled or replaced.
+            if (this.warmups.remove(dueWarmup.player, dueWarmup)) {
+                // One failing warmup must not stop the rest of the slot from running.
+                try {
+                    fire(dueWarmup);
+                } catch (Exception e) {
+                    this.logger.error("Could not run the warmup for " + dueWarmup.player, e);
+                }
+            }
         }
     }
 
-    private boolean cancelInternal(Player player) {
-        UUID taskUUID = this.tasks.get(player.getUniqueId());
-        if (taskUUID != null) {
-            Sponge.getScheduler().getTaskById(taskUUID).ifPresent(Task::cancel);
-            WarmupTask task = this.uuidToWarmup.get(taskUUID);
-            if (task != null) {
-                // if we get here, it was never cancelled.
-                task.onCancel();
+    private static int slot(long tick) {
+        return (int) (tick % WHEEL_SIZE);
+    }
+
+    private void fire(Warmup warmup) {
+        this.fired.incrementAndGet();
+        Runnable runnable = () -> {
+            if (Sponge.getServer().getPlayer(warmup.player).isPresent()) {
+                // Only run if the player is still on the server.
+                warmup.task.run();
             }
+        };
 
-            this.uuidToWarmup.remove(taskUUID);
+        if (warmup.async) {
+            this.asyncExecutor.execute(runnable);
+        } else {
+            runnable.run();
         }
-        this.tasks.remove(player.getUniqueId());
-        return taskUUID != null;
+    }
+
+    @Override public boolean cancel(Player player) {
+        Warmup warmup = this.warmups.remove(player.getUniqueId());
+        if (warmup != null) {
+            this.cancelled.incrementAndGet();
+            warmup.task.onCancel();
+            return true;
+        }
+
+        return false;
     }
 
     @Override public boolean awaitingExecution(Player player) {
-        synchronized (this.lockingObject) {
-            UUID taskUUID = this.tasks.get(player.getUniqueId());
-            if (taskUUID != null) {
-                if (Sponge.getScheduler().getTaskById(taskUUID).isPresent()) {
-                    // remove entries
-                    return true;
-                } else {
-                    this.uuidToWarmup.remove(taskUUID);
-                }
-            }
-            this.tasks.remove(player.getUniqueId());
-            return false;
+        return this.warmups.containsKey(player.getUniqueId());
+    }
+
+    @Override public int getPendingWarmups() {
+        return this.warmups.size();
+    }
+
+    @Override public long getFiredWarmups() {
+        return this.fired.get();
+    }
+
+    @Override public long getCancelledWarmups() {
+        return this.cancelled.get();
+    }
+
+    private static final class Warmup {
+
+        private final UUID player;
+        private final WarmupTask task;
+        private final boolean async;
+        private final long dueTick;
+
+        private Warmup(UUID player, WarmupTask task, boolean async, long dueTick) {
+            this.player = player;
+            this.task = task;
+            this.async = async;
+            this.dueTick = dueTick;
         }
     }
 }
@@ -0,0 +1,33 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.services.interfaces;
+
+import com.google.inject.ImplementedBy;
+import io.github.nucleuspowered.nucleus.services.impl.commandworker.CommandWorkerService;
+
+/**
+ * Runs the parts of commands that do not need the main thread, such as
+ * storage reads, on a small pool of worker threads.
+ */
+@ImplementedBy(CommandWorkerService.class)
+public interface ICommandWorkerService {
+
+    /**
+     * Runs the task on a worker thread, unless too many tasks are already
+     * running or waiting to run.
+     *
+     * @param task The task
+     * @return false if the task was rejected, in which case it will not run
+     */
+    boolean submit(Runnable task);
+
+    /**
+     * Gets the number of tasks that are running or waiting to run.
+     *
+     * @return The number of tasks
+     */
+    int getPendingCount();
+
+}
@@ -53,4 +53,16 @@ public interface ICooldownService {
      */
     void clearCooldown(String key, Identifiable identifiable);
 
+    /**
+     * Loads any cooldowns that were saved when the server last stopped, if
+     * cooldowns are set to be persisted.
+     */
+    void load();
+
+    /**
+     * Saves cooldowns that have long enough left on them to be worth keeping
+     * over a restart, if cooldowns are set to be persisted.
+     */
+    void save();
+
 }
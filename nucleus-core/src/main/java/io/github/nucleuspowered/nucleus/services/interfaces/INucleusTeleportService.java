@@ -16,6 +16,8 @@ import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.teleport.TeleportHelperFilter;
 
+import java.util.concurrent.CompletableFuture;
+
 @ImplementedBy(SafeTeleportService.class)
 public interface INucleusTeleportService extends NucleusSafeTeleportService {
 
@@ -40,6 +42,36 @@ public interface INucleusTeleportService extends NucleusSafeTeleportService {
             boolean safe,
             TeleportScanner scanner);
 
+    /**
+     * Teleports the player as {@link #teleportPlayerSmart(Player, Transform, boolean, boolean, TeleportScanner)}
+     * does, but searches for the safe location off the main thread where the
+     * scanner and filter allow it.
+     *
+     * <p>This must be called on the main thread. The returned future is
+     * completed on the main thread, once the player has been teleported.</p>
+     */
+    CompletableFuture<TeleportResult> teleportPlayerSmartAsync(Player player,
+            Transform<World> transform,
+            boolean centreBlock,
+            boolean safe,
+            TeleportScanner scanner);
+
+    /**
+     * Teleports the player as {@link #teleportPlayer(Player, Location, Vector3d, boolean, TeleportScanner, TeleportHelperFilter,
+     * TeleportHelperFilter...)} does, but searches for the safe location off
+     * the main thread where the scanner and filters allow it.
+     *
+     * <p>This must be called on the main thread. The returned future is
+     * completed on the main thread, once the player has been teleported.</p>
+     */
+    CompletableFuture<TeleportResult> teleportPlayerAsync(Player player,
+            Location<World> location,
+            Vector3d rotation,
+            boolean centreBlock,
+            TeleportScanner scanner,
+            TeleportHelperFilter filter,
+            TeleportHelperFilter... filters);
+
     TeleportHelperFilter getAppropriateFilter(Player src, boolean safeTeleport);
 
     BorderDisableSession temporarilyDisableBorder(boolean reset, World world);
@@ -24,6 +24,7 @@ import java.util.OptionalDouble;
 import java.util.OptionalInt;
 import java.util.OptionalLong;
 import java.util.UUID;
+import java.util.function.Function;
 
 @ImplementedBy(NucleusPermissionService.class)
 public interface IPermissionService extends ContextCalculator<Subject> {
@@ -50,6 +51,8 @@ public interface IPermissionService extends ContextCalculator<Subject> {
 
     void register(String permission, PermissionMetadata metadata, String moduleid);
 
+    void register(String permission, String descriptionKey, String[] replacements, SuggestedLevel level, boolean isPrefix, String moduleid);
+
     CommandElement createOtherUserPermissionElement(String permission);
 
     OptionalDouble getDoubleOptionFromSubject(Subject player, String... options);
@@ -82,6 +85,23 @@ public interface IPermissionService extends ContextCalculator<Subject> {
 
     void removePlayerContexts(UUID uuid);
 
+    /**
+     * Gets a value that is worked out from the subject's permissions and
+     * options, working it out if it has not been already.
+     *
+     * <p>The value is kept for as long as the subject's permission decisions
+     * in its current contexts are, so it must only depend on those.</p>
+     *
+     * @param subject The subject
+     * @param key The key to store the value under, unique to the caller
+     * @param compute Works out the value
+     * @param <T> The type of value
+     * @return The value
+     */
+    <T> T getDerived(Subject subject, Object key, Function<Subject, T> compute);
+
+    CacheStats getCacheStats();
+
     interface Metadata {
 
         boolean isPrefix();
@@ -95,4 +115,19 @@ public interface IPermissionService extends ContextCalculator<Subject> {
         String getModuleId();
     }
 
+    /**
+     * How often permission and option lookups have been answered from the
+     * cache, rather than by asking the permission plugin.
+     */
+    interface CacheStats {
+
+        long getPermissionHits();
+
+        long getPermissionMisses();
+
+        long getOptionHits();
+
+        long getOptionMisses();
+    }
+
 }
@@ -11,9 +11,44 @@ import io.github.nucleuspowered.nucleus.services.impl.placeholder.PlaceholderSer
 
 import java.util.Collection;
 
+import javax.annotation.Nullable;
+
 @ImplementedBy(PlaceholderService.class)
 public interface IPlaceholderService extends NucleusPlaceholderService {
 
     Collection<PlaceholderMetadata> getNucleusParsers();
 
+    Collection<PlaceholderMetadata> getAllParsers();
+
+    /**
+     * Discards the cached names and display names for the source with the
+     * given identifier, such as when a player's nickname changes.
+     *
+     * @param identifier The identifier of the source
+     */
+    void invalidateNames(String identifier);
+
+    /**
+     * Registers a listener that is told whenever cached results for a token
+     * are discarded, so that anything built from those results can be
+     * discarded too.
+     *
+     * @param listener The {@link InvalidationListener}
+     */
+    void registerInvalidationListener(InvalidationListener listener);
+
+    @FunctionalInterface
+    interface InvalidationListener {
+
+        /**
+         * Called when cached results for a token are discarded.
+         *
+         * @param token The token, in lower case
+         * @param identifier The identifier of the source the results were
+         *      discarded for, or null if they were discarded for everyone
+         */
+        void onInvalidate(String token, @Nullable String identifier);
+
+    }
+
 }
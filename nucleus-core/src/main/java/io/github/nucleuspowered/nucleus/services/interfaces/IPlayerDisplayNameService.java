@@ -34,7 +34,44 @@ public interface IPlayerDisplayNameService {
      * @param displayName The display name
      * @return The {@link UUID}
      */
-    Map<UUID, List<String>> startsWith(String displayName);
+    default Map<UUID, List<String>> startsWith(String displayName) {
+        return startsWith(displayName, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets the {@link UUID} of up to the given number of players that have a
+     * name or display name that starts with the given parameter.
+     *
+     * @param displayName The display name
+     * @param limit The maximum number of players to return
+     * @return The {@link UUID}
+     */
+    Map<UUID, List<String>> startsWith(String displayName, int limit);
+
+    /**
+     * Gets the {@link UUID} and name of up to the given number of online
+     * players whose name starts with the given parameter, ignoring case.
+     *
+     * @param name The start of the name
+     * @param limit The maximum number of players to return
+     * @return The {@link UUID} and name of the players
+     */
+    Map<UUID, String> onlineNamesStartingWith(String name, int limit);
+
+    /**
+     * Adds an online player to the name index.
+     *
+     * @param uuid The {@link UUID} of the player
+     * @param name The name of the player
+     */
+    void addOnlineName(UUID uuid, String name);
+
+    /**
+     * Removes a player that has gone offline from the name index.
+     *
+     * @param uuid The {@link UUID} of the player
+     */
+    void removeOnlineName(UUID uuid);
 
     Text getDisplayName(UUID playerUUID);
 
@@ -65,7 +102,11 @@ public interface IPlayerDisplayNameService {
 
         Optional<User> resolve(String name);
 
-        Map<UUID, String> startsWith(String name);
+        default Map<UUID, String> startsWith(String name) {
+            return startsWith(name, Integer.MAX_VALUE);
+        }
+
+        Map<UUID, String> startsWith(String name, int limit);
 
     }
 
@@ -0,0 +1,91 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.services.interfaces;
+
+import com.google.inject.ImplementedBy;
+import io.github.nucleuspowered.nucleus.api.util.NoExceptionAutoClosable;
+import io.github.nucleuspowered.nucleus.services.impl.profiling.ProfilingService;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Records how long commands, command modifiers and tasks take to run, while
+ * profiling is turned on.
+ */
+@ImplementedBy(ProfilingService.class)
+public interface IProfilingService {
+
+    boolean isRunning();
+
+    /**
+     * Starts recording, if it is not already.
+     *
+     * @return false if profiling was already running
+     */
+    boolean start();
+
+    /**
+     * Stops recording. What has been recorded is kept until {@link #reset()}
+     * is called, or profiling is started again.
+     *
+     * @return false if profiling was not running
+     */
+    boolean stop();
+
+    void reset();
+
+    /**
+     * Starts timing something. The time is recorded against the category and
+     * key when the returned object is closed.
+     *
+     * <p>If profiling is not running, nothing is recorded and nothing is
+     * allocated.</p>
+     *
+     * @param category The category, such as "command"
+     * @param key The key within the category
+     * @return The {@link NoExceptionAutoClosable} to close when done
+     */
+    NoExceptionAutoClosable time(String category, String key);
+
+    /**
+     * Gets what has been recorded, the most total time first.
+     *
+     * @return The entries
+     */
+    List<Entry> getEntries();
+
+    /**
+     * Writes what has been recorded to a file.
+     *
+     * @return The file that was written
+     * @throws IOException if the file could not be written
+     */
+    Path export() throws IOException;
+
+    interface Entry {
+
+        String getCategory();
+
+        String getKey();
+
+        long getCount();
+
+        long getTotalNanos();
+
+        long getMaxNanos();
+
+        /**
+         * Gets the time that the given percentage of calls took no longer
+         * than. This is accurate to within about 6%.
+         *
+         * @param percentile The percentile, between 0 and 100
+         * @return The time, in nanoseconds
+         */
+        long getPercentileNanos(double percentile);
+    }
+
+}
@@ -89,4 +89,20 @@ public interface IStorageManager {
     }
 
     CompletableFuture<Void> saveAll();
+
+    /**
+     * Gets whether the flat file storage engine is the one in use, and so whether
+     * {@link #saveAll()} writes to the files that {@link #migrateFlatFileToH2()} reads.
+     *
+     * @return true if data is being stored in flat files
+     */
+    boolean isUsingFlatFiles();
+
+    /**
+     * Copies all data from the flat file storage engine into the H2 storage engine.
+     *
+     * @return The number of user and world entries that were copied
+     * @throws Exception if the migration failed
+     */
+    int migrateFlatFileToH2() throws Exception;
 }
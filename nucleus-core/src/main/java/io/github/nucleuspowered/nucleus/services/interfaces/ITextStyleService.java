@@ -62,6 +62,26 @@ public interface ITextStyleService {
 
     Collection<String> wouldStrip(String permissionPrefixColour, String permissionPrefixStyle, Subject source, String text);
 
+    /**
+     * Removes formatting codes based on permission, as
+     * {@link #stripPermissionless(String, String, Subject, String)} does, and
+     * then turns the result into {@link Text}, adding clickable URLs if
+     * requested as {@link #addUrls(String, boolean)} does.
+     *
+     * <p>The pass that strips the codes also notes whether the text could
+     * contain a URL, so the URL search is skipped for most messages.</p>
+     *
+     * @param permissionPrefixColour The prefix of the permission to check for text colours
+     * @param permissionPrefixStyle The prefix of the permission to check for text styles
+     * @param source The {@link Subject} to check permissions against
+     * @param text The text to strip
+     * @param urls Whether to add clickable URLs
+     * @param replaceBlueUnderline Whether URLs should be coloured blue and underlined
+     * @return The {@link Text}
+     */
+    Text stripPermissionlessAndAddUrls(String permissionPrefixColour, String permissionPrefixStyle, Subject source, String text, boolean urls,
+            boolean replaceBlueUnderline);
+
     default TextFormat getLastColourAndStyle(TextRepresentable text, @Nullable TextFormat current) {
         return getLastColourAndStyle(text, current, TextColors.NONE, TextStyles.NONE);
     }
@@ -8,7 +8,9 @@ import com.google.inject.ImplementedBy;
 import io.github.nucleuspowered.nucleus.services.impl.storage.dataobjects.modular.IUserDataObject;
 import io.github.nucleuspowered.nucleus.services.impl.usercache.UserCacheService;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @ImplementedBy(UserCacheService.class)
@@ -37,4 +39,45 @@ public interface IUserCacheService {
     boolean isCorrectVersion();
 
     boolean fileWalk();
+
+    /**
+     * Gets the progress of the current, or last, rebuild started by {@link #fileWalk()}.
+     *
+     * @return The progress, if a rebuild has been started since the server started
+     */
+    Optional<RebuildProgress> getRebuildProgress();
+
+    interface RebuildProgress {
+
+        /**
+         * The number of users that will be processed in total.
+         *
+         * @return The number of users
+         */
+        int getTotal();
+
+        /**
+         * The number of users that have been processed, including any that were
+         * processed before an interrupted rebuild was resumed.
+         *
+         * @return The number of users
+         */
+        int getProcessed();
+
+        /**
+         * The time spent on this run of the rebuild.
+         *
+         * @return The time
+         */
+        Duration getElapsed();
+
+        /**
+         * The number of users processed per second during this run of the rebuild.
+         *
+         * @return The throughput
+         */
+        double getUsersPerSecond();
+
+        boolean isComplete();
+    }
 }
@@ -9,4 +9,28 @@ import io.github.nucleuspowered.nucleus.api.core.NucleusWarmupManagerService;
 import io.github.nucleuspowered.nucleus.services.impl.warmup.WarmupService;
 
 @ImplementedBy(WarmupService.class)
-public interface IWarmupService extends NucleusWarmupManagerService { }
+public interface IWarmupService extends NucleusWarmupManagerService {
+
+    /**
+     * Gets the number of warmups that are waiting to run.
+     *
+     * @return The number of warmups
+     */
+    int getPendingWarmups();
+
+    /**
+     * Gets the number of warmups that have completed since the server started.
+     *
+     * @return The number of warmups
+     */
+    long getFiredWarmups();
+
+    /**
+     * Gets the number of warmups that have been cancelled or replaced since the
+     * server started.
+     *
+     * @return The number of warmups
+     */
+    long getCancelledWarmups();
+
+}
@@ -0,0 +1,146 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A case insensitive prefix tree of names, where each name belongs to an owner
+ * and each owner has at most one name.
+ *
+ * <p>Finding the names that start with a prefix takes time proportional to
+ * the length of the prefix and the number of results, rather than the number
+ * of names in the index.</p>
+ *
+ * @param <K> The type of owner
+ */
+public final class PrefixIndex<K> {
+
+    private final Node<K> root = new Node<>();
+    private final Map<K, String> names = new HashMap<>();
+
+    /**
+     * Sets the name for the owner, replacing any name it had before.
+     *
+     * @param owner The owner
+     * @param name The name
+     */
+    public synchronized void put(K owner, String name) {
+        String previous = this.names.put(owner, name);
+        if (previous != null) {
+            removeFromTree(owner, previous);
+        }
+
+        Node<K> node = this.root;
+        for (char c : fold(name).toCharArray()) {
+            node = node.children.computeIfAbsent(c, x -> new Node<>());
+        }
+
+        node.owners.put(owner, name);
+    }
+
+    /**
+     * Removes the name for the owner, if there is one.
+     *
+     * @param owner The owner
+     */
+    public synchronized void remove(K owner) {
+        String previous = this.names.remove(owner);
+        if (previous != null) {
+            removeFromTree(owner, previous);
+        }
+    }
+
+    public synchronized void clear() {
+        this.names.clear();
+        this.root.children.clear();
+        this.root.owners.clear();
+    }
+
+    /**
+     * Gets the owners whose name starts with the given prefix, ignoring case,
+     * along with the name as it was added.
+     *
+     * @param prefix The prefix
+     * @param limit The maximum number of results to return
+     * @return The owners and their names
+     */
+    public synchronized Map<K, String> startsWith(String prefix, int limit) {
+        Map<K, String> result = new LinkedHashMap<>();
+        Node<K> start = find(fold(prefix));
+        if (start == null || limit <= 0) {
+            return result;
+        }
+
+        Deque<Node<K>> toVisit = new ArrayDeque<>();
+        toVisit.push(start);
+        while (!toVisit.isEmpty()) {
+            Node<K> node = toVisit.pop();
+            for (Map.Entry<K, String> entry : node.owners.entrySet()) {
+                result.put(entry.getKey(), entry.getValue());
+                if (result.size() >= limit) {
+                    return result;
+                }
+            }
+
+            node.children.values().forEach(toVisit::push);
+        }
+
+        return result;
+    }
+
+    private Node<K> find(String folded) {
+        Node<K> node = this.root;
+        for (int i = 0; i < folded.length() && node != null; i++) {
+            node = node.children.get(folded.charAt(i));
+        }
+
+        return node;
+    }
+
+    private void removeFromTree(K owner, String name) {
+        String folded = fold(name);
+        List<Node<K>> path = new ArrayList<>(folded.length() + 1);
+        Node<K> node = this.root;
+        path.add(node);
+        for (int i = 0; i < folded.length(); i++) {
+            node = node.children.get(folded.charAt(i));
+            if (node == null) {
+                return;
+            }
+
+            path.add(node);
+        }
+
+        node.owners.remove(owner);
+
+        // Remove the branch if nothing else uses it.
+        for (int i = folded.length(); i > 0; i--) {
+            Node<K> current = path.get(i);
+            if (!current.owners.isEmpty() || !current.children.isEmpty()) {
+                return;
+            }
+
+            path.get(i - 1).children.remove(folded.charAt(i - 1));
+        }
+    }
+
+    private static String fold(String name) {
+        return name.toLowerCase();
+    }
+
+    private static final class Node<K> {
+
+        private final Map<Character, Node<K>> children = new HashMap<>();
+        private final Map<K, String> owners = new HashMap<>(2);
+
+    }
+}
@@ -6,4 +6,15 @@ package io.github.nucleuspowered.storage.dataobjects;
 
 public interface IDataObject {
 
+    /**
+     * Gets a counter that is incremented every time this object is modified.
+     *
+     * <p>Storage services compare this against the value that was recorded when
+     * the object was last loaded or saved to determine whether it needs to be
+     * written again.</p>
+     *
+     * @return The modification count
+     */
+    long getModificationCount();
+
 }
@@ -4,32 +4,96 @@
  */
 package io.github.nucleuspowered.storage.dataobjects.keyed;
 
+import io.github.nucleuspowered.nucleus.NucleusPluginInfo;
 import io.github.nucleuspowered.nucleus.services.impl.storage.dataobjects.configurate.AbstractConfigurateBackedDataObject;
 import ninja.leaping.configurate.ConfigurationNode;
 import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.Nullable;
 
+/**
+ * A data object where the data is accessed through {@link DataKey}s.
+ *
+ * <p>Values are deserialised from the backing node the first time they are
+ * requested and are then kept, so that further reads do not need to go through
+ * the object mapper. Values that are set are kept in the same way, and are
+ * only serialised back to the backing node when the node is requested for
+ * saving.</p>
+ *
+ * <p>Lists, sets and maps are copied when they are set, and are handed out as
+ * unmodifiable views, so reads do not allocate. Callers that want to change
+ * one must copy it, or use {@link #getAndSet(DataKey)}, which hands out a
+ * copy. Other values are shared between reads, and must not be modified
+ * unless they are then set back on this object.</p>
+ */
 public class AbstractKeyBasedDataObject<T extends IKeyedDataObject<T>> extends AbstractConfigurateBackedDataObject implements IKeyedDataObject<T> {
 
+    // Data objects are not created through injection, so this is the same logger the plugin uses.
+    private static final Logger LOGGER = LoggerFactory.getLogger(NucleusPluginInfo.ID);
+
+    // Stands in for a value that is known to be absent.
+    private static final Object ABSENT = new Object();
+
+    private final Map<DataKey<?, ?>, Object> decodedValues = new ConcurrentHashMap<>();
+    private final Map<DataKey<?, ?>, Object> pendingWrites = new ConcurrentHashMap<>();
+
     @Override
     public boolean has(DataKey<?, ? extends T> dataKey) {
+        Object value = this.decodedValues.get(dataKey);
+        if (value != null) {
+            return value != ABSENT;
+        }
+
         return !getNode(dataKey.getKey()).isVirtual();
     }
 
+    @SuppressWarnings("unchecked")
     public <V> Value<V> getAndSet(DataKey<V, ? extends T> dataKey) {
-        return new ValueImpl<>(getNullable(dataKey), dataKey);
+        return new ValueImpl<>((V) copyOf(getNullable(dataKey)), dataKey);
     }
 
     @Nullable
+    @SuppressWarnings("unchecked")
     public <V> V getNullable(DataKey<V, ? extends T> dataKey) {
-        try {
-            return getNode(dataKey.getKey()).getValue(dataKey.getType());
-        } catch (ObjectMappingException e) {
-            e.printStackTrace();
-            return null;
+        Object cached = this.decodedValues.get(dataKey);
+        if (cached != null) {
+            return cached == ABSENT ? null : (V) cached;
+        }
+
+        // Decoding is done under the lock, so that it cannot race with a set or a
+        // new backing node and put a stale value back.
+        synchronized (this) {
+            cached = this.decodedValues.get(dataKey);
+            if (cached != null) {
+                return cached == ABSENT ? null : (V) cached;
+            }
+
+            if (this.pendingWrites.keySet().stream().anyMatch(x -> overlaps(x, dataKey))) {
+                // Make sure the node reflects what has been set.
+                flushPendingWrites();
+            }
+
+            try {
+                V value = (V) unmodifiable(getNode(dataKey.getKey()).getValue(dataKey.getType()));
+                this.decodedValues.put(dataKey, value == null ? ABSENT : value);
+                return value;
+            } catch (ObjectMappingException e) {
+                LOGGER.error("Could not read the data at " + String.join(".", dataKey.getKey()), e);
+                return null;
+            }
         }
     }
 
@@ -47,18 +111,116 @@ public class AbstractKeyBasedDataObject<T extends IKeyedDataObject<T>> extends A
         return Optional.ofNullable(getNullable(dataKey));
     }
 
-    public <V> boolean set(DataKey<V, ? extends T> dataKey, V data) {
-        try {
-            getNode(dataKey.getKey()).setValue(dataKey.getType(), data);
+    public synchronized <V> boolean set(DataKey<V, ? extends T> dataKey, V data) {
+        if (data == null) {
+            remove(dataKey);
             return true;
-        } catch (ObjectMappingException e) {
-            e.printStackTrace();
-            return false;
         }
+
+        if (overlapsOtherKeys(dataKey)) {
+            // Another key reads part of this one, so it has to go straight to the node.
+            try {
+                flushPendingWrites();
+                getNode(dataKey.getKey()).setValue(dataKey.getType(), data);
+                invalidateOverlapping(dataKey);
+                markModified();
+                return true;
+            } catch (ObjectMappingException e) {
+                LOGGER.error("Could not set the data at " + String.join(".", dataKey.getKey()), e);
+                return false;
+            }
+        }
+
+        Object value = unmodifiable(copyOf(data));
+        this.decodedValues.put(dataKey, value);
+        this.pendingWrites.put(dataKey, value);
+        markModified();
+        return true;
     }
 
-    public void remove(DataKey<?, ? extends T> dataKey) {
+    public synchronized void remove(DataKey<?, ? extends T> dataKey) {
+        this.pendingWrites.remove(dataKey);
+        if (overlapsOtherKeys(dataKey)) {
+            flushPendingWrites();
+            invalidateOverlapping(dataKey);
+        }
+
         getNode(dataKey.getKey()).setValue(null);
+        this.decodedValues.put(dataKey, ABSENT);
+        markModified();
+    }
+
+    @Override
+    public synchronized ConfigurationNode getBackingNode() {
+        flushPendingWrites();
+        return super.getBackingNode();
+    }
+
+    @Override
+    public synchronized void setBackingNode(ConfigurationNode node) {
+        this.pendingWrites.clear();
+        this.decodedValues.clear();
+        super.setBackingNode(node);
+    }
+
+    // Serialises the values that have been set since the last flush into the backing node.
+    private void flushPendingWrites() {
+        for (Map.Entry<DataKey<?, ?>, Object> entry : this.pendingWrites.entrySet()) {
+            try {
+                setNodeValue(entry.getKey(), entry.getValue());
+            } catch (ObjectMappingException e) {
+                LOGGER.error("Could not save the data at " + String.join(".", entry.getKey().getKey()), e);
+            }
+        }
+
+        this.pendingWrites.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <V> void setNodeValue(DataKey<V, ?> dataKey, Object value) throws ObjectMappingException {
+        getNode(dataKey.getKey()).setValue(dataKey.getType(), (V) value);
+    }
+
+    @Nullable
+    private static Object unmodifiable(@Nullable Object value) {
+        if (value instanceof List) {
+            return Collections.unmodifiableList((List<?>) value);
+        } else if (value instanceof Set) {
+            return Collections.unmodifiableSet((Set<?>) value);
+        } else if (value instanceof Map) {
+            return Collections.unmodifiableMap((Map<?, ?>) value);
+        }
+
+        return value;
+    }
+
+    @Nullable
+    private static Object copyOf(@Nullable Object value) {
+        if (value instanceof List) {
+            return new ArrayList<>((List<?>) value);
+        } else if (value instanceof Set) {
+            return new LinkedHashSet<>((Set<?>) value);
+        } else if (value instanceof Map) {
+            return new LinkedHashMap<>((Map<?, ?>) value);
+        }
+
+        return value;
+    }
+
+    private boolean overlapsOtherKeys(DataKey<?, ?> dataKey) {
+        return this.decodedValues.keySet().stream().anyMatch(x -> x != dataKey && overlaps(x, dataKey));
+    }
+
+    private void invalidateOverlapping(DataKey<?, ?> dataKey) {
+        this.decodedValues.keySet().removeIf(x -> overlaps(x, dataKey));
+    }
+
+    // True if one key is the same as, or is inside, the other.
+    private static boolean overlaps(DataKey<?, ?> first, DataKey<?, ?> second) {
+        String[] a = first.getKey();
+        String[] b = second.getKey();
+        int length = Math.min(a.length, b.length);
+        return Arrays.equals(Arrays.copyOf(a, length), Arrays.copyOf(b, length));
     }
 
     private ConfigurationNode getNode(String[] key) {
@@ -99,7 +99,7 @@ public interface IStorageRepository {
          * @param query The query.
          * @return Whether the object exists.
          */
-        boolean exists(Q query);
+        boolean exists(Q query) throws DataLoadException, DataQueryException;
 
         /**
          * Gets an object based on the {@code query}
@@ -126,6 +126,20 @@ public interface IStorageRepository {
          */
         void save(K key, O object) throws ObjectMappingException, DataSaveException;
 
+        /**
+         * Saves all the supplied objects against their keys.
+         *
+         * <p>Implementors that are able to write multiple objects more efficiently than
+         * one at a time, such as in a single transaction, should override this.</p>
+         *
+         * @param objects The keys and objects to save
+         */
+        default void saveAll(Map<K, O> objects) throws ObjectMappingException, DataSaveException {
+            for (Map.Entry<K, O> entry : objects.entrySet()) {
+                save(entry.getKey(), entry.getValue());
+            }
+        }
+
         /**
          * Deletes the object at the supplied {@code key}
          *
@@ -139,7 +153,7 @@ public interface IStorageRepository {
          * @param key The key.
          * @return Whether the object exists.
          */
-        boolean exists(K key);
+        boolean exists(K key) throws DataLoadException;
 
         /**
          * Gets an object based on the key
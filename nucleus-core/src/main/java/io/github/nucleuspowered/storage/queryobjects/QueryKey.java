@@ -24,6 +24,18 @@ public class QueryKey<T, Q extends IQueryObject<?, Q>> {
         this.key = key;
     }
 
+    /**
+     * Creates a {@link QueryKey}.
+     *
+     * @param key The name of the key
+     * @param <T> The type of object the key is associated with
+     * @param <Q> The {@link IQueryObject} this can be stored on
+     * @return The {@link QueryKey}
+     */
+    public static <T, Q extends IQueryObject<?, Q>> QueryKey<T, Q> of(String key) {
+        return new QueryKey<>(key);
+    }
+
     public String key() {
         return this.key;
     }
@@ -33,7 +45,7 @@ public class QueryKey<T, Q extends IQueryObject<?, Q>> {
     }
 
     @SuppressWarnings("unchecked")
-    public final Collection<T> getValues(Collection<Object> objects) {
+    public final Collection<T> getValues(Collection<?> objects) {
         ImmutableList.Builder<T> builder = ImmutableList.builder();
         for (Object o : objects) {
             builder.add((T) o);
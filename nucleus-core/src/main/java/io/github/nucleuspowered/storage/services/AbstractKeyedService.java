@@ -6,37 +6,47 @@ package io.github.nucleuspowered.storage.services;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableSet;
 import io.github.nucleuspowered.storage.dataaccess.IDataTranslator;
 import io.github.nucleuspowered.storage.dataobjects.IDataObject;
 import io.github.nucleuspowered.storage.persistence.IStorageRepository;
 import io.github.nucleuspowered.storage.queryobjects.IQueryObject;
 import io.github.nucleuspowered.storage.util.KeyedObject;
-import io.github.nucleuspowered.storage.util.ThrownBiConsumer;
+import io.github.nucleuspowered.storage.util.ThrownConsumer;
 import io.github.nucleuspowered.storage.util.ThrownFunction;
 import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.scheduler.Task;
 
-import java.util.HashSet;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public abstract class AbstractKeyedService<Q extends IQueryObject<UUID, Q>, D extends IDataObject>
         implements IStorageService.Keyed<UUID, Q, D> {
 
-    private final Cache<UUID, D> cache = Caffeine.newBuilder().expireAfterAccess(5, TimeUnit.MINUTES).build();
-    private final Set<UUID> dirty = new HashSet<>();
+    private final Cache<UUID, D> cache;
+
+    // The modification count of each object when it was last loaded or queued for saving.
+    private final Map<UUID, Long> savedModificationCounts = new ConcurrentHashMap<>();
+    private final WriteBehindQueue<UUID, D> writeQueue;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private volatile Duration flushInterval = Duration.ZERO;
+    private volatile int maxPendingWrites = 1000;
+    @Nullable private Task flushTask;
 
     private final Supplier<IStorageRepository.Keyed<UUID, Q, ?>> storageRepositorySupplier;
     private final Supplier<D> createNew;
-    private final ThrownBiConsumer<UUID, D, Exception> save;
     private final ThrownFunction<Q, Map<UUID, D>, Exception> getAll;
     private final ThrownFunction<Q, Optional<KeyedObject<UUID, D>>, Exception> getQuery;
     private final ThrownFunction<UUID, Optional<D>, Exception> get;
@@ -49,9 +59,13 @@ public abstract class AbstractKeyedService<Q extends IQueryObject<UUID, Q>, D ex
     ) {
         this(
                 () -> dts.get().createNew(),
-                (key, udo) -> srs.get().save(
-                        key,
-                        dts.get().toDataAccessObject(udo)
+                objects -> srs.get().saveAll(
+                        objects.entrySet().stream().collect(
+                                ImmutableMap.toImmutableMap(
+                                        Map.Entry::getKey,
+                                        x -> dts.get().toDataAccessObject(x.getValue())
+                                )
+                        )
                 ),
                 query -> srs.get()
                         .getAll(query)
@@ -71,7 +85,7 @@ public abstract class AbstractKeyedService<Q extends IQueryObject<UUID, Q>, D ex
 
     private AbstractKeyedService(
             Supplier<D> createNew,
-            ThrownBiConsumer<UUID, D, Exception> save,
+            ThrownConsumer<Map<UUID, D>, Exception> saveAll,
             ThrownFunction<Q, Map<UUID, D>, Exception> getAll,
             ThrownFunction<UUID, Optional<D>, Exception> get,
             ThrownFunction<Q, Optional<KeyedObject<UUID, D>>, Exception> getQuery,
@@ -79,8 +93,12 @@ public abstract class AbstractKeyedService<Q extends IQueryObject<UUID, Q>, D ex
             PluginContainer pluginContainer
     ) {
         this.pluginContainer = pluginContainer;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterAccess(5, TimeUnit.MINUTES)
+                .removalListener(this::onRemoval)
+                .build();
         this.createNew = createNew;
-        this.save = save;
+        this.writeQueue = new WriteBehindQueue<>(saveAll, D::getModificationCount, this::markSaved);
         this.getAll = getAll;
         this.get = get;
         this.getQuery = getQuery;
@@ -91,8 +109,92 @@ public abstract class AbstractKeyedService<Q extends IQueryObject<UUID, Q>, D ex
         return this.createNew.get();
     }
 
+    /**
+     * Sets how saves are queued before being written to the repository.
+     *
+     * @param flushInterval The maximum time a save will wait before it is written, or
+     *                      {@link Duration#ZERO} to write saves as they happen
+     * @param batchSize The maximum number of objects to send to the repository at once
+     * @param maxPendingWrites The number of waiting saves that causes an immediate write
+     */
+    public synchronized void setWriteBehindOptions(Duration flushInterval, int batchSize, int maxPendingWrites) {
+        if (this.flushTask != null) {
+            this.flushTask.cancel();
+            this.flushTask = null;
+        }
+
+        this.flushInterval = flushInterval;
+        this.maxPendingWrites = maxPendingWrites;
+        this.writeQueue.setBatchSize(batchSize);
+        if (!flushInterval.isZero()) {
+            this.flushTask = Task.builder()
+                    .async()
+                    .delay(flushInterval.toMillis(), TimeUnit.MILLISECONDS)
+                    .interval(flushInterval.toMillis(), TimeUnit.MILLISECONDS)
+                    .execute(this.writeQueue::flush)
+                    .submit(this.pluginContainer);
+        }
+
+        // Anything that was waiting should not be held back by the change.
+        scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        if (this.flushScheduled.compareAndSet(false, true)) {
+            ServicesUtil.run(() -> {
+                this.flushScheduled.set(false);
+                this.writeQueue.flush();
+                return null;
+            }, this.pluginContainer);
+        }
+    }
+
+    private void onRemoval(@Nullable UUID key, @Nullable D value, RemovalCause cause) {
+        if (key != null && value != null && cause.wasEvicted()) {
+            // Anything that was changed must make it to the repository before we forget about it.
+            if (isModified(key, value)) {
+                queueSave(key, value);
+            }
+
+            this.savedModificationCounts.remove(key);
+        }
+    }
+
+    private boolean isModified(UUID key, D value) {
+        Long count = this.savedModificationCounts.get(key);
+        return count == null || count != value.getModificationCount();
+    }
+
+    private void markLoaded(UUID key, D value) {
+        this.cache.put(key, value);
+        this.savedModificationCounts.put(key, value.getModificationCount());
+    }
+
+    // Only called once the write has succeeded, so that a failed write leaves the object marked as modified.
+    private void markSaved(UUID key, long modificationCount) {
+        if (this.cache.getIfPresent(key) != null) {
+            this.savedModificationCounts.put(key, modificationCount);
+        }
+    }
+
+    private CompletableFuture<Void> queueSave(UUID key, D value) {
+        CompletableFuture<Void> future = this.writeQueue.offer(key, value);
+        if (this.flushInterval.isZero() || this.writeQueue.size() >= this.maxPendingWrites) {
+            scheduleFlush();
+        }
+
+        return future;
+    }
+
     @Override public CompletableFuture<Void> clearCache() {
+        for (Map.Entry<UUID, D> entry : this.cache.asMap().entrySet()) {
+            if (isModified(entry.getKey(), entry.getValue())) {
+                queueSave(entry.getKey(), entry.getValue());
+            }
+        }
+
         this.cache.invalidateAll();
+        this.savedModificationCounts.clear();
         return ServicesUtil.run(() -> {
             this.storageRepositorySupplier.get().clearCache();
             return null;
@@ -100,8 +202,7 @@ public abstract class AbstractKeyedService<Q extends IQueryObject<UUID, Q>, D ex
     }
 
     @Override public CompletableFuture<Optional<D>> get(@Nonnull final UUID key) {
-        D result = this.cache.getIfPresent(key);
-        this.dirty.add(key);
+        D result = getCachedOrPending(key);
         if (result != null) {
             return CompletableFuture.completedFuture(Optional.of(result));
         }
@@ -111,8 +212,7 @@ public abstract class AbstractKeyedService<Q extends IQueryObject<UUID, Q>, D ex
 
     @Override
     public Optional<D> getOnThread(@Nonnull UUID key) {
-        D result = this.cache.getIfPresent(key);
-        this.dirty.add(key);
+        D result = getCachedOrPending(key);
         if (result != null) {
             return Optional.of(result);
         }
@@ -124,19 +224,51 @@ public abstract class AbstractKeyedService<Q extends IQueryObject<UUID, Q>, D ex
         }
     }
 
+    @Nullable
+    private D getCachedOrPending(@Nonnull UUID key) {
+        D result = this.cache.getIfPresent(key);
+        if (result == null) {
+            // If the object has left the cache but has not been written yet, the
+            // repository is out of date.
+            result = this.writeQueue.peek(key);
+            if (result != null) {
+                markLoaded(key, result);
+            }
+        }
+
+        return result;
+    }
+
     private Optional<D> getFromRepo(@Nonnull UUID key) throws Exception {
         Optional<D> r = this.get.apply(key);
-        r.ifPresent(d -> this.cache.put(key, d));
+        r.ifPresent(d -> markLoaded(key, d));
         return r;
     }
 
+    @Override
+    public boolean supportsNonPrimaryKeyQueries() {
+        return this.storageRepositorySupplier.get().supportsNonKeyQueries();
+    }
+
+    /**
+     * Writes any queued saves before a query on anything other than the primary key
+     * is run, as the repository cannot otherwise see changes that are still queued.
+     *
+     * @param query The query that is about to be run
+     */
+    private void flushForQuery(Q query) {
+        if (!query.queries().isEmpty()) {
+            this.writeQueue.flush();
+        }
+    }
+
     @Override public CompletableFuture<Optional<KeyedObject<UUID, D>>> get(@Nonnull final Q query) {
         return ServicesUtil.run(() -> {
+            flushForQuery(query);
             Optional<KeyedObject<UUID, D>> r = this.getQuery.apply(query);
             r.ifPresent(d -> {
                 if (d.getValue().isPresent()) {
-                    this.cache.put(d.getKey(), d.getValue().get());
-                    this.dirty.add(d.getKey());
+                    markLoaded(d.getKey(), d.getValue().get());
                 } else {
                     this.cache.invalidate(d.getKey());
                 }
@@ -147,14 +279,12 @@ public abstract class AbstractKeyedService<Q extends IQueryObject<UUID, Q>, D ex
 
     @Override public CompletableFuture<Map<UUID, D>> getAll(@Nonnull Q query) {
         return ServicesUtil.run(() -> {
+            flushForQuery(query);
             Map<UUID, D> res = this.getAll.apply(query);
             /* Map<UUID, D> res = r.entrySet().stream()
                     .filter(x -> x.getValue() != null)
                     .collect(ImmutableMap.toImmutableMap(Map.Entry::getKey, v -> dataAccess.fromDataAccessObject(v.getValue()))); */
-            res.forEach((k, v) -> {
-                this.cache.put(k, v);
-                this.dirty.add(k);
-            });
+            res.forEach(this::markLoaded);
             return res;
         }, this.pluginContainer);
     }
@@ -163,22 +293,30 @@ public abstract class AbstractKeyedService<Q extends IQueryObject<UUID, Q>, D ex
         return ServicesUtil.run(() -> this.storageRepositorySupplier.get().exists(key), this.pluginContainer);
     }
 
-    @Override public CompletableFuture<Integer> count(@Nonnull Q query) {
-        return ServicesUtil.run(() -> this.storageRepositorySupplier.get().count(query), this.pluginContainer);
+    @Override public CompletableFuture<Collection<UUID>> getAllKeys(@Nonnull Q query) {
+        return ServicesUtil.run(() -> {
+            flushForQuery(query);
+            return this.storageRepositorySupplier.get().getAllKeys(query);
+        }, this.pluginContainer);
     }
 
-    @Override public CompletableFuture<Void> save(@Nonnull final UUID key, @Nonnull final D value) {
+    @Override public CompletableFuture<Integer> count(@Nonnull Q query) {
         return ServicesUtil.run(() -> {
-            this.save.apply(key, value);
-            this.cache.put(key, value);
-            this.dirty.remove(key);
-            return null;
+            flushForQuery(query);
+            return this.storageRepositorySupplier.get().count(query);
         }, this.pluginContainer);
     }
 
+    @Override public CompletableFuture<Void> save(@Nonnull final UUID key, @Nonnull final D value) {
+        this.cache.put(key, value);
+        return queueSave(key, value);
+    }
+
     @Override public CompletableFuture<Void> delete(@Nonnull UUID key) {
+        this.writeQueue.discard(key);
         return ServicesUtil.run(() -> {
             this.storageRepositorySupplier.get().delete(key);
+            this.savedModificationCounts.remove(key);
             this.cache.invalidate(key);
             return null;
         }, this.pluginContainer);
@@ -187,14 +325,15 @@ public abstract class AbstractKeyedService<Q extends IQueryObject<UUID, Q>, D ex
     @Override
     public CompletableFuture<Void> ensureSaved() {
         return ServicesUtil.run(() -> {
-            for (UUID uuid : ImmutableSet.copyOf(this.dirty)) {
-                D d = this.cache.getIfPresent(uuid);
-                if (d != null) {
-                    save(uuid, d);
-                } else {
-                    this.dirty.remove(uuid);
+            // Only objects that have changed since they were loaded or last saved are written.
+            for (Map.Entry<UUID, D> entry : this.cache.asMap().entrySet()) {
+                if (isModified(entry.getKey(), entry.getValue())) {
+                    this.writeQueue.offer(entry.getKey(), entry.getValue());
                 }
             }
+
+            // Everything that needs saving is now in the queue, write it in one pass.
+            this.writeQueue.flush();
             return null;
         }, this.pluginContainer);
     }
@@ -9,6 +9,7 @@ import io.github.nucleuspowered.storage.dataobjects.IDataObject;
 import io.github.nucleuspowered.storage.queryobjects.IQueryObject;
 import io.github.nucleuspowered.storage.util.KeyedObject;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -214,6 +215,17 @@ public interface IStorageService<D extends IDataObject> {
          */
         CompletableFuture<Map<K, D>> getAll(@Nonnull Q query);
 
+        /**
+         * Gets the keys of all objects that match the specified query, without loading the objects.
+         *
+         * <p>If {@link #supportsNonPrimaryKeyQueries()} and {@link Q#restrictedToKeys()} are both false,
+         * the future will contain an error.</p>
+         *
+         * @param query The query
+         * @return The {@link CompletableFuture} containing the keys, if any
+         */
+        CompletableFuture<Collection<K>> getAllKeys(@Nonnull Q query);
+
         /**
          * Gets whether the object with the associated key exists.
          *
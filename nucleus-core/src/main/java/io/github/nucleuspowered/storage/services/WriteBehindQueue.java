@@ -0,0 +1,201 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.storage.services;
+
+import io.github.nucleuspowered.storage.util.ThrownConsumer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.ObjLongConsumer;
+import java.util.function.ToLongFunction;
+
+import javax.annotation.Nullable;
+
+/**
+ * Holds writes that have not yet been sent to the storage repository.
+ *
+ * <p>Repeated writes to the same key are coalesced into one write, and the
+ * pending writes are sent to the repository in batches of at most
+ * {@link #getBatchSize()} objects when the queue is flushed.</p>
+ *
+ * <p>Each write is stamped when it is offered. Once a batch has been written,
+ * the stamp of each object in it is passed to the written callback. If a
+ * batch fails, its objects are put back in the queue to be tried again on
+ * the next flush, unless a newer write for the same key has been offered
+ * since.</p>
+ *
+ * @param <K> The key type
+ * @param <D> The object type
+ */
+public final class WriteBehindQueue<K, D> {
+
+    private final Object lock = new Object();
+    private final Object flushLock = new Object();
+    private final ThrownConsumer<Map<K, D>, Exception> batchWriter;
+    private final ToLongFunction<D> stamper;
+    private final ObjLongConsumer<K> onWritten;
+    private Map<K, PendingWrite<D>> pending = new LinkedHashMap<>();
+    private Map<K, PendingWrite<D>> inFlight = Collections.emptyMap();
+    private volatile int batchSize = 250;
+
+    public WriteBehindQueue(ThrownConsumer<Map<K, D>, Exception> batchWriter, ToLongFunction<D> stamper, ObjLongConsumer<K> onWritten) {
+        this.batchWriter = batchWriter;
+        this.stamper = stamper;
+        this.onWritten = onWritten;
+    }
+
+    int getBatchSize() {
+        return this.batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Queues the object for writing, replacing any pending write for the same key.
+     *
+     * @param key The key
+     * @param value The object
+     * @return A {@link CompletableFuture} that completes when the object has been written
+     */
+    public CompletableFuture<Void> offer(K key, D value) {
+        synchronized (this.lock) {
+            long stamp = this.stamper.applyAsLong(value);
+            PendingWrite<D> write = this.pending.get(key);
+            if (write == null) {
+                write = new PendingWrite<>(value, stamp);
+                this.pending.put(key, write);
+            } else {
+                write.value = value;
+                write.stamp = stamp;
+            }
+
+            return write.future;
+        }
+    }
+
+    /**
+     * Gets the object that is waiting to be written for the key, if there is one.
+     *
+     * @param key The key
+     * @return The object, or {@code null}
+     */
+    @Nullable
+    public D peek(K key) {
+        synchronized (this.lock) {
+            PendingWrite<D> write = this.pending.get(key);
+            if (write == null) {
+                write = this.inFlight.get(key);
+            }
+
+            return write == null ? null : write.value;
+        }
+    }
+
+    /**
+     * Removes any pending write for the key, completing its future.
+     *
+     * @param key The key
+     */
+    public void discard(K key) {
+        PendingWrite<D> write;
+        synchronized (this.lock) {
+            write = this.pending.remove(key);
+        }
+
+        if (write != null) {
+            write.future.complete(null);
+        }
+    }
+
+    public int size() {
+        synchronized (this.lock) {
+            return this.pending.size();
+        }
+    }
+
+    /**
+     * Writes everything that is currently pending, in batches.
+     *
+     * <p>Only one flush will run at any one time, others will wait for the
+     * current flush to complete.</p>
+     */
+    public void flush() {
+        synchronized (this.flushLock) {
+            Map<K, PendingWrite<D>> toWrite;
+            synchronized (this.lock) {
+                if (this.pending.isEmpty()) {
+                    return;
+                }
+
+                toWrite = this.pending;
+                this.inFlight = toWrite;
+                this.pending = new LinkedHashMap<>();
+            }
+
+            Iterator<Map.Entry<K, PendingWrite<D>>> iterator = toWrite.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map<K, D> batch = new LinkedHashMap<>();
+                Map<K, PendingWrite<D>> writes = new LinkedHashMap<>();
+                while (iterator.hasNext() && batch.size() < this.batchSize) {
+                    Map.Entry<K, PendingWrite<D>> entry = iterator.next();
+                    batch.put(entry.getKey(), entry.getValue().value);
+                    writes.put(entry.getKey(), entry.getValue());
+                }
+
+                try {
+                    this.batchWriter.save(batch);
+                } catch (Exception e) {
+                    requeue(writes);
+                    writes.values().forEach(x -> x.future.completeExceptionally(e));
+                    continue;
+                }
+
+                writes.forEach((key, write) -> {
+                    this.onWritten.accept(key, write.stamp);
+                    write.future.complete(null);
+                });
+            }
+
+            synchronized (this.lock) {
+                this.inFlight = Collections.emptyMap();
+            }
+        }
+    }
+
+    private void requeue(Map<K, PendingWrite<D>> failed) {
+        synchronized (this.lock) {
+            // Anything offered since the flush started is newer, so that wins.
+            Map<K, PendingWrite<D>> newPending = new LinkedHashMap<>();
+            failed.forEach((key, write) -> {
+                if (!this.pending.containsKey(key)) {
+                    newPending.put(key, new PendingWrite<>(write.value, write.stamp));
+                }
+            });
+
+            newPending.putAll(this.pending);
+            this.pending = newPending;
+        }
+    }
+
+    private static final class PendingWrite<D> {
+
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private D value;
+        private long stamp;
+
+        private PendingWrite(D value, long stamp) {
+            this.value = value;
+            this.stamp = stamp;
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import io.github.nucleuspowered.nucleus.services.impl.profiling.LatencyHistogram;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyHistogramTests {
+
+    // Each bucket is a sixteenth of its power of two wide.
+    private static final double MAX_ERROR = 1 / 16.0;
+
+    /*
+     * Records the value along with a much larger one, so that the median is the upper bound of the value's bucket
+     * rather than being capped at the maximum.
+     */
+    private static long bucketUpperBound(long value) {
+        LatencyHistogram histogram = new LatencyHistogram("test", "test");
+        histogram.record(value);
+        histogram.record(Long.MAX_VALUE);
+        return histogram.getPercentileNanos(50);
+    }
+
+    @Test
+    public void testSmallValuesHaveTheirOwnBuckets() {
+        for (long value = 0; value < 16; value++) {
+            Assert.assertEquals(value, bucketUpperBound(value));
+        }
+    }
+
+    @Test
+    public void testBucketsAreWithinTheirError() {
+        // The top of 2^36 shares the last bucket with the times that are too long for the others.
+        for (int exponent = 4; exponent < 36; exponent++) {
+            long power = 1L << exponent;
+            long[] values = { power, power + 1, power + power / 3, power * 2 - 1 };
+            for (long value : values) {
+                long upperBound = bucketUpperBound(value);
+                Assert.assertTrue("Value " + value + " is above its bucket's bound " + upperBound, value <= upperBound);
+                Assert.assertTrue("Value " + value + " is too far below its bucket's bound " + upperBound,
+                        upperBound <= value + (long) (value * MAX_ERROR));
+            }
+        }
+    }
+
+    @Test
+    public void testBucketBoundsDoNotDecrease() {
+        long last = -1;
+        for (long value = 0; value < 100_000; value += 7) {
+            long upperBound = bucketUpperBound(value);
+            Assert.assertTrue(upperBound >= last);
+            last = upperBound;
+        }
+    }
+
+    @Test
+    public void testLongTimesAreCappedAtTheMaximum() {
+        LatencyHistogram histogram = new LatencyHistogram("test", "test");
+        long value = 1L << 40;
+        histogram.record(value);
+
+        Assert.assertEquals(value, histogram.getMaxNanos());
+        Assert.assertEquals(value, histogram.getPercentileNanos(100));
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram("test", "test");
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value);
+        }
+
+        Assert.assertEquals(1000, histogram.getCount());
+        Assert.assertEquals(500500, histogram.getTotalNanos());
+        Assert.assertEquals(1000, histogram.getPercentileNanos(100));
+        long median = histogram.getPercentileNanos(50);
+        Assert.assertTrue(median >= 500 && median <= 500 * (1 + MAX_ERROR));
+        long p99 = histogram.getPercentileNanos(99);
+        Assert.assertTrue(p99 >= 990 && p99 <= 1000);
+    }
+
+    @Test
+    public void testEmptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram("test", "test");
+        Assert.assertEquals(0, histogram.getPercentileNanos(50));
+        Assert.assertEquals(0, histogram.getMaxNanos());
+    }
+}
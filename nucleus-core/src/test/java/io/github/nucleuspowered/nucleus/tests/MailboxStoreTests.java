@@ -0,0 +1,218 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import io.github.nucleuspowered.nucleus.modules.mail.data.MailData;
+import io.github.nucleuspowered.nucleus.modules.mail.services.MailboxStore;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.helpers.NOPLogger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class MailboxStoreTests {
+
+    private static final UUID OWNER = UUID.randomUUID();
+    private static final UUID SENDER = UUID.randomUUID();
+
+    private final List<Runnable> backgroundTasks = new ArrayList<>();
+    private final Map<UUID, List<MailData>> legacy = new HashMap<>();
+    private Path directory;
+    private MailboxStore store;
+
+    @Before
+    public void setup() throws IOException {
+        this.directory = Files.createTempDirectory("mailbox");
+        this.store = createStore();
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        try (Stream<Path> paths = Files.walk(this.directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private MailboxStore createStore() {
+        return new MailboxStore(this.directory, NOPLogger.NOP_LOGGER, this.backgroundTasks::add, new MailboxStore.LegacyMail() {
+            @Override
+            public List<MailData> get(UUID owner) {
+                return MailboxStoreTests.this.legacy.getOrDefault(owner, Collections.emptyList());
+            }
+
+            @Override
+            public void remove(UUID owner) {
+                MailboxStoreTests.this.legacy.remove(owner);
+            }
+        });
+    }
+
+    private List<String> messages() {
+        try (Stream<MailData> stream = this.store.stream(OWNER)) {
+            return stream.map(MailData::getMessage).collect(Collectors.toList());
+        }
+    }
+
+    private void append(int count) {
+        for (int i = 0; i < count; i++) {
+            this.store.append(OWNER, SENDER, i, String.valueOf(i));
+        }
+    }
+
+    private void runBackgroundTasks() {
+        List<Runnable> tasks = new ArrayList<>(this.backgroundTasks);
+        this.backgroundTasks.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    @Test
+    public void testAnEmptyMailboxIsNotWrittenToDisk() {
+        Assert.assertEquals(0, this.store.getCount(OWNER));
+        this.store.markRead(OWNER);
+
+        Assert.assertFalse(Files.exists(this.directory.resolve(OWNER.toString())));
+    }
+
+    @Test
+    public void testAppendedMessagesAreCountedAndKept() {
+        append(2);
+        Assert.assertEquals(2, this.store.getCount(OWNER));
+        Assert.assertEquals(2, this.store.getUnread(OWNER));
+
+        this.store.markRead(OWNER);
+        Assert.assertEquals(0, this.store.getUnread(OWNER));
+
+        this.store = createStore();
+        Assert.assertEquals(2, this.store.getCount(OWNER));
+        Assert.assertEquals(0, this.store.getUnread(OWNER));
+        Assert.assertEquals(Arrays.asList("0", "1"), messages());
+    }
+
+    @Test
+    public void testMessagesAreReadInOrderAcrossSegments() {
+        append(1200);
+
+        List<String> messages = messages();
+        Assert.assertEquals(1200, messages.size());
+        for (int i = 0; i < 1200; i++) {
+            Assert.assertEquals(String.valueOf(i), messages.get(i));
+        }
+    }
+
+    @Test
+    public void testLegacyMailIsMovedIntoTheMailbox() {
+        this.legacy.put(OWNER, Arrays.asList(
+                new MailData(SENDER, Instant.ofEpochMilli(1), "a"),
+                new MailData(SENDER, Instant.ofEpochMilli(2), "b")));
+
+        Assert.assertEquals(Arrays.asList("a", "b"), messages());
+        Assert.assertEquals(0, this.store.getUnread(OWNER));
+        Assert.assertFalse(this.legacy.containsKey(OWNER));
+
+        this.store = createStore();
+        Assert.assertEquals(Arrays.asList("a", "b"), messages());
+    }
+
+    @Test
+    public void testDeliveringLeavesLegacyMailUntilTheMailboxIsRead() {
+        this.legacy.put(OWNER, Collections.singletonList(new MailData(SENDER, Instant.ofEpochMilli(1), "a")));
+
+        this.store.deliver(OWNER, SENDER, 2, "b");
+        Assert.assertTrue(this.legacy.containsKey(OWNER));
+
+        this.store = createStore();
+        Assert.assertEquals(Arrays.asList("b", "a"), messages());
+        Assert.assertEquals(2, this.store.getUnread(OWNER));
+        Assert.assertFalse(this.legacy.containsKey(OWNER));
+    }
+
+    @Test
+    public void testDeletedMessagesAreSkipped() {
+        append(3);
+        Assert.assertTrue(this.store.delete(OWNER, x -> x.getMessage().equals("1")));
+        Assert.assertFalse(this.store.delete(OWNER, x -> x.getMessage().equals("1")));
+
+        Assert.assertEquals(Arrays.asList("0", "2"), messages());
+        Assert.assertEquals(2, this.store.getCount(OWNER));
+        Assert.assertEquals(2, this.store.getUnread(OWNER));
+    }
+
+    @Test
+    public void testCompactionWaitsForOpenStreams() {
+        append(64);
+        Stream<MailData> open = this.store.stream(OWNER);
+        for (int i = 0; i < 32; i++) {
+            String message = String.valueOf(i);
+            Assert.assertTrue(this.store.delete(OWNER, x -> x.getMessage().equals(message)));
+        }
+
+        Assert.assertEquals(1, this.backgroundTasks.size());
+        runBackgroundTasks();
+
+        // The stream was started before the deletions and compaction, so still sees every message.
+        Path oldSegment = this.directory.resolve(OWNER.toString()).resolve("segment-0.jsonl");
+        Assert.assertTrue(Files.exists(oldSegment));
+        Assert.assertEquals(64, open.count());
+        open.close();
+        Assert.assertFalse(Files.exists(oldSegment));
+
+        List<String> messages = messages();
+        Assert.assertEquals(32, messages.size());
+        Assert.assertEquals("32", messages.get(0));
+    }
+
+    @Test
+    public void testAMailboxInUseIsKeptWhenTheCacheIsCleared() {
+        append(64);
+        Stream<MailData> open = this.store.stream(OWNER);
+        this.store.invalidateAll();
+        for (int i = 0; i < 32; i++) {
+            String message = String.valueOf(i);
+            Assert.assertTrue(this.store.delete(OWNER, x -> x.getMessage().equals(message)));
+        }
+        runBackgroundTasks();
+
+        // The deletions and compaction used the mailbox that the stream is reading, so it waited for the stream.
+        Assert.assertEquals(64, open.count());
+        open.close();
+
+        this.store.deliver(OWNER, SENDER, 64, "64");
+        Assert.assertEquals(33, this.store.getCount(OWNER));
+
+        this.store = createStore();
+        List<String> messages = messages();
+        Assert.assertEquals(33, messages.size());
+        Assert.assertEquals("64", messages.get(32));
+    }
+
+    @Test
+    public void testClearRemovesEverything() {
+        Assert.assertFalse(this.store.clear(OWNER));
+        append(3);
+
+        Assert.assertTrue(this.store.clear(OWNER));
+        Assert.assertEquals(0, this.store.getCount(OWNER));
+        Assert.assertEquals(0, this.store.getUnread(OWNER));
+        Assert.assertEquals(Collections.emptyList(), messages());
+    }
+
+}
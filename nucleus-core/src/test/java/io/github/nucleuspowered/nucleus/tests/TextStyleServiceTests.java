@@ -0,0 +1,87 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import io.github.nucleuspowered.nucleus.services.impl.textstyle.TextStyleService;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class TextStyleServiceTests {
+
+    /*
+     * How codes were stripped before the single pass: the codes were removed with a regex until the
+     * message stopped changing.
+     */
+    private static String stripRepeatedly(String message, String codes) {
+        String pattern = "&[" + codes + "]";
+        int oldLength;
+        do {
+            oldLength = message.length();
+            message = message.replaceAll(pattern, "");
+        } while (oldLength != message.length());
+
+        return message;
+    }
+
+    @SuppressWarnings("CanBeFinal")
+    @RunWith(Parameterized.class)
+    public static class StripCodesTests {
+
+        @Parameterized.Parameters(name = "{index}: Message {0}, stripping {1}")
+        public static Iterable<Object[]> data() {
+            return Arrays.asList(new Object[][] {
+                    {"hello", "a"},
+                    {"&ahello", "a"},
+                    {"&ahello", "b"},
+                    {"&&aa", "a"},
+                    {"&&&aaa", "a"},
+                    {"&&ab", "ab"},
+                    {"&&ba", "a"},
+                    {"&a&lhello &rworld", "l"},
+                    {"&a&lhello &rworld", "0123456789abcdefklmnor"},
+                    {"&Ahello", "a"},
+                    {"a&", "a"},
+                    {"&", "a"},
+                    {"&&l&ll", "l"},
+                    {"&&&", "a"}
+            });
+        }
+
+        @Parameterized.Parameter()
+        public String message;
+
+        @Parameterized.Parameter(1)
+        public String codes;
+
+        @Test
+        public void testStripMatchesRepeatedRemoval() {
+            Assert.assertEquals(stripRepeatedly(this.message, this.codes), TextStyleService.stripCodes(this.message, this.codes));
+        }
+    }
+
+    @Test
+    public void testStripMatchesRepeatedRemovalForRandomMessages() {
+        String alphabet = "&&&&al0r .";
+        String[] codeSets = { "a", "al", "0r", "al0r" };
+        Random random = new Random(0);
+        for (int i = 0; i < 10000; i++) {
+            char[] chars = new char[random.nextInt(16)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = alphabet.charAt(random.nextInt(alphabet.length()));
+            }
+
+            String message = new String(chars);
+            for (String codes : codeSets) {
+                Assert.assertEquals("Message " + message + ", stripping " + codes,
+                        stripRepeatedly(message, codes), TextStyleService.stripCodes(message, codes));
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import io.github.nucleuspowered.storage.services.WriteBehindQueue;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public class WriteBehindQueueTests {
+
+    private final List<Map<String, String>> batches = new ArrayList<>();
+    private final Map<String, Long> written = new HashMap<>();
+    private boolean fail = false;
+
+    private WriteBehindQueue<String, String> queue = new WriteBehindQueue<>(
+            batch -> {
+                if (this.fail) {
+                    throw new Exception("fail");
+                }
+
+                this.batches.add(new LinkedHashMap<>(batch));
+            },
+            String::length,
+            this.written::put);
+
+    @Test
+    public void testWritesAreSentInTheOrderTheyWereFirstOffered() {
+        this.queue.offer("c", "1");
+        this.queue.offer("a", "2");
+        this.queue.offer("b", "3");
+        this.queue.flush();
+
+        Assert.assertEquals(1, this.batches.size());
+        Assert.assertEquals(Arrays.asList("c", "a", "b"), new ArrayList<>(this.batches.get(0).keySet()));
+    }
+
+    @Test
+    public void testRepeatedWritesToOneKeyAreCoalesced() {
+        CompletableFuture<Void> first = this.queue.offer("a", "1");
+        CompletableFuture<Void> second = this.queue.offer("a", "22");
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, this.queue.size());
+        Assert.assertEquals("22", this.queue.peek("a"));
+
+        this.queue.flush();
+        Assert.assertEquals(1, this.batches.size());
+        Assert.assertEquals("22", this.batches.get(0).get("a"));
+        Assert.assertTrue(first.isDone());
+        Assert.assertFalse(first.isCompletedExceptionally());
+        Assert.assertEquals(Long.valueOf(2), this.written.get("a"));
+    }
+
+    @Test
+    public void testWritesAreSplitIntoBatches() {
+        this.queue.setBatchSize(2);
+        for (int i = 0; i < 5; i++) {
+            this.queue.offer("key" + i, "value");
+        }
+
+        this.queue.flush();
+        Assert.assertEquals(3, this.batches.size());
+        Assert.assertEquals(2, this.batches.get(0).size());
+        Assert.assertEquals(1, this.batches.get(2).size());
+        Assert.assertEquals(0, this.queue.size());
+    }
+
+    @Test
+    public void testDiscardedWritesAreNotSent() {
+        CompletableFuture<Void> future = this.queue.offer("a", "1");
+        this.queue.discard("a");
+        this.queue.flush();
+
+        Assert.assertTrue(future.isDone());
+        Assert.assertTrue(this.batches.isEmpty());
+        Assert.assertNull(this.queue.peek("a"));
+    }
+
+    @Test
+    public void testFailedWritesAreRequeuedAndNotMarkedWritten() {
+        CompletableFuture<Void> future = this.queue.offer("a", "1");
+        this.fail = true;
+        this.queue.flush();
+
+        Assert.assertTrue(future.isCompletedExceptionally());
+        Assert.assertTrue(this.written.isEmpty());
+        Assert.assertEquals(1, this.queue.size());
+        Assert.assertEquals("1", this.queue.peek("a"));
+
+        this.fail = false;
+        this.queue.flush();
+        Assert.assertEquals(1, this.batches.size());
+        Assert.assertEquals("1", this.batches.get(0).get("a"));
+        Assert.assertEquals(Long.valueOf(1), this.written.get("a"));
+        Assert.assertEquals(0, this.queue.size());
+    }
+
+    @Test
+    public void testWriteOfferedDuringAFailedFlushWinsOverTheRequeuedWrite() {
+        WriteBehindQueue<String, String> failingQueue = new WriteBehindQueue<>(
+                batch -> {
+                    if (batch.get("a").equals("1")) {
+                        // Someone saves again while the write is in progress, then the write fails.
+                        this.queue.offer("a", "newer");
+                        throw new Exception("fail");
+                    }
+
+                    this.batches.add(new LinkedHashMap<>(batch));
+                },
+                String::length,
+                this.written::put);
+        this.queue = failingQueue;
+
+        this.queue.offer("a", "1");
+        this.queue.offer("b", "1");
+        this.queue.flush();
+        Assert.assertEquals("newer", this.queue.peek("a"));
+
+        this.queue.flush();
+        Assert.assertEquals(1, this.batches.size());
+        Assert.assertEquals("newer", this.batches.get(0).get("a"));
+        Assert.assertEquals("1", this.batches.get(0).get("b"));
+        Assert.assertEquals(Arrays.asList("b", "a"), new ArrayList<>(this.batches.get(0).keySet()));
+    }
+
+}